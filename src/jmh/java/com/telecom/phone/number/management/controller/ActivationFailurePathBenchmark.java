@@ -0,0 +1,73 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.datasource.PhoneNumberDataSource;
+import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.service.ActivationResult;
+import com.telecom.phone.number.management.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the costs of reporting a failed activation (an unknown phone number) at each layer.
+ *
+ * <ul>
+ *     <li>{@code outcome}: the service result, as returned to the controller.</li>
+ *     <li>{@code stacklessException}: the controller's translation into a {@link ResourceNotFoundException}.</li>
+ *     <li>{@code stackTraceException}: the same translation with an exception that fills in its
+ *     stack trace, as every miss did before activation outcomes were introduced.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActivationFailurePathBenchmark {
+
+    private static final Long CUSTOMER_ID = 1L;
+    private static final String UNKNOWN_PHONE_NUMBER = "0000000000";
+
+    private final CustomerController controller = new CustomerController();
+
+    public ActivationFailurePathBenchmark() {
+        PhoneNumberDataSource repository = new PhoneNumberDataSource();
+        repository.load(PhoneNumberDataSource.sampleData());
+        controller.service = new CustomerService();
+        ReflectionTestUtils.setField(controller.service, "repository", repository);
+    }
+
+    @Benchmark
+    public ActivationResult outcome() {
+        return controller.service.activatePhoneNumber(CUSTOMER_ID, UNKNOWN_PHONE_NUMBER);
+    }
+
+    @Benchmark
+    public Object stacklessException() {
+        try {
+            return controller.activatePhoneNumber(CUSTOMER_ID, UNKNOWN_PHONE_NUMBER);
+        } catch (ResourceNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object stackTraceException() {
+        try {
+            controller.service.activatePhoneNumber(CUSTOMER_ID, UNKNOWN_PHONE_NUMBER);
+            throw new IllegalStateException("Phone number not found for customer ID: " + CUSTOMER_ID);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+}
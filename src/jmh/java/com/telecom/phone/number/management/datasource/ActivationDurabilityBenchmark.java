@@ -0,0 +1,101 @@
+package com.telecom.phone.number.management.datasource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks activation throughput with a {@link PhoneNumberStore} attached, at each
+ * {@link Durability} level, with concurrent activating threads.
+ *
+ * <p>Every call activates a number that is not yet active, so every call writes a log record.
+ * Each iteration starts from a fresh log directory and an inventory of {@value #INVENTORY_SIZE}
+ * inactive numbers. The log is written to {@code java.io.tmpdir}; point it at the disk to be
+ * measured with {@code -Djava.io.tmpdir}, as {@code fsync} cost is a property of the device.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class ActivationDurabilityBenchmark {
+
+    static final int INVENTORY_SIZE = 8_000_000;
+
+    private static final int NUMBERS_PER_CUSTOMER = 1_000;
+    private static final long FIRST_NUMBER = 2_000_000_000L;
+
+    @Param({"FSYNC_PER_OP", "GROUP_COMMIT", "ASYNC"})
+    Durability durability;
+
+    private String[] phoneNumbers;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private Path directory;
+    private PhoneNumberDataSource dataSource;
+    private PhoneNumberStore store;
+
+    @Setup(Level.Trial)
+    public void preparePhoneNumbers() {
+        // Formatted up front, so string formatting stays out of the measurement
+        phoneNumbers = new String[INVENTORY_SIZE];
+        for (int i = 0; i < INVENTORY_SIZE; i++) {
+            phoneNumbers[i] = PhoneNumberCodec.decode(FIRST_NUMBER + i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openStore() throws IOException {
+        PhoneNumberInventory.Builder builder = new PhoneNumberInventory.Builder();
+        for (int number = 0; number < INVENTORY_SIZE; number++) {
+            if (number % NUMBERS_PER_CUSTOMER == 0) {
+                builder.customer(number / NUMBERS_PER_CUSTOMER);
+            }
+            builder.number(FIRST_NUMBER + number, false);
+        }
+        dataSource = new PhoneNumberDataSource();
+        dataSource.load(builder.build(number -> { }));
+        cursor.set(0);
+
+        directory = Files.createTempDirectory("activation-durability");
+        store = PhoneNumberStore.open(dataSource, directory, durability, Duration.ofMillis(100), Duration.ZERO);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeStore() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public ActivationOutcome activatePhoneNumber() {
+        // Wraps around only if an iteration activates the whole inventory
+        int next = cursor.getAndIncrement() % INVENTORY_SIZE;
+        return dataSource.activatePhoneNumber((long) (next / NUMBERS_PER_CUSTOMER), phoneNumbers[next]);
+    }
+}
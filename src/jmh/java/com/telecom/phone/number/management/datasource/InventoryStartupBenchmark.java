@@ -0,0 +1,93 @@
+package com.telecom.phone.number.management.datasource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the time until the datastore can answer its first request, for an inventory served
+ * from a memory-mapped {@link InventoryFile} and for the same inventory read onto the heap from an
+ * {@link InventorySnapshot}, at increasing inventory sizes.
+ *
+ * <p>Both files are read from the page cache after the first iteration, so the figures compare
+ * CPU and allocation cost rather than disk speed.</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class InventoryStartupBenchmark {
+
+    private static final int NUMBERS_PER_CUSTOMER = 1_000;
+    private static final long FIRST_NUMBER = 2_000_000_000L;
+
+    @Param({"1000000", "10000000"})
+    int inventorySize;
+
+    private final PhoneNumberDataSource dataSource = new PhoneNumberDataSource();
+    private Path directory;
+    private Path inventoryFile;
+    private Path snapshotFile;
+    private PhoneNumberInventory heapInventory;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        PhoneNumberInventory.Builder builder = new PhoneNumberInventory.Builder();
+        for (int number = 0; number < inventorySize; number++) {
+            if (number % NUMBERS_PER_CUSTOMER == 0) {
+                builder.customer(number / NUMBERS_PER_CUSTOMER);
+            }
+            builder.number(FIRST_NUMBER + number, false);
+        }
+        PhoneNumberInventory inventory = builder.build(number -> { });
+        heapInventory = inventory;
+
+        directory = Files.createTempDirectory("inventory-startup");
+        inventoryFile = directory.resolve("inventory.bin");
+        snapshotFile = directory.resolve(PhoneNumberStore.SNAPSHOT_FILE);
+        InventoryFile.write(inventory, inventoryFile);
+        InventorySnapshot.write(inventory, 0, snapshotFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.delete(inventoryFile);
+        Files.delete(snapshotFile);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public ActivationOutcome mapInventoryFile() throws IOException {
+        dataSource.load(InventoryFile.map(inventoryFile));
+        return firstRequest();
+    }
+
+    @Benchmark
+    public ActivationOutcome readSnapshotOntoHeap() throws IOException {
+        dataSource.load(InventorySnapshot.read(snapshotFile, heapInventory).inventory());
+        return firstRequest();
+    }
+
+    private ActivationOutcome firstRequest() {
+        long last = inventorySize - 1;
+        return dataSource.activatePhoneNumber(last / NUMBERS_PER_CUSTOMER,
+            PhoneNumberCodec.decode(FIRST_NUMBER + last));
+    }
+}
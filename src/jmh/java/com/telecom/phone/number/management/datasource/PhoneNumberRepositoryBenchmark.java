@@ -0,0 +1,178 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks for the read and activation paths of every {@link PhoneNumberRepository} engine at
+ * increasing inventory sizes.
+ *
+ * <p>The {@code inventory} and {@code mapped} engines are built directly in their primitive form,
+ * so loading ten million numbers does not first materialize ten million DTOs; the {@code map}
+ * engine holds DTOs by design. The {@code jdbc} engine runs on an embedded H2 file database in a
+ * temporary directory, so it is measured with its disk and pool in the path. Customers own
+ * {@value #NUMBERS_PER_CUSTOMER} numbers each. Run with the GC profiler (enabled in {@code build.gradle}) to see the allocation rate of each
+ * path next to its throughput.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PhoneNumberRepositoryBenchmark {
+
+    static final int NUMBERS_PER_CUSTOMER = 1_000;
+
+    private static final long FIRST_NUMBER = 2_000_000_000L;
+
+    @Param({"inventory", "mapped", "map", "jdbc"})
+    String engine;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int inventorySize;
+
+    private PhoneNumberRepository repository;
+    private Path inventoryFile;
+    private Path databaseDirectory;
+    private HikariDataSource database;
+    private int customers;
+    private String[] phoneNumbers;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void loadInventory() throws IOException {
+        customers = Math.max(1, inventorySize / NUMBERS_PER_CUSTOMER);
+        repository = switch (engine) {
+            case "inventory" -> {
+                PhoneNumberDataSource dataSource = new PhoneNumberDataSource();
+                dataSource.load(buildInventory());
+                yield dataSource;
+            }
+            case "mapped" -> {
+                inventoryFile = Files.createTempFile("repository-benchmark", ".bin");
+                InventoryFile.write(buildInventory(), inventoryFile);
+                PhoneNumberDataSource dataSource = new PhoneNumberDataSource();
+                dataSource.load(InventoryFile.map(inventoryFile));
+                yield dataSource;
+            }
+            case "map" -> {
+                MapPhoneNumberRepository map = new MapPhoneNumberRepository();
+                map.load(buildPhoneNumbers());
+                yield map;
+            }
+            case "jdbc" -> {
+                databaseDirectory = Files.createTempDirectory("repository-benchmark");
+                HikariConfig config = new HikariConfig();
+                config.setJdbcUrl("jdbc:h2:file:" + databaseDirectory.resolve("phone-numbers").toAbsolutePath());
+                database = new HikariDataSource(config);
+                JdbcPhoneNumberRepository jdbc = new JdbcPhoneNumberRepository(database);
+                jdbc.load(buildPhoneNumbers());
+                yield jdbc;
+            }
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        };
+
+        // A fixed sample of request inputs, so string formatting stays out of the measurement
+        phoneNumbers = new String[Math.min(inventorySize, 65_536)];
+        for (int i = 0; i < phoneNumbers.length; i++) {
+            phoneNumbers[i] = PhoneNumberCodec.decode(FIRST_NUMBER + (long) i * inventorySize / phoneNumbers.length);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        if (inventoryFile != null) {
+            Files.delete(inventoryFile);
+        }
+        if (database != null) {
+            database.close();
+            try (Stream<Path> files = Files.walk(databaseDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<PhoneNumber> getAllPhoneNumbers() {
+        return repository.getAllPhoneNumbers();
+    }
+
+    @Benchmark
+    public PhoneNumberPage getPhoneNumbersPage() {
+        return repository.getPhoneNumbersPage(next() % inventorySize, 100);
+    }
+
+    @Benchmark
+    public Optional<List<PhoneNumber>> getCustomerPhoneNumbers() {
+        return repository.getCustomerPhoneNumbers((long) (next() % customers));
+    }
+
+    /**
+     * Activates numbers across the whole inventory. Numbers stay active between invocations, so
+     * after the first pass this measures the lookup and the already-active check.
+     */
+    @Benchmark
+    public ActivationOutcome activatePhoneNumber() {
+        int i = next() % phoneNumbers.length;
+        long customerId = (long) i * inventorySize / phoneNumbers.length / NUMBERS_PER_CUSTOMER;
+        return repository.activatePhoneNumber(customerId, phoneNumbers[i]);
+    }
+
+    @Benchmark
+    public ActivationOutcome activateUnknownPhoneNumber() {
+        return repository.activatePhoneNumber(0L, "0000000000");
+    }
+
+    private PhoneNumberInventory buildInventory() {
+        PhoneNumberInventory.Builder builder = new PhoneNumberInventory.Builder();
+        for (int number = 0; number < inventorySize; number++) {
+            if (number % NUMBERS_PER_CUSTOMER == 0) {
+                builder.customer(number / NUMBERS_PER_CUSTOMER);
+            }
+            builder.number(FIRST_NUMBER + number, false);
+        }
+        return builder.build(number -> { });
+    }
+
+    private Map<Long, List<PhoneNumber>> buildPhoneNumbers() {
+        Map<Long, List<PhoneNumber>> data = new LinkedHashMap<>();
+        for (int number = 0; number < inventorySize; number++) {
+            data.computeIfAbsent((long) (number / NUMBERS_PER_CUSTOMER), customerId -> new ArrayList<>())
+                .add(new PhoneNumber().number(PhoneNumberCodec.decode(FIRST_NUMBER + number)).isActive(false));
+        }
+        return data;
+    }
+
+    private int next() {
+        return cursor++ & Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,76 @@
+package com.telecom.phone.number.management.service;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link CustomerService#customerPhoneNumbersResponse}, which wraps a customer's phone
+ * numbers and builds the links of every customer response, with and without a link per number.
+ *
+ * <p>Link building reads the current request, so each benchmark thread binds a mock request
+ * before it starts.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CustomerServiceBenchmark {
+
+    @Param({"1", "100", "10000"})
+    int phoneNumberCount;
+
+    @Param({"false", "true"})
+    boolean perNumberLinks;
+
+    private final CustomerService customerService = new CustomerService();
+    private List<PhoneNumber> phoneNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/api/v1");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        customerService.perNumberLinks = perNumberLinks;
+
+        phoneNumbers = new ArrayList<>(phoneNumberCount);
+        for (int i = 0; i < phoneNumberCount; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.format("%010d", 2_000_000_000L + i)).isActive(i % 2 == 0));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public PhoneNumbersResponse createCustomerPhoneNumbersResponse() {
+        // Resolving the base URL from the request is part of every servlet response
+        String baseUrl = LinkRenderer.currentBaseUrl();
+        return customerService.customerPhoneNumbersResponse(1L, phoneNumbers, baseUrl);
+    }
+}
@@ -0,0 +1,89 @@
+package com.telecom.phone.number.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.phone.number.management.config.JacksonConfig;
+import com.telecom.phone.number.management.model.Link;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.model.PhoneNumbersResponseLinks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the two response formats a client can ask for, JSON and the compact CBOR form of
+ * {@link PhoneNumbersResponseCbor}, each encoded by the server and decoded by a client.
+ *
+ * <p>JSON is encoded by {@link PhoneNumbersResponseJsonWriter}, as the server does, and decoded by
+ * the mapper of {@link JacksonConfig}, as a Java client would. The payload size of each format is
+ * printed once per trial.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhoneNumbersResponseFormatBenchmark {
+
+    @Param({"10000", "1000000"})
+    int phoneNumberCount;
+
+    private ObjectMapper objectMapper;
+    private PhoneNumbersResponse response;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        List<PhoneNumber> phoneNumbers = new ArrayList<>(phoneNumberCount);
+        for (int i = 0; i < phoneNumberCount; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.format("%010d", 2_000_000_000L + i)).isActive(i % 2 == 0));
+        }
+        response = new PhoneNumbersResponse()
+            .phoneNumbers(phoneNumbers)
+            .links(new PhoneNumbersResponseLinks()
+                .self(new Link().href("http://localhost:8080/api/v1/phone-numbers").httpMethod("GET").templated(false)));
+
+        json = PhoneNumbersResponseJsonWriter.toBytes(response);
+        cbor = PhoneNumbersResponseCbor.toBytes(response);
+        System.out.printf("%n%,d numbers: %,d bytes of JSON, %,d bytes of CBOR%n", phoneNumberCount, json.length, cbor.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return PhoneNumbersResponseJsonWriter.toBytes(response);
+    }
+
+    @Benchmark
+    public PhoneNumbersResponse decodeJson() throws IOException {
+        return objectMapper.readValue(json, PhoneNumbersResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() {
+        return PhoneNumbersResponseCbor.toBytes(response);
+    }
+
+    @Benchmark
+    public PhoneNumbersResponse decodeCbor() throws IOException {
+        return PhoneNumbersResponseCbor.read(new ByteArrayInputStream(cbor));
+    }
+}
@@ -0,0 +1,85 @@
+package com.telecom.phone.number.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.phone.number.management.config.JacksonConfig;
+import com.telecom.phone.number.management.model.Link;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.model.PhoneNumbersResponseLinks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the serialization of a {@link PhoneNumbersResponse} to the bytes written on the wire,
+ * by the stock Jackson mapper and by the hand-written {@link PhoneNumbersResponseJsonWriter}.
+ *
+ * <p>The mapper comes from {@link JacksonConfig}, the one the other HTTP message converters use.
+ * Each serializer is measured producing a new array, as for the response cache, and writing to a
+ * stream, as for a response body; the stream discards its input, so only serialization
+ * allocates.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhoneNumbersResponseSerializationBenchmark {
+
+    @Param({"1", "100", "10000", "1000000"})
+    int phoneNumberCount;
+
+    private ObjectMapper objectMapper;
+    private PhoneNumbersResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        List<PhoneNumber> phoneNumbers = new ArrayList<>(phoneNumberCount);
+        for (int i = 0; i < phoneNumberCount; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.format("%010d", 2_000_000_000L + i)).isActive(i % 2 == 0));
+        }
+        response = new PhoneNumbersResponse()
+            .phoneNumbers(phoneNumbers)
+            .links(new PhoneNumbersResponseLinks()
+                .self(new Link().href("http://localhost:8080/api/v1/phone-numbers").httpMethod("GET").templated(false)));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public void serializeToStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public byte[] handWritten() {
+        return PhoneNumbersResponseJsonWriter.toBytes(response);
+    }
+
+    @Benchmark
+    public void handWrittenToStream() throws IOException {
+        PhoneNumbersResponseJsonWriter.writeTo(response, OutputStream.nullOutputStream());
+    }
+}
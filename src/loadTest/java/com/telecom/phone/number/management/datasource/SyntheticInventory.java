@@ -0,0 +1,37 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes synthetic inventories for the load tests, which cannot reach the package-private
+ * {@link PhoneNumberInventory.Builder}.
+ */
+public final class SyntheticInventory {
+
+    /**
+     * The first number of every synthetic inventory; the others follow consecutively.
+     */
+    public static final long FIRST_NUMBER = 2_000_000_000L;
+
+    private SyntheticInventory() {
+    }
+
+    /**
+     * Writes an {@link InventoryFile} of inactive numbers, spread over customers {@code 0, 1, ...}.
+     *
+     * @param size               the number of phone numbers.
+     * @param numbersPerCustomer the number of phone numbers of every customer.
+     * @param path               the file to write.
+     */
+    public static void write(int size, int numbersPerCustomer, Path path) throws IOException {
+        PhoneNumberInventory.Builder builder = new PhoneNumberInventory.Builder();
+        for (int number = 0; number < size; number++) {
+            if (number % numbersPerCustomer == 0) {
+                builder.customer(number / numbersPerCustomer);
+            }
+            builder.number(FIRST_NUMBER + number, false);
+        }
+        InventoryFile.write(builder.build(number -> { }), path);
+    }
+}
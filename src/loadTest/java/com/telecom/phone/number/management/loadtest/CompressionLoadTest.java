@@ -0,0 +1,122 @@
+package com.telecom.phone.number.management.loadtest;
+
+import com.sun.management.OperatingSystemMXBean;
+import com.telecom.phone.number.management.PhoneNumberManagementApplication;
+import com.telecom.phone.number.management.datasource.SyntheticInventory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test measuring the bandwidth and CPU cost of response compression on the Spring MVC edition
+ * of the API.
+ *
+ * <p>A synthetic inventory file of 1,000 numbers per customer is served by the {@code mapped}
+ * engine. The application is started in-process with {@code server.compression} off, then on, and
+ * clients accepting gzip issue two requests back to back:</p>
+ * <ul>
+ *   <li>{@code GET /customers/{customerId}/phone-numbers} for one customer, served from the
+ *       response cache and, with compression on, from its precompressed form.</li>
+ *   <li>{@code GET /phone-numbers?limit=1000}, built for every request and, with compression on,
+ *       compressed for every request.</li>
+ * </ul>
+ *
+ * <p>Each run records throughput, latency percentiles, the bytes received per response and the
+ * CPU time of the process per response. The clients run in the same JVM, so their CPU time is
+ * counted too; they discard bodies without decompressing them.</p>
+ *
+ * <p>Settings are read from system properties: {@code loadtest.inventorySize} (default 1,000,000),
+ * {@code loadtest.concurrency} (default 50) and {@code loadtest.durationSeconds} (default 15).</p>
+ */
+public final class CompressionLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final int NUMBERS_PER_CUSTOMER = 1_000;
+
+    private CompressionLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int inventorySize = Integer.getInteger("loadtest.inventorySize", 1_000_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 50);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 15));
+
+        Path directory = Files.createTempDirectory("compression-load-test");
+        Path inventoryFile = directory.resolve("inventory.bin");
+        System.out.printf("Writing an inventory of %,d numbers...%n", inventorySize);
+        SyntheticInventory.write(inventorySize, NUMBERS_PER_CUSTOMER, inventoryFile);
+
+        List<Run> runs = new ArrayList<>();
+        try {
+            long customerId = inventorySize / NUMBERS_PER_CUSTOMER / 2;
+            for (boolean compression : new boolean[] {false, true}) {
+                String mode = compression ? "gzip" : "off";
+                try (ConfigurableApplicationContext context = start(compression, inventoryFile)) {
+                    String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                        + "/api/v1";
+                    runs.add(measure(mode, "customer", URI.create(baseUrl + "/customers/" + customerId + "/phone-numbers"),
+                        concurrency, duration));
+                    runs.add(measure(mode, "page", URI.create(baseUrl + "/phone-numbers?limit=" + NUMBERS_PER_CUSTOMER),
+                        concurrency, duration));
+                }
+            }
+        } finally {
+            Files.delete(inventoryFile);
+            Files.delete(directory);
+        }
+
+        System.out.printf("%n%d concurrent clients accepting gzip, %d numbers per response, for %ds%n",
+            concurrency, NUMBERS_PER_CUSTOMER, duration.toSeconds());
+        System.out.printf("%-6s %-10s %12s %10s %10s %8s %14s %18s%n", "mode", "endpoint", "requests/s", "p50 ms", "p99 ms",
+            "errors", "KB/response", "CPU us/response");
+        for (Run run : runs) {
+            LoadDriver.Result result = run.result();
+            System.out.printf("%-6s %-10s %12.0f %10.2f %10.2f %8d %14.2f %18.1f%n", run.mode(), run.endpoint(),
+                result.throughput(), result.percentileMillis(0.50), result.percentileMillis(0.99), result.errors(),
+                result.bytesPerResponse() / 1e3, run.cpuNanosPerResponse() / 1e3);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean compression, Path inventoryFile) {
+        // Arguments, as application.yml overrides default properties
+        return new SpringApplicationBuilder(PhoneNumberManagementApplication.class)
+            .properties("spring.main.banner-mode=off")
+            .run(
+                "--server.port=0",
+                "--server.compression.enabled=" + compression,
+                "--phone-numbers.rate-limit.enabled=false",
+                "--phone-numbers.repository.engine=mapped",
+                "--phone-numbers.inventory.file=" + inventoryFile);
+    }
+
+    private static Run measure(String mode, String endpoint, URI uri, int concurrency, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").GET().build();
+        String label = mode + " " + endpoint;
+        System.out.printf("Warming up %s...%n", label);
+        LoadDriver.drive(label, request, concurrency, WARMUP);
+        System.out.printf("Measuring %s...%n", label);
+        long cpuBefore = processCpuNanos();
+        LoadDriver.Result result = LoadDriver.drive(label, request, concurrency, duration);
+        long responses = Math.max(1, result.sortedLatencies().length);
+        return new Run(mode, endpoint, result, (processCpuNanos() - cpuBefore) / (double) responses);
+    }
+
+    /**
+     * @return the CPU time used so far by the JVM, in nanoseconds.
+     */
+    private static long processCpuNanos() {
+        return ((OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    private record Run(String mode, String endpoint, LoadDriver.Result result, double cpuNanosPerResponse) {
+    }
+}
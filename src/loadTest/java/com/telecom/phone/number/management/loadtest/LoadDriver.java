@@ -0,0 +1,161 @@
+package com.telecom.phone.number.management.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load shared by the load tests: a fixed number of clients, each on its own
+ * virtual thread, issue the same {@code GET} back to back and record the latency of every
+ * successful response. Bodies are counted, as received, and discarded.
+ */
+final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    /**
+     * Drives the load for the given time.
+     *
+     * @param mode        the label of the results.
+     * @param uri         the URI requested.
+     * @param concurrency the number of clients.
+     * @param duration    how long the clients keep requesting.
+     * @return the latencies, errors and throughput of all clients.
+     */
+    static Result drive(String mode, URI uri, int concurrency, Duration duration) throws Exception {
+        return drive(mode, HttpRequest.newBuilder(uri).GET().build(), concurrency, duration);
+    }
+
+    /**
+     * Drives the load for the given time.
+     *
+     * @param mode        the label of the results.
+     * @param request     the request issued, with its headers.
+     * @param concurrency the number of clients.
+     * @param duration    how long the clients keep requesting.
+     * @return the latencies, errors, throughput and bytes received of all clients.
+     */
+    static Result drive(String mode, HttpRequest request, int concurrency, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse.BodyHandler<Long> counting = info -> HttpResponse.BodySubscribers.fromSubscriber(
+            new ByteCounter(), ByteCounter::bytes);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<Samples>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    Samples samples = new Samples();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Long> response = client.send(request, counting);
+                            if (response.statusCode() == 200) {
+                                samples.add(System.nanoTime() - start);
+                                samples.bytes += response.body();
+                            } else {
+                                samples.errors++;
+                            }
+                        } catch (IOException e) {
+                            samples.errors++;
+                        }
+                    }
+                    return samples;
+                }));
+            }
+        }
+
+        Samples merged = new Samples();
+        for (Future<Samples> future : clients) {
+            merged.addAll(future.get());
+        }
+        long[] latencies = Arrays.copyOf(merged.latencies, merged.size);
+        Arrays.sort(latencies);
+        return new Result(mode, latencies, merged.errors, merged.size / (double) duration.toSeconds(), merged.bytes);
+    }
+
+    /**
+     * Counts the bytes of a response body as they arrive, without keeping them.
+     */
+    private static final class ByteCounter implements Flow.Subscriber<List<ByteBuffer>> {
+
+        private long bytes;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                bytes += buffer.remaining();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        long bytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Latencies, in nanoseconds, recorded by one client.
+     */
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private int errors;
+        private long bytes;
+
+        void add(long latency) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+            bytes += other.bytes;
+        }
+    }
+
+    record Result(String mode, long[] sortedLatencies, int errors, double throughput, long bytes) {
+
+        double bytesPerResponse() {
+            return sortedLatencies.length == 0 ? Double.NaN : bytes / (double) sortedLatencies.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
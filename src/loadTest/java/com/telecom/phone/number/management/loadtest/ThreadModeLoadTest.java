@@ -0,0 +1,102 @@
+package com.telecom.phone.number.management.loadtest;
+
+import com.telecom.phone.number.management.PhoneNumberManagementApplication;
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test comparing request execution on the Tomcat platform-thread pool with execution on
+ * virtual threads.
+ *
+ * <p>The application is started twice in-process, once per mode, with a filter in front of the
+ * customer endpoints that blocks for a fixed time to stand in for a data source with I/O latency.
+ * A fixed number of concurrent clients then issue {@code GET /customers/{customerId}/phone-numbers}
+ * back to back, and the throughput and latency percentiles of each mode are printed side by side.</p>
+ *
+ * <p>Settings are read from system properties: {@code loadtest.concurrency} (default 1000),
+ * {@code loadtest.durationSeconds} (default 20) and {@code loadtest.latencyMillis} (default 50).</p>
+ */
+public final class ThreadModeLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1000);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 20));
+        int latencyMillis = Integer.getInteger("loadtest.latencyMillis", 50);
+
+        System.out.printf("%d concurrent clients for %ds each, %dms simulated data source latency%n",
+            concurrency, duration.toSeconds(), latencyMillis);
+
+        List<LoadDriver.Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            results.add(run(virtualThreads, concurrency, duration, latencyMillis));
+        }
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %8s%n", "mode", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (LoadDriver.Result result : results) {
+            System.out.printf("%-10s %12.0f %10.1f %10.1f %10.1f %8d%n", result.mode(), result.throughput(),
+                result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0), result.errors());
+        }
+    }
+
+    private static LoadDriver.Result run(boolean virtualThreads, int concurrency, Duration duration, int latencyMillis) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                PhoneNumberManagementApplication.class, SimulatedLatency.class)
+            .properties(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "loadtest.latency-millis=" + latencyMillis)
+            // An argument, as application.yml overrides default properties
+            .run("--phone-numbers.rate-limit.enabled=false")) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/customers/1/phone-numbers");
+
+            System.out.printf("Warming up %s threads...%n", mode);
+            LoadDriver.drive(mode, uri, concurrency, WARMUP);
+            System.out.printf("Measuring %s threads...%n", mode);
+            return LoadDriver.drive(mode, uri, concurrency, duration);
+        }
+    }
+
+    /**
+     * Delays every customer request as a data source with I/O latency would, blocking the request thread.
+     * Conditional, as component scanning also finds it when the other load tests start the application.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty("loadtest.latency-millis")
+    static class SimulatedLatency {
+
+        @Bean
+        FilterRegistrationBean<Filter> simulatedLatencyFilter(@Value("${loadtest.latency-millis}") long latencyMillis) {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/customers/*");
+            return registration;
+        }
+    }
+}
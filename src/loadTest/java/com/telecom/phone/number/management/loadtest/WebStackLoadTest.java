@@ -0,0 +1,170 @@
+package com.telecom.phone.number.management.loadtest;
+
+import com.telecom.phone.number.management.PhoneNumberManagementApplication;
+import com.telecom.phone.number.management.datasource.SyntheticInventory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test comparing the Spring MVC edition of the API with the WebFlux edition (the
+ * {@code reactive} profile) on a large inventory.
+ *
+ * <p>A synthetic inventory file of 1,000 numbers per customer is written once and served by the
+ * {@code mapped} engine, so the inventory itself stays off the heap and the heap figures are those
+ * of the web stack. The application is then started in-process once per stack, and two workloads
+ * are measured:</p>
+ * <ul>
+ *   <li>One client streams {@code GET /phone-numbers/export} to the end, recording the time to the
+ *       first byte and to the last, and the bytes allocated and peak heap used meanwhile.</li>
+ *   <li>A fixed number of concurrent clients issue {@code GET /customers/{customerId}/phone-numbers}
+ *       back to back, recording throughput, latency percentiles and bytes allocated per request.</li>
+ * </ul>
+ *
+ * <p>The clients run in the same JVM, so their allocations are counted too. They are the same for
+ * both stacks, which keeps the figures comparable.</p>
+ *
+ * <p>Settings are read from system properties: {@code loadtest.inventorySize} (default 10,000,000),
+ * {@code loadtest.concurrency} (default 200) and {@code loadtest.durationSeconds} (default 20).</p>
+ */
+public final class WebStackLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final int NUMBERS_PER_CUSTOMER = 1_000;
+
+    private WebStackLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int inventorySize = Integer.getInteger("loadtest.inventorySize", 10_000_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 20));
+
+        Path directory = Files.createTempDirectory("web-stack-load-test");
+        Path inventoryFile = directory.resolve("inventory.bin");
+        System.out.printf("Writing an inventory of %,d numbers...%n", inventorySize);
+        SyntheticInventory.write(inventorySize, NUMBERS_PER_CUSTOMER, inventoryFile);
+
+        List<Export> exports = new ArrayList<>();
+        List<Requests> requests = new ArrayList<>();
+        try {
+            // A customer in the middle of the inventory, away from any page cached by the export
+            long customerId = inventorySize / NUMBERS_PER_CUSTOMER / 2;
+            for (boolean reactive : new boolean[] {false, true}) {
+                String stack = reactive ? "webflux" : "mvc";
+                try (ConfigurableApplicationContext context = start(reactive, inventoryFile)) {
+                    String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                        + "/api/v1";
+
+                    System.out.printf("Exporting from %s...%n", stack);
+                    exports.add(export(stack, URI.create(baseUrl + "/phone-numbers/export")));
+
+                    URI customer = URI.create(baseUrl + "/customers/" + customerId + "/phone-numbers");
+                    System.out.printf("Warming up %s...%n", stack);
+                    LoadDriver.drive(stack, customer, concurrency, WARMUP);
+                    System.out.printf("Measuring %s...%n", stack);
+                    long allocatedBefore = allocatedBytes();
+                    LoadDriver.Result result = LoadDriver.drive(stack, customer, concurrency, duration);
+                    long requestCount = result.sortedLatencies().length + result.errors();
+                    requests.add(new Requests(result, (allocatedBytes() - allocatedBefore) / Math.max(1, requestCount)));
+                }
+            }
+        } finally {
+            Files.delete(inventoryFile);
+            Files.delete(directory);
+        }
+
+        System.out.printf("%nExport of %,d numbers%n", inventorySize);
+        System.out.printf("%-8s %10s %10s %12s %14s %14s%n", "stack", "ttfb ms", "total ms", "MB sent", "MB allocated", "peak heap MB");
+        for (Export export : exports) {
+            System.out.printf("%-8s %10.1f %10.1f %12.1f %14.1f %14.1f%n", export.stack(), export.firstByteNanos() / 1e6,
+                export.totalNanos() / 1e6, export.bytes() / 1e6, export.allocatedBytes() / 1e6, export.peakHeapBytes() / 1e6);
+        }
+
+        System.out.printf("%n%d concurrent clients of GET /customers/{customerId}/phone-numbers for %ds%n",
+            concurrency, duration.toSeconds());
+        System.out.printf("%-8s %12s %10s %10s %10s %8s %14s%n", "stack", "requests/s", "p50 ms", "p99 ms", "max ms", "errors", "KB/request");
+        for (Requests entry : requests) {
+            LoadDriver.Result result = entry.result();
+            System.out.printf("%-8s %12.0f %10.1f %10.1f %10.1f %8d %14.1f%n", result.mode(), result.throughput(),
+                result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0), result.errors(),
+                entry.allocatedBytesPerRequest() / 1e3);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean reactive, Path inventoryFile) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(PhoneNumberManagementApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.main.banner-mode=off");
+        if (reactive) {
+            builder.profiles("reactive");
+        }
+        // Arguments, as application.yml overrides the default properties set above
+        return builder.run(
+            "--phone-numbers.rate-limit.enabled=false",
+            "--phone-numbers.repository.engine=mapped",
+            "--phone-numbers.inventory.file=" + inventoryFile);
+    }
+
+    private static Export export(String stack, URI uri) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", "application/x-ndjson").GET().build();
+        byte[] buffer = new byte[64 * 1024];
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(stack + " export answered " + response.statusCode());
+        }
+        long firstByte = 0;
+        long bytes = 0;
+        try (InputStream body = response.body()) {
+            for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                if (bytes == 0) {
+                    firstByte = System.nanoTime() - start;
+                }
+                bytes += read;
+            }
+        }
+        long total = System.nanoTime() - start;
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new Export(stack, firstByte, total, bytes, allocatedBytes() - allocatedBefore, peakHeap);
+    }
+
+    /**
+     * @return the bytes allocated so far by all live threads of the JVM.
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    private record Export(String stack, long firstByteNanos, long totalNanos, long bytes, long allocatedBytes,
+                          long peakHeapBytes) {
+    }
+
+    private record Requests(LoadDriver.Result result, long allocatedBytesPerRequest) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.controller.RequestExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the {@link RequestExecutor} the controllers run their work on.
+ *
+ * <p>The pool runs {@code phone-numbers.async.pool-size} requests at a time and queues up to
+ * {@code phone-numbers.async.queue-capacity} more. Beyond that, requests are answered with 503 and
+ * a {@code Retry-After} of {@code phone-numbers.async.retry-after}.</p>
+ *
+ * <p>With {@code spring.threads.virtual.enabled}, each request runs on a virtual thread of its own
+ * instead of the pool, and up to {@code phone-numbers.async.max-in-flight} requests run at a time.</p>
+ *
+ * <p>Only the Spring MVC controllers use it. The reactive edition runs its blocking calls on
+ * Reactor's bounded elastic scheduler instead.</p>
+ *
+ * <p>The executor is deliberately not a {@link java.util.concurrent.Executor} bean, so Spring Boot
+ * still creates the {@code applicationTaskExecutor} used by the MVC async support.</p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AsyncConfig {
+
+    /**
+     * Creates the request executor and registers its metrics.
+     *
+     * @param meterRegistry  the registry publishing the executor metrics.
+     * @param virtualThreads whether requests are served on virtual threads.
+     * @param poolSize       the number of requests run at a time on platform threads.
+     * @param queueCapacity  the number of requests that may wait for a platform thread.
+     * @param maxInFlight    the number of requests run at a time on virtual threads.
+     * @param retryAfter     the delay suggested to clients whose requests are rejected.
+     * @return the executor, shut down on shutdown.
+     */
+    @Bean(destroyMethod = "close")
+    public RequestExecutor requestExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${phone-numbers.async.pool-size:32}") int poolSize,
+            @Value("${phone-numbers.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${phone-numbers.async.max-in-flight:10000}") int maxInFlight,
+            @Value("${phone-numbers.async.retry-after:1s}") Duration retryAfter) {
+        if (virtualThreads) {
+            return RequestExecutor.virtualThreads(maxInFlight, retryAfter, meterRegistry);
+        }
+        return new RequestExecutor(poolSize, queueCapacity, retryAfter, meterRegistry);
+    }
+}
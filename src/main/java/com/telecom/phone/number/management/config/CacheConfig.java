@@ -0,0 +1,49 @@
+package com.telecom.phone.number.management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.telecom.phone.number.management.service.CustomerService;
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the in-memory response caches.
+ *
+ * <p>The customer response cache holds the serialized {@code GET /customers/{customerId}/phone-numbers}
+ * response of recently requested customers. It is bounded by {@code phone-numbers.cache.customer.maximum-size}
+ * and evicts with Caffeine's W-TinyLFU policy, which keeps frequently requested customers through bursts
+ * of one-off lookups.</p>
+ *
+ * <p>Hit ratio, evictions and size are published as the {@code cache.*} meters tagged
+ * {@code cache=customerPhoneNumbers}, for example under {@code /actuator/metrics/cache.gets}.</p>
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Name of the customer response cache in metrics.
+     */
+    public static final String CUSTOMER_CACHE_NAME = "customerPhoneNumbers";
+
+    /**
+     * Creates the customer response cache, keyed by customer ID and base URL, and registers its metrics.
+     *
+     * @param meterRegistry the registry publishing the cache metrics.
+     * @param maximumSize   the maximum number of customers held.
+     * @return the cache.
+     */
+    @Bean
+    public Cache<CustomerService.ResponseKey, SerializedPhoneNumbersResponse> customerResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${phone-numbers.cache.customer.maximum-size:10000}") long maximumSize) {
+        Cache<CustomerService.ResponseKey, SerializedPhoneNumbersResponse> cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, CUSTOMER_CACHE_NAME);
+    }
+}
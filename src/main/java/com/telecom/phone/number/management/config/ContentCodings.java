@@ -0,0 +1,58 @@
+package com.telecom.phone.number.management.config;
+
+import java.util.List;
+
+/**
+ * Reads the {@code Accept-Encoding} request header for the writers of precompressed responses.
+ */
+final class ContentCodings {
+
+    /**
+     * The content coding of precompressed responses.
+     */
+    static final String GZIP = "gzip";
+
+    private ContentCodings() {
+    }
+
+    /**
+     * Tells whether a client accepts gzip, listed by name or through {@code *}, with a non-zero quality.
+     *
+     * @param acceptEncoding the values of the {@code Accept-Encoding} header, or {@code null} if it is absent.
+     * @return {@code true} if a gzip body may be sent.
+     */
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String value : acceptEncoding) {
+            for (String coding : value.split(",")) {
+                int parameters = coding.indexOf(';');
+                String name = (parameters < 0 ? coding : coding.substring(0, parameters)).trim();
+                boolean accepted = parameters < 0 || !isZeroQuality(coding.substring(parameters + 1));
+                if (name.equalsIgnoreCase(GZIP) || name.equalsIgnoreCase("x-gzip")) {
+                    return accepted;
+                }
+                if (name.equals("*")) {
+                    wildcard = accepted;
+                }
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static boolean isZeroQuality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String[] pair = parameter.split("=", 2);
+            if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(pair[1].trim()) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -14,6 +14,10 @@ import org.springframework.context.annotation.Configuration;
  * <p>The {@link ObjectMapper} bean created here will be used globally across
  * the application wherever Jackson serialization or deserialization is required.</p>
  *
+ * <p>Phone numbers responses are the exception: they are written by the
+ * {@link com.telecom.phone.number.management.service.PhoneNumbersResponseJsonWriter}, which
+ * produces the JSON this mapper would. Changes to the inclusion rules here must be made there too.</p>
+ *
  * @author Sandeep
  * @version 1.0
  * @since 2025-01-27
@@ -0,0 +1,33 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.logging.LossyAsyncAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class publishing the metrics of the logging pipeline set up in
+ * {@code logback-spring.xml}.
+ *
+ * <p>Events the {@link LossyAsyncAppender} dropped because its queue backed up are published as
+ * {@code logging.events.dropped}. A rising count means the console cannot keep up, and the queue
+ * or the sampling rates in {@code phone-numbers.logging} need adjusting.</p>
+ */
+@Configuration
+public class LoggingConfig {
+
+    /**
+     * Publishes the number of log events dropped.
+     *
+     * @return the binder registering the counter.
+     */
+    @Bean
+    public MeterBinder droppedLogEventsMetrics() {
+        return registry -> FunctionCounter.builder("logging.events.dropped", LossyAsyncAppender.class,
+                appender -> LossyAsyncAppender.droppedEvents())
+            .description("Log events dropped because the logging queue was nearly full")
+            .baseUnit("events")
+            .register(registry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.datasource.Durability;
+import com.telecom.phone.number.management.datasource.PhoneNumberDataSource;
+import com.telecom.phone.number.management.datasource.PhoneNumberRepository;
+import com.telecom.phone.number.management.datasource.PhoneNumberStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration class for persisting activations across restarts.
+ *
+ * <p>Enabled with {@code phone-numbers.persistence.enabled=true}. The datastore is then recovered
+ * from {@code phone-numbers.persistence.directory} at startup, every activation is written to a
+ * write-ahead log there with the configured {@link Durability}, and a compacted snapshot is taken
+ * every {@code phone-numbers.persistence.snapshot-interval} and once more on shutdown. Without it,
+ * the datastore lives in memory only.</p>
+ *
+ * <p>Persistence applies to the {@code inventory} and {@code mapped} repository engines. The
+ * {@code jdbc} engine is durable on its own, and the reference {@code map} engine cannot be
+ * persisted.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "phone-numbers.persistence.enabled", havingValue = "true")
+public class PersistenceConfig {
+
+    /**
+     * Recovers the datastore and attaches the store that persists its activations.
+     *
+     * @param repository       the datastore to persist.
+     * @param directory        the directory holding the snapshot and the write-ahead log.
+     * @param durability       how long activations wait for the disk.
+     * @param flushInterval    how often the log is forced in {@link Durability#ASYNC} mode.
+     * @param snapshotInterval how often a snapshot is taken.
+     * @return the store, closed on shutdown.
+     * @throws IOException if the datastore cannot be recovered.
+     * @throws IllegalStateException if the configured repository engine cannot be persisted.
+     */
+    @Bean(destroyMethod = "close")
+    public PhoneNumberStore phoneNumberStore(
+            @Qualifier(RepositoryConfig.ENGINE) PhoneNumberRepository repository,
+            @Value("${phone-numbers.persistence.directory:data}") Path directory,
+            @Value("${phone-numbers.persistence.durability:GROUP_COMMIT}") Durability durability,
+            @Value("${phone-numbers.persistence.flush-interval:1s}") Duration flushInterval,
+            @Value("${phone-numbers.persistence.snapshot-interval:5m}") Duration snapshotInterval) throws IOException {
+        if (!(repository instanceof PhoneNumberDataSource dataSource)) {
+            throw new IllegalStateException("Persistence is not supported by the "
+                + repository.getClass().getSimpleName() + " repository engine");
+        }
+        return PhoneNumberStore.open(dataSource, directory, durability, flushInterval, snapshotInterval);
+    }
+}
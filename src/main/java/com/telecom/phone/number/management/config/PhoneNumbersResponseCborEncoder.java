@@ -0,0 +1,64 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.PhoneNumbersResponseCbor;
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The WebFlux counterpart of {@link PhoneNumbersResponseCborHttpMessageConverter}: writes a
+ * {@link PhoneNumbersResponse} in the compact encoding of {@link PhoneNumbersResponseCbor}, and a
+ * cached {@link SerializedPhoneNumbersResponse} by wrapping the CBOR it keeps.
+ */
+public class PhoneNumbersResponseCborEncoder implements Encoder<Object> {
+
+    private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_CBOR);
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.toClass();
+        return (PhoneNumbersResponse.class.isAssignableFrom(type) || SerializedPhoneNumbersResponse.class == type)
+            && mimeType != null && MediaType.APPLICATION_CBOR.isCompatibleWith(mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory,
+                                  ResolvableType valueType, MimeType mimeType, Map<String, Object> hints) {
+        if (value instanceof SerializedPhoneNumbersResponse serialized) {
+            return bufferFactory.wrap(serialized.getCbor());
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(256);
+        try (OutputStream outputStream = buffer.asOutputStream()) {
+            PhoneNumbersResponseCbor.writeTo((PhoneNumbersResponse) value, outputStream);
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("Could not write phone numbers response as CBOR", e);
+        }
+        return buffer;
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return MIME_TYPES;
+    }
+}
@@ -0,0 +1,56 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.PhoneNumbersResponseCbor;
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link PhoneNumbersResponse} in the compact encoding of {@link PhoneNumbersResponseCbor}
+ * to clients that accept {@code application/cbor}, and a cached {@link SerializedPhoneNumbersResponse}
+ * by copying the CBOR it keeps.
+ *
+ * <p>The converter is write-only. It is registered after the JSON converters of
+ * {@link WebConfig}, so JSON stays the default when the client accepts both.</p>
+ */
+public class PhoneNumbersResponseCborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public PhoneNumbersResponseCborHttpMessageConverter() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PhoneNumbersResponse.class.isAssignableFrom(clazz) || SerializedPhoneNumbersResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Phone numbers responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Object response, MediaType contentType) {
+        return response instanceof SerializedPhoneNumbersResponse serialized ? (long) serialized.getCbor().length : null;
+    }
+
+    @Override
+    protected void writeInternal(Object response, HttpOutputMessage outputMessage) throws IOException {
+        if (response instanceof SerializedPhoneNumbersResponse serialized) {
+            outputMessage.getBody().write(serialized.getCbor());
+        } else {
+            PhoneNumbersResponseCbor.writeTo((PhoneNumbersResponse) response, outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.PhoneNumbersResponseJsonWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a {@link PhoneNumbersResponse} with the {@link PhoneNumbersResponseJsonWriter} instead of
+ * Jackson, producing the same JSON.
+ *
+ * <p>The converter is write-only and claims {@link PhoneNumbersResponse} itself, not its
+ * subclasses; cached responses are written by the {@link SerializedResponseHttpMessageConverter}.
+ * It is registered ahead of the Jackson converter, so it is chosen whenever the client accepts
+ * JSON.</p>
+ *
+ * <p>Responses of up to {@value #BUFFERED_PHONE_NUMBERS} phone numbers are serialized whole and
+ * sent with a {@code Content-Length}, so the server leaves those under its minimum compression size
+ * uncompressed. Larger ones are streamed.</p>
+ */
+public class PhoneNumbersResponseHttpMessageConverter extends AbstractHttpMessageConverter<PhoneNumbersResponse> {
+
+    // Some 2.5 KB of JSON, beyond the default minimum compression size
+    private static final int BUFFERED_PHONE_NUMBERS = 64;
+
+    public PhoneNumbersResponseHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == PhoneNumbersResponse.class;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PhoneNumbersResponse readInternal(Class<? extends PhoneNumbersResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Phone numbers responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(PhoneNumbersResponse response, HttpOutputMessage outputMessage) throws IOException {
+        List<PhoneNumber> phoneNumbers = response.getPhoneNumbers();
+        if (phoneNumbers == null || phoneNumbers.size() <= BUFFERED_PHONE_NUMBERS) {
+            byte[] json = PhoneNumbersResponseJsonWriter.toBytes(response);
+            // Headers are sent with the first byte of the body, so this still reaches the client
+            outputMessage.getHeaders().setContentLength(json.length);
+            outputMessage.getBody().write(json);
+        } else {
+            PhoneNumbersResponseJsonWriter.writeTo(response, outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.controller.RateLimitFilter;
+import com.telecom.phone.number.management.controller.RateLimiter;
+import com.telecom.phone.number.management.controller.ReactiveRateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Set;
+
+/**
+ * Configuration class for rate limiting the API per client, customer and endpoint cost.
+ *
+ * <p>Enabled with {@code phone-numbers.rate-limit.enabled=true}. Each client may then make
+ * {@code phone-numbers.rate-limit.cheap.per-second} requests per second to the cheap endpoints, in
+ * bursts of up to {@code phone-numbers.rate-limit.cheap.burst}, and likewise for the
+ * {@code expensive} ones. Requests to the endpoints of one customer are also limited to
+ * {@code phone-numbers.rate-limit.customer.per-second} per client, in bursts of up to
+ * {@code phone-numbers.rate-limit.customer.burst}. Requests over budget are answered with 429 and a {@code Retry-After}
+ * header. At most {@code phone-numbers.rate-limit.maximum-keys} buckets are held.</p>
+ *
+ * <p>Clients are told apart by their address, or by their {@code X-API-Key} header when it is one of
+ * the comma-separated {@code phone-numbers.rate-limit.api-keys}.</p>
+ *
+ * <p>The servlet filter runs after the observation filter, so rejected requests still show in the
+ * {@code http.server.requests} metrics.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "phone-numbers.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    /**
+     * Creates the rate limiter and registers its metrics.
+     *
+     * @param meterRegistry      the registry publishing the rate limiter metrics.
+     * @param cheapBurst         the requests a client may make at once to the cheap endpoints.
+     * @param cheapPerSecond     the sustained requests per second to the cheap endpoints.
+     * @param expensiveBurst     the requests a client may make at once to the expensive endpoints.
+     * @param expensivePerSecond the sustained requests per second to the expensive endpoints.
+     * @param customerBurst      the requests a client may make at once to the endpoints of one customer.
+     * @param customerPerSecond  the sustained requests per second to the endpoints of one customer.
+     * @param maximumKeys        the number of buckets held at most.
+     * @param apiKeys            the API keys clients are told apart by.
+     * @return the rate limiter.
+     */
+    @Bean
+    public RateLimiter rateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${phone-numbers.rate-limit.cheap.burst:100}") int cheapBurst,
+            @Value("${phone-numbers.rate-limit.cheap.per-second:50}") double cheapPerSecond,
+            @Value("${phone-numbers.rate-limit.expensive.burst:10}") int expensiveBurst,
+            @Value("${phone-numbers.rate-limit.expensive.per-second:1}") double expensivePerSecond,
+            @Value("${phone-numbers.rate-limit.customer.burst:20}") int customerBurst,
+            @Value("${phone-numbers.rate-limit.customer.per-second:10}") double customerPerSecond,
+            @Value("${phone-numbers.rate-limit.maximum-keys:500000}") long maximumKeys,
+            @Value("${phone-numbers.rate-limit.api-keys:}") Set<String> apiKeys) {
+        return new RateLimiter(new RateLimiter.Budget(cheapBurst, cheapPerSecond),
+            new RateLimiter.Budget(expensiveBurst, expensivePerSecond),
+            new RateLimiter.Budget(customerBurst, customerPerSecond), maximumKeys, apiKeys, meterRegistry);
+    }
+
+    /**
+     * Registers the rate limit filter ahead of the Spring MVC controllers.
+     *
+     * @param rateLimiter the rate limiter.
+     * @return the filter registration.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Creates the rate limit filter of the reactive controllers.
+     *
+     * @param rateLimiter the rate limiter.
+     * @return the filter.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveRateLimitFilter reactiveRateLimitFilter(RateLimiter rateLimiter) {
+        return new ReactiveRateLimitFilter(rateLimiter);
+    }
+}
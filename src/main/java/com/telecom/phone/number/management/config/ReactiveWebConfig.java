@@ -0,0 +1,43 @@
+package com.telecom.phone.number.management.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Configuration class for customizing Spring WebFlux, the counterpart of {@link WebConfig} for the
+ * reactive edition of the API.
+ *
+ * <p>Registers the {@link SerializedResponseEncoder} ahead of the default JSON encoder, so phone
+ * numbers responses are written without Jackson, and the
+ * {@link PhoneNumberNdjsonEncoder}, so the export is written a page at a time. The
+ * {@link PhoneNumbersResponseCborEncoder} comes after the JSON encoder, so JSON stays the default.</p>
+ *
+ * <p>The reactive edition runs on Reactor Netty. Tomcat stays on the classpath for the Spring MVC
+ * edition, and Spring Boot would otherwise prefer it for reactive applications too.</p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    /**
+     * Creates the Reactor Netty server factory, which the server properties still customize.
+     *
+     * @return the server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        // Typed custom encoders are consulted before the default Jackson encoder
+        configurer.customCodecs().register(new SerializedResponseEncoder());
+        configurer.customCodecs().register(new PhoneNumberNdjsonEncoder());
+        configurer.customCodecs().register(new PhoneNumbersResponseCborEncoder());
+    }
+}
@@ -0,0 +1,162 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.datasource.InventoryFile;
+import com.telecom.phone.number.management.datasource.JdbcPhoneNumberRepository;
+import com.telecom.phone.number.management.datasource.MapPhoneNumberRepository;
+import com.telecom.phone.number.management.datasource.MeteredPhoneNumberRepository;
+import com.telecom.phone.number.management.datasource.PhoneNumberDataSource;
+import com.telecom.phone.number.management.datasource.PhoneNumberRepository;
+import com.telecom.phone.number.management.datasource.PhoneNumberStore;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Configuration class for the {@link PhoneNumberRepository} the services read and activate
+ * phone numbers through.
+ *
+ * <p>The engine is selected with {@code phone-numbers.repository.engine}:</p>
+ *
+ * <ul>
+ *     <li>{@code inventory}, the default: the sample data in a heap inventory.</li>
+ *     <li>{@code mapped}: the {@link InventoryFile} at {@code phone-numbers.inventory.file}, mapped
+ *     rather than read, so startup allocates nothing per number and stays in the milliseconds even
+ *     for tens of millions of numbers.</li>
+ *     <li>{@code map}: the sample data in the reference {@link MapPhoneNumberRepository}.</li>
+ *     <li>{@code jdbc}: the {@link JdbcPhoneNumberRepository} on the database at
+ *     {@code phone-numbers.jdbc.url}, an embedded H2 file by default, through a HikariCP pool of
+ *     {@code phone-numbers.jdbc.maximum-pool-size} connections. The sample data is loaded only
+ *     when the database is empty, so activations survive restarts.</li>
+ * </ul>
+ *
+ * <p>The engine is qualified {@value #ENGINE} and served to the rest of the application through a
+ * {@link MeteredPhoneNumberRepository}, which times its operations.</p>
+ */
+@Configuration
+public class RepositoryConfig {
+
+    /**
+     * Name of the property selecting the repository engine.
+     */
+    public static final String ENGINE_PROPERTY = "phone-numbers.repository.engine";
+
+    /**
+     * Qualifier of the engine bean, for the few beans that need the engine itself rather than the
+     * metered repository.
+     */
+    public static final String ENGINE = "phoneNumberRepositoryEngine";
+
+    /**
+     * Creates the heap inventory engine, loaded with the sample data.
+     *
+     * @return the repository.
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENGINE_PROPERTY, havingValue = "inventory", matchIfMissing = true)
+    @Qualifier(ENGINE)
+    public PhoneNumberDataSource inventoryRepository() {
+        PhoneNumberDataSource dataSource = new PhoneNumberDataSource();
+        dataSource.load(PhoneNumberDataSource.sampleData());
+        return dataSource;
+    }
+
+    /**
+     * Creates the memory-mapped engine, serving the configured inventory file.
+     *
+     * @param file the inventory file.
+     * @return the repository.
+     * @throws IOException if the file cannot be mapped or is not a valid inventory file.
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENGINE_PROPERTY, havingValue = "mapped")
+    @Qualifier(ENGINE)
+    public PhoneNumberDataSource mappedRepository(@Value("${phone-numbers.inventory.file}") Path file) throws IOException {
+        PhoneNumberDataSource dataSource = new PhoneNumberDataSource();
+        dataSource.load(InventoryFile.map(file));
+        return dataSource;
+    }
+
+    /**
+     * Creates the reference map engine, loaded with the sample data.
+     *
+     * @return the repository.
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENGINE_PROPERTY, havingValue = "map")
+    @Qualifier(ENGINE)
+    public MapPhoneNumberRepository mapRepository() {
+        MapPhoneNumberRepository repository = new MapPhoneNumberRepository();
+        repository.load(PhoneNumberDataSource.sampleData());
+        return repository;
+    }
+
+    /**
+     * Creates the connection pool of the jdbc engine.
+     *
+     * @param url             the JDBC URL of the database.
+     * @param maximumPoolSize the maximum number of pooled connections.
+     * @return the pool, closed on shutdown.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = ENGINE_PROPERTY, havingValue = "jdbc")
+    public HikariDataSource phoneNumberDatabase(
+            @Value("${phone-numbers.jdbc.url:jdbc:h2:file:./data/phone-numbers}") String url,
+            @Value("${phone-numbers.jdbc.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("phone-numbers");
+        config.setJdbcUrl(url);
+        config.setMaximumPoolSize(maximumPoolSize);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Creates the jdbc engine, loading the sample data into an empty database.
+     *
+     * @param database the pool of connections to the database.
+     * @return the repository.
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENGINE_PROPERTY, havingValue = "jdbc")
+    @Qualifier(ENGINE)
+    public JdbcPhoneNumberRepository jdbcRepository(DataSource database) {
+        JdbcPhoneNumberRepository repository = new JdbcPhoneNumberRepository(database);
+        if (repository.countPhoneNumbers() == 0) {
+            repository.load(PhoneNumberDataSource.sampleData());
+        }
+        return repository;
+    }
+
+    /**
+     * Creates the repository the services use: the engine, timed and counted.
+     *
+     * <p>When persistence is enabled, the engine is taken from the store that recovered it, so the
+     * active numbers are counted only once the engine holds its recovered contents.</p>
+     *
+     * @param engine        the engine.
+     * @param engineName    the name of the engine, tagged on its timers.
+     * @param meterRegistry the registry publishing the metrics.
+     * @param store         the store persisting the engine, if persistence is enabled.
+     * @return the repository.
+     */
+    @Bean
+    @Primary
+    public MeteredPhoneNumberRepository phoneNumberRepository(
+            @Qualifier(ENGINE) PhoneNumberRepository engine,
+            @Value("${" + ENGINE_PROPERTY + ":inventory}") String engineName,
+            MeterRegistry meterRegistry,
+            Optional<PhoneNumberStore> store) {
+        PhoneNumberRepository recovered = store.<PhoneNumberRepository>map(PhoneNumberStore::dataSource).orElse(engine);
+        return new MeteredPhoneNumberRepository(recovered, engineName, meterRegistry);
+    }
+}
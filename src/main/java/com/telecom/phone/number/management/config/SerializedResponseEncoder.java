@@ -0,0 +1,98 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.PhoneNumbersResponseJsonWriter;
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The WebFlux counterpart of {@link SerializedResponseHttpMessageConverter} and
+ * {@link PhoneNumbersResponseHttpMessageConverter}: writes a {@link SerializedPhoneNumbersResponse}
+ * by wrapping its pre-serialized JSON, and any other {@link PhoneNumbersResponse} with the
+ * {@link PhoneNumbersResponseJsonWriter}, bypassing Jackson.
+ *
+ * <p>WebFlux picks encoders by the declared type of the controller method: customer responses
+ * are declared as {@link SerializedPhoneNumbersResponse}, the others as
+ * {@link PhoneNumbersResponse}. Both are JSON, so a single encoder handles them.</p>
+ *
+ * <p>As {@link SerializedResponseHttpMessageConverter} does, a response kept compressed is written
+ * compressed, with {@code Content-Encoding: gzip}, when the request accepts gzip. The request and
+ * response reach {@link #encodeValue} as hints, which is where the body is picked.</p>
+ */
+public class SerializedResponseEncoder implements HttpMessageEncoder<Object> {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    private static final String REQUEST_HINT = SerializedResponseEncoder.class.getName() + ".request";
+    private static final String RESPONSE_HINT = SerializedResponseEncoder.class.getName() + ".response";
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.toClass();
+        return (PhoneNumbersResponse.class.isAssignableFrom(type) || SerializedPhoneNumbersResponse.class == type)
+            && (mimeType == null || MediaType.APPLICATION_JSON.isCompatibleWith(mimeType));
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory,
+                                  ResolvableType valueType, MimeType mimeType, Map<String, Object> hints) {
+        if (value instanceof SerializedPhoneNumbersResponse serialized) {
+            if (serialized.getGzip() != null && hints.get(RESPONSE_HINT) instanceof ServerHttpResponse response
+                    && hints.get(REQUEST_HINT) instanceof ServerHttpRequest request) {
+                response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (ContentCodings.acceptsGzip(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING))) {
+                    response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, ContentCodings.GZIP);
+                    return bufferFactory.wrap(serialized.getGzip());
+                }
+            }
+            return bufferFactory.wrap(serialized.getJson());
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_CAPACITY);
+        try (OutputStream outputStream = buffer.asOutputStream()) {
+            PhoneNumbersResponseJsonWriter.writeTo((PhoneNumbersResponse) value, outputStream);
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("Could not write phone numbers response", e);
+        }
+        return buffer;
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return List.of(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return List.of();
+    }
+
+    @Override
+    public Map<String, Object> getEncodeHints(ResolvableType actualType, ResolvableType elementType, MediaType mediaType,
+                                              ServerHttpRequest request, ServerHttpResponse response) {
+        return Map.of(REQUEST_HINT, request, RESPONSE_HINT, response);
+    }
+}
@@ -0,0 +1,82 @@
+package com.telecom.phone.number.management.config;
+
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Writes a {@link SerializedPhoneNumbersResponse} by copying its pre-serialized JSON straight to
+ * the response body, bypassing Jackson.
+ *
+ * <p>The converter is write-only and is registered ahead of the Jackson converter, so it is
+ * chosen for these responses whenever the client accepts JSON.</p>
+ *
+ * <p>A response kept compressed is written compressed, with {@code Content-Encoding: gzip}, when
+ * the current request accepts gzip. The server leaves bodies that already carry a content coding
+ * alone, so it does not compress them again.</p>
+ */
+public class SerializedResponseHttpMessageConverter extends AbstractHttpMessageConverter<SerializedPhoneNumbersResponse> {
+
+    public SerializedResponseHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SerializedPhoneNumbersResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SerializedPhoneNumbersResponse readInternal(Class<? extends SerializedPhoneNumbersResponse> clazz,
+                                                          HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Serialized responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected void addDefaultHeaders(HttpHeaders headers, SerializedPhoneNumbersResponse response, MediaType contentType)
+            throws IOException {
+        if (response.getGzip() != null) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip()) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, ContentCodings.GZIP);
+                headers.setContentLength(response.getGzip().length);
+            }
+        }
+        super.addDefaultHeaders(headers, response, contentType);
+    }
+
+    @Override
+    protected Long getContentLength(SerializedPhoneNumbersResponse response, MediaType contentType) {
+        return (long) response.getJson().length;
+    }
+
+    @Override
+    protected void writeInternal(SerializedPhoneNumbersResponse response, HttpOutputMessage outputMessage) throws IOException {
+        boolean compressed = ContentCodings.GZIP.equals(outputMessage.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        outputMessage.getBody().write(compressed ? response.getGzip() : response.getJson());
+    }
+
+    /**
+     * @return whether the request being answered on this thread accepts gzip.
+     */
+    private static boolean acceptsGzip() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return ContentCodings.acceptsGzip(Collections.list(attributes.getRequest().getHeaders(HttpHeaders.ACCEPT_ENCODING)));
+        }
+        return false;
+    }
+}
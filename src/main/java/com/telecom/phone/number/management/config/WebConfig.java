@@ -0,0 +1,29 @@
+package com.telecom.phone.number.management.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class for customizing Spring MVC.
+ *
+ * <p>Registers the {@link SerializedResponseHttpMessageConverter} ahead of the default converters,
+ * so cached responses are written as stored rather than serialized again, and the
+ * {@link PhoneNumbersResponseHttpMessageConverter}, so the others are serialized without Jackson.
+ * The {@link PhoneNumbersResponseCborHttpMessageConverter} follows them, so clients asking for CBOR
+ * get it while JSON stays the default.</p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new SerializedResponseHttpMessageConverter());
+        converters.add(1, new PhoneNumbersResponseHttpMessageConverter());
+        converters.add(2, new PhoneNumbersResponseCborHttpMessageConverter());
+    }
+}
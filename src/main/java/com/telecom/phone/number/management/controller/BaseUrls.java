@@ -0,0 +1,30 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.service.LinkRenderer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.URI;
+
+/**
+ * Base URLs of reactive requests, the WebFlux counterpart of
+ * {@link LinkRenderer#currentBaseUrl()}, cached alongside it. Reactor Netty has applied any
+ * forwarded headers to the request URI already, as {@code server.forward-headers-strategy} is
+ * {@code native}.
+ */
+final class BaseUrls {
+
+    private BaseUrls() {
+    }
+
+    /**
+     * @param exchange the current exchange.
+     * @return the scheme, host, port and context path of the request, the base the links in
+     *         responses are built against.
+     */
+    static String of(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        URI uri = request.getURI();
+        return LinkRenderer.baseUrl(uri.getScheme(), uri.getHost(), uri.getPort(), request.getPath().contextPath().value());
+    }
+}
@@ -1,70 +1,156 @@
 package com.telecom.phone.number.management.controller;
 
 import com.telecom.phone.number.management.api.CustomersApi;
+import com.telecom.phone.number.management.exception.NumberAlreadyActivatedException;
 import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.logging.LogMarkers;
+import com.telecom.phone.number.management.model.BulkActivationRequest;
+import com.telecom.phone.number.management.model.BulkActivationResponse;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.ActivationResult;
 import com.telecom.phone.number.management.service.CustomerService;
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller for managing customer phone numbers.
  * This class handles requests related to customer phone numbers, such as fetching and activating numbers.
  * Implements the {@link CustomersApi} interface for API specifications.
  *
+ * <p>Every request runs on the {@link RequestExecutor}, which releases the servlet thread while the
+ * numbers are read or activated.</p>
+ *
  * @author Sandeep
  * @version 1.0
  * @since 2025-01-27
  */
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CustomerController implements CustomersApi {
 
     @Autowired
     CustomerService service;
 
+    @Autowired
+    RequestExecutor executor;
+
     /**
      * Fetches all phone numbers associated with a specific customer.
      *
-     * @param customerId the unique ID of the customer.
-     * @return a {@link ResponseEntity} containing a {@link PhoneNumbersResponse} with the customer's phone numbers,
-     *         or throws a {@link ResourceNotFoundException} if the customer does not exist.
+     * <p>The response carries an {@code ETag} derived from the version of the customer's phone
+     * numbers. When the client's {@code If-None-Match} still matches it, a 304 is returned without
+     * reading or serializing the numbers.</p>
+     *
+     * @param customerId  the unique ID of the customer.
+     * @param ifNoneMatch the {@code If-None-Match} header, or {@code null}.
+     * @return a future of a {@link ResponseEntity} containing a {@link SerializedPhoneNumbersResponse} with the
+     *         customer's phone numbers, of an empty 304 response if they have not changed, or completed with a
+     *         {@link ResourceNotFoundException} if the customer does not exist.
      */
     @Override
-    public ResponseEntity<PhoneNumbersResponse> getCustomerPhoneNumbers(Long customerId) {
-        log.info("Received request to fetch phone numbers for customer ID: {}", customerId);
+    public CompletableFuture<ResponseEntity<SerializedPhoneNumbersResponse>> getCustomerPhoneNumbers(Long customerId,
+                                                                                                  String ifNoneMatch) {
+        log.info(LogMarkers.SUCCESS, "Received request to fetch phone numbers for customer ID: {}", customerId);
+        return executor.supply(() -> customerPhoneNumbers(customerId, ifNoneMatch));
+    }
+
+    private ResponseEntity<SerializedPhoneNumbersResponse> customerPhoneNumbers(Long customerId, String ifNoneMatch) {
+        // Read before the numbers, so the tag never claims a newer version than the body holds
+        String etag = EntityTags.of(service.getCustomerPhoneNumbersVersion(customerId));
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            log.debug(LogMarkers.SUCCESS, "Phone numbers of customer ID {} not modified since {}", customerId, etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         return service.getCustomerPhoneNumbers(customerId)
             .map(response -> {
-                log.info("Successfully retrieved phone numbers for customer ID: {}", customerId);
-                return ResponseEntity.ok(response);
+                log.info(LogMarkers.SUCCESS, "Successfully retrieved phone numbers for customer ID: {}", customerId);
+                ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                if (etag != null) {
+                    ok.eTag(etag);
+                }
+                return ok.body(response);
             })
             .orElseThrow(() -> {
-                log.error("Customer not found with ID: {}", customerId);
-                return new ResourceNotFoundException("Customer not found with ID: " + customerId);
+                log.warn("Customer not found with ID: {}", customerId);
+                return ResourceNotFoundException.CUSTOMER;
             });
     }
 
     /**
      * Activates a specific phone number for a customer.
      *
+     * <p>The outcome reported by the service maps directly to the response status: 200 when the
+     * number was activated, 409 when it was already active and 404 when the customer or number
+     * does not exist.</p>
+     *
      * @param customerId  the unique ID of the customer.
      * @param phoneNumber the phone number to activate.
-     * @return a {@link ResponseEntity} containing a {@link PhoneNumbersResponse} with the updated phone number details,
-     *         or throws a {@link ResourceNotFoundException} if the customer or phone number does not exist.
+     * @return a future of a {@link ResponseEntity} containing a {@link PhoneNumbersResponse} with the updated phone
+     *         number details, or completed with a {@link ResourceNotFoundException} if the customer or phone number
+     *         does not exist, or a {@link NumberAlreadyActivatedException} if the phone number is already active.
      */
     @Override
-    public ResponseEntity<PhoneNumbersResponse> activatePhoneNumber(Long customerId, String phoneNumber) {
-        log.info("Received request to activate phone number {} for customer ID: {}", phoneNumber, customerId);
-        return service.activatePhoneNumber(customerId, phoneNumber)
+    public CompletableFuture<ResponseEntity<PhoneNumbersResponse>> activatePhoneNumber(Long customerId, String phoneNumber) {
+        log.info(LogMarkers.SUCCESS, "Received request to activate phone number {} for customer ID: {}", phoneNumber, customerId);
+        return executor.supply(() -> activate(customerId, phoneNumber));
+    }
+
+    private ResponseEntity<PhoneNumbersResponse> activate(Long customerId, String phoneNumber) {
+        ActivationResult result = service.activatePhoneNumber(customerId, phoneNumber);
+        return switch (result.outcome()) {
+            case ACTIVATED -> {
+                log.info(LogMarkers.SUCCESS, "Successfully activated phone number {} for customer ID: {}", phoneNumber, customerId);
+                yield ResponseEntity.ok(result.response());
+            }
+            case ALREADY_ACTIVE -> {
+                log.warn("Phone number {} is already active for customer ID: {}", phoneNumber, customerId);
+                throw NumberAlreadyActivatedException.INSTANCE;
+            }
+            case NOT_FOUND -> {
+                log.warn("Phone number {} not found for customer ID: {}", phoneNumber, customerId);
+                throw ResourceNotFoundException.PHONE_NUMBER;
+            }
+            case CUSTOMER_NOT_FOUND -> {
+                log.warn("Customer not found with ID: {}", customerId);
+                throw ResourceNotFoundException.CUSTOMER;
+            }
+        };
+    }
+
+    /**
+     * Activates a batch of phone numbers for a customer.
+     *
+     * @param customerId            the unique ID of the customer.
+     * @param bulkActivationRequest the phone numbers to activate.
+     * @return a future of a {@link ResponseEntity} containing a {@link BulkActivationResponse} with the outcome of
+     *         every activation, or completed with a {@link ResourceNotFoundException} if the customer does not exist.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<BulkActivationResponse>> activatePhoneNumbers(Long customerId, BulkActivationRequest bulkActivationRequest) {
+        log.info(LogMarkers.SUCCESS, "Received request to activate {} phone numbers for customer ID: {}",
+            bulkActivationRequest.getPhoneNumbers().size(), customerId);
+        return executor.supply(() -> activateAll(customerId, bulkActivationRequest));
+    }
+
+    private ResponseEntity<BulkActivationResponse> activateAll(Long customerId, BulkActivationRequest bulkActivationRequest) {
+        return service.activatePhoneNumbers(customerId, bulkActivationRequest.getPhoneNumbers())
             .map(response -> {
-                log.info("Successfully activated phone number {} for customer ID: {}", phoneNumber, customerId);
+                log.info(LogMarkers.SUCCESS, "Processed bulk activation of {} phone numbers for customer ID: {}",
+                    response.getResults().size(), customerId);
                 return ResponseEntity.ok(response);
             })
             .orElseThrow(() -> {
-                log.error("Customer not found with ID: {} or phone number: {} does not exist", customerId, phoneNumber);
-                return new ResourceNotFoundException("Customer not found with ID: " + customerId);
+                log.warn("Customer not found with ID: {}", customerId);
+                return ResourceNotFoundException.CUSTOMER;
             });
     }
 }
@@ -0,0 +1,57 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.datasource.PhoneNumberRepository;
+
+/**
+ * Builds and matches the entity tags of phone number responses.
+ *
+ * <p>Tags are derived from datastore versions rather than from the response body, so a conditional
+ * request can be answered without reading or serializing any phone numbers.</p>
+ *
+ * <p>Tags are weak: a version is sent with links built against different base URLs, and as gzip
+ * or plain JSON, so it does not identify the bytes of the body. Servlet containers also leave
+ * responses with strong tags uncompressed.</p>
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param version a datastore version.
+     * @return the weak entity tag of the version, or {@code null} for
+     *         {@link PhoneNumberRepository#UNKNOWN_VERSION}.
+     */
+    static String of(long version) {
+        return version == PhoneNumberRepository.UNKNOWN_VERSION ? null : "W/\"" + version + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against the current entity tag, using the weak
+     * comparison that the header calls for.
+     *
+     * @param ifNoneMatch the header value, or {@code null} if absent.
+     * @param etag        the current entity tag, or {@code null} if the resource does not exist.
+     * @return {@code true} if the client's copy is current and a 304 may be sent.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the tag without its weakness indicator.
+     */
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -1,12 +1,19 @@
 package com.telecom.phone.number.management.controller;
 
 import com.telecom.phone.number.management.api.PhoneNumbersApi;
+import com.telecom.phone.number.management.logging.LogMarkers;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
 import com.telecom.phone.number.management.service.PhoneNumberService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for managing phone numbers.
@@ -19,21 +26,73 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PhoneNumberController implements PhoneNumbersApi {
 
     @Autowired
     private PhoneNumberService service;
 
+    @Autowired
+    private RequestExecutor executor;
+
+    /**
+     * Retrieves all phone numbers available in the system, or one page of them when a page size or
+     * cursor is supplied, or one page of those matching a search when a prefix or activation state
+     * is supplied.
+     *
+     * <p>The response carries an {@code ETag} derived from the version of the inventory. When the
+     * client's {@code If-None-Match} still matches it, a 304 is returned without reading or
+     * serializing the numbers. The request runs on the {@link RequestExecutor}.</p>
+     *
+     * @param limit       the maximum number of phone numbers in the page, or {@code null}.
+     * @param cursor      the cursor of the page to retrieve, or {@code null}.
+     * @param prefix      the leading digits of the phone numbers searched, or {@code null}.
+     * @param active      the activation state of the phone numbers searched, or {@code null}.
+     * @param ifNoneMatch the {@code If-None-Match} header, or {@code null}.
+     * @return a future of a {@link ResponseEntity} containing a {@link PhoneNumbersResponse} with the list of phone
+     *         numbers, or of an empty 304 response if they have not changed.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<PhoneNumbersResponse>> getAllPhoneNumbers(Integer limit, String cursor, String prefix,
+                                                                                      Boolean active, String ifNoneMatch) {
+        log.info(LogMarkers.SUCCESS, "Received request to fetch all phone numbers.");
+        return executor.supply(() -> allPhoneNumbers(limit, cursor, prefix, active, ifNoneMatch));
+    }
+
+    private ResponseEntity<PhoneNumbersResponse> allPhoneNumbers(Integer limit, String cursor, String prefix, Boolean active,
+                                                                 String ifNoneMatch) {
+        // Read before the numbers, so the tag never claims a newer version than the body holds
+        String etag = EntityTags.of(service.getPhoneNumbersVersion());
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            log.debug(LogMarkers.SUCCESS, "Phone numbers not modified since {}", etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        PhoneNumbersResponse response = prefix != null || active != null
+            ? service.searchPhoneNumbers(prefix, active, limit, cursor)
+            : service.getAllPhoneNumbers(limit, cursor);
+        log.info(LogMarkers.SUCCESS, "Successfully retrieved {} phone numbers.", response.getPhoneNumbers().size());
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (etag != null) {
+            ok.eTag(etag);
+        }
+        return ok.body(response);
+    }
+
     /**
-     * Retrieves all phone numbers available in the system.
+     * Streams every phone number in the system as newline-delimited JSON.
+     *
+     * <p>Intended for bulk consumers such as reconciliation jobs. The response is written
+     * incrementally, so server memory use does not grow with the size of the inventory. The export
+     * is prepared on the {@link RequestExecutor}, and written by the servlet async support.</p>
      *
-     * @return a {@link ResponseEntity} containing a {@link PhoneNumbersResponse} with the list of all phone numbers.
+     * @return a future of a {@link ResponseEntity} whose body streams the phone numbers.
      */
     @Override
-    public ResponseEntity<PhoneNumbersResponse> getAllPhoneNumbers() {
-        log.info("Received request to fetch all phone numbers.");
-        PhoneNumbersResponse response = service.getAllPhoneNumbers();
-        log.info("Successfully retrieved {} phone numbers.", response.getPhoneNumbers().size());
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> exportPhoneNumbers() {
+        log.info(LogMarkers.SUCCESS, "Received request to export all phone numbers.");
+        return executor.supply(() -> ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(service.exportPhoneNumbers()));
     }
 }
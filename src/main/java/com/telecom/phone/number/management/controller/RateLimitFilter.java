@@ -0,0 +1,71 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.logging.LogThrottle;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Servlet filter admitting requests to the controllers within the budgets of a {@link RateLimiter}.
+ *
+ * <p>A request over budget is answered with 429 and a {@code Retry-After} header before it reaches
+ * the controllers, so it takes neither a thread of the {@link RequestExecutor} nor a read of the
+ * repository. Rejections are counted as {@code rate.limit.rejected}, and logged at most once every
+ * {@link #REJECTION_LOG_INTERVAL}, so a client flooding the API cannot make request threads wait
+ * on the log.</p>
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * The time between two rejections logged.
+     */
+    static final Duration REJECTION_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private final RateLimiter rateLimiter;
+    private final LogThrottle rejections = new LogThrottle(REJECTION_LOG_INTERVAL);
+
+    /**
+     * Creates a filter.
+     *
+     * @param rateLimiter the rate limiter.
+     */
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Decoded and without path parameters, as the handlers are matched
+        String path = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+        boolean paged = RateLimiter.isPaged(request::getParameter);
+        String client = rateLimiter.clientOf(request.getHeader(RateLimiter.API_KEY_HEADER), request.getRemoteAddr());
+        long wait = rateLimiter.acquire(request.getMethod(), path, paged, client);
+        if (wait == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long rejected = rejections.record();
+        if (rejected > 0) {
+            log.warn("Rate limited {} {}, {} requests rejected in the last {}s",
+                request.getMethod(), path, rejected, rejections.intervalSeconds());
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(wait)));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(RateLimiter.REJECTED_MESSAGE);
+    }
+}
@@ -0,0 +1,330 @@
+package com.telecom.phone.number.management.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Token bucket rate limiter of the API, with a bucket per client and {@link Tier}, and one per
+ * client and customer.
+ *
+ * <p>Clients are told apart by their address, or by their API key when it is one of the keys the
+ * limiter is configured with. An unknown key is ignored, so a client cannot get a fresh bucket by
+ * sending a new key with each request. Cheap endpoints and expensive ones, those reading the whole
+ * inventory or activating in bulk, draw from buckets of separate {@link Budget}s.</p>
+ *
+ * <p>Every request draws from the bucket of its client and tier, whatever customer it is for, so a
+ * client walking through customer IDs is throttled like any other. Requests to customer endpoints
+ * also draw from a bucket of the client and customer, with a budget of its own, so a client
+ * hammering one customer is held back before it spends the budget it has for the others. A request
+ * rejected by that bucket gives its client token back.</p>
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it will be full again,
+ * the generic cell rate algorithm form of a token bucket. Taking a token is one compare-and-set, and
+ * no lock is held. Buckets are kept in a bounded cache: a bucket left alone until it is full again
+ * is the same as a new one, so it is evicted after that long without requests, and beyond
+ * {@code maximumKeys} buckets the least used ones are evicted first. Each bucket takes about 200
+ * bytes with its key.</p>
+ *
+ * <p>Rejected requests are published as {@code rate.limit.rejected} tagged {@code tier}, and
+ * {@code scope}, {@code client} or {@code customer} after the bucket that rejected them, and the
+ * number of buckets held as {@code rate.limit.buckets}.</p>
+ */
+public class RateLimiter {
+
+    /**
+     * Header identifying the client.
+     */
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    /**
+     * Body of the responses to rejected requests.
+     */
+    static final String REJECTED_MESSAGE = "Rate limit exceeded, retry later.";
+
+    // Longer keys are cut, so a client cannot make each bucket arbitrarily large
+    private static final int MAX_CLIENT_LENGTH = 64;
+
+    private static final String CUSTOMERS = "/customers/";
+    private static final String PHONE_NUMBERS = "/phone-numbers";
+    private static final String BULK_ACTIVATION = "/phone-numbers:activate";
+    private static final String[] PAGING_PARAMETERS = {"limit", "cursor", "prefix", "active"};
+
+    /**
+     * The cost classes of the endpoints.
+     */
+    public enum Tier {
+        /**
+         * Endpoints reading or activating a bounded number of phone numbers.
+         */
+        CHEAP,
+        /**
+         * Endpoints reading the whole inventory or activating in bulk.
+         */
+        EXPENSIVE
+    }
+
+    /**
+     * The budget of the buckets of a tier.
+     *
+     * @param burst     the number of requests a client may make at once, after being idle.
+     * @param perSecond the sustained number of requests per second.
+     */
+    public record Budget(int burst, double perSecond) {
+
+        public Budget {
+            if (burst < 1) {
+                throw new IllegalArgumentException("The burst must be at least 1, got " + burst);
+            }
+            if (!(perSecond > 0)) {
+                throw new IllegalArgumentException("The rate must be positive, got " + perSecond);
+            }
+        }
+
+        long intervalNanos() {
+            return Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / perSecond));
+        }
+    }
+
+    private final Set<String> apiKeys;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+    // Indexed by Tier ordinal
+    private final long[] intervals;
+    private final long[] windows;
+    private final Counter[] rejected;
+    private final Counter[] rejectedForCustomer;
+    private final long customerInterval;
+    private final long customerWindow;
+
+    /**
+     * Creates a rate limiter and registers its metrics.
+     *
+     * @param cheap         the budget of the cheap endpoints.
+     * @param expensive     the budget of the expensive endpoints.
+     * @param customer      the budget of the requests of a client to the endpoints of one customer.
+     * @param maximumKeys   the number of buckets held at most.
+     * @param apiKeys       the API keys clients are told apart by.
+     * @param meterRegistry the registry publishing the metrics.
+     */
+    public RateLimiter(Budget cheap, Budget expensive, Budget customer, long maximumKeys, Set<String> apiKeys,
+                       MeterRegistry meterRegistry) {
+        this(cheap, expensive, customer, maximumKeys, apiKeys, meterRegistry, Ticker.systemTicker());
+    }
+
+    RateLimiter(Budget cheap, Budget expensive, Budget customer, long maximumKeys, Set<String> apiKeys,
+                MeterRegistry meterRegistry, Ticker ticker) {
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.ticker = ticker;
+        Budget[] budgets = {cheap, expensive};
+        Tier[] tiers = Tier.values();
+        this.intervals = new long[tiers.length];
+        this.windows = new long[tiers.length];
+        this.rejected = new Counter[tiers.length];
+        this.rejectedForCustomer = new Counter[tiers.length];
+        this.customerInterval = customer.intervalNanos();
+        this.customerWindow = customer.intervalNanos() * customer.burst();
+        long refill = customerWindow;
+        for (Tier tier : tiers) {
+            Budget budget = budgets[tier.ordinal()];
+            intervals[tier.ordinal()] = budget.intervalNanos();
+            windows[tier.ordinal()] = budget.intervalNanos() * budget.burst();
+            refill = Math.max(refill, windows[tier.ordinal()]);
+            rejected[tier.ordinal()] = rejectedCounter(tier, "client", meterRegistry);
+            rejectedForCustomer[tier.ordinal()] = rejectedCounter(tier, "customer", meterRegistry);
+        }
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterAccess(Duration.ofNanos(refill))
+            .ticker(ticker)
+            .build();
+        Gauge.builder("rate.limit.buckets", this, RateLimiter::bucketCount)
+            .description("Rate limit buckets held")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for a request, if the request is rate limited.
+     *
+     * @param method the HTTP method.
+     * @param path   the path, within the context path.
+     * @param paged  whether the request asks for a page, with a {@code limit} or {@code cursor}, or
+     *               searches, which is always paged.
+     * @param client the client, as told apart by {@link #clientOf}.
+     * @return {@code 0} if the request is admitted, otherwise the number of nanoseconds until it
+     *         would be.
+     */
+    public long acquire(String method, String path, boolean paged, String client) {
+        Tier tier = tierOf(method, path, paged);
+        if (tier == null) {
+            return 0;
+        }
+        long interval = intervals[tier.ordinal()];
+        AtomicLong bucket = bucket(keyOf(tier, client));
+        long wait = take(bucket, ticker.read(), interval, windows[tier.ordinal()]);
+        if (wait > 0) {
+            rejected[tier.ordinal()].increment();
+            return wait;
+        }
+
+        String customerKey = customerKeyOf(path, client);
+        if (customerKey != null) {
+            wait = take(bucket(customerKey), ticker.read(), customerInterval, customerWindow);
+            if (wait > 0) {
+                // The request is not served, so it does not count against the client
+                bucket.addAndGet(-interval);
+                rejectedForCustomer[tier.ordinal()].increment();
+            }
+        }
+        return wait;
+    }
+
+    private AtomicLong bucket(String key) {
+        return buckets.get(key, ignored -> new AtomicLong(ticker.read()));
+    }
+
+    private static Counter rejectedCounter(Tier tier, String scope, MeterRegistry meterRegistry) {
+        return Counter.builder("rate.limit.rejected")
+            .description("Requests rejected because the client exceeded its rate limit")
+            .tag("tier", tier.name().toLowerCase(Locale.ROOT))
+            .tag("scope", scope)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Tells a client apart.
+     *
+     * @param apiKey  the API key the client sent, or {@code null} if none.
+     * @param address the address of the client.
+     * @return the API key if it is a known one, otherwise the address.
+     */
+    public String clientOf(String apiKey, String address) {
+        return apiKey != null && apiKeys.contains(apiKey) ? apiKey : address;
+    }
+
+    /**
+     * @return the number of buckets held, once the expired ones are evicted.
+     */
+    long bucketCount() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * Tells whether a request asks for a page or searches, as the controllers bind it: a parameter
+     * sent without a value binds to nothing, so only parameters with a value make a request paged.
+     *
+     * @param parameter the first value of a query parameter by name, or {@code null} if absent.
+     * @return whether the request is paged.
+     */
+    static boolean isPaged(UnaryOperator<String> parameter) {
+        for (String name : PAGING_PARAMETERS) {
+            if (StringUtils.hasText(parameter.apply(name))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Classifies a request.
+     *
+     * <p>The path is expected decoded and without path parameters, as the handlers are matched
+     * against it. Trailing slashes are ignored, and any path under {@code /phone-numbers} other than
+     * the listing itself is expensive, so no spelling of an expensive endpoint gets a cheap budget.</p>
+     *
+     * @return the tier of the request, or {@code null} if it is not rate limited, as the actuator
+     *         and API documentation endpoints are not.
+     */
+    static Tier tierOf(String method, String path, boolean paged) {
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        path = path.substring(0, end);
+        if (path.startsWith(CUSTOMERS)) {
+            return path.endsWith(BULK_ACTIVATION) ? Tier.EXPENSIVE : Tier.CHEAP;
+        }
+        if (path.equals(PHONE_NUMBERS)) {
+            return paged || !"GET".equals(method) ? Tier.CHEAP : Tier.EXPENSIVE;
+        }
+        return path.startsWith(PHONE_NUMBERS) ? Tier.EXPENSIVE : null;
+    }
+
+    /**
+     * @return the key of the bucket of a client and tier.
+     */
+    static String keyOf(Tier tier, String client) {
+        if (client.length() > MAX_CLIENT_LENGTH) {
+            client = client.substring(0, MAX_CLIENT_LENGTH);
+        }
+        return (tier == Tier.CHEAP ? "c" : "e") + client;
+    }
+
+    /**
+     * @return the key of the bucket of a client and the customer a request is for, or {@code null}
+     *         if the request is for no customer. A customer segment that is not a customer ID gets
+     *         no bucket, so it cannot make keys arbitrarily large; the request is answered with 400.
+     */
+    static String customerKeyOf(String path, String client) {
+        if (!path.startsWith(CUSTOMERS)) {
+            return null;
+        }
+        int end = CUSTOMERS.length();
+        while (end < path.length() && path.charAt(end) != '/' && path.charAt(end) != ':') {
+            end++;
+        }
+        long customerId;
+        try {
+            // Parsed as the controllers bind it, so every spelling of a customer ID shares a bucket
+            customerId = Long.parseLong(path, CUSTOMERS.length(), end, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (client.length() > MAX_CLIENT_LENGTH) {
+            client = client.substring(0, MAX_CLIENT_LENGTH);
+        }
+        return "u" + client + '|' + customerId;
+    }
+
+    /**
+     * @return the {@code Retry-After} of a rejected request, in whole seconds rounded up.
+     */
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Takes a token from a bucket.
+     *
+     * @param bucket   the time at which the bucket will be full again.
+     * @param now      the current time.
+     * @param interval the time it takes to put back one token.
+     * @param window   the time it takes to fill the bucket.
+     * @return {@code 0} if a token was taken, otherwise the number of nanoseconds until one can be.
+     */
+    static long take(AtomicLong bucket, long now, long interval, long window) {
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + interval;
+            long wait = next - now - window;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+}
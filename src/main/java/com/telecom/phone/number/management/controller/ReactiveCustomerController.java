@@ -0,0 +1,150 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.api.reactive.CustomersApi;
+import com.telecom.phone.number.management.exception.NumberAlreadyActivatedException;
+import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.logging.LogMarkers;
+import com.telecom.phone.number.management.model.BulkActivationRequest;
+import com.telecom.phone.number.management.model.BulkActivationResponse;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.ActivationResult;
+import com.telecom.phone.number.management.service.CustomerService;
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux edition of {@link CustomerController}, active when the application runs as a reactive
+ * web application (the {@code reactive} profile).
+ * Implements the reactive {@link CustomersApi} interface for API specifications.
+ *
+ * <p>Responses, statuses and conditional requests are those of {@link CustomerController}. The
+ * service calls read and update the data source, which may block, so they run on the bounded
+ * elastic scheduler rather than on the event loop.</p>
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerController implements CustomersApi {
+
+    @Autowired
+    CustomerService service;
+
+    /**
+     * Fetches all phone numbers associated with a specific customer.
+     *
+     * @param customerId  the unique ID of the customer.
+     * @param ifNoneMatch the {@code If-None-Match} header, or {@code null}.
+     * @param exchange    the current exchange, the base of the links in the response.
+     * @return a {@link Mono} of a {@link ResponseEntity} containing a {@link SerializedPhoneNumbersResponse} with
+     *         the customer's phone numbers, of an empty 304 response if they have not changed, or failing with a
+     *         {@link ResourceNotFoundException} if the customer does not exist.
+     */
+    @Override
+    public Mono<ResponseEntity<SerializedPhoneNumbersResponse>> getCustomerPhoneNumbers(Long customerId, String ifNoneMatch,
+                                                                                        ServerWebExchange exchange) {
+        log.info(LogMarkers.SUCCESS, "Received request to fetch phone numbers for customer ID: {}", customerId);
+        String baseUrl = BaseUrls.of(exchange);
+        return Mono.fromCallable(() -> {
+                // Read before the numbers, so the tag never claims a newer version than the body holds
+                String etag = EntityTags.of(service.getCustomerPhoneNumbersVersion(customerId));
+                if (EntityTags.matches(ifNoneMatch, etag)) {
+                    log.debug(LogMarkers.SUCCESS, "Phone numbers of customer ID {} not modified since {}", customerId, etag);
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<SerializedPhoneNumbersResponse>build();
+                }
+
+                return service.getCustomerPhoneNumbers(customerId, baseUrl)
+                    .map(response -> {
+                        log.info(LogMarkers.SUCCESS, "Successfully retrieved phone numbers for customer ID: {}", customerId);
+                        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                        if (etag != null) {
+                            ok.eTag(etag);
+                        }
+                        return ok.body(response);
+                    })
+                    .orElseThrow(() -> {
+                        log.warn("Customer not found with ID: {}", customerId);
+                        return ResourceNotFoundException.CUSTOMER;
+                    });
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Activates a specific phone number for a customer.
+     *
+     * @param customerId  the unique ID of the customer.
+     * @param phoneNumber the phone number to activate.
+     * @param exchange    the current exchange, the base of the links in the response.
+     * @return a {@link Mono} of a {@link ResponseEntity} containing a {@link PhoneNumbersResponse} with the updated
+     *         phone number details, or failing with a {@link ResourceNotFoundException} if the customer or phone
+     *         number does not exist, or a {@link NumberAlreadyActivatedException} if the phone number is already active.
+     */
+    @Override
+    public Mono<ResponseEntity<PhoneNumbersResponse>> activatePhoneNumber(Long customerId, String phoneNumber,
+                                                                          ServerWebExchange exchange) {
+        log.info(LogMarkers.SUCCESS, "Received request to activate phone number {} for customer ID: {}", phoneNumber, customerId);
+        String baseUrl = BaseUrls.of(exchange);
+        return Mono.fromCallable(() -> {
+                ActivationResult result = service.activatePhoneNumber(customerId, phoneNumber, baseUrl);
+                return switch (result.outcome()) {
+                    case ACTIVATED -> {
+                        log.info(LogMarkers.SUCCESS, "Successfully activated phone number {} for customer ID: {}", phoneNumber, customerId);
+                        yield ResponseEntity.ok(result.response());
+                    }
+                    case ALREADY_ACTIVE -> {
+                        log.warn("Phone number {} is already active for customer ID: {}", phoneNumber, customerId);
+                        throw NumberAlreadyActivatedException.INSTANCE;
+                    }
+                    case NOT_FOUND -> {
+                        log.warn("Phone number {} not found for customer ID: {}", phoneNumber, customerId);
+                        throw ResourceNotFoundException.PHONE_NUMBER;
+                    }
+                    case CUSTOMER_NOT_FOUND -> {
+                        log.warn("Customer not found with ID: {}", customerId);
+                        throw ResourceNotFoundException.CUSTOMER;
+                    }
+                };
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Activates a batch of phone numbers for a customer.
+     *
+     * @param customerId            the unique ID of the customer.
+     * @param bulkActivationRequest the phone numbers to activate, as the request body is read.
+     * @param exchange              the current exchange, the base of the links in the response.
+     * @return a {@link Mono} of a {@link ResponseEntity} containing a {@link BulkActivationResponse} with the outcome
+     *         of every activation, or failing with a {@link ResourceNotFoundException} if the customer does not exist.
+     */
+    @Override
+    public Mono<ResponseEntity<BulkActivationResponse>> activatePhoneNumbers(Long customerId,
+                                                                             Mono<BulkActivationRequest> bulkActivationRequest,
+                                                                             ServerWebExchange exchange) {
+        String baseUrl = BaseUrls.of(exchange);
+        return bulkActivationRequest
+            .publishOn(Schedulers.boundedElastic())
+            .map(request -> {
+                log.info(LogMarkers.SUCCESS, "Received request to activate {} phone numbers for customer ID: {}",
+                    request.getPhoneNumbers().size(), customerId);
+                return service.activatePhoneNumbers(customerId, request.getPhoneNumbers(), baseUrl)
+                    .map(response -> {
+                        log.info(LogMarkers.SUCCESS, "Processed bulk activation of {} phone numbers for customer ID: {}",
+                            response.getResults().size(), customerId);
+                        return ResponseEntity.ok(response);
+                    })
+                    .orElseThrow(() -> {
+                        log.warn("Customer not found with ID: {}", customerId);
+                        return ResourceNotFoundException.CUSTOMER;
+                    });
+            });
+    }
+}
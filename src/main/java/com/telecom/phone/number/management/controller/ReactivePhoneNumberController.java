@@ -0,0 +1,96 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.api.reactive.PhoneNumbersApi;
+import com.telecom.phone.number.management.logging.LogMarkers;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.PhoneNumberService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux edition of {@link PhoneNumberController}, active when the application runs as a reactive
+ * web application (the {@code reactive} profile).
+ * Implements the reactive {@link PhoneNumbersApi} interface for API specifications.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePhoneNumberController implements PhoneNumbersApi {
+
+    @Autowired
+    private PhoneNumberService service;
+
+    /**
+     * Retrieves all phone numbers available in the system, or one page of them when a page size or
+     * cursor is supplied, or one page of those matching a search when a prefix or activation state
+     * is supplied.
+     *
+     * <p>Conditional requests behave as in {@link PhoneNumberController#getAllPhoneNumbers}. The
+     * data source is read on the bounded elastic scheduler, off the event loop.</p>
+     *
+     * @param limit       the maximum number of phone numbers in the page, or {@code null}.
+     * @param cursor      the cursor of the page to retrieve, or {@code null}.
+     * @param prefix      the leading digits of the phone numbers searched, or {@code null}.
+     * @param active      the activation state of the phone numbers searched, or {@code null}.
+     * @param ifNoneMatch the {@code If-None-Match} header, or {@code null}.
+     * @param exchange    the current exchange, the base of the links in the response.
+     * @return a {@link Mono} of a {@link ResponseEntity} containing a {@link PhoneNumbersResponse} with the list of
+     *         phone numbers, or of an empty 304 response if they have not changed.
+     */
+    @Override
+    public Mono<ResponseEntity<PhoneNumbersResponse>> getAllPhoneNumbers(Integer limit, String cursor, String prefix, Boolean active,
+                                                                         String ifNoneMatch, ServerWebExchange exchange) {
+        log.info(LogMarkers.SUCCESS, "Received request to fetch all phone numbers.");
+        String baseUrl = BaseUrls.of(exchange);
+        return Mono.fromCallable(() -> {
+                // Read before the numbers, so the tag never claims a newer version than the body holds
+                String etag = EntityTags.of(service.getPhoneNumbersVersion());
+                if (EntityTags.matches(ifNoneMatch, etag)) {
+                    log.debug(LogMarkers.SUCCESS, "Phone numbers not modified since {}", etag);
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<PhoneNumbersResponse>build();
+                }
+
+                PhoneNumbersResponse response = prefix != null || active != null
+                    ? service.searchPhoneNumbers(prefix, active, limit, cursor, baseUrl)
+                    : service.getAllPhoneNumbers(limit, cursor, baseUrl);
+                log.info(LogMarkers.SUCCESS, "Successfully retrieved {} phone numbers.", response.getPhoneNumbers().size());
+                ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                if (etag != null) {
+                    ok.eTag(etag);
+                }
+                return ok.body(response);
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Streams every phone number in the system as newline-delimited JSON.
+     *
+     * <p>Numbers are read from the data source as the client consumes them, so a slow client slows
+     * down the reads rather than growing server memory. They are written a page at a time by the
+     * {@link com.telecom.phone.number.management.config.PhoneNumberNdjsonEncoder}.</p>
+     *
+     * @param exchange the current exchange.
+     * @return a {@link Mono} of a {@link ResponseEntity} whose body is a {@link Flux} of the phone
+     *         numbers, written one JSON object per line.
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<PhoneNumber>>> exportPhoneNumbers(ServerWebExchange exchange) {
+        log.info(LogMarkers.SUCCESS, "Received request to export all phone numbers.");
+        // Counting the numbers may block, so the stream is set up off the event loop too
+        return Mono.fromCallable(() -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(service.streamPhoneNumbers()))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+}
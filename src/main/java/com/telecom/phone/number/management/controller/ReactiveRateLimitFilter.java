@@ -0,0 +1,84 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.logging.LogThrottle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Web filter admitting requests to the reactive controllers within the budgets of a
+ * {@link RateLimiter}, the counterpart of {@link RateLimitFilter} for the reactive edition.
+ */
+@Slf4j
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private static final byte[] REJECTED_MESSAGE = RateLimiter.REJECTED_MESSAGE.getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter rateLimiter;
+    private final LogThrottle rejections = new LogThrottle(RateLimitFilter.REJECTION_LOG_INTERVAL);
+
+    /**
+     * Creates a filter.
+     *
+     * @param rateLimiter the rate limiter.
+     */
+    public ReactiveRateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = lookupPath(request.getPath().pathWithinApplication());
+        boolean paged = RateLimiter.isPaged(request.getQueryParams()::getFirst);
+        String client = rateLimiter.clientOf(request.getHeaders().getFirst(RateLimiter.API_KEY_HEADER), addressOf(request));
+        long wait = rateLimiter.acquire(request.getMethod().name(), path, paged, client);
+        if (wait == 0) {
+            return chain.filter(exchange);
+        }
+        long rejected = rejections.record();
+        if (rejected > 0) {
+            log.warn("Rate limited {} {}, {} requests rejected in the last {}s",
+                request.getMethod(), path, rejected, rejections.intervalSeconds());
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(wait)));
+        response.getHeaders().setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        DataBuffer body = response.bufferFactory().wrap(REJECTED_MESSAGE);
+        return response.writeWith(Mono.just(body));
+    }
+
+    /**
+     * @return the path decoded and without path parameters, as the handlers are matched.
+     */
+    private static String lookupPath(PathContainer path) {
+        StringBuilder lookupPath = new StringBuilder(path.value().length());
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                lookupPath.append(segment.valueToMatch());
+            } else if (lookupPath.isEmpty() || lookupPath.charAt(lookupPath.length() - 1) != '/') {
+                // Runs of separators are matched as one
+                lookupPath.append('/');
+            }
+        }
+        return lookupPath.toString();
+    }
+
+    private static String addressOf(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        return address == null ? "" : address.getAddress() == null ? address.getHostString() : address.getAddress().getHostAddress();
+    }
+}
@@ -0,0 +1,180 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.exception.ServiceOverloadedException;
+import com.telecom.phone.number.management.logging.LogThrottle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the work of the controllers off the servlet request threads, on a bounded pool.
+ *
+ * <p>The pool has a fixed number of threads and a queue of fixed capacity. A request arriving when
+ * the queue is full is rejected immediately with a {@link ServiceOverloadedException}, answered as
+ * 503 with a {@code Retry-After} header, instead of waiting behind work the pool cannot catch up
+ * with. The request attributes of the calling thread are carried over to the pool, so the services
+ * can still build links from the current request.</p>
+ *
+ * <p>When the application serves requests on virtual threads, {@link #virtualThreads} runs each
+ * request on a virtual thread of its own instead, so blocking calls do not hold on to a platform
+ * thread. A semaphore then bounds the requests in flight, and those beyond the bound are rejected
+ * the same way.</p>
+ *
+ * <p>The executor is published as the {@code executor.*} meters tagged {@code name=requestExecutor},
+ * and rejected requests as {@code executor.rejected}. Rejections are logged at most once every
+ * {@link #REJECTION_LOG_INTERVAL}, so an overload does not make request threads wait on the log
+ * too.</p>
+ */
+@Slf4j
+public class RequestExecutor implements AutoCloseable {
+
+    /**
+     * Name of the executor in metrics and of its threads.
+     */
+    public static final String NAME = "requestExecutor";
+
+    /**
+     * The time between two rejections logged.
+     */
+    static final Duration REJECTION_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    // The bounded pool of platform threads, or null when running on virtual threads
+    private final ThreadPoolExecutor pool;
+    // The bound on requests in flight on virtual threads, or null when running on the pool
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+    private final Counter rejected;
+    private final LogThrottle rejections = new LogThrottle(REJECTION_LOG_INTERVAL);
+    private final Duration retryAfter;
+
+    /**
+     * Creates an executor and registers its metrics.
+     *
+     * @param threads       the number of threads running requests.
+     * @param queueCapacity the number of requests that may wait for a thread.
+     * @param retryAfter    the delay suggested to clients whose requests are rejected.
+     * @param meterRegistry the registry publishing the executor metrics.
+     */
+    public RequestExecutor(int threads, int queueCapacity, Duration retryAfter, MeterRegistry meterRegistry) {
+        this(newPool(threads, queueCapacity), 0, retryAfter, meterRegistry);
+    }
+
+    private RequestExecutor(ThreadPoolExecutor pool, int maxInFlight, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.pool = pool;
+        this.maxInFlight = maxInFlight;
+        if (pool != null) {
+            this.inFlight = null;
+            this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, NAME);
+        } else {
+            Semaphore permits = new Semaphore(maxInFlight);
+            this.inFlight = permits;
+            this.executor = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(NAME + "-", 1).factory()), NAME);
+            Gauge.builder("executor.active", permits, semaphore -> maxInFlight - semaphore.availablePermits())
+                .description("Requests in flight on virtual threads")
+                .tag("name", NAME)
+                .register(meterRegistry);
+        }
+        this.rejected = Counter.builder("executor.rejected")
+            .description("Requests rejected because the executor was saturated")
+            .tag("name", NAME)
+            .register(meterRegistry);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Creates an executor running each request on a virtual thread of its own, and registers its
+     * metrics.
+     *
+     * @param maxInFlight   the number of requests that may be in flight at a time.
+     * @param retryAfter    the delay suggested to clients whose requests are rejected.
+     * @param meterRegistry the registry publishing the executor metrics.
+     * @return the executor.
+     */
+    public static RequestExecutor virtualThreads(int maxInFlight, Duration retryAfter, MeterRegistry meterRegistry) {
+        return new RequestExecutor(null, maxInFlight, retryAfter, meterRegistry);
+    }
+
+    private static ThreadPoolExecutor newPool(int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, NAME + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs a task on the pool, with the request attributes of the calling thread.
+     *
+     * @param task the task.
+     * @param <T>  the type of the task's result.
+     * @return a future completed with the task's result, or exceptionally with what it threw.
+     * @throws ServiceOverloadedException if the queue is full, or too many requests are in flight.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        if (inFlight != null && !inFlight.tryAcquire()) {
+            throw rejected();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                try {
+                    return task.get();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                    if (inFlight != null) {
+                        inFlight.release();
+                    }
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            if (inFlight != null) {
+                inFlight.release();
+            }
+            throw rejected();
+        }
+    }
+
+    private ServiceOverloadedException rejected() {
+        rejected.increment();
+        long logged = rejections.record();
+        if (logged > 0 && pool != null) {
+            log.warn("Rejected request, {} requests already queued, {} requests rejected in the last {}s",
+                pool.getQueue().size(), logged, rejections.intervalSeconds());
+        } else if (logged > 0) {
+            log.warn("Rejected request, {} requests already in flight, {} requests rejected in the last {}s",
+                maxInFlight, logged, rejections.intervalSeconds());
+        }
+        return new ServiceOverloadedException("The service is overloaded, retry later.", retryAfter);
+    }
+
+    /**
+     * Stops accepting requests and lets the queued ones finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
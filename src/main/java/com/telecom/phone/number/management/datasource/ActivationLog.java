@@ -0,0 +1,351 @@
+package com.telecom.phone.number.management.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log of activations, written through a {@link FileChannel}.
+ *
+ * <p>Each record holds a customer ID and an encoded phone number, followed by a CRC32C checksum,
+ * so a record torn by a crash is detected and ignored on replay. How long {@link #append} waits for
+ * the disk is governed by the log's {@link Durability}:</p>
+ *
+ * <ul>
+ *     <li>{@link Durability#FSYNC_PER_OP}: the caller writes and forces its records itself.</li>
+ *     <li>{@link Durability#GROUP_COMMIT}: the caller queues its records and waits while a single
+ *     writer thread forces every record queued so far, so concurrent callers share one flush.</li>
+ *     <li>{@link Durability#ASYNC}: the caller queues its records and returns; the writer thread
+ *     forces them once per flush interval.</li>
+ * </ul>
+ *
+ * <p>Waiting uses {@link ReentrantLock} conditions rather than monitors, so callers on virtual
+ * threads unmount while their records are being flushed.</p>
+ */
+final class ActivationLog implements Closeable {
+
+    /**
+     * Size of one record: customer ID, phone number and checksum.
+     */
+    static final int RECORD_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final Logger log = LoggerFactory.getLogger(ActivationLog.class);
+
+    private final Durability durability;
+    private final long flushIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition recordsQueued = lock.newCondition();
+    private final Condition recordsFlushed = lock.newCondition();
+    private final Thread writer;
+
+    // Guarded by lock
+    private FileChannel channel;
+    private FileChannel nextChannel;
+    private ByteBuffer queue = ByteBuffer.allocate(64 * RECORD_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(64 * RECORD_SIZE);
+    private long queuedRecords;
+    private long flushedRecords;
+    private IOException failure;
+    private boolean closed;
+
+    private ActivationLog(FileChannel channel, Durability durability, Duration flushInterval) {
+        this.channel = channel;
+        this.durability = durability;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.writer = durability == Durability.FSYNC_PER_OP ? null
+            : Thread.ofPlatform().name("activation-log-writer").daemon().start(this::writeQueuedRecords);
+    }
+
+    /**
+     * Opens a log file for appending, creating it if needed.
+     *
+     * @param file          The log file.
+     * @param durability    How long appends wait for the disk.
+     * @param flushInterval How often queued records are forced in {@link Durability#ASYNC} mode.
+     * @return The open log.
+     * @throws IOException If the file cannot be opened.
+     */
+    static ActivationLog open(Path file, Durability durability, Duration flushInterval) throws IOException {
+        return new ActivationLog(openChannel(file), durability, flushInterval);
+    }
+
+    /**
+     * Appends the activations of one customer's phone numbers, returning once they are as durable
+     * as the log's {@link Durability} requires.
+     *
+     * @param customerId The ID of the customer.
+     * @param numbers    The encoded phone numbers; only the first {@code count} are appended.
+     * @param count      The number of phone numbers to append.
+     * @throws UncheckedIOException If the records cannot be written.
+     */
+    void append(long customerId, long[] numbers, int count) {
+        if (count == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            if (durability == Durability.FSYNC_PER_OP) {
+                ByteBuffer records = ByteBuffer.allocate(count * RECORD_SIZE);
+                putRecords(records, customerId, numbers, count);
+                records.flip();
+                try {
+                    writeFully(channel, records);
+                    channel.force(false);
+                } catch (IOException e) {
+                    // A partly written record would hide every later one from replay
+                    failure = e;
+                    throw e;
+                }
+                return;
+            }
+
+            if (queue.remaining() < count * RECORD_SIZE) {
+                queue = grow(queue, count * RECORD_SIZE);
+            }
+            putRecords(queue, customerId, numbers, count);
+            queuedRecords += count;
+            long ticket = queuedRecords;
+            recordsQueued.signal();
+
+            if (durability == Durability.GROUP_COMMIT) {
+                while (flushedRecords < ticket && failure == null) {
+                    recordsFlushed.awaitUninterruptibly();
+                }
+                ensureOpen();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the activation log", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Switches the log to a new file. Every record appended before this call is written and forced
+     * to the old file before it returns, and every record appended afterwards goes to the new one.
+     *
+     * @param file The new log file.
+     * @throws IOException If the new file cannot be opened or the old one cannot be flushed.
+     */
+    void rotate(Path file) throws IOException {
+        FileChannel next = openChannel(file);
+        FileChannel previous;
+        lock.lock();
+        try {
+            ensureOpen();
+            if (durability == Durability.FSYNC_PER_OP) {
+                previous = channel;
+                channel = next;
+            } else {
+                // The writer thread owns the channel; hand it the new one along with the queued records
+                nextChannel = next;
+                recordsQueued.signal();
+                while (nextChannel != null && failure == null) {
+                    recordsFlushed.awaitUninterruptibly();
+                }
+                ensureOpen();
+                return;
+            }
+        } catch (IOException e) {
+            next.close();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+        previous.force(false);
+        previous.close();
+    }
+
+    /**
+     * Flushes every queued record and closes the log file.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            recordsQueued.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        channel.force(false);
+        channel.close();
+    }
+
+    /**
+     * Reads back every intact record of a log file, in order. Reading stops at the first torn or
+     * corrupt record, which can only be the tail left by a crash.
+     *
+     * @param file    The log file.
+     * @param visitor Receives each record.
+     * @return The number of records read.
+     * @throws IOException If the file cannot be read.
+     */
+    static int replay(Path file, ActivationVisitor visitor) throws IOException {
+        int replayed = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4096 * RECORD_SIZE);
+            CRC32C checksum = new CRC32C();
+            while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                if (buffer.remaining() < RECORD_SIZE) {
+                    log.warn("Ignoring a torn record at the end of activation log {}", file);
+                    return replayed;
+                }
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    long customerId = buffer.getLong();
+                    long number = buffer.getLong();
+                    checksum.reset();
+                    checksum.update(buffer.array(), buffer.position() - 2 * Long.BYTES, 2 * Long.BYTES);
+                    if ((int) checksum.getValue() != buffer.getInt()) {
+                        log.warn("Ignoring activation log {} after a corrupt record at offset {}",
+                            file, (long) replayed * RECORD_SIZE);
+                        return replayed;
+                    }
+                    visitor.visit(customerId, number);
+                    replayed++;
+                }
+                buffer.compact();
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Receives the records of an activation log.
+     */
+    @FunctionalInterface
+    interface ActivationVisitor {
+
+        void visit(long customerId, long number);
+    }
+
+    /**
+     * Body of the writer thread: repeatedly takes every queued record, writes and forces them in
+     * one batch, and wakes the callers waiting on them.
+     */
+    private void writeQueuedRecords() {
+        while (true) {
+            ByteBuffer batch;
+            long batchEnd;
+            FileChannel rotateTo;
+            boolean closing;
+            lock.lock();
+            try {
+                while (queue.position() == 0 && nextChannel == null && !closed) {
+                    recordsQueued.awaitUninterruptibly();
+                }
+                if (durability == Durability.ASYNC) {
+                    // Let records accumulate for one flush interval; appends signal on every record,
+                    // so only closing or rotating the log cuts the interval short
+                    long remaining = flushIntervalNanos;
+                    while (remaining > 0 && !closed && nextChannel == null) {
+                        remaining = recordsQueued.awaitNanos(remaining);
+                    }
+                }
+                batch = queue;
+                queue = spare;
+                spare = batch;
+                batchEnd = queuedRecords;
+                rotateTo = nextChannel;
+                closing = closed;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                continue;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                batch.flip();
+                writeFully(channel, batch);
+                channel.force(false);
+                if (rotateTo != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                log.error("Could not write to the activation log", e);
+                error = e;
+            } finally {
+                batch.clear();
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                }
+                if (rotateTo != null) {
+                    channel = rotateTo;
+                    nextChannel = null;
+                }
+                flushedRecords = batchEnd;
+                recordsFlushed.signalAll();
+                if (closing || failure != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (failure != null) {
+            throw new IOException("The activation log failed earlier", failure);
+        }
+        if (closed) {
+            throw new IOException("The activation log is closed");
+        }
+    }
+
+    private static void putRecords(ByteBuffer buffer, long customerId, long[] numbers, int count) {
+        CRC32C checksum = new CRC32C();
+        for (int i = 0; i < count; i++) {
+            int start = buffer.position();
+            buffer.putLong(customerId).putLong(numbers[i]);
+            checksum.reset();
+            checksum.update(buffer.array(), start, 2 * Long.BYTES);
+            buffer.putInt((int) checksum.getValue());
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        return grown.put(buffer);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static FileChannel openChannel(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,27 @@
+package com.telecom.phone.number.management.datasource;
+
+/**
+ * The outcome of activating one phone number.
+ */
+public enum ActivationOutcome {
+
+    /**
+     * The phone number was inactive and is now active.
+     */
+    ACTIVATED,
+
+    /**
+     * The phone number was already active and was left unchanged.
+     */
+    ALREADY_ACTIVE,
+
+    /**
+     * The customer does not own the phone number.
+     */
+    NOT_FOUND,
+
+    /**
+     * The customer does not exist or owns no phone numbers.
+     */
+    CUSTOMER_NOT_FOUND
+}
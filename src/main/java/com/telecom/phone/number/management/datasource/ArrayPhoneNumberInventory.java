@@ -0,0 +1,142 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A compact, primitive, heap-resident {@link PhoneNumberInventory}.
+ *
+ * <p>All numbers are held in a single {@code long[]}, grouped by customer in load order, with a
+ * customer offset table marking where each customer's numbers start and end. Activation state
+ * is a packed bitset in an {@link AtomicLongArray}, one bit per number, updated with
+ * compare-and-set so that activation is an atomic, lock-free check-and-set. A
+ * {@link PhoneNumberIndex} maps numbers back to their slots.</p>
+ *
+ * <p>Compared with holding a {@code PhoneNumber} DTO per number (object header, {@code String},
+ * backing {@code byte[]} and list reference, well over 80 bytes), this costs about 14 bytes per
+ * number including the index. DTOs are only materialized when a response is built.</p>
+ *
+ * <p>The shape of an inventory (customers and their numbers) is fixed once built; only the
+ * activation bits and the customer versions change.</p>
+ */
+final class ArrayPhoneNumberInventory implements PhoneNumberInventory {
+
+    private final long[] numbers;
+    private final AtomicLongArray activeBits;
+    private final AtomicInteger activeCount;
+    private final Map<Long, Integer> customerOrdinals;
+    private final long[] customerIds;
+    private final int[] customerOffsets;
+    private final AtomicLongArray customerVersions;
+    private final PhoneNumberIndex index;
+
+    ArrayPhoneNumberInventory(long[] numbers, AtomicLongArray activeBits, Map<Long, Integer> customerOrdinals,
+                              long[] customerIds, int[] customerOffsets, PhoneNumberIndex index) {
+        this.numbers = numbers;
+        this.activeBits = activeBits;
+        int active = 0;
+        for (int word = 0; word < activeBits.length(); word++) {
+            active += Long.bitCount(activeBits.get(word));
+        }
+        this.activeCount = new AtomicInteger(active);
+        this.customerOrdinals = customerOrdinals;
+        this.customerIds = customerIds;
+        this.customerOffsets = customerOffsets;
+        this.customerVersions = new AtomicLongArray(customerIds.length);
+        this.index = index;
+    }
+
+    @Override
+    public int size() {
+        return numbers.length;
+    }
+
+    @Override
+    public int customerCount() {
+        return customerIds.length;
+    }
+
+    @Override
+    public int customerOrdinal(long customerId) {
+        Integer ordinal = customerOrdinals.get(customerId);
+        return ordinal == null ? NOT_FOUND : ordinal;
+    }
+
+    @Override
+    public long customerId(int ordinal) {
+        return customerIds[ordinal];
+    }
+
+    @Override
+    public int start(int ordinal) {
+        return customerOffsets[ordinal];
+    }
+
+    @Override
+    public int end(int ordinal) {
+        return customerOffsets[ordinal + 1];
+    }
+
+    @Override
+    public long number(int slot) {
+        return numbers[slot];
+    }
+
+    @Override
+    public boolean isActive(int slot) {
+        return (activeBits.get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    @Override
+    public boolean activate(int slot) {
+        int word = slot >>> 6;
+        long mask = 1L << slot;
+        long current;
+        do {
+            current = activeBits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!activeBits.compareAndSet(word, current, current | mask));
+        activeCount.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void deactivate(int slot) {
+        long mask = 1L << slot;
+        long previous = activeBits.getAndAccumulate(slot >>> 6, ~mask, (current, clear) -> current & clear);
+        if ((previous & mask) != 0) {
+            activeCount.decrementAndGet();
+        }
+    }
+
+    @Override
+    public int activeCount() {
+        return activeCount.get();
+    }
+
+    @Override
+    public long customerVersion(int ordinal) {
+        return customerVersions.get(ordinal);
+    }
+
+    @Override
+    public void customerChanged(int ordinal, long version) {
+        customerVersions.accumulateAndGet(ordinal, version, Math::max);
+    }
+
+    @Override
+    public void initializeVersions(long version) {
+        for (int ordinal = 0; ordinal < customerVersions.length(); ordinal++) {
+            customerVersions.set(ordinal, version);
+        }
+    }
+
+    @Override
+    public int slotOf(int ordinal, long number) {
+        int slot = index.slotOf(number);
+        return slot >= start(ordinal) && slot < end(ordinal) ? slot : NOT_FOUND;
+    }
+}
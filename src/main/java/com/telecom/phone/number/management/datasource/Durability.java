@@ -0,0 +1,26 @@
+package com.telecom.phone.number.management.datasource;
+
+/**
+ * How long an activation waits for its record in the activation log to reach the disk.
+ */
+public enum Durability {
+
+    /**
+     * Every activation writes and forces its own record before it returns. The safest and the
+     * slowest level: each activation pays for a full {@code fsync}.
+     */
+    FSYNC_PER_OP,
+
+    /**
+     * Activations queue their records and wait while a single writer forces everything queued so
+     * far in one {@code fsync}. Nothing acknowledged is lost, and concurrent activations share the
+     * cost of the disk flush.
+     */
+    GROUP_COMMIT,
+
+    /**
+     * Activations queue their records and return at once; the writer forces them in the background.
+     * A crash loses the activations of the last flush interval.
+     */
+    ASYNC
+}
@@ -0,0 +1,248 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A fixed-width binary inventory file, served in place through a read-only memory mapping.
+ *
+ * <p>Mapping a file costs the same whatever its size: numbers, customer tables and the index are
+ * not read or deserialized up front, and their pages are faulted in by the operating system as
+ * requests touch them. Only the activation bitset, one bit per number, is copied onto the heap.
+ * A pod serving tens of millions of numbers is therefore ready as soon as the file is mapped,
+ * without allocating a single object per number or warming up the garbage collector.</p>
+ *
+ * <p>The file is little-endian, and every section starts on an 8-byte boundary:</p>
+ *
+ * <pre>
+ * header          32 bytes   magic "PNIF", format version, number count, customer count, index size
+ * customer IDs    long[c]    in customer ordinal order
+ * offsets         int[c+1]   first slot of each customer, then the total number count
+ * lookup IDs      long[c]    customer IDs in ascending order, for binary search
+ * lookup ordinals int[c]     the ordinal of each lookup ID
+ * numbers         long[n]    encoded phone numbers, grouped by customer
+ * active bits     long[(n+63)/64]  one activation bit per slot
+ * index           int[t]     open-addressing table from number to slot, as in {@link PhoneNumberIndex}
+ * </pre>
+ *
+ * <p>The file is never written once mapped, so it can live on a read-only volume and stays an
+ * image of the inventory as provisioned. Activations are kept across restarts by a
+ * {@link PhoneNumberStore}, as with the heap inventory.</p>
+ */
+public final class InventoryFile {
+
+    static final int MAGIC = 0x504E4946; // "PNIF"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private final Path path;
+    private final MappedPhoneNumberInventory inventory;
+
+    private InventoryFile(Path path, MappedPhoneNumberInventory inventory) {
+        this.path = path;
+        this.inventory = inventory;
+    }
+
+    /**
+     * Maps an inventory file. Only the header is read.
+     *
+     * @param path The inventory file.
+     * @return The mapped file, ready to be loaded with {@link PhoneNumberDataSource#load(InventoryFile)}.
+     * @throws IOException If the file cannot be mapped or is not a valid inventory file.
+     */
+    public static InventoryFile map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not an inventory file, or larger than 2 GB: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not an inventory file: " + path);
+            }
+            Layout layout = new Layout(buffer.getInt(8), buffer.getInt(12), buffer.getInt(16));
+            if (layout.numberCount() < 0 || layout.customerCount() < 0 || layout.tableSize() <= 0
+                    || layout.size() != fileSize) {
+                throw new IOException("Inventory file is truncated or corrupt: " + path);
+            }
+            return new InventoryFile(path, new MappedPhoneNumberInventory(buffer, layout));
+        }
+    }
+
+    /**
+     * Writes the current contents of a datastore as an inventory file.
+     *
+     * @param dataSource The datastore to write.
+     * @param path The file to write; replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(PhoneNumberDataSource dataSource, Path path) throws IOException {
+        write(dataSource.currentInventory(), path);
+    }
+
+    /**
+     * Writes an inventory as an inventory file, through a temporary file moved into place.
+     *
+     * @param inventory The inventory to write.
+     * @param path The file to write; replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(PhoneNumberInventory inventory, Path path) throws IOException {
+        int numbers = inventory.size();
+        int customers = inventory.customerCount();
+        Layout layout = new Layout(numbers, customers, PhoneNumberIndex.tableSize(numbers));
+        if (layout.size() > Integer.MAX_VALUE) {
+            throw new IOException("Inventory of " + numbers + " numbers does not fit in a 2 GB inventory file");
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, layout.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC).putInt(4, FORMAT_VERSION)
+                .putInt(8, numbers).putInt(12, customers).putInt(16, layout.tableSize());
+
+            Long[] lookupOrder = new Long[customers];
+            for (int ordinal = 0; ordinal < customers; ordinal++) {
+                buffer.putLong(layout.customerIds() + 8 * ordinal, inventory.customerId(ordinal));
+                buffer.putInt(layout.offsets() + 4 * ordinal, inventory.start(ordinal));
+                lookupOrder[ordinal] = (long) ordinal;
+            }
+            buffer.putInt(layout.offsets() + 4 * customers, numbers);
+            Arrays.sort(lookupOrder, (a, b) -> Long.compare(
+                inventory.customerId(a.intValue()), inventory.customerId(b.intValue())));
+            for (int i = 0; i < customers; i++) {
+                int ordinal = lookupOrder[i].intValue();
+                buffer.putLong(layout.lookupIds() + 8 * i, inventory.customerId(ordinal));
+                buffer.putInt(layout.lookupOrdinals() + 4 * i, ordinal);
+            }
+
+            int tableSize = layout.tableSize();
+            for (int bucket = 0; bucket < tableSize; bucket++) {
+                buffer.putInt(layout.index() + 4 * bucket, PhoneNumberIndex.EMPTY);
+            }
+            for (int slot = 0; slot < numbers; slot++) {
+                long number = inventory.number(slot);
+                buffer.putLong(layout.numbers() + 8 * slot, number);
+                if (inventory.isActive(slot)) {
+                    int word = layout.activeBits() + 8 * (slot >>> 6);
+                    buffer.putLong(word, buffer.getLong(word) | (1L << slot));
+                }
+                // First occurrence wins, as in PhoneNumberIndex
+                for (int bucket = PhoneNumberIndex.bucket(number, tableSize); ; bucket = PhoneNumberIndex.next(bucket, tableSize)) {
+                    int indexed = buffer.getInt(layout.index() + 4 * bucket);
+                    if (indexed == PhoneNumberIndex.EMPTY) {
+                        buffer.putInt(layout.index() + 4 * bucket, slot);
+                        break;
+                    }
+                    if (inventory.number(indexed) == number) {
+                        break;
+                    }
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return The mapped file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return The number of phone numbers in the file.
+     */
+    public int size() {
+        return inventory.size();
+    }
+
+    /**
+     * @return The inventory served from the mapping.
+     */
+    MappedPhoneNumberInventory inventory() {
+        return inventory;
+    }
+
+    /**
+     * Byte offsets of the sections of a file, derived from its counts. Offsets are computed in
+     * {@code long} so an oversized inventory is caught by {@link #size()} instead of overflowing.
+     *
+     * @param numberCount   The number of phone numbers.
+     * @param customerCount The number of customers.
+     * @param tableSize     The number of buckets in the index.
+     */
+    record Layout(int numberCount, int customerCount, int tableSize) {
+
+        int customerIds() {
+            return HEADER_SIZE;
+        }
+
+        int offsets() {
+            return (int) offsetOfOffsets();
+        }
+
+        int lookupIds() {
+            return (int) offsetOfLookupIds();
+        }
+
+        int lookupOrdinals() {
+            return (int) offsetOfLookupOrdinals();
+        }
+
+        int numbers() {
+            return (int) offsetOfNumbers();
+        }
+
+        int activeBits() {
+            return (int) offsetOfActiveBits();
+        }
+
+        int index() {
+            return (int) offsetOfIndex();
+        }
+
+        long size() {
+            return align(offsetOfIndex() + 4L * tableSize);
+        }
+
+        private long offsetOfOffsets() {
+            return HEADER_SIZE + 8L * customerCount;
+        }
+
+        private long offsetOfLookupIds() {
+            return align(offsetOfOffsets() + 4L * (customerCount + 1));
+        }
+
+        private long offsetOfLookupOrdinals() {
+            return offsetOfLookupIds() + 8L * customerCount;
+        }
+
+        private long offsetOfNumbers() {
+            return align(offsetOfLookupOrdinals() + 4L * customerCount);
+        }
+
+        private long offsetOfActiveBits() {
+            return offsetOfNumbers() + 8L * numberCount;
+        }
+
+        private long offsetOfIndex() {
+            return offsetOfActiveBits() + 8L * ((numberCount + 63L) >>> 6);
+        }
+
+        private static long align(long offset) {
+            return (offset + 7) & ~7L;
+        }
+    }
+}
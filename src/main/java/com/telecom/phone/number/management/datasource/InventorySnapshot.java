@@ -0,0 +1,189 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes compacted snapshots of a {@link PhoneNumberInventory}.
+ *
+ * <p>A snapshot of a heap inventory holds every customer with their numbers, the activation
+ * bitset, and the last activation log segment it covers, followed by a CRC32C of everything before
+ * it. A {@link MappedPhoneNumberInventory} keeps its numbers in its {@link InventoryFile}, so its
+ * snapshot holds only the activation bitset, with the size of the inventory it belongs to, and is
+ * applied back over the mapped file on recovery; the datastore keeps serving from the file.</p>
+ *
+ * <p>Snapshots are written to a temporary file, forced, and then moved over the previous snapshot,
+ * so a crash leaves either the old snapshot or the new one, never a mix.</p>
+ */
+final class InventorySnapshot {
+
+    private static final int MAGIC = 0x504E4953; // "PNIS"
+    private static final int ACTIVATIONS_MAGIC = 0x504E4941; // "PNIA"
+    private static final int FORMAT_VERSION = 1;
+
+    private InventorySnapshot() {
+    }
+
+    /**
+     * A snapshot read back from disk.
+     *
+     * @param inventory      The inventory held by the snapshot, or the one its activations were
+     *                       applied to.
+     * @param coveredSegment The last activation log segment whose records the snapshot includes.
+     */
+    record Contents(PhoneNumberInventory inventory, long coveredSegment) {
+    }
+
+    /**
+     * Writes a snapshot, replacing any previous one. A mapped inventory gets a snapshot of its
+     * activations only.
+     *
+     * @param inventory      The inventory to write; activations made while it is written may or
+     *                       may not be included.
+     * @param coveredSegment The last activation log segment whose records are already applied to
+     *                       the inventory.
+     * @param file           The snapshot file.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    static void write(PhoneNumberInventory inventory, long coveredSegment, Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            boolean mapped = inventory instanceof MappedPhoneNumberInventory;
+            out.writeInt(mapped ? ACTIVATIONS_MAGIC : MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(coveredSegment);
+            out.writeInt(inventory.customerCount());
+            if (mapped) {
+                out.writeInt(inventory.size());
+            } else {
+                for (int ordinal = 0; ordinal < inventory.customerCount(); ordinal++) {
+                    out.writeLong(inventory.customerId(ordinal));
+                    out.writeInt(inventory.end(ordinal) - inventory.start(ordinal));
+                    for (int slot = inventory.start(ordinal); slot < inventory.end(ordinal); slot++) {
+                        out.writeLong(inventory.number(slot));
+                    }
+                }
+            }
+            for (int word = 0; word < inventory.size(); word += 64) {
+                long bits = 0;
+                for (int slot = word; slot < Math.min(word + 64, inventory.size()); slot++) {
+                    if (inventory.isActive(slot)) {
+                        bits |= 1L << slot;
+                    }
+                }
+                out.writeLong(bits);
+            }
+            out.flush();
+            // The checksum itself is not part of the checksummed content
+            new DataOutputStream(Channels.newOutputStream(channel)).writeInt((int) checked.getChecksum().getValue());
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot back.
+     *
+     * @param file    The snapshot file.
+     * @param current The inventory the datastore currently serves. A snapshot of a mapped
+     *                inventory is applied to it, and must have been taken of the same inventory file.
+     * @return The contents of the snapshot.
+     * @throws IOException If the snapshot cannot be read, fails its checksum, or does not fit the
+     *                     current inventory.
+     */
+    static Contents read(Path file, PhoneNumberInventory current) throws IOException {
+        try (DataInputStream raw = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            CheckedInputStream checked = new CheckedInputStream(raw, new CRC32C());
+            DataInputStream in = new DataInputStream(checked);
+            int magic = in.readInt();
+            if ((magic != MAGIC && magic != ACTIVATIONS_MAGIC) || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not an inventory snapshot: " + file);
+            }
+            if ((magic == ACTIVATIONS_MAGIC) != current instanceof MappedPhoneNumberInventory) {
+                throw new IOException("Inventory snapshot " + file + " was taken with another repository engine");
+            }
+            long coveredSegment = in.readLong();
+            int customers = in.readInt();
+            if (magic == ACTIVATIONS_MAGIC) {
+                applyActivations(in, file, customers, current);
+                verifyChecksum(raw, checked, file);
+                return new Contents(current, coveredSegment);
+            }
+
+            PhoneNumberInventory.Builder builder = new PhoneNumberInventory.Builder();
+            long[] numbers = new long[0];
+            int size = 0;
+            long[] customerIds = new long[customers];
+            int[] counts = new int[customers];
+            for (int ordinal = 0; ordinal < customers; ordinal++) {
+                customerIds[ordinal] = in.readLong();
+                counts[ordinal] = in.readInt();
+                if (size + counts[ordinal] > numbers.length) {
+                    numbers = Arrays.copyOf(numbers, Math.max(numbers.length * 2, size + counts[ordinal]));
+                }
+                for (int i = 0; i < counts[ordinal]; i++) {
+                    numbers[size++] = in.readLong();
+                }
+            }
+
+            long bits = 0;
+            int slot = 0;
+            for (int ordinal = 0; ordinal < customers; ordinal++) {
+                builder.customer(customerIds[ordinal]);
+                for (int i = 0; i < counts[ordinal]; i++, slot++) {
+                    if ((slot & 63) == 0) {
+                        bits = in.readLong();
+                    }
+                    builder.number(numbers[slot], (bits & (1L << slot)) != 0);
+                }
+            }
+
+            verifyChecksum(raw, checked, file);
+            return new Contents(builder.build(number -> { }), coveredSegment);
+        }
+    }
+
+    /**
+     * Activates the numbers whose bits are set in an activation snapshot. Slots are only meaningful
+     * for the inventory file the snapshot was taken of, so the sizes must match.
+     */
+    private static void applyActivations(DataInputStream in, Path file, int customers, PhoneNumberInventory inventory)
+            throws IOException {
+        int size = in.readInt();
+        if (customers != inventory.customerCount() || size != inventory.size()) {
+            throw new IOException("Inventory snapshot " + file + " was taken of another inventory file, with "
+                + size + " phone numbers of " + customers + " customers");
+        }
+        for (int word = 0; word < size; word += 64) {
+            long bits = in.readLong();
+            while (bits != 0) {
+                inventory.activate(word + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private static void verifyChecksum(DataInputStream raw, CheckedInputStream checked, Path file) throws IOException {
+        int expected = (int) checked.getChecksum().getValue();
+        if (raw.readInt() != expected) {
+            throw new IOException("Inventory snapshot failed its checksum: " + file);
+        }
+    }
+}
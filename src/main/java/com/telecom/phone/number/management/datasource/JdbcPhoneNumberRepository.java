@@ -0,0 +1,562 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.exception.RepositoryAccessException;
+import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.logging.LogMarkers;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link PhoneNumberRepository} stored in a relational database through JDBC, used with an
+ * embedded H2 database in file mode behind a HikariCP pool.
+ *
+ * <p>Each phone number is a row keyed by its {@code position} in the listing order, which runs
+ * from {@code 0} without gaps, so a page is a keyset range on the primary key rather than an
+ * {@code OFFSET} the database has to count through, and full scans walk the key in batches of
+ * {@value #SCAN_BATCH_SIZE} rows. Numbers are stored in their {@link PhoneNumberCodec encoded}
+ * form.</p>
+ *
+ * <p>Activation is a single conditional {@code UPDATE ... WHERE is_active = FALSE}, so the
+ * database decides which of several concurrent activations wins, and only a failed update looks
+ * the number up again to tell an active number from a missing one. Batches of activations are
+ * sent as one JDBC batch in one transaction.</p>
+ *
+ * <p>Each customer's version is stored with the customer and updated in the same transaction as
+ * its numbers, so the two become visible together. Versions are drawn from a counter that starts
+ * past the highest stored version, which is sound because an embedded database in file mode is
+ * opened by a single process. The version of the repository as a whole is published only once a
+ * change is committed, so a reader never pairs it with rows that are still uncommitted.</p>
+ */
+public class JdbcPhoneNumberRepository implements PhoneNumberRepository {
+
+    static final int SCAN_BATCH_SIZE = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcPhoneNumberRepository.class);
+
+    private static final String[] SCHEMA = {
+        """
+        CREATE TABLE IF NOT EXISTS customer (
+            id BIGINT PRIMARY KEY,
+            number_count INT NOT NULL,
+            active_count INT NOT NULL DEFAULT 0,
+            version BIGINT NOT NULL)""",
+        """
+        CREATE TABLE IF NOT EXISTS phone_number (
+            position INT PRIMARY KEY,
+            customer_id BIGINT NOT NULL,
+            number BIGINT NOT NULL,
+            is_active BOOLEAN NOT NULL)""",
+        "CREATE INDEX IF NOT EXISTS phone_number_by_customer ON phone_number (customer_id, number, position)",
+        "CREATE INDEX IF NOT EXISTS phone_number_by_number ON phone_number (number, position)"
+    };
+
+    // Only the first occurrence of a number can be activated, as in every engine, by its customer
+    private static final String ACTIVATE = """
+        UPDATE phone_number SET is_active = TRUE
+        WHERE customer_id = ? AND position = (SELECT MIN(position) FROM phone_number WHERE number = ?)
+        AND is_active = FALSE""";
+
+    private static final String FIND_NUMBER = """
+        SELECT is_active FROM phone_number
+        WHERE customer_id = ? AND position = (SELECT MIN(position) FROM phone_number WHERE number = ?)""";
+
+    private static final String FIND_CUSTOMER_VERSION = "SELECT version FROM customer WHERE id = ? AND number_count > 0";
+
+    private static final String UPDATE_CUSTOMER_VERSION = "UPDATE customer SET version = GREATEST(version, ?) WHERE id = ?";
+
+    private static final String RECORD_ACTIVATIONS = """
+        UPDATE customer SET version = GREATEST(version, ?), active_count = active_count + ? WHERE id = ?""";
+
+    private static final String SELECT_RANGE = """
+        SELECT position, number, is_active FROM phone_number WHERE position >= ? ORDER BY position LIMIT ?""";
+
+    // The first occurrence of each number in a range, in number order
+    private static final String SEARCH = """
+        SELECT number, is_active FROM phone_number p
+        WHERE number > ? AND number < ?
+        AND position = (SELECT MIN(position) FROM phone_number WHERE number = p.number)""";
+
+    private static final String SEARCH_ORDER = " ORDER BY number LIMIT ?";
+
+    private static final String SELECT_CUSTOMER_NUMBERS = """
+        SELECT number, is_active FROM phone_number WHERE customer_id = ? ORDER BY position""";
+
+    private final DataSource dataSource;
+
+    // Source of the versions stamped on changes, started past the highest stored one
+    private final AtomicLong stamps;
+
+    // The version of the repository as a whole, moved forward only after a change is committed
+    private final AtomicLong version;
+
+    // The number of phone numbers, which changes only when the repository is loaded
+    private volatile int count;
+
+    // The number of active phone numbers, moved forward only after an activation is committed
+    private final AtomicInteger activeCount;
+
+    /**
+     * Opens the repository on a database, creating its tables if they do not exist yet.
+     *
+     * @param dataSource The pool of connections to the database.
+     */
+    public JdbcPhoneNumberRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+            try (ResultSet counts = statement.executeQuery(
+                    "SELECT COALESCE(SUM(number_count), 0), COALESCE(SUM(active_count), 0), COALESCE(MAX(version), 0) FROM customer")) {
+                counts.next();
+                this.count = counts.getInt(1);
+                this.activeCount = new AtomicInteger(counts.getInt(2));
+                this.stamps = new AtomicLong(counts.getLong(3));
+                this.version = new AtomicLong(counts.getLong(3));
+            }
+        } catch (SQLException e) {
+            throw new RepositoryAccessException("Could not open the phone number database", e);
+        }
+        log.info("Opened phone number database with {} phone numbers at version {}", count, version.get());
+    }
+
+    /**
+     * Replaces the contents of the repository in one transaction.
+     *
+     * <p>Numbers that do not match the 10-digit format of the API contract are skipped, as in
+     * {@link PhoneNumberDataSource#load(Map)}. Rows are inserted in JDBC batches. Intended for
+     * initialization and tests; it is not meant to run concurrently with requests.</p>
+     *
+     * @param data The phone numbers to store, keyed by customer ID.
+     */
+    public void load(Map<Long, List<PhoneNumber>> data) {
+        long loadedVersion = stamps.incrementAndGet();
+        int position = 0;
+        int active = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement();
+                 PreparedStatement insertCustomer = connection.prepareStatement(
+                     "INSERT INTO customer (id, number_count, active_count, version) VALUES (?, ?, ?, ?)");
+                 PreparedStatement insertNumber = connection.prepareStatement(
+                     "INSERT INTO phone_number (position, customer_id, number, is_active) VALUES (?, ?, ?, ?)")) {
+                statement.execute("DELETE FROM phone_number");
+                statement.execute("DELETE FROM customer");
+
+                for (Map.Entry<Long, List<PhoneNumber>> customer : data.entrySet()) {
+                    int first = position;
+                    int firstActive = active;
+                    for (PhoneNumber phoneNumber : customer.getValue()) {
+                        long number = PhoneNumberCodec.encode(phoneNumber.getNumber());
+                        if (number == PhoneNumberCodec.INVALID) {
+                            log.warn("Skipping malformed phone number {} of customer ID: {}", phoneNumber.getNumber(), customer.getKey());
+                            continue;
+                        }
+                        insertNumber.setInt(1, position++);
+                        insertNumber.setLong(2, customer.getKey());
+                        insertNumber.setLong(3, number);
+                        boolean isActive = Boolean.TRUE.equals(phoneNumber.getIsActive());
+                        insertNumber.setBoolean(4, isActive);
+                        if (isActive) {
+                            active++;
+                        }
+                        insertNumber.addBatch();
+                        if (position % SCAN_BATCH_SIZE == 0) {
+                            insertNumber.executeBatch();
+                        }
+                    }
+                    insertCustomer.setLong(1, customer.getKey());
+                    insertCustomer.setInt(2, position - first);
+                    insertCustomer.setInt(3, active - firstActive);
+                    insertCustomer.setLong(4, loadedVersion);
+                    insertCustomer.addBatch();
+                }
+                insertNumber.executeBatch();
+                insertCustomer.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RepositoryAccessException("Could not load phone numbers", e);
+        }
+        count = position;
+        activeCount.set(active);
+        version.accumulateAndGet(loadedVersion, Math::max);
+    }
+
+    @Override
+    public List<PhoneNumber> getAllPhoneNumbers() {
+        int total = count;
+        if (total == 0) {
+            throw new ResourceNotFoundException("No numbers exist in the system");
+        }
+        List<PhoneNumber> all = new ArrayList<>(total);
+        try {
+            forEachRow((number, isActive) -> all.add(toPhoneNumber(number, isActive)));
+        } catch (IOException e) {
+            // Adding to a list cannot fail
+            throw new IllegalStateException(e);
+        }
+        return all;
+    }
+
+    @Override
+    public PhoneNumberPage getPhoneNumbersPage(int offset, int limit) {
+        int total = count;
+        if (total == 0) {
+            throw new ResourceNotFoundException("No numbers exist in the system");
+        }
+
+        int start = Math.min(offset, total);
+        int size = (int) Math.min((long) start + limit, total) - start;
+        List<PhoneNumber> page = new ArrayList<>(size);
+        if (size > 0) {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement select = connection.prepareStatement(SELECT_RANGE)) {
+                select.setInt(1, start);
+                select.setInt(2, size);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        page.add(toPhoneNumber(rows.getLong(2), rows.getBoolean(3)));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RepositoryAccessException("Could not read phone numbers", e);
+            }
+        }
+        return new PhoneNumberPage(page, start, total);
+    }
+
+    /**
+     * Searches phone numbers by prefix and activation state, one page at a time.
+     *
+     * <p>The prefix is a range of the index on {@code number}, and the page resumes past the number
+     * the previous one ended with, so the database seeks to each page rather than counting through
+     * the ones before it.</p>
+     */
+    @Override
+    public PhoneNumberSearchPage searchPhoneNumbers(String prefix, Boolean active, long after, int limit) {
+        long from = PhoneNumberCodec.prefixStart(prefix);
+        if (from == PhoneNumberCodec.INVALID) {
+            throw new IllegalArgumentException("Invalid phone number prefix: " + prefix);
+        }
+        String query = active == null ? SEARCH + SEARCH_ORDER : SEARCH + " AND is_active = ?" + SEARCH_ORDER;
+        List<PhoneNumber> page = new ArrayList<>();
+        long last = PhoneNumberCodec.INVALID;
+        boolean hasNext = false;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(query)) {
+            int parameter = 1;
+            select.setLong(parameter++, Math.max(from - 1, after));
+            select.setLong(parameter++, PhoneNumberCodec.prefixEnd(prefix));
+            if (active != null) {
+                select.setBoolean(parameter++, active);
+            }
+            // One more row than the page tells whether another page follows
+            select.setInt(parameter, limit + 1);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    if (page.size() == limit) {
+                        hasNext = true;
+                        break;
+                    }
+                    last = rows.getLong(1);
+                    page.add(toPhoneNumber(last, rows.getBoolean(2)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RepositoryAccessException("Could not search phone numbers", e);
+        }
+        return new PhoneNumberSearchPage(page, hasNext ? last : PhoneNumberCodec.INVALID);
+    }
+
+    @Override
+    public long getVersion() {
+        return count == 0 ? UNKNOWN_VERSION : version.get();
+    }
+
+    @Override
+    public long getCustomerVersion(Long customerId) {
+        if (customerId == null) {
+            return UNKNOWN_VERSION;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(FIND_CUSTOMER_VERSION)) {
+            select.setLong(1, customerId);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? rows.getLong(1) : UNKNOWN_VERSION;
+            }
+        } catch (SQLException e) {
+            throw new RepositoryAccessException("Could not read the version of customer ID: " + customerId, e);
+        }
+    }
+
+    @Override
+    public int countPhoneNumbers() {
+        return count;
+    }
+
+    @Override
+    public int countActivePhoneNumbers() {
+        return activeCount.get();
+    }
+
+    @Override
+    public int forEachPhoneNumber(PhoneNumberVisitor visitor) throws IOException {
+        return forEachRow(visitor);
+    }
+
+    @Override
+    public Optional<List<PhoneNumber>> getCustomerPhoneNumbers(Long customerId) {
+        log.debug(LogMarkers.SUCCESS, "Fetching phone numbers for customer ID: {}", customerId);
+        if (customerId == null) {
+            return Optional.empty();
+        }
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_CUSTOMER_NUMBERS)) {
+            select.setLong(1, customerId);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    phoneNumbers.add(toPhoneNumber(rows.getLong(1), rows.getBoolean(2)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RepositoryAccessException("Could not read the phone numbers of customer ID: " + customerId, e);
+        }
+        return phoneNumbers.isEmpty() ? Optional.empty() : Optional.of(phoneNumbers);
+    }
+
+    /**
+     * Activates a phone number for a specific customer with one conditional {@code UPDATE}.
+     * Only when no row is updated is the number looked up again, to report why.
+     *
+     * @param customerId The ID of the customer.
+     * @param phoneNumber The phone number to activate.
+     * @return The outcome of the activation.
+     */
+    @Override
+    public ActivationOutcome activatePhoneNumber(Long customerId, String phoneNumber) {
+        log.debug(LogMarkers.SUCCESS, "Activating phone number {} for customer ID: {}", phoneNumber, customerId);
+        if (customerId == null) {
+            return ActivationOutcome.CUSTOMER_NOT_FOUND;
+        }
+        long number = PhoneNumberCodec.encode(phoneNumber);
+        try (Connection connection = dataSource.getConnection()) {
+            long changed;
+            connection.setAutoCommit(false);
+            try (PreparedStatement activate = connection.prepareStatement(ACTIVATE)) {
+                activate.setLong(1, customerId);
+                activate.setLong(2, number);
+                changed = activate.executeUpdate() > 0 ? customerChanged(connection, customerId, 1) : 0;
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+            if (changed > 0) {
+                activeCount.incrementAndGet();
+                published(connection, customerId, changed);
+                return ActivationOutcome.ACTIVATED;
+            }
+
+            ActivationOutcome outcome = failedActivation(connection, customerId, number);
+            if (outcome == null) {
+                return hasPhoneNumbers(connection, customerId) ? ActivationOutcome.NOT_FOUND : ActivationOutcome.CUSTOMER_NOT_FOUND;
+            }
+            return outcome;
+        } catch (SQLException e) {
+            throw new RepositoryAccessException("Could not activate phone number " + phoneNumber + " for customer ID: " + customerId, e);
+        }
+    }
+
+    /**
+     * Activates a batch of phone numbers for a specific customer, sending every conditional
+     * {@code UPDATE} in one JDBC batch and one transaction.
+     *
+     * @param customerId The ID of the customer.
+     * @param phoneNumbers The phone numbers to activate.
+     * @return The outcome for each phone number, in the same order as the input, or an empty
+     *         {@link Optional} if the customer does not exist or has no phone numbers.
+     */
+    @Override
+    public Optional<List<ActivationOutcome>> activatePhoneNumbers(Long customerId, List<String> phoneNumbers) {
+        log.debug(LogMarkers.SUCCESS, "Activating {} phone numbers for customer ID: {}", phoneNumbers.size(), customerId);
+        if (customerId == null) {
+            return Optional.empty();
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!hasPhoneNumbers(connection, customerId)) {
+                return Optional.empty();
+            }
+
+            long[] numbers = new long[phoneNumbers.size()];
+            int[] updated;
+            long changed = 0;
+            int activated = 0;
+            connection.setAutoCommit(false);
+            try (PreparedStatement activate = connection.prepareStatement(ACTIVATE)) {
+                for (int i = 0; i < numbers.length; i++) {
+                    numbers[i] = PhoneNumberCodec.encode(phoneNumbers.get(i));
+                    activate.setLong(1, customerId);
+                    activate.setLong(2, numbers[i]);
+                    activate.addBatch();
+                }
+                updated = activate.executeBatch();
+                for (int rows : updated) {
+                    if (rows > 0) {
+                        activated++;
+                    }
+                }
+                if (activated > 0) {
+                    changed = customerChanged(connection, customerId, activated);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+            if (changed > 0) {
+                activeCount.addAndGet(activated);
+                published(connection, customerId, changed);
+            }
+
+            List<ActivationOutcome> outcomes = new ArrayList<>(numbers.length);
+            for (int i = 0; i < numbers.length; i++) {
+                if (updated[i] > 0) {
+                    outcomes.add(ActivationOutcome.ACTIVATED);
+                } else {
+                    ActivationOutcome outcome = failedActivation(connection, customerId, numbers[i]);
+                    outcomes.add(outcome == null ? ActivationOutcome.NOT_FOUND : outcome);
+                }
+            }
+            return Optional.of(outcomes);
+        } catch (SQLException e) {
+            throw new RepositoryAccessException("Could not activate phone numbers for customer ID: " + customerId, e);
+        }
+    }
+
+    /**
+     * Walks every phone number in listing order with keyset-paginated queries, so no query holds
+     * more than {@value #SCAN_BATCH_SIZE} rows.
+     *
+     * @param visitor Receives each phone number in its encoded form.
+     * @return The number of phone numbers visited.
+     * @throws IOException If the visitor fails.
+     */
+    private int forEachRow(PhoneNumberVisitor visitor) throws IOException {
+        int visited = 0;
+        int next = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_RANGE)) {
+            select.setFetchSize(SCAN_BATCH_SIZE);
+            int rowsInBatch;
+            do {
+                rowsInBatch = 0;
+                select.setInt(1, next);
+                select.setInt(2, SCAN_BATCH_SIZE);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        next = rows.getInt(1) + 1;
+                        visitor.visit(rows.getLong(2), rows.getBoolean(3));
+                        rowsInBatch++;
+                    }
+                }
+                visited += rowsInBatch;
+            } while (rowsInBatch == SCAN_BATCH_SIZE);
+        } catch (SQLException e) {
+            throw new RepositoryAccessException("Could not read phone numbers", e);
+        }
+        return visited;
+    }
+
+    /**
+     * Stamps a customer with a new version and counts its activations, in the transaction of the
+     * change. The stamp is not yet the version of the repository as a whole; {@link #published}
+     * makes it so after the commit.
+     *
+     * @param activated The number of phone numbers the change activated.
+     * @return The new version.
+     */
+    private long customerChanged(Connection connection, long customerId, int activated) throws SQLException {
+        long changed = stamps.incrementAndGet();
+        try (PreparedStatement update = connection.prepareStatement(RECORD_ACTIVATIONS)) {
+            update.setLong(1, changed);
+            update.setInt(2, activated);
+            update.setLong(3, customerId);
+            update.executeUpdate();
+        }
+        return changed;
+    }
+
+    /**
+     * Publishes a committed change as the version of the repository as a whole.
+     *
+     * <p>Changes may commit out of stamp order. When a later stamp is already published, a reader
+     * may have paired it with rows that did not include this change yet, so the change is
+     * published under a fresh stamp instead. The fresh stamp is stored with the customer too, so
+     * it is not issued again after a restart.</p>
+     *
+     * @param changed The stamp the change was committed with.
+     */
+    private void published(Connection connection, long customerId, long changed) throws SQLException {
+        if (version.accumulateAndGet(changed, Math::max) == changed) {
+            return;
+        }
+        long republished = stamps.incrementAndGet();
+        version.accumulateAndGet(republished, Math::max);
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_CUSTOMER_VERSION)) {
+            update.setLong(1, republished);
+            update.setLong(2, customerId);
+            update.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    /**
+     * Explains an activation that updated no row.
+     *
+     * @return {@link ActivationOutcome#ALREADY_ACTIVE} if the customer owns the number, or
+     *         {@code null} if the customer does not own it.
+     */
+    private static ActivationOutcome failedActivation(Connection connection, long customerId, long number) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(FIND_NUMBER)) {
+            select.setLong(1, customerId);
+            select.setLong(2, number);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? ActivationOutcome.ALREADY_ACTIVE : null;
+            }
+        }
+    }
+
+    private static boolean hasPhoneNumbers(Connection connection, long customerId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(FIND_CUSTOMER_VERSION)) {
+            select.setLong(1, customerId);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next();
+            }
+        }
+    }
+
+    private static PhoneNumber toPhoneNumber(long number, boolean isActive) {
+        return new PhoneNumber().number(PhoneNumberCodec.decode(number)).isActive(isActive);
+    }
+}
@@ -0,0 +1,293 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.logging.LogMarkers;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link PhoneNumberRepository} that keeps each customer's phone numbers as a list of
+ * {@link PhoneNumber} DTOs in a concurrent map.
+ *
+ * <p>This is the straightforward engine the datastore started out as, kept as the reference the
+ * other engines are compared against, in the conformance tests and in the benchmarks. It is simple
+ * rather than fast: every read copies the DTOs it returns, and paging walks the customers from the
+ * first one.</p>
+ *
+ * <p>The lists held in the map are never modified. An activation replaces the customer's list with
+ * an updated copy inside {@link ConcurrentHashMap#computeIfPresent}, which serializes concurrent
+ * activations for the same customer, so exactly one of them finds the number inactive.</p>
+ *
+ * <p>As in every engine, a number listed more than once can only be activated at its first
+ * occurrence in listing order, and only by the customer listing it there.</p>
+ */
+public class MapPhoneNumberRepository implements PhoneNumberRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MapPhoneNumberRepository.class);
+
+    // Source of versions, never reset, so versions keep increasing when the repository is reloaded
+    private final AtomicLong version = new AtomicLong();
+
+    // The customers in listing order, and their numbers; replaced as a whole by load
+    private volatile List<Long> customerIds = List.of();
+    private volatile Map<Long, List<PhoneNumber>> phoneNumbers = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> customerVersions = new ConcurrentHashMap<>();
+    // The customer listing each number first, the only one who can activate it
+    private volatile Map<String, Long> firstOwners = Map.of();
+    private volatile int count;
+    private volatile AtomicInteger activeCount = new AtomicInteger();
+
+    /**
+     * Replaces the contents of the repository.
+     *
+     * <p>Numbers that do not match the 10-digit format of the API contract are skipped, as in
+     * {@link PhoneNumberDataSource#load(Map)}. Intended for initialization and tests; it is not
+     * meant to run concurrently with requests.</p>
+     *
+     * @param data The phone numbers to store, keyed by customer ID.
+     */
+    public void load(Map<Long, List<PhoneNumber>> data) {
+        long loadedVersion = version.get() + 1;
+        List<Long> loadedIds = new ArrayList<>(data.size());
+        Map<Long, List<PhoneNumber>> loadedNumbers = new ConcurrentHashMap<>();
+        Map<Long, Long> loadedVersions = new ConcurrentHashMap<>();
+        Map<String, Long> loadedOwners = new HashMap<>();
+        int loadedCount = 0;
+        int loadedActive = 0;
+        for (Map.Entry<Long, List<PhoneNumber>> customer : data.entrySet()) {
+            List<PhoneNumber> numbers = new ArrayList<>(customer.getValue().size());
+            for (PhoneNumber phoneNumber : customer.getValue()) {
+                if (PhoneNumberCodec.encode(phoneNumber.getNumber()) == PhoneNumberCodec.INVALID) {
+                    log.warn("Skipping malformed phone number {} of customer ID: {}", phoneNumber.getNumber(), customer.getKey());
+                    continue;
+                }
+                boolean isActive = Boolean.TRUE.equals(phoneNumber.getIsActive());
+                numbers.add(copy(phoneNumber, isActive));
+                if (isActive) {
+                    loadedActive++;
+                }
+                loadedOwners.putIfAbsent(phoneNumber.getNumber(), customer.getKey());
+            }
+            loadedIds.add(customer.getKey());
+            loadedNumbers.put(customer.getKey(), List.copyOf(numbers));
+            loadedVersions.put(customer.getKey(), loadedVersion);
+            loadedCount += numbers.size();
+        }
+
+        customerIds = List.copyOf(loadedIds);
+        phoneNumbers = loadedNumbers;
+        customerVersions = loadedVersions;
+        firstOwners = loadedOwners;
+        count = loadedCount;
+        activeCount = new AtomicInteger(loadedActive);
+        version.set(loadedVersion);
+    }
+
+    @Override
+    public List<PhoneNumber> getAllPhoneNumbers() {
+        if (count == 0) {
+            throw new ResourceNotFoundException("No numbers exist in the system");
+        }
+        List<PhoneNumber> all = new ArrayList<>(count);
+        for (Long customerId : customerIds) {
+            for (PhoneNumber phoneNumber : phoneNumbers.get(customerId)) {
+                all.add(copy(phoneNumber, phoneNumber.getIsActive()));
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public PhoneNumberPage getPhoneNumbersPage(int offset, int limit) {
+        int total = count;
+        if (total == 0) {
+            throw new ResourceNotFoundException("No numbers exist in the system");
+        }
+
+        int start = Math.min(offset, total);
+        int end = (int) Math.min((long) start + limit, total);
+        List<PhoneNumber> page = new ArrayList<>(end - start);
+        int position = 0;
+        for (Long customerId : customerIds) {
+            if (position >= end) {
+                break;
+            }
+            List<PhoneNumber> numbers = phoneNumbers.get(customerId);
+            for (int i = Math.max(start - position, 0); i < numbers.size() && position + i < end; i++) {
+                page.add(copy(numbers.get(i), numbers.get(i).getIsActive()));
+            }
+            position += numbers.size();
+        }
+        return new PhoneNumberPage(page, start, total);
+    }
+
+    @Override
+    public PhoneNumberSearchPage searchPhoneNumbers(String prefix, Boolean active, long after, int limit) {
+        long from = PhoneNumberCodec.prefixStart(prefix);
+        if (from == PhoneNumberCodec.INVALID) {
+            throw new IllegalArgumentException("Invalid phone number prefix: " + prefix);
+        }
+        long to = PhoneNumberCodec.prefixEnd(prefix);
+
+        // Every number is checked, and the first occurrence of each kept
+        TreeMap<Long, Boolean> matches = new TreeMap<>();
+        for (Long customerId : customerIds) {
+            for (PhoneNumber phoneNumber : phoneNumbers.get(customerId)) {
+                long number = PhoneNumberCodec.encode(phoneNumber.getNumber());
+                if (number >= from && number < to && number > after) {
+                    matches.putIfAbsent(number, phoneNumber.getIsActive());
+                }
+            }
+        }
+        List<PhoneNumber> page = new ArrayList<>();
+        for (Map.Entry<Long, Boolean> match : matches.entrySet()) {
+            if (active != null && !active.equals(match.getValue())) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new PhoneNumberSearchPage(page, PhoneNumberCodec.encode(page.get(limit - 1).getNumber()));
+            }
+            page.add(new PhoneNumber().number(PhoneNumberCodec.decode(match.getKey())).isActive(match.getValue()));
+        }
+        return new PhoneNumberSearchPage(page, PhoneNumberCodec.INVALID);
+    }
+
+    @Override
+    public long getVersion() {
+        return count == 0 ? UNKNOWN_VERSION : version.get();
+    }
+
+    @Override
+    public long getCustomerVersion(Long customerId) {
+        if (customerNumbers(customerId) == null) {
+            return UNKNOWN_VERSION;
+        }
+        return customerVersions.getOrDefault(customerId, UNKNOWN_VERSION);
+    }
+
+    @Override
+    public int countPhoneNumbers() {
+        return count;
+    }
+
+    @Override
+    public int countActivePhoneNumbers() {
+        return activeCount.get();
+    }
+
+    @Override
+    public int forEachPhoneNumber(PhoneNumberVisitor visitor) throws IOException {
+        int visited = 0;
+        for (Long customerId : customerIds) {
+            for (PhoneNumber phoneNumber : phoneNumbers.get(customerId)) {
+                visitor.visit(PhoneNumberCodec.encode(phoneNumber.getNumber()), phoneNumber.getIsActive());
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    @Override
+    public Optional<List<PhoneNumber>> getCustomerPhoneNumbers(Long customerId) {
+        log.debug(LogMarkers.SUCCESS, "Fetching phone numbers for customer ID: {}", customerId);
+        List<PhoneNumber> numbers = customerNumbers(customerId);
+        if (numbers == null) {
+            return Optional.empty();
+        }
+        List<PhoneNumber> copies = new ArrayList<>(numbers.size());
+        for (PhoneNumber phoneNumber : numbers) {
+            copies.add(copy(phoneNumber, phoneNumber.getIsActive()));
+        }
+        return Optional.of(copies);
+    }
+
+    @Override
+    public ActivationOutcome activatePhoneNumber(Long customerId, String phoneNumber) {
+        log.debug(LogMarkers.SUCCESS, "Activating phone number {} for customer ID: {}", phoneNumber, customerId);
+        return activatePhoneNumbers(customerId, List.of(phoneNumber))
+            .map(outcomes -> outcomes.get(0))
+            .orElse(ActivationOutcome.CUSTOMER_NOT_FOUND);
+    }
+
+    @Override
+    public Optional<List<ActivationOutcome>> activatePhoneNumbers(Long customerId, List<String> phoneNumbersToActivate) {
+        log.debug(LogMarkers.SUCCESS, "Activating {} phone numbers for customer ID: {}", phoneNumbersToActivate.size(), customerId);
+        if (customerNumbers(customerId) == null) {
+            return Optional.empty();
+        }
+
+        List<ActivationOutcome> outcomes = new ArrayList<>(phoneNumbersToActivate.size());
+        Map<String, Long> owners = firstOwners;
+        AtomicInteger active = activeCount;
+        phoneNumbers.computeIfPresent(customerId, (id, numbers) -> {
+            List<PhoneNumber> updated = new ArrayList<>(numbers);
+            for (String phoneNumber : phoneNumbersToActivate) {
+                outcomes.add(id.equals(owners.get(phoneNumber)) ? activate(updated, phoneNumber) : ActivationOutcome.NOT_FOUND);
+            }
+            return outcomes.contains(ActivationOutcome.ACTIVATED) ? List.copyOf(updated) : numbers;
+        });
+        int activated = 0;
+        for (ActivationOutcome outcome : outcomes) {
+            if (outcome == ActivationOutcome.ACTIVATED) {
+                activated++;
+            }
+        }
+        if (activated > 0) {
+            // Recorded only once the new list is visible, as with every other engine
+            active.addAndGet(activated);
+            customerVersions.merge(customerId, version.incrementAndGet(), Math::max);
+        }
+        return Optional.of(outcomes);
+    }
+
+    /**
+     * Activates the first occurrence of a phone number in a customer's list.
+     *
+     * @param numbers The customer's phone numbers, updated in place.
+     * @param phoneNumber The phone number to activate.
+     * @return The outcome of the activation.
+     */
+    private static ActivationOutcome activate(List<PhoneNumber> numbers, String phoneNumber) {
+        for (int i = 0; i < numbers.size(); i++) {
+            PhoneNumber candidate = numbers.get(i);
+            if (candidate.getNumber().equals(phoneNumber)) {
+                if (candidate.getIsActive()) {
+                    return ActivationOutcome.ALREADY_ACTIVE;
+                }
+                numbers.set(i, copy(candidate, true));
+                return ActivationOutcome.ACTIVATED;
+            }
+        }
+        return ActivationOutcome.NOT_FOUND;
+    }
+
+    /**
+     * @param customerId The ID of the customer.
+     * @return The customer's phone numbers, or {@code null} if the customer does not exist or has
+     *         no phone numbers.
+     */
+    private List<PhoneNumber> customerNumbers(Long customerId) {
+        List<PhoneNumber> numbers = customerId == null ? null : phoneNumbers.get(customerId);
+        if (numbers == null || numbers.isEmpty()) {
+            log.debug("Customer ID {} not found or has no phone numbers.", customerId);
+            return null;
+        }
+        return numbers;
+    }
+
+    private static PhoneNumber copy(PhoneNumber phoneNumber, boolean isActive) {
+        return new PhoneNumber().number(phoneNumber.getNumber()).isActive(isActive);
+    }
+}
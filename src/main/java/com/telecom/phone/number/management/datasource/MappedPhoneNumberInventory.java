@@ -0,0 +1,177 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link PhoneNumberInventory} read in place from a memory-mapped {@link InventoryFile}.
+ *
+ * <p>The numbers, customer tables and index are viewed as primitive buffers over the read-only
+ * mapping, so lookups read the mapped pages directly. The activation bitset is the one part copied
+ * onto the heap, into an {@link AtomicLongArray} updated with compare-and-set exactly as in
+ * {@link ArrayPhoneNumberInventory}; at one bit per number it is a small fraction of the file.</p>
+ *
+ * <p>Customer versions start at the version the inventory is loaded at, and only the customers
+ * that change afterwards are tracked, so loading costs the same whatever the number of
+ * customers.</p>
+ */
+final class MappedPhoneNumberInventory implements PhoneNumberInventory {
+
+    private final int size;
+    private final int customerCount;
+    private final LongBuffer customerIds;
+    private final IntBuffer customerOffsets;
+    private final LongBuffer lookupIds;
+    private final IntBuffer lookupOrdinals;
+    private final LongBuffer numbers;
+    private final AtomicLongArray activeBits;
+    private final AtomicInteger activeCount;
+    private final IntBuffer index;
+    private final Map<Integer, Long> changedVersions = new ConcurrentHashMap<>();
+    private volatile long loadedVersion;
+
+    MappedPhoneNumberInventory(ByteBuffer file, InventoryFile.Layout layout) {
+        this.size = layout.numberCount();
+        this.customerCount = layout.customerCount();
+        this.customerIds = section(file, layout.customerIds(), 8 * customerCount).asLongBuffer();
+        this.customerOffsets = section(file, layout.offsets(), 4 * (customerCount + 1)).asIntBuffer();
+        this.lookupIds = section(file, layout.lookupIds(), 8 * customerCount).asLongBuffer();
+        this.lookupOrdinals = section(file, layout.lookupOrdinals(), 4 * customerCount).asIntBuffer();
+        this.numbers = section(file, layout.numbers(), 8 * size).asLongBuffer();
+        LongBuffer mappedBits = section(file, layout.activeBits(), 8 * ((size + 63) >>> 6)).asLongBuffer();
+        long[] bits = new long[mappedBits.capacity()];
+        mappedBits.get(bits);
+        this.activeBits = new AtomicLongArray(bits);
+        int active = 0;
+        for (long word : bits) {
+            active += Long.bitCount(word);
+        }
+        this.activeCount = new AtomicInteger(active);
+        this.index = section(file, layout.index(), 4 * layout.tableSize()).asIntBuffer();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int customerCount() {
+        return customerCount;
+    }
+
+    @Override
+    public int customerOrdinal(long customerId) {
+        int low = 0;
+        int high = customerCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = lookupIds.get(mid);
+            if (id < customerId) {
+                low = mid + 1;
+            } else if (id > customerId) {
+                high = mid - 1;
+            } else {
+                return lookupOrdinals.get(mid);
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    @Override
+    public long customerId(int ordinal) {
+        return customerIds.get(ordinal);
+    }
+
+    @Override
+    public int start(int ordinal) {
+        return customerOffsets.get(ordinal);
+    }
+
+    @Override
+    public int end(int ordinal) {
+        return customerOffsets.get(ordinal + 1);
+    }
+
+    @Override
+    public long number(int slot) {
+        return numbers.get(slot);
+    }
+
+    @Override
+    public boolean isActive(int slot) {
+        return (activeBits.get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    @Override
+    public boolean activate(int slot) {
+        int word = slot >>> 6;
+        long mask = 1L << slot;
+        long current;
+        do {
+            current = activeBits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!activeBits.compareAndSet(word, current, current | mask));
+        activeCount.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void deactivate(int slot) {
+        long mask = 1L << slot;
+        long previous = activeBits.getAndAccumulate(slot >>> 6, ~mask, (current, clear) -> current & clear);
+        if ((previous & mask) != 0) {
+            activeCount.decrementAndGet();
+        }
+    }
+
+    @Override
+    public int activeCount() {
+        return activeCount.get();
+    }
+
+    @Override
+    public long customerVersion(int ordinal) {
+        return changedVersions.getOrDefault(ordinal, loadedVersion);
+    }
+
+    @Override
+    public void customerChanged(int ordinal, long version) {
+        changedVersions.merge(ordinal, version, Math::max);
+    }
+
+    @Override
+    public void initializeVersions(long version) {
+        changedVersions.clear();
+        loadedVersion = version;
+    }
+
+    @Override
+    public int slotOf(int ordinal, long number) {
+        if (number == PhoneNumberCodec.INVALID) {
+            return NOT_FOUND;
+        }
+        int tableSize = index.capacity();
+        for (int bucket = PhoneNumberIndex.bucket(number, tableSize); ; bucket = PhoneNumberIndex.next(bucket, tableSize)) {
+            int slot = index.get(bucket);
+            if (slot == PhoneNumberIndex.EMPTY) {
+                return NOT_FOUND;
+            }
+            if (numbers.get(slot) == number) {
+                return slot >= start(ordinal) && slot < end(ordinal) ? slot : NOT_FOUND;
+            }
+        }
+    }
+
+    private static ByteBuffer section(ByteBuffer file, int offset, int length) {
+        return file.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
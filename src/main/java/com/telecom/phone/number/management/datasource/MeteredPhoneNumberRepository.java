@@ -0,0 +1,257 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PhoneNumberRepository} recording metrics about the engine it delegates to.
+ *
+ * <ul>
+ *     <li>{@code phone.numbers.repository}: a timer with a percentile histogram per operation,
+ *     tagged {@code operation} with the method name and {@code engine}. Failed calls are timed too.</li>
+ *     <li>{@code phone.numbers.activations}: a counter per {@link ActivationOutcome}, tagged
+ *     {@code outcome}, for single and batch activations alike.</li>
+ *     <li>{@code phone.numbers.inventory.size}, {@code phone.numbers.inventory.active} and
+ *     {@code phone.numbers.inventory.active.ratio}: gauges of the phone numbers held and active.</li>
+ *     <li>{@code phone.numbers.customer.size}: a distribution of the number of phone numbers in the
+ *     customer lists read.</li>
+ * </ul>
+ *
+ * <p>Every meter is registered up front and recording takes only {@link System#nanoTime()} calls and
+ * counter updates, so the hot path allocates nothing. The inventory gauges read the counts the
+ * engine keeps, so a scrape walks no phone numbers, and an activation the engine rolls back, or a
+ * reload, is reflected as soon as the engine records it.</p>
+ */
+public class MeteredPhoneNumberRepository implements PhoneNumberRepository {
+
+    private final PhoneNumberRepository delegate;
+
+    private final Timer getAllPhoneNumbers;
+    private final Timer getPhoneNumbersPage;
+    private final Timer searchPhoneNumbers;
+    private final Timer getVersion;
+    private final Timer getCustomerVersion;
+    private final Timer countPhoneNumbers;
+    private final Timer countActivePhoneNumbers;
+    private final Timer forEachPhoneNumber;
+    private final Timer getCustomerPhoneNumbers;
+    private final Timer activatePhoneNumber;
+    private final Timer activatePhoneNumbers;
+
+    // Indexed by ActivationOutcome ordinal
+    private final Counter[] activations;
+    private final DistributionSummary customerSize;
+
+    /**
+     * Wraps an engine and registers its metrics.
+     *
+     * @param delegate      the engine.
+     * @param engine        the name of the engine, the {@code engine} tag of the timers.
+     * @param meterRegistry the registry publishing the metrics.
+     */
+    public MeteredPhoneNumberRepository(PhoneNumberRepository delegate, String engine, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.getAllPhoneNumbers = timer("getAllPhoneNumbers", engine, meterRegistry);
+        this.getPhoneNumbersPage = timer("getPhoneNumbersPage", engine, meterRegistry);
+        this.searchPhoneNumbers = timer("searchPhoneNumbers", engine, meterRegistry);
+        this.getVersion = timer("getVersion", engine, meterRegistry);
+        this.getCustomerVersion = timer("getCustomerVersion", engine, meterRegistry);
+        this.countPhoneNumbers = timer("countPhoneNumbers", engine, meterRegistry);
+        this.countActivePhoneNumbers = timer("countActivePhoneNumbers", engine, meterRegistry);
+        this.forEachPhoneNumber = timer("forEachPhoneNumber", engine, meterRegistry);
+        this.getCustomerPhoneNumbers = timer("getCustomerPhoneNumbers", engine, meterRegistry);
+        this.activatePhoneNumber = timer("activatePhoneNumber", engine, meterRegistry);
+        this.activatePhoneNumbers = timer("activatePhoneNumbers", engine, meterRegistry);
+
+        ActivationOutcome[] outcomes = ActivationOutcome.values();
+        this.activations = new Counter[outcomes.length];
+        for (ActivationOutcome outcome : outcomes) {
+            activations[outcome.ordinal()] = Counter.builder("phone.numbers.activations")
+                .description("Activation attempts by outcome")
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+        this.customerSize = DistributionSummary.builder("phone.numbers.customer.size")
+            .description("Phone numbers in the customer lists read")
+            .baseUnit("phone.numbers")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+
+        Gauge.builder("phone.numbers.inventory.size", delegate, PhoneNumberRepository::countPhoneNumbers)
+            .description("Phone numbers held")
+            .baseUnit("phone.numbers")
+            .register(meterRegistry);
+        Gauge.builder("phone.numbers.inventory.active", delegate, PhoneNumberRepository::countActivePhoneNumbers)
+            .description("Phone numbers active")
+            .baseUnit("phone.numbers")
+            .register(meterRegistry);
+        Gauge.builder("phone.numbers.inventory.active.ratio", this, MeteredPhoneNumberRepository::activeRatio)
+            .description("Share of the phone numbers held that are active")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public List<PhoneNumber> getAllPhoneNumbers() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllPhoneNumbers();
+        } finally {
+            record(getAllPhoneNumbers, start);
+        }
+    }
+
+    @Override
+    public PhoneNumberPage getPhoneNumbersPage(int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPhoneNumbersPage(offset, limit);
+        } finally {
+            record(getPhoneNumbersPage, start);
+        }
+    }
+
+    @Override
+    public PhoneNumberSearchPage searchPhoneNumbers(String prefix, Boolean active, long after, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchPhoneNumbers(prefix, active, after, limit);
+        } finally {
+            record(searchPhoneNumbers, start);
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getVersion();
+        } finally {
+            record(getVersion, start);
+        }
+    }
+
+    @Override
+    public long getCustomerVersion(Long customerId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCustomerVersion(customerId);
+        } finally {
+            record(getCustomerVersion, start);
+        }
+    }
+
+    @Override
+    public int countPhoneNumbers() {
+        long start = System.nanoTime();
+        try {
+            return delegate.countPhoneNumbers();
+        } finally {
+            record(countPhoneNumbers, start);
+        }
+    }
+
+    @Override
+    public int countActivePhoneNumbers() {
+        long start = System.nanoTime();
+        try {
+            return delegate.countActivePhoneNumbers();
+        } finally {
+            record(countActivePhoneNumbers, start);
+        }
+    }
+
+    @Override
+    public int forEachPhoneNumber(PhoneNumberVisitor visitor) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.forEachPhoneNumber(visitor);
+        } finally {
+            record(forEachPhoneNumber, start);
+        }
+    }
+
+    @Override
+    public Optional<List<PhoneNumber>> getCustomerPhoneNumbers(Long customerId) {
+        long start = System.nanoTime();
+        Optional<List<PhoneNumber>> phoneNumbers;
+        try {
+            phoneNumbers = delegate.getCustomerPhoneNumbers(customerId);
+        } finally {
+            record(getCustomerPhoneNumbers, start);
+        }
+        if (phoneNumbers.isPresent()) {
+            customerSize.record(phoneNumbers.get().size());
+        }
+        return phoneNumbers;
+    }
+
+    @Override
+    public ActivationOutcome activatePhoneNumber(Long customerId, String phoneNumber) {
+        long start = System.nanoTime();
+        ActivationOutcome outcome;
+        try {
+            outcome = delegate.activatePhoneNumber(customerId, phoneNumber);
+        } finally {
+            record(activatePhoneNumber, start);
+        }
+        count(outcome);
+        return outcome;
+    }
+
+    @Override
+    public Optional<List<ActivationOutcome>> activatePhoneNumbers(Long customerId, List<String> phoneNumbers) {
+        long start = System.nanoTime();
+        Optional<List<ActivationOutcome>> outcomes;
+        try {
+            outcomes = delegate.activatePhoneNumbers(customerId, phoneNumbers);
+        } finally {
+            record(activatePhoneNumbers, start);
+        }
+        if (outcomes.isPresent()) {
+            List<ActivationOutcome> list = outcomes.get();
+            for (int i = 0; i < list.size(); i++) {
+                count(list.get(i));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * @return the repository the calls are delegated to.
+     */
+    public PhoneNumberRepository getDelegate() {
+        return delegate;
+    }
+
+    private void count(ActivationOutcome outcome) {
+        activations[outcome.ordinal()].increment();
+    }
+
+    private double activeRatio() {
+        int size = delegate.countPhoneNumbers();
+        return size == 0 ? 0 : delegate.countActivePhoneNumbers() / (double) size;
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(String operation, String engine, MeterRegistry meterRegistry) {
+        return Timer.builder("phone.numbers.repository")
+            .description("Calls to the phone number repository")
+            .tag("operation", operation)
+            .tag("engine", engine)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
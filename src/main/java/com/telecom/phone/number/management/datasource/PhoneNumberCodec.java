@@ -0,0 +1,128 @@
+package com.telecom.phone.number.management.datasource;
+
+/**
+ * Converts between the 10-digit string form of a phone number used by the API and a primitive
+ * {@code long} encoding used by the datastore.
+ *
+ * <p>The API contract validates phone numbers against {@code ^\d{10}$}, so every valid number fits
+ * in a {@code long} with its leading zeros restored by {@link #decode(long)}. Strings that do not
+ * match the contract encode to {@link #INVALID}, which never collides with a valid encoding.</p>
+ */
+public final class PhoneNumberCodec {
+
+    /**
+     * Number of digits in a phone number.
+     */
+    public static final int DIGITS = 10;
+
+    /**
+     * Encoding returned for strings that are not valid phone numbers.
+     */
+    public static final long INVALID = -1L;
+
+    // One past the largest valid encoding, 10^DIGITS
+    private static final long LIMIT = 10_000_000_000L;
+
+    private PhoneNumberCodec() {
+    }
+
+    /**
+     * Encodes a phone number as a {@code long}.
+     *
+     * @param phoneNumber The phone number, expected to be exactly 10 ASCII digits.
+     * @return The encoded number, or {@link #INVALID} if the input is not a valid phone number.
+     */
+    public static long encode(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.length() != DIGITS) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            char digit = phoneNumber.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return INVALID;
+            }
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+
+    /**
+     * @param encoded A value that may be an encoded phone number.
+     * @return Whether the value is the encoding of a valid phone number.
+     */
+    public static boolean isValid(long encoded) {
+        return encoded >= 0 && encoded < LIMIT;
+    }
+
+    /**
+     * Encodes the smallest phone number starting with a prefix.
+     *
+     * @param prefix The leading digits, from none up to 10.
+     * @return The encoded number, or {@link #INVALID} if the prefix is not made of up to 10 ASCII digits.
+     */
+    public static long prefixStart(String prefix) {
+        if (prefix == null || prefix.length() > DIGITS) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            int digit = 0;
+            if (i < prefix.length()) {
+                char c = prefix.charAt(i);
+                if (c < '0' || c > '9') {
+                    return INVALID;
+                }
+                digit = c - '0';
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Encodes the smallest phone number past those starting with a prefix, so the numbers with the
+     * prefix are those from {@link #prefixStart(String)}, inclusive, to this one, exclusive.
+     *
+     * @param prefix The leading digits, from none up to 10.
+     * @return The encoded bound, which may be one past the largest valid number, or {@link #INVALID}
+     *         if the prefix is not made of up to 10 ASCII digits.
+     */
+    public static long prefixEnd(String prefix) {
+        long start = prefixStart(prefix);
+        if (start == INVALID) {
+            return INVALID;
+        }
+        long width = 1;
+        for (int i = prefix.length(); i < DIGITS; i++) {
+            width *= 10;
+        }
+        return start + width;
+    }
+
+    /**
+     * Decodes a phone number previously produced by {@link #encode(String)}.
+     *
+     * @param encoded The encoded phone number.
+     * @return The 10-digit string form, including leading zeros.
+     */
+    public static String decode(long encoded) {
+        char[] digits = new char[DIGITS];
+        decode(encoded, digits);
+        return new String(digits);
+    }
+
+    /**
+     * Decodes a phone number into a caller-supplied buffer, avoiding a {@code String} allocation.
+     *
+     * @param encoded The encoded phone number.
+     * @param digits The buffer receiving the 10 digits, at least {@link #DIGITS} long.
+     */
+    public static void decode(long encoded, char[] digits) {
+        long value = encoded;
+        for (int i = DIGITS - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+    }
+}
@@ -1,143 +1,525 @@
 package com.telecom.phone.number.management.datasource;
 
-import com.telecom.phone.number.management.exception.NumberAlreadyActivatedException;
 import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.logging.LogMarkers;
 import com.telecom.phone.number.management.model.PhoneNumber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 /**
  * A data source class that simulates a datastore for managing customer phone numbers.
  *
- * <p>This class contains static data to represent customers and their associated phone numbers.
- * It provides methods to retrieve phone numbers, activate phone numbers, and fetch phone numbers
- * for a specific customer. The data is pre-initialized for demonstration purposes.</p>
+ * <p>This class is the {@link PhoneNumberRepository} behind the {@code inventory} and
+ * {@code mapped} engines. It provides methods to retrieve phone numbers, activate phone numbers,
+ * and fetch phone numbers for a specific customer. {@link #sampleData()} holds the customers it is
+ * initialized with for demonstration purposes.</p>
  *
- * <p>Note: This implementation is not thread-safe and is meant for simulation only.</p>
+ * <p>The numbers are held in a {@link PhoneNumberInventory}, which stores them as primitive
+ * {@code long} values with a packed activation bitset and a number-to-slot index, either on the
+ * heap or in a memory-mapped {@link InventoryFile}. {@link PhoneNumber}
+ * DTOs are only materialized by the methods of this class, when a caller asks for them, and are
+ * never shared between callers.</p>
+ *
+ * <p>The datastore is safe for concurrent use by request threads. Activation is an atomic
+ * compare-and-set on the number's activation bit, so concurrent activations of the same number
+ * yield exactly one {@link ActivationOutcome#ACTIVATED} and {@link ActivationOutcome#ALREADY_ACTIVE}
+ * for everyone else. Reads never take a lock.</p>
+ *
+ * <p>Every change is stamped with a version drawn from a single, ever increasing counter. The
+ * datastore as a whole is at the latest version, and each customer at the version of the last
+ * change to their numbers. A version is recorded only after its change is applied, so a caller
+ * that reads a version before reading the numbers never sees numbers older than that version.</p>
+ *
+ * <p>When a {@link PhoneNumberStore} is attached, every activation is also recorded in its
+ * write-ahead log. The activation bit is set first and the call returns only once the log record
+ * is as durable as the store's {@link Durability} requires, so an acknowledged activation survives
+ * a restart. An activation the log fails to record is rolled back before the failure is reported.</p>
  *
  * @author Sandeep
  * @version 1.0
  * @since 2025-01-27
  */
-public class PhoneNumberDataSource {
+public class PhoneNumberDataSource implements PhoneNumberRepository {
 
     private static final Logger log = LoggerFactory.getLogger(PhoneNumberDataSource.class);
 
+    /**
+     * Maximum number of phone numbers checked against the activation state for one search page.
+     */
+    static final int SEARCH_SCAN_LIMIT = 10_000;
 
-    // Static data structure to simulate a datastore
-    private static final Map<Long, List<PhoneNumber>> customerPhoneNumbers = new HashMap<>();
+    // Source of versions, never reset, so versions keep increasing when the datastore is reloaded
+    private final AtomicLong version = new AtomicLong();
 
-    static {
-        // Initialize with sample data
-        customerPhoneNumbers.put(1L, Arrays.asList(
+    // The datastore, replaced as a whole whenever customers are loaded
+    private volatile PhoneNumberInventory inventory = new PhoneNumberInventory.Builder().build(number -> { });
+
+    // Numbers in ascending order for searches, built for the inventory on the first search
+    private volatile PhoneNumberSortedIndex sortedIndex;
+    private final ReentrantLock sortedIndexLock = new ReentrantLock();
+
+    // Persistence for activations, null when the datastore is kept in memory only
+    private volatile PhoneNumberStore store;
+
+    /**
+     * @return The customers and phone numbers the application serves when no inventory is
+     *         configured, keyed by customer ID.
+     */
+    public static Map<Long, List<PhoneNumber>> sampleData() {
+        Map<Long, List<PhoneNumber>> sampleData = new LinkedHashMap<>();
+        sampleData.put(1L, List.of(
             new PhoneNumber().number("1234567890").isActive(false),
             new PhoneNumber().number("9876543210").isActive(false)
         ));
-        customerPhoneNumbers.put(2L, Collections.singletonList(
+        sampleData.put(2L, List.of(
             new PhoneNumber().number("5555555555").isActive(false)
         ));
-        customerPhoneNumbers.put(3L, new ArrayList<>()); // Customer with no phone numbers
+        sampleData.put(3L, List.of()); // Customer with no phone numbers
+        return sampleData;
+    }
+
+    /**
+     * Replaces the contents of the datastore.
+     *
+     * <p>Numbers that do not match the 10-digit format of the API contract cannot be encoded and
+     * are skipped. Intended for initialization and tests; it is not meant to run concurrently
+     * with requests.</p>
+     *
+     * @param data The phone numbers to store, keyed by customer ID.
+     */
+    public void load(Map<Long, List<PhoneNumber>> data) {
+        PhoneNumberInventory.Builder builder = new PhoneNumberInventory.Builder();
+        data.forEach((customerId, phoneNumbers) -> {
+            builder.customer(customerId);
+            for (PhoneNumber phoneNumber : phoneNumbers) {
+                long number = PhoneNumberCodec.encode(phoneNumber.getNumber());
+                if (number == PhoneNumberCodec.INVALID) {
+                    log.warn("Skipping malformed phone number {} of customer ID: {}", phoneNumber.getNumber(), customerId);
+                    continue;
+                }
+                builder.number(number, Boolean.TRUE.equals(phoneNumber.getIsActive()));
+            }
+        });
+
+        load(builder.build(number -> log.warn(
+            "Phone number {} is listed more than once, only its first occurrence can be activated.",
+            PhoneNumberCodec.decode(number))));
+    }
+
+    /**
+     * Replaces the contents of the datastore with a prebuilt inventory, skipping the DTO form
+     * entirely. Intended for benchmarks that load millions of numbers.
+     *
+     * @param prebuilt The inventory to serve from now on.
+     */
+    void load(PhoneNumberInventory prebuilt) {
+        long loadedVersion = version.get() + 1;
+        prebuilt.initializeVersions(loadedVersion);
+        inventory = prebuilt;
+        version.set(loadedVersion);
+    }
+
+    /**
+     * Replaces the contents of the datastore with a memory-mapped inventory file. The file is
+     * served in place; only its activation bitset, one bit per number, is copied.
+     *
+     * @param file The mapped inventory file to serve from now on.
+     */
+    public void load(InventoryFile file) {
+        load(file.inventory());
+        log.info("Serving {} phone numbers from inventory file {}", file.size(), file.getPath());
+    }
+
+    /**
+     * @return The inventory currently served, for the {@link PhoneNumberStore} to recover and snapshot.
+     */
+    PhoneNumberInventory currentInventory() {
+        return inventory;
+    }
+
+    /**
+     * Starts recording activations in a store's write-ahead log.
+     *
+     * @param attached The store to record activations in.
+     */
+    void attach(PhoneNumberStore attached) {
+        store = attached;
+    }
+
+    /**
+     * Stops recording activations in a store, if it is the attached one.
+     *
+     * @param detached The store to stop recording activations in.
+     */
+    void detach(PhoneNumberStore detached) {
+        if (store == detached) {
+            store = null;
+        }
     }
 
     /**
      * Retrieves all phone numbers from all customers in the datastore.
      * @return A list of all phone numbers across all customers.
      */
-    public static List<PhoneNumber> getAllPhoneNumbers() {
-        List<PhoneNumber> allPhoneNumbers = Optional.of(customerPhoneNumbers)
-            .map(Map::values)
-            .orElse(Collections.emptyList())
-            .stream()
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList());
+    @Override
+    public List<PhoneNumber> getAllPhoneNumbers() {
+        PhoneNumberInventory current = inventory;
 
         // If no phone numbers are found, throw ResourceNotFoundException
-        if (allPhoneNumbers.isEmpty()) {
+        if (current.size() == 0) {
+            throw new ResourceNotFoundException("No numbers exist in the system");
+        }
+
+        return toPhoneNumbers(current, 0, current.size());
+    }
+
+    /**
+     * Retrieves one page of phone numbers across all customers.
+     *
+     * <p>Pages are addressed by position in the inventory, which never changes once the inventory is
+     * loaded, so seeking to a page is constant-time and each page costs only its own size.</p>
+     *
+     * @param offset The position of the first phone number of the page.
+     * @param limit The maximum number of phone numbers in the page.
+     * @return The requested page, empty if the offset lies past the end of the inventory.
+     * @throws ResourceNotFoundException If no phone numbers exist in the system.
+     */
+    @Override
+    public PhoneNumberPage getPhoneNumbersPage(int offset, int limit) {
+        PhoneNumberInventory current = inventory;
+        if (current.size() == 0) {
             throw new ResourceNotFoundException("No numbers exist in the system");
         }
 
-        return allPhoneNumbers;
+        int start = Math.min(offset, current.size());
+        int end = (int) Math.min((long) start + limit, current.size());
+        return new PhoneNumberPage(toPhoneNumbers(current, start, end), start, current.size());
+    }
+
+    /**
+     * Searches phone numbers by prefix and activation state, one page at a time.
+     *
+     * <p>The numbers with the prefix are a contiguous run of the inventory's
+     * {@link PhoneNumberSortedIndex}, found with two binary searches, and the page resumes with a
+     * third, past the number the previous one ended with. Only the activation state is checked
+     * number by number, and at most {@value #SEARCH_SCAN_LIMIT} numbers are checked per page, so
+     * a page of a filter matching few numbers may be short.</p>
+     *
+     * <p>The index is built on the first search of each inventory loaded, under a lock, and read
+     * without one afterwards.</p>
+     *
+     * @param prefix The leading digits of the numbers, from none up to 10.
+     * @param active The activation state of the numbers, or {@code null} for either.
+     * @param after The encoded number the page starts after, or {@link PhoneNumberCodec#INVALID} for
+     *              the first page.
+     * @param limit The maximum number of phone numbers in the page.
+     * @return The requested page, empty if no more numbers match.
+     * @throws IllegalArgumentException If the prefix is not made of up to 10 digits.
+     */
+    @Override
+    public PhoneNumberSearchPage searchPhoneNumbers(String prefix, Boolean active, long after, int limit) {
+        long from = PhoneNumberCodec.prefixStart(prefix);
+        if (from == PhoneNumberCodec.INVALID) {
+            throw new IllegalArgumentException("Invalid phone number prefix: " + prefix);
+        }
+        PhoneNumberSortedIndex index = sortedIndex();
+        PhoneNumberInventory current = index.inventory();
+
+        long to = PhoneNumberCodec.prefixEnd(prefix);
+        int end = index.lowerBound(to);
+        // A cursor past the prefix, up to Long.MAX_VALUE, leaves nothing to scan rather than wrapping around
+        int position = after < from ? index.lowerBound(from) : after < to ? index.lowerBound(after + 1) : end;
+        if (position >= end) {
+            return new PhoneNumberSearchPage(List.of(), PhoneNumberCodec.INVALID);
+        }
+        int scanEnd = (int) Math.min(end, (long) position + SEARCH_SCAN_LIMIT);
+        List<PhoneNumber> phoneNumbers = new ArrayList<>(Math.min(limit, end - position));
+        for (; position < scanEnd && phoneNumbers.size() < limit; position++) {
+            int slot = index.slot(position);
+            boolean isActive = current.isActive(slot);
+            if (active == null || active == isActive) {
+                phoneNumbers.add(new PhoneNumber()
+                    .number(PhoneNumberCodec.decode(current.number(slot)))
+                    .isActive(isActive));
+            }
+        }
+        long next = position < end ? current.number(index.slot(position - 1)) : PhoneNumberCodec.INVALID;
+        return new PhoneNumberSearchPage(phoneNumbers, next);
+    }
+
+    /**
+     * @return The version of the datastore as a whole, or {@link #UNKNOWN_VERSION} if it holds no
+     *         phone numbers.
+     */
+    @Override
+    public long getVersion() {
+        return inventory.size() == 0 ? UNKNOWN_VERSION : version.get();
+    }
+
+    /**
+     * @param customerId The ID of the customer.
+     * @return The version of the customer's phone numbers, or {@link #UNKNOWN_VERSION} if the customer
+     *         does not exist or has no phone numbers.
+     */
+    @Override
+    public long getCustomerVersion(Long customerId) {
+        PhoneNumberInventory current = inventory;
+        int ordinal = getCustomerOrdinal(current, customerId);
+        return ordinal == PhoneNumberInventory.NOT_FOUND ? UNKNOWN_VERSION : current.customerVersion(ordinal);
+    }
+
+    /**
+     * @return The total number of phone numbers across all customers.
+     */
+    @Override
+    public int countPhoneNumbers() {
+        return inventory.size();
+    }
+
+    /**
+     * @return The number of active phone numbers, kept by the inventory as its bits are set and
+     *         cleared.
+     */
+    @Override
+    public int countActivePhoneNumbers() {
+        return inventory.activeCount();
+    }
+
+    /**
+     * Walks every phone number across all customers, in inventory order, without materializing them.
+     *
+     * <p>The walk covers the inventory as it was when the call started; activations made during
+     * the walk may or may not be observed.</p>
+     *
+     * @param visitor Receives each phone number in its encoded form.
+     * @return The number of phone numbers visited.
+     * @throws IOException If the visitor fails.
+     */
+    @Override
+    public int forEachPhoneNumber(PhoneNumberVisitor visitor) throws IOException {
+        PhoneNumberInventory current = inventory;
+        for (int slot = 0; slot < current.size(); slot++) {
+            visitor.visit(current.number(slot), current.isActive(slot));
+        }
+        return current.size();
     }
 
     /**
      * Retrieves phone numbers for a specific customer.
      *
      * @param customerId The ID of the customer whose phone numbers are to be retrieved.
-     * @return A list of phone numbers associated with the specified customer.
-     * @throws ResourceNotFoundException If the customer does not exist or has no phone numbers.
+     * @return The phone numbers associated with the specified customer, or an empty {@link Optional}
+     *         if the customer does not exist or has no phone numbers.
      */
-    public static List<PhoneNumber> getCustomerPhoneNumbers(Long customerId) {
-        log.debug("Fetching phone numbers for customer ID: {}", customerId);
-        return getPhoneNumbersForCustomer(customerId);
+    @Override
+    public Optional<List<PhoneNumber>> getCustomerPhoneNumbers(Long customerId) {
+        log.debug(LogMarkers.SUCCESS, "Fetching phone numbers for customer ID: {}", customerId);
+        PhoneNumberInventory current = inventory;
+        int ordinal = getCustomerOrdinal(current, customerId);
+        if (ordinal == PhoneNumberInventory.NOT_FOUND) {
+            return Optional.empty();
+        }
+        return Optional.of(toPhoneNumbers(current, current.start(ordinal), current.end(ordinal)));
     }
 
     /**
      * Activates a phone number for a specific customer.
      *
      * <p>This method validates the existence of the customer and phone number before activation.
-     * If the phone number is already active, an exception is thrown.</p>
+     * The number is located through the inventory's number index rather than a scan of the
+     * customer's numbers, and activated with a single compare-and-set. Missing customers, missing
+     * numbers and already active numbers are expected outcomes on this path, so they are reported
+     * through the returned {@link ActivationOutcome} instead of exceptions.</p>
      *
      * @param customerId The ID of the customer.
      * @param phoneNumber The phone number to activate.
-     * @return The activated phone number.
-     * @throws ResourceNotFoundException If the customer or phone number does not exist.
-     * @throws NumberAlreadyActivatedException If the phone number is already active.
-     */
-    public static PhoneNumber activatePhoneNumber(Long customerId, String phoneNumber) {
-
-        log.debug("Activating phone number {} for customer ID: {}", phoneNumber, customerId);
-        List<PhoneNumber> phoneNumbers = getPhoneNumbersForCustomer(customerId);
-
-        // Find the phone number to activate
-        return phoneNumbers.stream()
-            .filter(customerPhoneNumber -> customerPhoneNumber.getNumber().equals(phoneNumber))
-            .findFirst()
-            .map(numberToBeActivated -> {
-                if (numberToBeActivated.getIsActive()) {
-                    log.warn("Phone number {} is already active for customer ID: {}", phoneNumber, customerId);
-                    throw new NumberAlreadyActivatedException("Phone number " + phoneNumber + " is already active.");
-                } else {
-                    numberToBeActivated.setIsActive(true);
-                }
-                return numberToBeActivated;
-            })
-            .orElseThrow(() -> {
-                log.error("Phone number {} not found for customer ID: {}", phoneNumber, customerId);
-                return new ResourceNotFoundException("Phone number not found for customer ID: " + customerId);
-            });
+     * @return The outcome of the activation.
+     */
+    @Override
+    public ActivationOutcome activatePhoneNumber(Long customerId, String phoneNumber) {
+
+        log.debug(LogMarkers.SUCCESS, "Activating phone number {} for customer ID: {}", phoneNumber, customerId);
+        PhoneNumberInventory current = inventory;
+        int ordinal = getCustomerOrdinal(current, customerId);
+        if (ordinal == PhoneNumberInventory.NOT_FOUND) {
+            return ActivationOutcome.CUSTOMER_NOT_FOUND;
+        }
+
+        long number = PhoneNumberCodec.encode(phoneNumber);
+        int slot = current.slotOf(ordinal, number);
+        if (slot == PhoneNumberInventory.NOT_FOUND) {
+            log.debug("Phone number {} not found for customer ID: {}", phoneNumber, customerId);
+            return ActivationOutcome.NOT_FOUND;
+        }
+        if (!current.activate(slot)) {
+            log.debug("Phone number {} is already active for customer ID: {}", phoneNumber, customerId);
+            return ActivationOutcome.ALREADY_ACTIVE;
+        }
+        logActivations(current, ordinal, customerId, new long[] {number}, new int[] {slot}, 1);
+        return ActivationOutcome.ACTIVATED;
     }
 
     /**
-     * Retrieves phone numbers for a customer after validating the customer's existence.
+     * Activates a batch of phone numbers for a specific customer.
+     *
+     * <p>The customer is resolved once and every number is then activated in a single pass, each
+     * with its own compare-and-set. Numbers that are already active or not owned by the customer
+     * are reported through their outcome, so one bad number does not fail the rest of the batch.</p>
      *
      * @param customerId The ID of the customer.
-     * @return A list of phone numbers associated with the specified customer.
-     * @throws ResourceNotFoundException If the customer does not exist or has no phone numbers.
-     */
-    private static List<PhoneNumber> getPhoneNumbersForCustomer(Long customerId) {
-        log.debug("Validating existence of customer ID: {}", customerId);
-        return Optional.ofNullable(customerPhoneNumbers.get(customerId))
-            .map(phoneNumbers -> {
-                if (phoneNumbers.isEmpty()) {
-                    log.warn("No phone numbers found for customer ID: {}", customerId);
-                    throw new ResourceNotFoundException("No phone numbers found for customer: " + customerId);
-                }
-                return phoneNumbers;
-            })
-            .orElseThrow(() -> {
-                log.error("Customer ID {} not found in the data source.", customerId);
-                return new ResourceNotFoundException("Customer not found with ID: " + customerId);
-            });
+     * @param phoneNumbers The phone numbers to activate.
+     * @return The outcome for each phone number, in the same order as the input, or an empty
+     *         {@link Optional} if the customer does not exist or has no phone numbers.
+     */
+    @Override
+    public Optional<List<ActivationOutcome>> activatePhoneNumbers(Long customerId, List<String> phoneNumbers) {
+
+        log.debug(LogMarkers.SUCCESS, "Activating {} phone numbers for customer ID: {}", phoneNumbers.size(), customerId);
+        PhoneNumberInventory current = inventory;
+        int ordinal = getCustomerOrdinal(current, customerId);
+        if (ordinal == PhoneNumberInventory.NOT_FOUND) {
+            return Optional.empty();
+        }
+
+        List<ActivationOutcome> outcomes = new ArrayList<>(phoneNumbers.size());
+        long[] activated = new long[phoneNumbers.size()];
+        int[] activatedSlots = new int[phoneNumbers.size()];
+        int activatedCount = 0;
+        for (String phoneNumber : phoneNumbers) {
+            long number = PhoneNumberCodec.encode(phoneNumber);
+            int slot = current.slotOf(ordinal, number);
+            if (slot == PhoneNumberInventory.NOT_FOUND) {
+                outcomes.add(ActivationOutcome.NOT_FOUND);
+            } else if (current.activate(slot)) {
+                outcomes.add(ActivationOutcome.ACTIVATED);
+                activated[activatedCount] = number;
+                activatedSlots[activatedCount++] = slot;
+            } else {
+                outcomes.add(ActivationOutcome.ALREADY_ACTIVE);
+            }
+        }
+        if (activatedCount > 0) {
+            // One log append, and so at most one wait for the disk, for the whole batch
+            logActivations(current, ordinal, customerId, activated, activatedSlots, activatedCount);
+        }
+        return Optional.of(outcomes);
+    }
+
+    /**
+     * @return The sorted index of the inventory currently served, built if it is not yet.
+     */
+    private PhoneNumberSortedIndex sortedIndex() {
+        PhoneNumberInventory current = inventory;
+        PhoneNumberSortedIndex index = sortedIndex;
+        return index != null && index.inventory() == current ? index : buildSortedIndex(current);
+    }
+
+    /**
+     * Builds the sorted index of an inventory, once however many searches ask for it at the same time.
+     *
+     * <p>Searches waiting for the build wait on a {@link ReentrantLock} rather than a monitor, so
+     * those on virtual threads unmount instead of pinning their carrier for the whole sort.</p>
+     *
+     * @param current The inventory to index.
+     * @return The index.
+     */
+    private PhoneNumberSortedIndex buildSortedIndex(PhoneNumberInventory current) {
+        sortedIndexLock.lock();
+        try {
+            PhoneNumberSortedIndex index = sortedIndex;
+            if (index == null || index.inventory() != current) {
+                long start = System.nanoTime();
+                index = PhoneNumberSortedIndex.build(current);
+                sortedIndex = index;
+                log.info("Indexed {} phone numbers for search in {} ms", index.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            return index;
+        } finally {
+            sortedIndexLock.unlock();
+        }
+    }
+
+    /**
+     * Records activations in the attached store's write-ahead log, if any, and stamps the customer
+     * with a new version.
+     *
+     * <p>If the log cannot record them, the activations are rolled back so that none survives
+     * without a durable record, and the failure is rethrown. The version is bumped either way,
+     * since readers may have seen the numbers active in the meantime.</p>
+     *
+     * @param current The inventory the numbers were activated in.
+     * @param ordinal The customer's ordinal in the inventory.
+     * @param customerId The ID of the customer.
+     * @param numbers The encoded phone numbers that were activated.
+     * @param slots The slots of the phone numbers that were activated.
+     * @param count The number of phone numbers to record.
+     */
+    private void logActivations(PhoneNumberInventory current, int ordinal, long customerId, long[] numbers,
+                                int[] slots, int count) {
+        try {
+            PhoneNumberStore attached = store;
+            if (attached != null) {
+                attached.logActivations(customerId, numbers, count);
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < count; i++) {
+                current.deactivate(slots[i]);
+            }
+            throw e;
+        } finally {
+            current.customerChanged(ordinal, version.incrementAndGet());
+        }
+    }
+
+    /**
+     * Retrieves the ordinal of a customer after validating the customer's existence.
+     *
+     * @param current The inventory to look the customer up in.
+     * @param customerId The ID of the customer.
+     * @return The customer's ordinal in the inventory, or {@link PhoneNumberInventory#NOT_FOUND} if
+     *         the customer does not exist or has no phone numbers.
+     */
+    private static int getCustomerOrdinal(PhoneNumberInventory current, Long customerId) {
+        log.debug(LogMarkers.SUCCESS, "Validating existence of customer ID: {}", customerId);
+        int ordinal = customerId == null ? PhoneNumberInventory.NOT_FOUND : current.customerOrdinal(customerId);
+        if (ordinal == PhoneNumberInventory.NOT_FOUND) {
+            log.debug("Customer ID {} not found in the data source.", customerId);
+            return PhoneNumberInventory.NOT_FOUND;
+        }
+        if (current.start(ordinal) == current.end(ordinal)) {
+            log.debug("No phone numbers found for customer ID: {}", customerId);
+            return PhoneNumberInventory.NOT_FOUND;
+        }
+        return ordinal;
+    }
+
+    /**
+     * Materializes the phone numbers held in a range of inventory slots.
+     *
+     * @param current The inventory to read from.
+     * @param start The first slot, inclusive.
+     * @param end The last slot, exclusive.
+     * @return A new list of phone numbers.
+     */
+    private static List<PhoneNumber> toPhoneNumbers(PhoneNumberInventory current, int start, int end) {
+        List<PhoneNumber> phoneNumbers = new ArrayList<>(end - start);
+        for (int slot = start; slot < end; slot++) {
+            phoneNumbers.add(new PhoneNumber()
+                .number(PhoneNumberCodec.decode(current.number(slot)))
+                .isActive(current.isActive(slot)));
+        }
+        return phoneNumbers;
     }
 }
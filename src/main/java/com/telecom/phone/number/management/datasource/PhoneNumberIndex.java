@@ -0,0 +1,147 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.util.Arrays;
+
+/**
+ * An immutable secondary index from an encoded phone number to its slot in a
+ * {@link PhoneNumberInventory}.
+ *
+ * <p>The index is an open-addressing hash table holding only {@code int} slots; the keys are
+ * read back from the inventory's own {@code long[]} of numbers, so the table costs roughly six
+ * bytes per number. Lookups are constant-time and allocation-free regardless of how many numbers
+ * a customer owns. Instances are filled once by {@link Builder} and never modified afterwards,
+ * so they can be read concurrently without locking.</p>
+ */
+final class PhoneNumberIndex {
+
+    /**
+     * Slot returned when a number is not indexed.
+     */
+    static final int NOT_FOUND = -1;
+
+    /**
+     * Table entry of a bucket that holds no slot.
+     */
+    static final int EMPTY = -1;
+
+    private static final double LOAD_FACTOR = 0.7;
+
+    private final long[] numbers;
+    private final int[] table;
+    private final int size;
+
+    private PhoneNumberIndex(long[] numbers, int[] table, int size) {
+        this.numbers = numbers;
+        this.table = table;
+        this.size = size;
+    }
+
+    /**
+     * Looks up the slot of a phone number.
+     *
+     * @param number The encoded phone number.
+     * @return The slot holding the number, or {@link #NOT_FOUND} if the number is unknown.
+     */
+    int slotOf(long number) {
+        if (number == PhoneNumberCodec.INVALID) {
+            return NOT_FOUND;
+        }
+        for (int i = bucket(number, table.length); ; i = next(i, table.length)) {
+            int slot = table[i];
+            if (slot == EMPTY) {
+                return NOT_FOUND;
+            }
+            if (numbers[slot] == number) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * @return The number of indexed phone numbers.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sizes a table for a number of slots. Shared with {@link InventoryFile}, which stores the same
+     * table on disk.
+     *
+     * @param capacity The maximum number of slots that will be indexed.
+     * @return The number of buckets.
+     */
+    static int tableSize(int capacity) {
+        return Math.max((int) Math.ceil(capacity / LOAD_FACTOR), 1) + 1;
+    }
+
+    /**
+     * @param number The encoded phone number.
+     * @param capacity The number of buckets.
+     * @return The bucket where the probe for the number starts.
+     */
+    static int bucket(long number, int capacity) {
+        // MurmurHash3 finalizer, spreads sequential numbers across the table
+        long h = number;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        // Map the hash onto [0, capacity) without requiring a power-of-two table
+        return (int) (((h & 0xffffffffL) * capacity) >>> 32);
+    }
+
+    /**
+     * @param bucket The bucket just probed.
+     * @param capacity The number of buckets.
+     * @return The bucket to probe next.
+     */
+    static int next(int bucket, int capacity) {
+        return bucket + 1 == capacity ? 0 : bucket + 1;
+    }
+
+    /**
+     * Indexes the slots of a numbers array and produces an immutable {@link PhoneNumberIndex}.
+     */
+    static final class Builder {
+
+        private final long[] numbers;
+        private final int[] table;
+        private int size;
+
+        /**
+         * @param numbers The numbers array the index will point into.
+         * @param capacity The maximum number of slots that will be indexed.
+         */
+        Builder(long[] numbers, int capacity) {
+            this.numbers = numbers;
+            this.table = new int[tableSize(capacity)];
+            Arrays.fill(table, EMPTY);
+        }
+
+        /**
+         * Indexes a slot unless its number is already indexed, so the first occurrence wins.
+         *
+         * @param slot The slot in the numbers array.
+         * @return {@code true} if the slot was indexed, {@code false} if its number was already indexed.
+         */
+        boolean putIfAbsent(int slot) {
+            long number = numbers[slot];
+            for (int i = bucket(number, table.length); ; i = next(i, table.length)) {
+                if (table[i] == EMPTY) {
+                    table[i] = slot;
+                    size++;
+                    return true;
+                }
+                if (numbers[table[i]] == number) {
+                    return false;
+                }
+            }
+        }
+
+        PhoneNumberIndex build() {
+            return new PhoneNumberIndex(numbers, table, size);
+        }
+    }
+}
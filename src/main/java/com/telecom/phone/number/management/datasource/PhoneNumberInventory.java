@@ -0,0 +1,209 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * A compact, primitive representation of the phone number inventory.
+ *
+ * <p>Numbers are addressed by slot, grouped by customer, and each customer by an ordinal that
+ * gives the range of slots holding their numbers. The shape of an inventory (customers and their
+ * numbers) is fixed once built; only the activation bits and the customer versions change, and
+ * both can be updated concurrently without locking.</p>
+ *
+ * <p>Two implementations exist: {@link ArrayPhoneNumberInventory}, built on the heap by
+ * {@link Builder}, and {@link MappedPhoneNumberInventory}, served straight from a memory-mapped
+ * {@link InventoryFile}.</p>
+ */
+sealed interface PhoneNumberInventory permits ArrayPhoneNumberInventory, MappedPhoneNumberInventory {
+
+    /**
+     * Value returned when a customer or number is not present in the inventory.
+     */
+    int NOT_FOUND = -1;
+
+    /**
+     * @return The total number of phone numbers in the inventory.
+     */
+    int size();
+
+    /**
+     * @return The number of active phone numbers in the inventory, kept as numbers are activated
+     *         and deactivated.
+     */
+    int activeCount();
+
+    /**
+     * @return The number of customers in the inventory, including customers without numbers.
+     */
+    int customerCount();
+
+    /**
+     * Looks up the ordinal of a customer, used to address the customer offset table.
+     *
+     * @param customerId The ID of the customer.
+     * @return The customer's ordinal, or {@link #NOT_FOUND} if the customer is unknown.
+     */
+    int customerOrdinal(long customerId);
+
+    /**
+     * @param ordinal The customer's ordinal.
+     * @return The ID of the customer.
+     */
+    long customerId(int ordinal);
+
+    /**
+     * @param ordinal The customer's ordinal.
+     * @return The first slot holding one of the customer's numbers.
+     */
+    int start(int ordinal);
+
+    /**
+     * @param ordinal The customer's ordinal.
+     * @return The slot after the last one holding one of the customer's numbers.
+     */
+    int end(int ordinal);
+
+    /**
+     * @param slot The slot of a number.
+     * @return The encoded phone number held in the slot.
+     */
+    long number(int slot);
+
+    /**
+     * @param slot The slot of a number.
+     * @return Whether the number in the slot is active.
+     */
+    boolean isActive(int slot);
+
+    /**
+     * Atomically marks the number in a slot as active.
+     *
+     * @param slot The slot of a number.
+     * @return {@code true} if this call activated the number, {@code false} if it was already active.
+     */
+    boolean activate(int slot);
+
+    /**
+     * Atomically marks the number in a slot as inactive again, reverting an activation that could
+     * not be recorded.
+     *
+     * @param slot The slot of a number.
+     */
+    void deactivate(int slot);
+
+    /**
+     * @param ordinal The customer's ordinal.
+     * @return The version of the customer's numbers, which increases whenever one of them changes.
+     */
+    long customerVersion(int ordinal);
+
+    /**
+     * Records a change to a customer's numbers. Versions never decrease, so a change recorded late
+     * by a slower thread cannot roll back a newer one.
+     *
+     * @param ordinal The customer's ordinal.
+     * @param version The version of the change.
+     */
+    void customerChanged(int ordinal, long version);
+
+    /**
+     * Sets the version of every customer, before the inventory is published.
+     *
+     * @param version The version the inventory is loaded at.
+     */
+    void initializeVersions(long version);
+
+    /**
+     * Looks up the slot of a number owned by a customer.
+     *
+     * @param ordinal The customer's ordinal.
+     * @param number The encoded phone number.
+     * @return The slot holding the number, or {@link #NOT_FOUND} if the customer does not own it.
+     */
+    int slotOf(int ordinal, long number);
+
+    /**
+     * Accumulates customers and their numbers and produces an immutable-shape, heap-resident
+     * {@link ArrayPhoneNumberInventory}.
+     * Customers must be added one at a time, each followed by all of its numbers.
+     */
+    final class Builder {
+
+        private long[] numbers = new long[16];
+        private boolean[] active = new boolean[16];
+        private int size;
+        private long[] customerIds = new long[4];
+        private int[] customerOffsets = new int[5];
+        private final Map<Long, Integer> customerOrdinals = new HashMap<>();
+
+        /**
+         * Starts a new customer; subsequent numbers belong to it.
+         *
+         * @param customerId The ID of the customer.
+         * @throws IllegalArgumentException If the customer was already added.
+         */
+        Builder customer(long customerId) {
+            int ordinal = customerOrdinals.size();
+            if (customerOrdinals.putIfAbsent(customerId, ordinal) != null) {
+                throw new IllegalArgumentException("Customer " + customerId + " was already added");
+            }
+            if (ordinal == customerIds.length) {
+                customerIds = Arrays.copyOf(customerIds, customerIds.length * 2);
+                customerOffsets = Arrays.copyOf(customerOffsets, customerIds.length + 1);
+            }
+            customerIds[ordinal] = customerId;
+            customerOffsets[ordinal] = size;
+            customerOffsets[ordinal + 1] = size;
+            return this;
+        }
+
+        /**
+         * Adds a number to the most recently added customer.
+         *
+         * @param number The encoded phone number.
+         * @param isActive Whether the number is active.
+         */
+        Builder number(long number, boolean isActive) {
+            if (customerOrdinals.isEmpty()) {
+                throw new IllegalStateException("A customer must be added before its numbers");
+            }
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+                active = Arrays.copyOf(active, size * 2);
+            }
+            numbers[size] = number;
+            active[size] = isActive;
+            size++;
+            customerOffsets[customerOrdinals.size()] = size;
+            return this;
+        }
+
+        /**
+         * Builds the inventory and its number index.
+         *
+         * @param duplicateListener Notified with every number that repeats an earlier one;
+         *                          only the first occurrence of a number is indexed.
+         */
+        PhoneNumberInventory build(LongConsumer duplicateListener) {
+            long[] compactNumbers = Arrays.copyOf(numbers, size);
+            AtomicLongArray activeBits = new AtomicLongArray((size + 63) >>> 6);
+            PhoneNumberIndex.Builder indexBuilder = new PhoneNumberIndex.Builder(compactNumbers, size);
+            for (int slot = 0; slot < size; slot++) {
+                if (active[slot]) {
+                    activeBits.set(slot >>> 6, activeBits.get(slot >>> 6) | (1L << slot));
+                }
+                if (!indexBuilder.putIfAbsent(slot)) {
+                    duplicateListener.accept(compactNumbers[slot]);
+                }
+            }
+            int customers = customerOrdinals.size();
+            return new ArrayPhoneNumberInventory(compactNumbers, activeBits, Map.copyOf(customerOrdinals),
+                Arrays.copyOf(customerIds, customers), Arrays.copyOf(customerOffsets, customers + 1),
+                indexBuilder.build());
+        }
+    }
+}
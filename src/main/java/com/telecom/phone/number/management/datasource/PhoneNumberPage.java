@@ -0,0 +1,36 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+
+import java.util.List;
+
+/**
+ * One page of the phone number inventory, addressed by the position of its first number.
+ *
+ * @param phoneNumbers The phone numbers in the page.
+ * @param offset       The position of the first phone number of the page in the inventory.
+ * @param total        The total number of phone numbers in the inventory.
+ */
+public record PhoneNumberPage(List<PhoneNumber> phoneNumbers, int offset, int total) {
+
+    /**
+     * @return Whether more phone numbers follow this page.
+     */
+    public boolean hasNext() {
+        return offset + phoneNumbers.size() < total;
+    }
+
+    /**
+     * @return Whether phone numbers precede this page.
+     */
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    /**
+     * @return The position of the first phone number of the following page.
+     */
+    public int nextOffset() {
+        return offset + phoneNumbers.size();
+    }
+}
@@ -0,0 +1,138 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.model.PhoneNumber;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of customers and their phone numbers, injected into the services as a Spring bean.
+ *
+ * <p>The engine behind it is chosen with {@code phone-numbers.repository.engine}:
+ * {@link MapPhoneNumberRepository} ({@code map}), a straightforward map of DTO lists kept as a
+ * reference implementation; {@link PhoneNumberDataSource} over a heap inventory ({@code inventory},
+ * the default); {@link PhoneNumberDataSource} over a memory-mapped {@link InventoryFile}
+ * ({@code mapped}); and {@link JdbcPhoneNumberRepository} on an embedded database ({@code jdbc}).</p>
+ *
+ * <p>Every implementation must be safe for concurrent use by request threads and honour the same
+ * contract, which is checked for each of them by a shared conformance test suite:</p>
+ *
+ * <ul>
+ *     <li>Phone numbers are listed grouped by customer, in the order the customers were loaded,
+ *     and that order never changes, so offsets are stable page positions.</li>
+ *     <li>Activation is a conditional update: a number is activated only if it is inactive, and of
+ *     several concurrent activations of the same number exactly one succeeds.</li>
+ *     <li>Every change is stamped with a version drawn from a single, ever increasing counter, and
+ *     recorded only after the change is visible to readers.</li>
+ *     <li>{@link PhoneNumber} DTOs returned to callers are never shared with other callers.</li>
+ * </ul>
+ */
+public interface PhoneNumberRepository {
+
+    /**
+     * Version reported for customers that do not exist and for an empty repository.
+     */
+    long UNKNOWN_VERSION = -1L;
+
+    /**
+     * Retrieves all phone numbers from all customers.
+     *
+     * @return A list of all phone numbers across all customers.
+     * @throws ResourceNotFoundException If no phone numbers exist in the system.
+     */
+    List<PhoneNumber> getAllPhoneNumbers();
+
+    /**
+     * Retrieves one page of phone numbers across all customers.
+     *
+     * @param offset The position of the first phone number of the page.
+     * @param limit The maximum number of phone numbers in the page.
+     * @return The requested page, empty if the offset lies past the last phone number.
+     * @throws ResourceNotFoundException If no phone numbers exist in the system.
+     */
+    PhoneNumberPage getPhoneNumbersPage(int offset, int limit);
+
+    /**
+     * Searches phone numbers by prefix and activation state, one page at a time, in ascending order
+     * of number. A number listed more than once is found once, with the state of its first
+     * occurrence in listing order.
+     *
+     * <p>Pages are addressed by the number they follow rather than by position, so a page costs the
+     * same however deep into the results it lies. A page may hold fewer numbers than the limit, or
+     * none, and still be followed by more.</p>
+     *
+     * @param prefix The leading digits of the numbers, from none up to 10.
+     * @param active The activation state of the numbers, or {@code null} for either.
+     * @param after The encoded number the page starts after, or {@link PhoneNumberCodec#INVALID} for
+     *              the first page.
+     * @param limit The maximum number of phone numbers in the page.
+     * @return The requested page, empty if no more numbers match.
+     * @throws IllegalArgumentException If the prefix is not made of up to 10 digits.
+     */
+    PhoneNumberSearchPage searchPhoneNumbers(String prefix, Boolean active, long after, int limit);
+
+    /**
+     * @return The version of the repository as a whole, or {@link #UNKNOWN_VERSION} if it holds no
+     *         phone numbers.
+     */
+    long getVersion();
+
+    /**
+     * @param customerId The ID of the customer.
+     * @return The version of the customer's phone numbers, or {@link #UNKNOWN_VERSION} if the customer
+     *         does not exist or has no phone numbers.
+     */
+    long getCustomerVersion(Long customerId);
+
+    /**
+     * @return The total number of phone numbers across all customers.
+     */
+    int countPhoneNumbers();
+
+    /**
+     * @return The number of active phone numbers across all customers, kept by the engine as numbers
+     *         are loaded and activated rather than counted on every call.
+     */
+    int countActivePhoneNumbers();
+
+    /**
+     * Streams every phone number across all customers, in listing order, without materializing them.
+     * Activations made during the walk may or may not be observed.
+     *
+     * @param visitor Receives each phone number in its encoded form.
+     * @return The number of phone numbers visited.
+     * @throws IOException If the visitor fails.
+     */
+    int forEachPhoneNumber(PhoneNumberVisitor visitor) throws IOException;
+
+    /**
+     * Retrieves phone numbers for a specific customer.
+     *
+     * @param customerId The ID of the customer whose phone numbers are to be retrieved.
+     * @return The phone numbers associated with the specified customer, or an empty {@link Optional}
+     *         if the customer does not exist or has no phone numbers.
+     */
+    Optional<List<PhoneNumber>> getCustomerPhoneNumbers(Long customerId);
+
+    /**
+     * Activates a phone number for a specific customer, if it is not active yet.
+     *
+     * @param customerId The ID of the customer.
+     * @param phoneNumber The phone number to activate.
+     * @return The outcome of the activation.
+     */
+    ActivationOutcome activatePhoneNumber(Long customerId, String phoneNumber);
+
+    /**
+     * Activates a batch of phone numbers for a specific customer. Each number is activated
+     * conditionally, as by {@link #activatePhoneNumber}, and one bad number does not fail the rest.
+     *
+     * @param customerId The ID of the customer.
+     * @param phoneNumbers The phone numbers to activate.
+     * @return The outcome for each phone number, in the same order as the input, or an empty
+     *         {@link Optional} if the customer does not exist or has no phone numbers.
+     */
+    Optional<List<ActivationOutcome>> activatePhoneNumbers(Long customerId, List<String> phoneNumbers);
+}
@@ -0,0 +1,22 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+
+import java.util.List;
+
+/**
+ * One page of the phone numbers matching a search, addressed by the number it follows.
+ *
+ * @param phoneNumbers The phone numbers in the page, in ascending order.
+ * @param after        The encoded number the following page starts after, or
+ *                     {@link PhoneNumberCodec#INVALID} if this page is the last one.
+ */
+public record PhoneNumberSearchPage(List<PhoneNumber> phoneNumbers, long after) {
+
+    /**
+     * @return Whether more phone numbers may match past this page.
+     */
+    public boolean hasNext() {
+        return after != PhoneNumberCodec.INVALID;
+    }
+}
@@ -0,0 +1,109 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.util.Arrays;
+
+/**
+ * An immutable secondary index listing the slots of a {@link PhoneNumberInventory} in ascending
+ * order of number, for range scans such as prefix searches.
+ *
+ * <p>Like {@link PhoneNumberIndex}, the index holds only {@code int} slots and reads the numbers
+ * back from the inventory, so it costs four bytes per number. The numbers with a prefix form a
+ * contiguous run of the index, found with two binary searches, so a search reads only the numbers
+ * it returns. A number listed more than once is indexed at its first slot only, the one
+ * {@link PhoneNumberIndex} resolves it to.</p>
+ *
+ * <p>The index is sorted once, when it is built, as a single {@code long[]} packing each number
+ * above its slot. The shape of an inventory never changes, so the index stays valid for as long as
+ * its inventory is served; activations change only the bits read alongside it.</p>
+ */
+final class PhoneNumberSortedIndex {
+
+    // Valid numbers fit in 34 bits, leaving 30 for the slot
+    private static final int SLOT_BITS = 30;
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+
+    private final PhoneNumberInventory inventory;
+    private final int[] slots;
+
+    private PhoneNumberSortedIndex(PhoneNumberInventory inventory, int[] slots) {
+        this.inventory = inventory;
+        this.slots = slots;
+    }
+
+    /**
+     * Indexes every number of an inventory.
+     *
+     * @param inventory The inventory to index.
+     * @return The index.
+     * @throws IllegalArgumentException If the inventory holds more than 2<sup>30</sup> numbers.
+     */
+    static PhoneNumberSortedIndex build(PhoneNumberInventory inventory) {
+        int size = inventory.size();
+        if (size > SLOT_MASK + 1) {
+            throw new IllegalArgumentException("Cannot index more than " + (SLOT_MASK + 1) + " numbers, got " + size);
+        }
+        // The sign bit is flipped so the signed sort orders the packed values as unsigned
+        long[] packed = new long[size];
+        for (int slot = 0; slot < size; slot++) {
+            packed[slot] = (inventory.number(slot) << SLOT_BITS | slot) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(packed);
+
+        int[] slots = new int[size];
+        int count = 0;
+        long previous = PhoneNumberCodec.INVALID;
+        for (long value : packed) {
+            long entry = value ^ Long.MIN_VALUE;
+            long number = entry >>> SLOT_BITS;
+            // Equal numbers are sorted by slot, so the first one seen is the first occurrence
+            if (number != previous) {
+                slots[count++] = (int) (entry & SLOT_MASK);
+                previous = number;
+            }
+        }
+        return new PhoneNumberSortedIndex(inventory, count == size ? slots : Arrays.copyOf(slots, count));
+    }
+
+    /**
+     * @return The inventory the index points into.
+     */
+    PhoneNumberInventory inventory() {
+        return inventory;
+    }
+
+    /**
+     * @return The number of distinct numbers indexed.
+     */
+    int size() {
+        return slots.length;
+    }
+
+    /**
+     * @param position A position in the index.
+     * @return The slot holding the number at that position.
+     */
+    int slot(int position) {
+        return slots[position];
+    }
+
+    /**
+     * Finds where a number is, or would be, in the index.
+     *
+     * @param number The encoded phone number, or any bound.
+     * @return The position of the first number greater than or equal to the given one, or
+     *         {@link #size()} if there is none.
+     */
+    int lowerBound(long number) {
+        int low = 0;
+        int high = slots.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (inventory.number(slots[mid]) < number) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
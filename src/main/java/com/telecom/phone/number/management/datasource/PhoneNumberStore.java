@@ -0,0 +1,211 @@
+package com.telecom.phone.number.management.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Local persistence for a {@link PhoneNumberDataSource}: a write-ahead {@link ActivationLog} plus
+ * periodic compacted {@link InventorySnapshot snapshots}, all kept in one directory.
+ *
+ * <p>The log is split into numbered segments ({@code activations-<n>.log}). Taking a snapshot
+ * rotates the log to a new segment, writes the inventory, and then deletes every segment the
+ * snapshot covers. Because the datastore applies an activation before logging it, every record
+ * in a rotated-out segment is already reflected in the inventory being written.</p>
+ *
+ * <p>On {@link #open}, the store recovers the datastore from the snapshot, or from the
+ * datastore's current contents if there is no snapshot yet, and replays the records of every
+ * remaining segment on top. A datastore serving a mapped inventory file keeps serving it, with the
+ * activations of the snapshot applied over it. Replay is idempotent, so a record that is both in the snapshot and in
+ * a segment is harmless.</p>
+ */
+public final class PhoneNumberStore implements Closeable {
+
+    static final String SNAPSHOT_FILE = "inventory.snapshot";
+    private static final String SEGMENT_PREFIX = "activations-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final Logger log = LoggerFactory.getLogger(PhoneNumberStore.class);
+
+    private final PhoneNumberDataSource dataSource;
+    private final Path directory;
+    private final ActivationLog activationLog;
+    private final ScheduledExecutorService snapshotScheduler;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    // Guarded by snapshotLock
+    private long segment;
+    private boolean closed;
+
+    private PhoneNumberStore(PhoneNumberDataSource dataSource, Path directory, ActivationLog activationLog, long segment,
+                             Duration snapshotInterval) {
+        this.dataSource = dataSource;
+        this.directory = directory;
+        this.activationLog = activationLog;
+        this.segment = segment;
+        if (snapshotInterval.isZero()) {
+            this.snapshotScheduler = null;
+        } else {
+            this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("inventory-snapshot").daemon().factory());
+            this.snapshotScheduler.scheduleWithFixedDelay(this::scheduledSnapshot,
+                snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Recovers a datastore from a directory and starts logging its activations there.
+     *
+     * @param dataSource       The datastore to recover and persist.
+     * @param directory        The directory holding the snapshot and log segments; created if missing.
+     * @param durability       How long activations wait for their log records to reach the disk.
+     * @param flushInterval    How often log records are forced in {@link Durability#ASYNC} mode.
+     * @param snapshotInterval How often a snapshot is taken, or {@link Duration#ZERO} for never.
+     * @return The open store, attached to the datastore.
+     * @throws IOException If the directory cannot be read or the snapshot is corrupt.
+     */
+    public static PhoneNumberStore open(PhoneNumberDataSource dataSource, Path directory, Durability durability,
+                                        Duration flushInterval, Duration snapshotInterval) throws IOException {
+        Files.createDirectories(directory);
+
+        PhoneNumberInventory recovered;
+        long coveredSegment;
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            InventorySnapshot.Contents snapshot = InventorySnapshot.read(snapshotFile, dataSource.currentInventory());
+            recovered = snapshot.inventory();
+            coveredSegment = snapshot.coveredSegment();
+        } else {
+            recovered = dataSource.currentInventory();
+            coveredSegment = 0;
+        }
+
+        long lastSegment = coveredSegment;
+        int replayed = 0;
+        for (long number : listSegments(directory)) {
+            if (number <= coveredSegment) {
+                // Left behind by a crash between writing a snapshot and deleting what it covers
+                Files.deleteIfExists(segmentFile(directory, number));
+                continue;
+            }
+            replayed += ActivationLog.replay(segmentFile(directory, number), (customerId, phoneNumber) -> {
+                int ordinal = recovered.customerOrdinal(customerId);
+                if (ordinal != PhoneNumberInventory.NOT_FOUND) {
+                    int slot = recovered.slotOf(ordinal, phoneNumber);
+                    if (slot != PhoneNumberInventory.NOT_FOUND) {
+                        recovered.activate(slot);
+                    }
+                }
+            });
+            lastSegment = number;
+        }
+        log.info("Recovered {} phone numbers with {} logged activations from {}", recovered.size(), replayed, directory);
+
+        long segment = lastSegment + 1;
+        ActivationLog activationLog = ActivationLog.open(segmentFile(directory, segment), durability, flushInterval);
+        PhoneNumberStore store = new PhoneNumberStore(dataSource, directory, activationLog, segment, snapshotInterval);
+        dataSource.load(recovered);
+        dataSource.attach(store);
+        return store;
+    }
+
+    /**
+     * @return The datastore, as recovered by {@link #open} and persisted since.
+     */
+    public PhoneNumberDataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Writes a snapshot of the datastore and deletes the log segments it makes redundant.
+     *
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long covered = segment;
+            activationLog.rotate(segmentFile(directory, covered + 1));
+            segment = covered + 1;
+
+            InventorySnapshot.write(dataSource.currentInventory(), covered, directory.resolve(SNAPSHOT_FILE));
+            for (long number : listSegments(directory)) {
+                if (number <= covered) {
+                    Files.deleteIfExists(segmentFile(directory, number));
+                }
+            }
+            log.debug("Wrote an inventory snapshot covering log segments up to {}", covered);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Takes a final snapshot, detaches the store from its datastore and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        try {
+            snapshot();
+        } finally {
+            snapshotLock.lock();
+            try {
+                closed = true;
+            } finally {
+                snapshotLock.unlock();
+            }
+            dataSource.detach(this);
+            activationLog.close();
+        }
+    }
+
+    /**
+     * Logs the activations of one customer's phone numbers.
+     *
+     * @param customerId The ID of the customer.
+     * @param numbers    The encoded phone numbers; only the first {@code count} are logged.
+     * @param count      The number of phone numbers to log.
+     */
+    void logActivations(long customerId, long[] numbers, int count) {
+        activationLog.append(customerId, numbers, count);
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not write an inventory snapshot to {}", directory, e);
+        }
+    }
+
+    private static Path segmentFile(Path directory, long number) {
+        return directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private static List<Long> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name, SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length(), 10))
+                .sorted()
+                .toList();
+        }
+    }
+}
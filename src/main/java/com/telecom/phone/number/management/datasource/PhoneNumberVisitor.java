@@ -0,0 +1,20 @@
+package com.telecom.phone.number.management.datasource;
+
+import java.io.IOException;
+
+/**
+ * Receives phone numbers in their encoded form while the inventory is walked, so callers can
+ * process the whole inventory without materializing a {@code PhoneNumber} per entry.
+ */
+@FunctionalInterface
+public interface PhoneNumberVisitor {
+
+    /**
+     * Visits one phone number.
+     *
+     * @param number   The phone number, encoded by {@link PhoneNumberCodec}.
+     * @param isActive Whether the phone number is active.
+     * @throws IOException If the visitor fails to write the phone number.
+     */
+    void visit(long number, boolean isActive) throws IOException;
+}
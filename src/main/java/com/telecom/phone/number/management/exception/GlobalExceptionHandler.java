@@ -1,11 +1,20 @@
 package com.telecom.phone.number.management.exception;
 
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import java.util.stream.Collectors;
+
 /**
  * Global exception handler for handling exceptions throughout the application.
  *
@@ -18,6 +27,13 @@ import org.springframework.web.servlet.NoHandlerFoundException;
  *   <li>{@link NoHandlerFoundException} - For requests to nonexistent endpoints.</li>
  *   <li>{@link ResourceNotFoundException} - For cases where a requested resource is not found.</li>
  *   <li>{@link NumberAlreadyActivatedException} - For cases where an already active number is activated again.</li>
+ *   <li>{@link InvalidCursorException} - For pagination cursors that were not issued by the API.</li>
+ *   <li>{@link ConstraintViolationException} - For request parameters that violate the API contract.</li>
+ *   <li>{@link MethodArgumentNotValidException} - For request bodies that violate the API contract.</li>
+ *   <li>{@link WebExchangeBindException} - For request bodies that violate the API contract, in the reactive edition.</li>
+ *   <li>{@link ResponseStatusException} - For errors WebFlux raises with a status, such as requests to nonexistent
+ *   endpoints in the reactive edition.</li>
+ *   <li>{@link ServiceOverloadedException} - For requests shed because the request queue is full.</li>
  *   <li>{@link Exception} - A generic handler for all other unexpected exceptions.</li>
  * </ul>
  * </p>
@@ -26,6 +42,7 @@ import org.springframework.web.servlet.NoHandlerFoundException;
  * @version 1.0
  * @since 2025-01-27
  */
+@Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -45,8 +62,48 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<String> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
+        return invalidRequestBody(ex.getBindingResult());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<String> handleWebExchangeBindException(WebExchangeBindException ex) {
+        return invalidRequestBody(ex.getBindingResult());
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<String> handleResponseStatusException(ResponseStatusException ex) {
+        return ResponseEntity.status(ex.getStatusCode()).body(ex.getReason());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().plusMillis(999).toSeconds())))
+            .body(ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception ex) {
+        log.error("Request failed unexpectedly", ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<String> invalidRequestBody(BindingResult bindingResult) {
+        String errors = bindingResult.getFieldErrors().stream()
+            .map(error -> error.getField() + ": " + error.getDefaultMessage())
+            .collect(Collectors.joining(", "));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid request body: " + errors);
+    }
+}
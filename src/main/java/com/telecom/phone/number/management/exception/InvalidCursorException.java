@@ -0,0 +1,13 @@
+package com.telecom.phone.number.management.exception;
+
+/**
+ * Signals a pagination cursor the API did not issue, or one that no longer decodes to a position
+ * in the inventory. Answered as 400.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+}
@@ -1,9 +1,20 @@
 package com.telecom.phone.number.management.exception;
 
+/**
+ * Signals an attempt to activate a phone number that is already active. Created without a stack
+ * trace, as retried activations make this a routine response.
+ */
 public class NumberAlreadyActivatedException extends RuntimeException {
 
+    /**
+     * The response to every activation of a number that is already active. Without a stack trace
+     * or suppressed exceptions it holds no state of its own, so one instance is thrown for all.
+     */
+    public static final NumberAlreadyActivatedException INSTANCE =
+        new NumberAlreadyActivatedException("Phone number is already active.");
+
     public NumberAlreadyActivatedException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
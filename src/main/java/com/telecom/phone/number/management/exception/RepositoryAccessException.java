@@ -0,0 +1,13 @@
+package com.telecom.phone.number.management.exception;
+
+/**
+ * Signals that the phone number database could not be opened, loaded or read. Wraps the
+ * {@link java.sql.SQLException} of the jdbc engine, so callers do not depend on JDBC.
+ */
+public class RepositoryAccessException extends RuntimeException {
+
+    public RepositoryAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
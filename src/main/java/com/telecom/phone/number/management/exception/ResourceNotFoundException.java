@@ -1,9 +1,26 @@
 package com.telecom.phone.number.management.exception;
 
+/**
+ * Signals that a requested customer or phone number does not exist. Not-found is an expected
+ * request outcome rather than a fault, so no stack trace is captured.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
+    /**
+     * The response to requests for a customer that does not exist. Without a stack trace or
+     * suppressed exceptions it holds no state of its own, so one instance is thrown for all.
+     */
+    public static final ResourceNotFoundException CUSTOMER = new ResourceNotFoundException("Customer not found.");
+
+    /**
+     * The response to activations of a phone number the customer does not have, shared as
+     * {@link #CUSTOMER} is.
+     */
+    public static final ResourceNotFoundException PHONE_NUMBER =
+        new ResourceNotFoundException("Phone number not found for the customer.");
+
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
@@ -0,0 +1,22 @@
+package com.telecom.phone.number.management.exception;
+
+import java.time.Duration;
+
+/**
+ * Signals a request shed because the service is saturated. Created without a stack trace, as an
+ * overload makes this a frequent response, and filling in stack traces would add to it.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+}
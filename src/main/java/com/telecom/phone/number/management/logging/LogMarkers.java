@@ -0,0 +1,20 @@
+package com.telecom.phone.number.management.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Markers classifying log events for the logging pipeline configured in {@code logback-spring.xml}.
+ */
+public final class LogMarkers {
+
+    /**
+     * Marks the routine events of a request that went as expected, such as a request being received
+     * or served. They are sampled by {@link SamplingTurboFilter}; unmarked events, which include
+     * every failure, are always logged.
+     */
+    public static final Marker SUCCESS = MarkerFactory.getMarker("SUCCESS");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,62 @@
+package com.telecom.phone.number.management.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts a recurring event and lets at most one occurrence per interval be logged, with the number
+ * of occurrences since the previous one logged.
+ *
+ * <p>Meant for events that come in floods when the service is under pressure, such as rejected
+ * requests: each occurrence is counted by its own metric, and the log gets a summary instead of a
+ * line per occurrence, so logging never adds to the pressure. Counting is a {@link LongAdder}
+ * update and a clock read, and no lock is held.</p>
+ */
+public final class LogThrottle {
+
+    private final long intervalNanos;
+    private final LongSupplier clock;
+    private final LongAdder occurrences = new LongAdder();
+    // The time from which the next occurrence may be logged
+    private final AtomicLong nextLog;
+
+    /**
+     * Creates a throttle letting the first occurrence be logged right away.
+     *
+     * @param interval the time between two occurrences logged.
+     */
+    public LogThrottle(Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    LogThrottle(Duration interval, LongSupplier clock) {
+        this.intervalNanos = interval.toNanos();
+        this.clock = clock;
+        this.nextLog = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Counts an occurrence.
+     *
+     * @return the number of occurrences since the previous one logged, this one included, if this
+     *         one is to be logged, otherwise {@code 0}.
+     */
+    public long record() {
+        occurrences.increment();
+        long now = clock.getAsLong();
+        long next = nextLog.get();
+        if (now - next < 0 || !nextLog.compareAndSet(next, now + intervalNanos)) {
+            return 0;
+        }
+        return Math.max(1, occurrences.sumThenReset());
+    }
+
+    /**
+     * @return the time between two occurrences logged, in whole seconds.
+     */
+    public long intervalSeconds() {
+        return Duration.ofNanos(intervalNanos).toSeconds();
+    }
+}
@@ -0,0 +1,50 @@
+package com.telecom.phone.number.management.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link AsyncAppender} that drops routine events rather than slow down requests when its
+ * queue backs up, and counts what it drops.
+ *
+ * <p>Events at {@code INFO} and below are dropped once fewer than {@code discardingThreshold}
+ * slots are left in the queue, a fifth of it by default. Warnings and errors are never dropped:
+ * when the queue is full they wait for a slot. {@code neverBlock} is ignored for that reason.</p>
+ *
+ * <p>Drops of all instances are counted together, as appenders are created by Logback before the
+ * application context that publishes the count as {@code logging.events.dropped}.</p>
+ */
+public class LossyAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    // Remaining capacity below which discardable events are dropped
+    private int dropThreshold;
+
+    /**
+     * @return the number of events dropped so far by every instance.
+     */
+    public static long droppedEvents() {
+        return DROPPED.sum();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        // Dropping is decided here, so the base class neither drops nor skips waiting for a slot
+        dropThreshold = getDiscardingThreshold();
+        setDiscardingThreshold(0);
+        setNeverBlock(false);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isDiscardable(event) && getRemainingCapacity() < dropThreshold) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+}
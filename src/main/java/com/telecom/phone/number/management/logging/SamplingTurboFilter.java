@@ -0,0 +1,81 @@
+package com.telecom.phone.number.management.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps one in N of the events marked {@link LogMarkers#SUCCESS}, with N set per logger category.
+ *
+ * <p>Rates are given as {@code category=N} pairs separated by commas, for example
+ * {@code com.telecom.phone.number.management.controller=100,com.telecom.phone.number.management.datasource=1000}.
+ * The longest category a logger name starts with applies, and loggers of no category keep every
+ * event. Events are kept at random, so no state is shared between threads, and the rate of each
+ * logger is resolved once.</p>
+ *
+ * <p>Unmarked events are left to the usual level checks, so failures, warnings and errors are
+ * never sampled.</p>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private volatile Map<String, Integer> rates = Map.of();
+
+    private final Map<String, Integer> loggerRates = new ConcurrentHashMap<>();
+
+    /**
+     * @param rates the {@code category=N} pairs, separated by commas; blank for none.
+     * @throws IllegalArgumentException if a pair is malformed or N is not positive.
+     */
+    public void setRates(String rates) {
+        Map<String, Integer> parsed = new ConcurrentHashMap<>();
+        for (String pair : rates.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected category=N, got " + pair.trim());
+            }
+            int rate = Integer.parseInt(pair.substring(separator + 1).trim());
+            if (rate < 1) {
+                throw new IllegalArgumentException("Sampling rate must be positive, got " + pair.trim());
+            }
+            parsed.put(pair.substring(0, separator).trim(), rate);
+        }
+        this.rates = Map.copyOf(parsed);
+        loggerRates.clear();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || !marker.contains(LogMarkers.SUCCESS) || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        int rate = loggerRates.computeIfAbsent(logger.getName(), this::rateOf);
+        return rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /**
+     * @return the rate of the longest category the logger name starts with, or 1 if none.
+     */
+    int rateOf(String loggerName) {
+        int rate = 1;
+        int longest = -1;
+        for (Map.Entry<String, Integer> entry : rates.entrySet()) {
+            String category = entry.getKey();
+            boolean matches = loggerName.equals(category)
+                || (loggerName.startsWith(category) && loggerName.charAt(category.length()) == '.');
+            if (matches && category.length() > longest) {
+                longest = category.length();
+                rate = entry.getValue();
+            }
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,42 @@
+package com.telecom.phone.number.management.service;
+
+import com.telecom.phone.number.management.datasource.ActivationOutcome;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+
+/**
+ * The result of activating a phone number: the outcome, and the response body when the
+ * activation succeeded.
+ *
+ * <p>Failed activations carry no body, so their results are shared constants and reporting a
+ * not-found or conflict outcome allocates nothing.</p>
+ *
+ * @param outcome  The outcome of the activation.
+ * @param response The response for a successful activation, or {@code null} otherwise.
+ */
+public record ActivationResult(ActivationOutcome outcome, PhoneNumbersResponse response) {
+
+    private static final ActivationResult ALREADY_ACTIVE = new ActivationResult(ActivationOutcome.ALREADY_ACTIVE, null);
+    private static final ActivationResult NOT_FOUND = new ActivationResult(ActivationOutcome.NOT_FOUND, null);
+    private static final ActivationResult CUSTOMER_NOT_FOUND = new ActivationResult(ActivationOutcome.CUSTOMER_NOT_FOUND, null);
+
+    /**
+     * @param response the response describing the activated phone number.
+     * @return a successful result.
+     */
+    public static ActivationResult activated(PhoneNumbersResponse response) {
+        return new ActivationResult(ActivationOutcome.ACTIVATED, response);
+    }
+
+    /**
+     * @param outcome an unsuccessful outcome.
+     * @return the shared result for that outcome.
+     */
+    public static ActivationResult failed(ActivationOutcome outcome) {
+        return switch (outcome) {
+            case ALREADY_ACTIVE -> ALREADY_ACTIVE;
+            case NOT_FOUND -> NOT_FOUND;
+            case CUSTOMER_NOT_FOUND -> CUSTOMER_NOT_FOUND;
+            case ACTIVATED -> throw new IllegalArgumentException("An activated result needs a response");
+        };
+    }
+}
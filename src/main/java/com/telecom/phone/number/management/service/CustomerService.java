@@ -1,90 +1,340 @@
 package com.telecom.phone.number.management.service;
 
-import com.telecom.phone.number.management.datasource.PhoneNumberDataSource;
-import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.telecom.phone.number.management.datasource.ActivationOutcome;
+import com.telecom.phone.number.management.datasource.PhoneNumberRepository;
+import com.telecom.phone.number.management.logging.LogMarkers;
+import com.telecom.phone.number.management.model.BulkActivationResponse;
+import com.telecom.phone.number.management.model.BulkActivationResult;
+import com.telecom.phone.number.management.model.Link;
 import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumberResponseLinks;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
 import com.telecom.phone.number.management.model.PhoneNumbersResponseLinks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Service class responsible for retrieving and activating phone numbers related to a customer.
+ *
+ * <p>Customer phone number responses are cached in their serialized form, per customer and base
+ * URL, as their links are absolute. Each entry records the customer version it was built at and is
+ * not served once the customer's version has moved past it, as it does when one of the customer's
+ * numbers is activated, so a cached response never lags behind the datastore.</p>
+ *
+ * <p>When {@code server.compression} is enabled, cached responses of at least its minimum response
+ * size are also compressed with gzip as they are cached, so hits are served compressed without
+ * compressing them again.</p>
+ *
+ * <p>Links are rendered by {@link LinkRenderer} from templates compiled once. With
+ * {@code phone-numbers.links.per-number} enabled, every number of a customer response also carries a
+ * {@code self} link, the URL it is activated at.</p>
  */
 @Slf4j
 @Service
 public class CustomerService {
 
+    private static final int GZIP_BUFFER_SIZE = 8 * 1024;
+
+    private static final LinkRenderer.Template CUSTOMER_PHONE_NUMBERS =
+        LinkRenderer.template("/customers/{customerId}/phone-numbers");
+    private static final LinkRenderer.Template CUSTOMER_PHONE_NUMBER =
+        LinkRenderer.template("/customers/{customerId}/phone-numbers/{phoneNumber}");
+    private static final LinkRenderer.Template CUSTOMER_ACTIVATION =
+        LinkRenderer.template("/customers/{customerId}/phone-numbers:activate");
+
+    @Autowired
+    PhoneNumberRepository repository;
+
+    @Autowired
+    Cache<ResponseKey, SerializedPhoneNumbersResponse> customerResponseCache;
+
+    @Value("${server.compression.enabled:false}")
+    boolean compressionEnabled;
+
+    @Value("${server.compression.min-response-size:2KB}")
+    DataSize compressionMinResponseSize = DataSize.ofKilobytes(2);
+
+    @Value("${phone-numbers.links.per-number:false}")
+    boolean perNumberLinks;
+
+    Timer customerLinksTimer = ResponseTimers.UNBOUND;
+
+    Timer customerSerializationTimer = ResponseTimers.UNBOUND;
+
+    /**
+     * Registers the timers of the stages of building customer responses on a cache miss.
+     *
+     * @param meterRegistry the registry publishing the timers.
+     */
+    @Autowired
+    void registerMeters(MeterRegistry meterRegistry) {
+        customerLinksTimer = ResponseTimers.register(meterRegistry, "customer", "links");
+        customerSerializationTimer = ResponseTimers.register(meterRegistry, "customer", "serialization");
+    }
+
     /**
      * Retrieves all phone numbers associated with a specific customer.
      *
+     * <p>The response is served from the customer response cache when it holds one built for the
+     * same base URL at the customer's current version. Otherwise it is built, serialized and cached.
+     * Loading runs under the cache's per-key lock, so concurrent misses build it once.</p>
+     *
      * @param customerId the unique ID of the customer.
-     * @return an {@link Optional} containing a {@link PhoneNumbersResponse} with the phone numbers and links.
+     * @return an {@link Optional} containing the phone numbers and links, already serialized to JSON,
+     *         or an empty {@link Optional} if the customer does not exist or has no phone numbers.
     * */
-    public Optional<PhoneNumbersResponse> getCustomerPhoneNumbers(Long customerId) {
-        List<PhoneNumber> phoneNumbers = Optional.ofNullable(PhoneNumberDataSource.getCustomerPhoneNumbers(customerId))
-            .filter(numbers -> !numbers.isEmpty())
-            .orElseThrow(() -> {
-                log.warn("No phone numbers found for customer ID: {}", customerId);
-                return new ResourceNotFoundException("No phone numbers found for customer ID: " + customerId);
-            });
+    public Optional<SerializedPhoneNumbersResponse> getCustomerPhoneNumbers(Long customerId) {
+        return getCustomerPhoneNumbers(customerId, currentBaseUrl());
+    }
+
+    /**
+     * Retrieves all phone numbers associated with a specific customer, with links built against the
+     * given base URL rather than the current servlet request.
+     *
+     * @param customerId the unique ID of the customer.
+     * @param baseUrl    the base URL of the API, up to and including the context path.
+     * @return an {@link Optional} containing the phone numbers and links, already serialized to JSON,
+     *         or an empty {@link Optional} if the customer does not exist or has no phone numbers.
+     */
+    public Optional<SerializedPhoneNumbersResponse> getCustomerPhoneNumbers(Long customerId, String baseUrl) {
+        // Read before the numbers, so the response is at least as recent as this version
+        long version = repository.getCustomerVersion(customerId);
+        if (version == PhoneNumberRepository.UNKNOWN_VERSION) {
+            return Optional.empty();
+        }
+
+        ResponseKey key = new ResponseKey(customerId, baseUrl);
+        SerializedPhoneNumbersResponse cached = customerResponseCache.getIfPresent(key);
+        if (isCurrent(cached, version)) {
+            return Optional.of(cached);
+        }
 
-        return Optional.of(createPhoneNumbersResponse(customerId, phoneNumbers, "GET", "/customers/{customerId}/phone-numbers"));
+        return Optional.ofNullable(customerResponseCache.asMap().compute(key, (k, current) ->
+            isCurrent(current, version) ? current : loadCustomerPhoneNumbers(customerId, baseUrl, version)));
+    }
+
+    /**
+     * Retrieves the version of a customer's phone numbers, which changes whenever one of them is
+     * activated. Cheap enough to check on every request, as it neither reads nor serializes the numbers.
+     *
+     * @param customerId the unique ID of the customer.
+     * @return the version, or {@link PhoneNumberRepository#UNKNOWN_VERSION} if the customer does not
+     *         exist or has no phone numbers.
+     */
+    public long getCustomerPhoneNumbersVersion(Long customerId) {
+        return repository.getCustomerVersion(customerId);
     }
 
     /**
      * Activates a specific phone number for a customer.
      *
+     * <p>Missing customers, missing numbers and already active numbers are reported through the
+     * outcome of the returned {@link ActivationResult}, which maps directly to an HTTP status.</p>
+     *
      * @param customerId  the unique ID of the customer.
      * @param phoneNumber the phone number to activate.
-     * @return an {@link Optional} containing a {@link PhoneNumbersResponse} with the activated phone number and links.
+     * @return an {@link ActivationResult} holding the outcome, and a {@link PhoneNumbersResponse} with the
+     *         activated phone number and links when the activation succeeded.
      */
-    public Optional<PhoneNumbersResponse> activatePhoneNumber(Long customerId, String phoneNumber) {
-        PhoneNumber activatedPhoneNumber = Optional.ofNullable(PhoneNumberDataSource.activatePhoneNumber(customerId, phoneNumber))
-            .orElseThrow(() -> {
-                log.warn("Activation failed: Phone number {} not found for customer ID: {}", phoneNumber, customerId);
-                return new ResourceNotFoundException("Failed to activate phone number: " + phoneNumber);
-            });
+    public ActivationResult activatePhoneNumber(Long customerId, String phoneNumber) {
+        return activatePhoneNumber(customerId, phoneNumber, currentBaseUrl());
+    }
+
+    /**
+     * Activates a specific phone number for a customer, with links built against the given base URL
+     * rather than the current servlet request.
+     *
+     * @param customerId  the unique ID of the customer.
+     * @param phoneNumber the phone number to activate.
+     * @param baseUrl     the base URL of the API, up to and including the context path.
+     * @return an {@link ActivationResult} holding the outcome, and a {@link PhoneNumbersResponse} with the
+     *         activated phone number and links when the activation succeeded.
+     */
+    public ActivationResult activatePhoneNumber(Long customerId, String phoneNumber, String baseUrl) {
+        ActivationOutcome outcome = repository.activatePhoneNumber(customerId, phoneNumber);
+        if (outcome != ActivationOutcome.ACTIVATED) {
+            log.debug("Activation of phone number {} for customer ID {} ended with {}", phoneNumber, customerId, outcome);
+            return ActivationResult.failed(outcome);
+        }
 
-        return Optional.of(createPhoneNumbersResponse(
-            customerId,
-            List.of(activatedPhoneNumber),
+        return ActivationResult.activated(createPhoneNumbersResponse(
+            List.of(new PhoneNumber().number(phoneNumber).isActive(true)),
             "PATCH",
-            "/customers/{customerId}/phone-numbers/{phoneNumber}"));
+            CUSTOMER_PHONE_NUMBER.expand(baseUrl, customerId, phoneNumber)));
+    }
+
+    /**
+     * Activates a batch of phone numbers for a customer in a single pass over the data source.
+     *
+     * <p>Each phone number gets its own result. Numbers that are already active or do not belong to
+     * the customer are reported as item statuses rather than failing the batch.</p>
+     *
+     * @param customerId   the unique ID of the customer.
+     * @param phoneNumbers the phone numbers to activate.
+     * @return an {@link Optional} containing a {@link BulkActivationResponse} with one result per phone number,
+     *         or an empty {@link Optional} if the customer does not exist or has no phone numbers.
+     */
+    public Optional<BulkActivationResponse> activatePhoneNumbers(Long customerId, List<String> phoneNumbers) {
+        return activatePhoneNumbers(customerId, phoneNumbers, currentBaseUrl());
     }
 
     /**
-     * Creates a {@link PhoneNumbersResponse} for the given customer ID, phone numbers, HTTP method, and path.
+     * Activates a batch of phone numbers for a customer, with links built against the given base URL
+     * rather than the current servlet request.
      *
      * @param customerId   the unique ID of the customer.
+     * @param phoneNumbers the phone numbers to activate.
+     * @param baseUrl      the base URL of the API, up to and including the context path.
+     * @return an {@link Optional} containing a {@link BulkActivationResponse} with one result per phone number,
+     *         or an empty {@link Optional} if the customer does not exist or has no phone numbers.
+     */
+    public Optional<BulkActivationResponse> activatePhoneNumbers(Long customerId, List<String> phoneNumbers, String baseUrl) {
+        return repository.activatePhoneNumbers(customerId, phoneNumbers)
+            .map(outcomes -> {
+                List<BulkActivationResult> results = new ArrayList<>(outcomes.size());
+                for (int i = 0; i < outcomes.size(); i++) {
+                    results.add(new BulkActivationResult()
+                        .number(phoneNumbers.get(i))
+                        .status(BulkActivationResult.StatusEnum.fromValue(outcomes.get(i).name())));
+                }
+
+                String link = CUSTOMER_ACTIVATION.expand(baseUrl, customerId);
+
+                return new BulkActivationResponse()
+                    .results(results)
+                    .links(new PhoneNumberResponseLinks()
+                        .self(new Link().href(link).httpMethod("POST").templated(false)));
+            });
+    }
+
+    /**
+     * Builds and serializes the phone numbers response of a customer for caching.
+     *
+     * @param customerId the unique ID of the customer.
+     * @param baseUrl    the base URL of the current request.
+     * @param version    the customer version read before loading.
+     * @return the serialized response, or {@code null} if the customer does not exist or has no phone numbers.
+     */
+    private SerializedPhoneNumbersResponse loadCustomerPhoneNumbers(Long customerId, String baseUrl, long version) {
+        log.debug(LogMarkers.SUCCESS, "Building phone numbers response for customer ID: {}", customerId);
+        return repository.getCustomerPhoneNumbers(customerId)
+            .map(phoneNumbers -> {
+                long start = System.nanoTime();
+                PhoneNumbersResponse response = customerPhoneNumbersResponse(customerId, phoneNumbers, baseUrl);
+                long linked = System.nanoTime();
+                customerLinksTimer.record(linked - start, TimeUnit.NANOSECONDS);
+                byte[] json = PhoneNumbersResponseJsonWriter.toBytes(response);
+                byte[] gzip = compressionEnabled && json.length >= compressionMinResponseSize.toBytes() ? gzip(json) : null;
+                // About a tenth of the JSON, kept so CBOR clients are served from the cache too
+                byte[] cbor = PhoneNumbersResponseCbor.toBytes(response);
+                customerSerializationTimer.record(System.nanoTime() - linked, TimeUnit.NANOSECONDS);
+                return new SerializedPhoneNumbersResponse(baseUrl, version, json, gzip, cbor);
+            })
+            .orElse(null);
+    }
+
+    /**
+     * Compresses a serialized response with gzip, at the default level, as the server compresses others.
+     */
+    private static byte[] gzip(byte[] json) {
+        // Phone number responses shrink to around a tenth
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 8);
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(compressed, GZIP_BUFFER_SIZE)) {
+            outputStream.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * A cached response is current if it was built at, or after, the given version.
+     */
+    private static boolean isCurrent(SerializedPhoneNumbersResponse cached, long version) {
+        return cached != null && cached.getVersion() >= version;
+    }
+
+    /**
+     * Creates the phone numbers response of a customer, with a {@code self} link on every number
+     * when {@code phone-numbers.links.per-number} is enabled.
+     *
+     * @param customerId   the unique ID of the customer.
+     * @param phoneNumbers the phone numbers of the customer.
+     * @param baseUrl      the base URL of the API the links are built against.
+     * @return a {@link PhoneNumbersResponse} containing phone numbers and links.
+     */
+    PhoneNumbersResponse customerPhoneNumbersResponse(Long customerId, List<PhoneNumber> phoneNumbers, String baseUrl) {
+        String self = CUSTOMER_PHONE_NUMBERS.expand(baseUrl, customerId);
+        return createPhoneNumbersResponse(perNumberLinks ? withLinks(phoneNumbers, self) : phoneNumbers, "GET", self);
+    }
+
+    /**
+     * Creates a {@link PhoneNumbersResponse} for the given phone numbers and self link.
+     *
      * @param phoneNumbers the list of phone numbers to include in the response.
      * @param httpMethod   the HTTP method associated with the link.
-     * @param path         the path template for the link.
+     * @param self         the self link.
      * @return a {@link PhoneNumbersResponse} containing phone numbers and links.
      */
-    PhoneNumbersResponse createPhoneNumbersResponse(Long customerId, List<PhoneNumber> phoneNumbers, String httpMethod, String path) {
-        // Generate top-level links
-        String link = ServletUriComponentsBuilder.fromCurrentContextPath()
-            .path(path)
-            .buildAndExpand(customerId, phoneNumbers.stream()
-                .map(PhoneNumber::getNumber)
-                .collect(Collectors.joining(","))) // Join numbers for link if needed
-            .toUriString();
-
+    private static PhoneNumbersResponse createPhoneNumbersResponse(List<PhoneNumber> phoneNumbers, String httpMethod,
+                                                                   String self) {
         PhoneNumbersResponseLinks links = new PhoneNumbersResponseLinks()
-            .self(new com.telecom.phone.number.management.model.Link()
-                .href(link)
-                .httpMethod(httpMethod)
-                .templated(false));
+            .self(new Link().href(self).httpMethod(httpMethod).templated(false));
 
-        // Create and return the response
         return new PhoneNumbersResponse()
             .phoneNumbers(phoneNumbers)
             .links(links);
     }
+
+    /**
+     * Copies phone numbers with their activation links, rendered in one builder reset to the
+     * customer's collection URL for every number. The numbers read are left as they are, as
+     * engines may share them.
+     */
+    private static List<PhoneNumber> withLinks(List<PhoneNumber> phoneNumbers, String collection) {
+        StringBuilder href = new StringBuilder(collection.length() + 16).append(collection).append('/');
+        int prefixLength = href.length();
+        List<PhoneNumber> linked = new ArrayList<>(phoneNumbers.size());
+        for (PhoneNumber phoneNumber : phoneNumbers) {
+            href.setLength(prefixLength);
+            LinkRenderer.appendVariable(href, phoneNumber.getNumber());
+            linked.add(new PhoneNumber()
+                .number(phoneNumber.getNumber())
+                .isActive(phoneNumber.getIsActive())
+                .links(new PhoneNumberResponseLinks()
+                    .self(new Link().href(href.toString()).httpMethod("PATCH").templated(false))));
+        }
+        return linked;
+    }
+
+    /**
+     * @return the base URL of the current servlet request, up to and including the context path.
+     */
+    private static String currentBaseUrl() {
+        return LinkRenderer.currentBaseUrl();
+    }
+
+    /**
+     * Key of the customer response cache: a customer's response is built once per base URL.
+     *
+     * @param customerId the unique ID of the customer.
+     * @param baseUrl    the base URL the links of the response are built against.
+     */
+    public record ResponseKey(long customerId, String baseUrl) {
+    }
 }
@@ -0,0 +1,182 @@
+package com.telecom.phone.number.management.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders the links of responses from precompiled {@link Template}s, without parsing or building
+ * URIs per request.
+ *
+ * <p>Base URLs, the scheme, host, port and context path links are built against, are built once per
+ * combination and cached. Behind a proxy, with {@code server.forward-headers-strategy} set, the
+ * server applies the forwarded headers of trusted proxies to the request, so each forwarded host and
+ * scheme gets its own entry. The cache is bounded, as hosts come from the client.</p>
+ *
+ * <p>Variables are written as they are when they hold only unreserved URI characters, as customer
+ * IDs, phone numbers and cursors do, and percent-encoded otherwise.</p>
+ */
+public final class LinkRenderer {
+
+    private static final int MAX_BASE_URLS = 256;
+
+    private static final Cache<Origin, String> BASE_URLS = Caffeine.newBuilder()
+        .maximumSize(MAX_BASE_URLS)
+        .build();
+
+    private LinkRenderer() {
+    }
+
+    /**
+     * @return the base URL of the current servlet request, up to and including the context path, as
+     *         {@code ServletUriComponentsBuilder.fromCurrentContextPath()} builds it.
+     * @throws IllegalStateException if no servlet request is bound to the current thread.
+     */
+    public static String currentBaseUrl() {
+        if (!(RequestContextHolder.currentRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            throw new IllegalStateException("No current servlet request");
+        }
+        HttpServletRequest request = attributes.getRequest();
+        return baseUrl(request.getScheme(), request.getServerName(), request.getServerPort(), request.getContextPath());
+    }
+
+    /**
+     * Returns the base URL of a scheme, host, port and context path.
+     *
+     * @param scheme      the scheme.
+     * @param host        the host.
+     * @param port        the port, or {@code -1} if none; the default port of the scheme is left out.
+     * @param contextPath the context path, empty if none.
+     * @return the base URL.
+     */
+    public static String baseUrl(String scheme, String host, int port, String contextPath) {
+        return BASE_URLS.get(new Origin(scheme, host, port, contextPath), LinkRenderer::buildBaseUrl);
+    }
+
+    /**
+     * Compiles a path template, such as {@code /customers/{customerId}/phone-numbers}.
+     *
+     * @param path the path, with variables in braces; it may hold a query.
+     * @return the template.
+     * @throws IllegalArgumentException if a brace is not closed.
+     */
+    public static Template template(String path) {
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = path.indexOf('{', start)) >= 0) {
+            int close = path.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in " + path);
+            }
+            literals.add(path.substring(start, open));
+            start = close + 1;
+        }
+        literals.add(path.substring(start));
+        return new Template(literals.toArray(String[]::new));
+    }
+
+    /**
+     * Appends a variable, percent-encoded unless it holds only unreserved characters.
+     */
+    static void appendVariable(StringBuilder builder, Object value) {
+        if (value instanceof Long number) {
+            builder.append(number.longValue());
+            return;
+        }
+        if (value instanceof Integer number) {
+            builder.append(number.intValue());
+            return;
+        }
+        String string = String.valueOf(value);
+        for (int i = 0; i < string.length(); i++) {
+            if (!isUnreserved(string.charAt(i))) {
+                builder.append(UriUtils.encode(string, StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        builder.append(string);
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+            || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static String buildBaseUrl(Origin origin) {
+        int port = origin.port();
+        if (("http".equals(origin.scheme()) && port == 80) || ("https".equals(origin.scheme()) && port == 443)) {
+            port = -1;
+        }
+        return UriComponentsBuilder.newInstance()
+            .scheme(origin.scheme())
+            .host(origin.host())
+            .port(port)
+            .path(origin.contextPath())
+            .toUriString();
+    }
+
+    private record Origin(String scheme, String host, int port, String contextPath) {
+    }
+
+    /**
+     * A compiled path template: the literals around its variables.
+     */
+    public static final class Template {
+
+        private final String[] literals;
+        private final int literalLength;
+
+        private Template(String[] literals) {
+            this.literals = literals;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        /**
+         * Renders a link.
+         *
+         * @param baseUrl the base URL of the API, up to and including the context path.
+         * @param values  the values of the variables, in order.
+         * @return the link.
+         * @throws IllegalArgumentException if the number of values does not match the variables.
+         */
+        public String expand(String baseUrl, Object... values) {
+            // Room for typical variables, such as IDs and phone numbers
+            StringBuilder builder = new StringBuilder(baseUrl.length() + literalLength + 16 * values.length);
+            return appendTo(builder, baseUrl, values).toString();
+        }
+
+        /**
+         * Renders a link at the end of a builder, so one builder can render many links.
+         *
+         * @param builder the builder to append to.
+         * @param baseUrl the base URL of the API, up to and including the context path.
+         * @param values  the values of the variables, in order.
+         * @return the builder.
+         * @throws IllegalArgumentException if the number of values does not match the variables.
+         */
+        public StringBuilder appendTo(StringBuilder builder, String baseUrl, Object... values) {
+            if (values.length != literals.length - 1) {
+                throw new IllegalArgumentException("Expected " + (literals.length - 1) + " values, got " + values.length);
+            }
+            builder.append(baseUrl).append(literals[0]);
+            for (int i = 0; i < values.length; i++) {
+                appendVariable(builder, values[i]);
+                builder.append(literals[i + 1]);
+            }
+            return builder;
+        }
+    }
+}
@@ -1,16 +1,36 @@
 package com.telecom.phone.number.management.service;
 
-import com.telecom.phone.number.management.datasource.PhoneNumberDataSource;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.telecom.phone.number.management.datasource.PhoneNumberCodec;
+import com.telecom.phone.number.management.datasource.PhoneNumberPage;
+import com.telecom.phone.number.management.datasource.PhoneNumberRepository;
+import com.telecom.phone.number.management.datasource.PhoneNumberSearchPage;
+import com.telecom.phone.number.management.exception.InvalidCursorException;
 import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.logging.LogMarkers;
+import com.telecom.phone.number.management.logging.LogThrottle;
 import com.telecom.phone.number.management.model.Link;
 import com.telecom.phone.number.management.model.PhoneNumber;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
 import com.telecom.phone.number.management.model.PhoneNumbersResponseLinks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service class responsible for managing phone number operations.
@@ -20,6 +40,48 @@ import java.util.List;
 @Service
 public class PhoneNumberService {
 
+    /**
+     * Page size used when a cursor is supplied without a limit.
+     */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Number of phone numbers read from the data source at a time by the reactive export.
+     */
+    public static final int STREAM_PAGE_SIZE = 1_000;
+
+    private static final String CURSOR_PREFIX = "o:";
+
+    private static final String SEARCH_CURSOR_PREFIX = "n:";
+
+    // Malformed cursors come from clients, at whatever rate they like, so they are summarized
+    private static final LogThrottle MALFORMED_CURSORS = new LogThrottle(Duration.ofSeconds(10));
+
+    private static final LinkRenderer.Template PHONE_NUMBERS = LinkRenderer.template("/phone-numbers");
+    private static final LinkRenderer.Template PHONE_NUMBERS_PAGE =
+        LinkRenderer.template("/phone-numbers?limit={limit}&cursor={cursor}");
+    private static final LinkRenderer.Template PHONE_NUMBERS_SEARCH = LinkRenderer.template("/phone-numbers?limit={limit}");
+
+    // The response stream belongs to the servlet container, so generators must not close it
+    private static final JsonFactory NDJSON_FACTORY = JsonFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+
+    @Autowired
+    PhoneNumberRepository repository;
+
+    Timer pageLinksTimer = ResponseTimers.UNBOUND;
+
+    /**
+     * Registers the timers of the response stages.
+     *
+     * @param meterRegistry the registry publishing the timers.
+     */
+    @Autowired
+    void registerMeters(MeterRegistry meterRegistry) {
+        pageLinksTimer = ResponseTimers.register(meterRegistry, "page", "links");
+    }
+
     /**
      * Retrieves all phone numbers from the data source and constructs a response with the phone numbers
      * along with associated metadata and links.
@@ -28,13 +90,18 @@ public class PhoneNumberService {
      * @throws ResourceNotFoundException if no phone numbers are found in the system.
      */
     public PhoneNumbersResponse getAllPhoneNumbers() {
-        log.debug("Fetching all phone numbers from the data source.");
-        List<PhoneNumber> allPhoneNumbers = PhoneNumberDataSource.getAllPhoneNumbers();
+        return allPhoneNumbers(currentBaseUrl());
+    }
+
+    /**
+     * Retrieves all phone numbers, with links built against the given base URL.
+     */
+    private PhoneNumbersResponse allPhoneNumbers(String baseUrl) {
+        log.debug(LogMarkers.SUCCESS, "Fetching all phone numbers from the data source.");
+        List<PhoneNumber> allPhoneNumbers = repository.getAllPhoneNumbers();
 
         // Create the top-level self link
-        String topLevelLink = ServletUriComponentsBuilder.fromCurrentContextPath()
-            .path("/phone-numbers")
-            .toUriString();
+        String topLevelLink = PHONE_NUMBERS.expand(baseUrl);
 
         PhoneNumbersResponseLinks responseLinks = new PhoneNumbersResponseLinks()
             .self(new Link().href(topLevelLink).httpMethod("GET").templated(false));
@@ -43,4 +110,280 @@ public class PhoneNumberService {
             .phoneNumbers(allPhoneNumbers)
             .links(responseLinks);
     }
+
+    /**
+     * Retrieves phone numbers one page at a time when a page size or cursor is supplied, or all of
+     * them otherwise. Paged responses carry {@code next} and {@code prev} links holding the cursors
+     * of the neighbouring pages.
+     *
+     * @param limit  the maximum number of phone numbers in the page, or {@code null}.
+     * @param cursor the cursor of the page from a previous {@code next} or {@code prev} link, or {@code null}.
+     * @return a {@link PhoneNumbersResponse} containing the phone numbers of the page and their links.
+     * @throws ResourceNotFoundException if no phone numbers are found in the system.
+     * @throws InvalidCursorException    if the cursor was not issued by this service.
+     */
+    public PhoneNumbersResponse getAllPhoneNumbers(Integer limit, String cursor) {
+        return getAllPhoneNumbers(limit, cursor, currentBaseUrl());
+    }
+
+    /**
+     * Retrieves phone numbers as {@link #getAllPhoneNumbers(Integer, String)} does, with links built
+     * against the given base URL rather than the current servlet request.
+     *
+     * @param limit   the maximum number of phone numbers in the page, or {@code null}.
+     * @param cursor  the cursor of the page from a previous {@code next} or {@code prev} link, or {@code null}.
+     * @param baseUrl the base URL of the API, up to and including the context path.
+     * @return a {@link PhoneNumbersResponse} containing the phone numbers of the page and their links.
+     * @throws ResourceNotFoundException if no phone numbers are found in the system.
+     * @throws InvalidCursorException    if the cursor was not issued by this service.
+     */
+    public PhoneNumbersResponse getAllPhoneNumbers(Integer limit, String cursor, String baseUrl) {
+        if (limit == null && cursor == null) {
+            return allPhoneNumbers(baseUrl);
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        int offset = cursor == null ? 0 : decodeCursor(cursor);
+        log.debug(LogMarkers.SUCCESS, "Fetching {} phone numbers from position {} of the data source.", pageSize, offset);
+        PhoneNumberPage page = repository.getPhoneNumbersPage(offset, pageSize);
+
+        long start = System.nanoTime();
+        PhoneNumbersResponseLinks responseLinks = new PhoneNumbersResponseLinks()
+            .self(pageLink(baseUrl, pageSize, page.offset()));
+        if (page.hasNext()) {
+            responseLinks.next(pageLink(baseUrl, pageSize, page.nextOffset()));
+        }
+        if (page.hasPrevious()) {
+            responseLinks.prev(pageLink(baseUrl, pageSize, Math.max(0, page.offset() - pageSize)));
+        }
+        pageLinksTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return new PhoneNumbersResponse()
+            .phoneNumbers(page.phoneNumbers())
+            .links(responseLinks);
+    }
+
+    /**
+     * Searches phone numbers by prefix and activation state, one page at a time, in ascending order
+     * of number. The {@code next} link holds the cursor of the following page, the number the page
+     * ended with, so each page is a seek into the repository's index whatever its depth.
+     *
+     * @param prefix the leading digits of the numbers, or {@code null} for any.
+     * @param active the activation state of the numbers, or {@code null} for either.
+     * @param limit  the maximum number of phone numbers in the page, or {@code null}.
+     * @param cursor the cursor of the page from a previous {@code next} link, or {@code null}.
+     * @return a {@link PhoneNumbersResponse} containing the phone numbers of the page and their links.
+     * @throws InvalidCursorException if the cursor was not issued for a search by this service.
+     */
+    public PhoneNumbersResponse searchPhoneNumbers(String prefix, Boolean active, Integer limit, String cursor) {
+        return searchPhoneNumbers(prefix, active, limit, cursor, currentBaseUrl());
+    }
+
+    /**
+     * Searches phone numbers as {@link #searchPhoneNumbers(String, Boolean, Integer, String)} does,
+     * with links built against the given base URL rather than the current servlet request.
+     *
+     * @param prefix  the leading digits of the numbers, or {@code null} for any.
+     * @param active  the activation state of the numbers, or {@code null} for either.
+     * @param limit   the maximum number of phone numbers in the page, or {@code null}.
+     * @param cursor  the cursor of the page from a previous {@code next} link, or {@code null}.
+     * @param baseUrl the base URL of the API, up to and including the context path.
+     * @return a {@link PhoneNumbersResponse} containing the phone numbers of the page and their links.
+     * @throws InvalidCursorException if the cursor was not issued for a search by this service.
+     */
+    public PhoneNumbersResponse searchPhoneNumbers(String prefix, Boolean active, Integer limit, String cursor, String baseUrl) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        long after = cursor == null ? PhoneNumberCodec.INVALID : decodeSearchCursor(cursor);
+        log.debug(LogMarkers.SUCCESS, "Searching {} phone numbers with prefix {} and active {}.", pageSize, prefix, active);
+        PhoneNumberSearchPage page = repository.searchPhoneNumbers(prefix == null ? "" : prefix, active, after, pageSize);
+
+        long start = System.nanoTime();
+        PhoneNumbersResponseLinks responseLinks = new PhoneNumbersResponseLinks()
+            .self(searchLink(baseUrl, prefix, active, pageSize, cursor));
+        if (page.hasNext()) {
+            responseLinks.next(searchLink(baseUrl, prefix, active, pageSize, encodeSearchCursor(page.after())));
+        }
+        pageLinksTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return new PhoneNumbersResponse()
+            .phoneNumbers(page.phoneNumbers())
+            .links(responseLinks);
+    }
+
+    /**
+     * Retrieves the version of the phone number inventory, which changes whenever a phone number is
+     * activated. Cheap enough to check on every request, as it neither reads nor serializes the numbers.
+     *
+     * @return the version, or {@link PhoneNumberRepository#UNKNOWN_VERSION} if no phone numbers exist.
+     */
+    public long getPhoneNumbersVersion() {
+        return repository.getVersion();
+    }
+
+    /**
+     * Prepares a streaming export of every phone number as newline-delimited JSON, one
+     * {@code {"number":...,"isActive":...}} object per line.
+     *
+     * <p>The body walks the data source and writes each number straight to the response through a
+     * {@link JsonGenerator}, so the full list is never held in memory.</p>
+     *
+     * @return a {@link StreamingResponseBody} writing the export.
+     * @throws ResourceNotFoundException if no phone numbers are found in the system.
+     */
+    public StreamingResponseBody exportPhoneNumbers() {
+        if (repository.countPhoneNumbers() == 0) {
+            throw new ResourceNotFoundException("No numbers exist in the system");
+        }
+        return this::writePhoneNumbers;
+    }
+
+    /**
+     * Streams every phone number in the system, for the reactive export.
+     *
+     * <p>The data source is read one page of {@value #STREAM_PAGE_SIZE} numbers at a time, and only
+     * when the subscriber has asked for more, so a slow client holds back the reads instead of
+     * letting them pile up in memory. Reads run on the bounded elastic scheduler, as the data source
+     * may block. Numbers activated while the stream is running are reflected from the next page
+     * read.</p>
+     *
+     * @return a {@link Flux} of the phone numbers, in inventory order.
+     * @throws ResourceNotFoundException if no phone numbers are found in the system.
+     */
+    public Flux<PhoneNumber> streamPhoneNumbers() {
+        if (repository.countPhoneNumbers() == 0) {
+            throw new ResourceNotFoundException("No numbers exist in the system");
+        }
+        return Flux.<PhoneNumberPage, Integer>generate(() -> 0, (offset, sink) -> {
+                PhoneNumberPage page = repository.getPhoneNumbersPage(offset, STREAM_PAGE_SIZE);
+                sink.next(page);
+                if (!page.hasNext()) {
+                    sink.complete();
+                }
+                return page.nextOffset();
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            // One page in flight: the next is only read once this one has been written
+            .concatMapIterable(PhoneNumberPage::phoneNumbers, 1);
+    }
+
+    /**
+     * Writes every phone number to the given stream as newline-delimited JSON.
+     *
+     * @param outputStream the stream to write to; it is flushed but not closed.
+     * @throws IOException if writing to the stream fails.
+     */
+    void writePhoneNumbers(OutputStream outputStream) throws IOException {
+        char[] digits = new char[PhoneNumberCodec.DIGITS];
+        try (JsonGenerator generator = NDJSON_FACTORY.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            int exported = repository.forEachPhoneNumber((number, isActive) -> {
+                PhoneNumberCodec.decode(number, digits);
+                generator.writeStartObject();
+                generator.writeFieldName("number");
+                generator.writeString(digits, 0, digits.length);
+                generator.writeBooleanField("isActive", isActive);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            });
+            log.debug(LogMarkers.SUCCESS, "Exported {} phone numbers.", exported);
+        }
+    }
+
+    /**
+     * Builds a link to the page starting at the given position.
+     */
+    private Link pageLink(String baseUrl, int pageSize, int offset) {
+        String href = PHONE_NUMBERS_PAGE.expand(baseUrl, pageSize, encodeCursor(offset));
+        return new Link().href(href).httpMethod("GET").templated(false);
+    }
+
+    /**
+     * Builds a link to a search page, with only the criteria that were supplied.
+     */
+    private static Link searchLink(String baseUrl, String prefix, Boolean active, int pageSize, String cursor) {
+        StringBuilder href = PHONE_NUMBERS_SEARCH.appendTo(new StringBuilder(baseUrl.length() + 96), baseUrl, pageSize);
+        if (prefix != null) {
+            href.append("&prefix=");
+            LinkRenderer.appendVariable(href, prefix);
+        }
+        if (active != null) {
+            href.append("&active=").append(active.booleanValue());
+        }
+        if (cursor != null) {
+            href.append("&cursor=");
+            LinkRenderer.appendVariable(href, cursor);
+        }
+        return new Link().href(href.toString()).httpMethod("GET").templated(false);
+    }
+
+    /**
+     * @return the base URL of the current servlet request, up to and including the context path.
+     */
+    private static String currentBaseUrl() {
+        return LinkRenderer.currentBaseUrl();
+    }
+
+    /**
+     * Encodes a position in the inventory as an opaque, URL-safe cursor.
+     */
+    static String encodeCursor(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((CURSOR_PREFIX + offset).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(int)}.
+     *
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    static int decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                int offset = Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+                if (offset >= 0) {
+                    return offset;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Not Base64 or not a number, reported below
+        }
+        throw malformedCursor(cursor);
+    }
+
+    /**
+     * Encodes the number a search page ends with as an opaque, URL-safe cursor.
+     */
+    static String encodeSearchCursor(long after) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((SEARCH_CURSOR_PREFIX + after).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeSearchCursor(long)}.
+     *
+     * @throws InvalidCursorException if the cursor is malformed or does not hold a valid phone number.
+     */
+    static long decodeSearchCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(SEARCH_CURSOR_PREFIX)) {
+                long after = Long.parseLong(decoded.substring(SEARCH_CURSOR_PREFIX.length()));
+                if (PhoneNumberCodec.isValid(after)) {
+                    return after;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Not Base64 or not a number, reported below
+        }
+        throw malformedCursor(cursor);
+    }
+
+    private static InvalidCursorException malformedCursor(String cursor) {
+        long rejected = MALFORMED_CURSORS.record();
+        if (rejected > 0) {
+            log.warn("Rejected {} malformed cursors in the last {}s", rejected, MALFORMED_CURSORS.intervalSeconds());
+        }
+        return new InvalidCursorException("Invalid cursor: " + cursor);
+    }
 }
@@ -0,0 +1,226 @@
+package com.telecom.phone.number.management.service;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.telecom.phone.number.management.datasource.PhoneNumberCodec;
+import com.telecom.phone.number.management.model.Link;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.model.PhoneNumbersResponseLinks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes a {@link PhoneNumbersResponse} in a compact CBOR form for machine-to-machine clients,
+ * and decodes it again.
+ *
+ * <p>The encoding is a CBOR map with three entries:</p>
+ * <ul>
+ *   <li>{@code numbers}: an array of the phone numbers as unsigned integers. Leading zeros are
+ *       restored on decoding, as every phone number has {@value PhoneNumberCodec#DIGITS} digits.</li>
+ *   <li>{@code active}: a byte string with bit {@code i % 8} of byte {@code i / 8} set when number
+ *       {@code i} is active.</li>
+ *   <li>{@code _links}: the links, with the same names and fields as in JSON.</li>
+ * </ul>
+ *
+ * <p>The links of phone number entries, which customer responses carry when
+ * {@code phone-numbers.links.per-number} is enabled, are left out: each is the customer's link
+ * followed by the number. A missing activation flag is encoded as inactive.</p>
+ */
+public final class PhoneNumbersResponseCbor {
+
+    private static final String NUMBERS = "numbers";
+    private static final String ACTIVE = "active";
+    private static final String LINKS = "_links";
+    private static final String SELF = "self";
+    private static final String NEXT = "next";
+    private static final String PREV = "prev";
+    private static final String HREF = "href";
+    private static final String HTTP_METHOD = "httpMethod";
+    private static final String TEMPLATED = "templated";
+
+    // Streams belong to the caller, so generators and parsers must not close them
+    private static final CBORFactory CBOR_FACTORY = CBORFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+        .build();
+
+    private PhoneNumbersResponseCbor() {
+    }
+
+    /**
+     * Encodes a response to a new array.
+     *
+     * @param response the response to encode.
+     * @return the CBOR encoding.
+     * @throws IllegalArgumentException if a phone number is not {@value PhoneNumberCodec#DIGITS} digits.
+     */
+    public static byte[] toBytes(PhoneNumbersResponse response) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            writeTo(response, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Encodes a response to a stream.
+     *
+     * @param response     the response to encode.
+     * @param outputStream the stream to write to; it is flushed but not closed.
+     * @throws IOException              if writing to the stream fails.
+     * @throws IllegalArgumentException if a phone number is not {@value PhoneNumberCodec#DIGITS} digits.
+     */
+    public static void writeTo(PhoneNumbersResponse response, OutputStream outputStream) throws IOException {
+        List<PhoneNumber> phoneNumbers = response.getPhoneNumbers() != null ? response.getPhoneNumbers() : List.of();
+        int size = phoneNumbers.size();
+        byte[] active = new byte[(size + 7) >>> 3];
+
+        try (CBORGenerator generator = CBOR_FACTORY.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeFieldName(NUMBERS);
+            generator.writeStartArray(phoneNumbers, size);
+            for (int i = 0; i < size; i++) {
+                PhoneNumber phoneNumber = phoneNumbers.get(i);
+                long number = PhoneNumberCodec.encode(phoneNumber.getNumber());
+                if (number == PhoneNumberCodec.INVALID) {
+                    throw new IllegalArgumentException("Not a phone number: " + phoneNumber.getNumber());
+                }
+                generator.writeNumber(number);
+                if (Boolean.TRUE.equals(phoneNumber.getIsActive())) {
+                    active[i >>> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            generator.writeEndArray();
+            generator.writeFieldName(ACTIVE);
+            generator.writeBinary(active);
+
+            PhoneNumbersResponseLinks links = response.getLinks();
+            if (links != null) {
+                generator.writeFieldName(LINKS);
+                generator.writeStartObject();
+                writeLink(generator, SELF, links.getSelf());
+                writeLink(generator, NEXT, links.getNext());
+                writeLink(generator, PREV, links.getPrev());
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Decodes a response encoded by {@link #writeTo(PhoneNumbersResponse, OutputStream)}.
+     *
+     * @param inputStream the stream to read from; it is not closed.
+     * @return the response, with the phone numbers in their {@value PhoneNumberCodec#DIGITS}-digit form.
+     * @throws IOException if reading fails or the input is not such an encoding.
+     */
+    public static PhoneNumbersResponse read(InputStream inputStream) throws IOException {
+        try (CBORParser parser = CBOR_FACTORY.createParser(inputStream)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            long[] numbers = new long[16];
+            int size = 0;
+            byte[] active = new byte[0];
+            PhoneNumbersResponseLinks links = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case NUMBERS -> {
+                        expect(parser, value, JsonToken.START_ARRAY);
+                        while (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+                            if (size == numbers.length) {
+                                numbers = Arrays.copyOf(numbers, size * 2);
+                            }
+                            numbers[size++] = parser.getLongValue();
+                        }
+                        expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+                    }
+                    case ACTIVE -> {
+                        expect(parser, value, JsonToken.VALUE_EMBEDDED_OBJECT);
+                        active = parser.getBinaryValue();
+                    }
+                    case LINKS -> links = readLinks(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            List<PhoneNumber> phoneNumbers = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                boolean isActive = (i >>> 3) < active.length && (active[i >>> 3] & (1 << (i & 7))) != 0;
+                phoneNumbers.add(new PhoneNumber().number(PhoneNumberCodec.decode(numbers[i])).isActive(isActive));
+            }
+            return new PhoneNumbersResponse().phoneNumbers(phoneNumbers).links(links);
+        }
+    }
+
+    private static void writeLink(CBORGenerator generator, String name, Link link) throws IOException {
+        if (link == null) {
+            return;
+        }
+        generator.writeFieldName(name);
+        generator.writeStartObject();
+        if (link.getHref() != null) {
+            generator.writeStringField(HREF, link.getHref());
+        }
+        if (link.getHttpMethod() != null) {
+            generator.writeStringField(HTTP_METHOD, link.getHttpMethod());
+        }
+        if (link.getTemplated() != null) {
+            generator.writeBooleanField(TEMPLATED, link.getTemplated());
+        }
+        generator.writeEndObject();
+    }
+
+    private static PhoneNumbersResponseLinks readLinks(CBORParser parser, JsonToken value) throws IOException {
+        expect(parser, value, JsonToken.START_OBJECT);
+        PhoneNumbersResponseLinks links = new PhoneNumbersResponseLinks();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken linkValue = parser.nextToken();
+            switch (name) {
+                case SELF -> links.setSelf(readLink(parser, linkValue));
+                case NEXT -> links.setNext(readLink(parser, linkValue));
+                case PREV -> links.setPrev(readLink(parser, linkValue));
+                default -> parser.skipChildren();
+            }
+        }
+        return links;
+    }
+
+    private static Link readLink(CBORParser parser, JsonToken value) throws IOException {
+        expect(parser, value, JsonToken.START_OBJECT);
+        // Fields absent from the encoding stay absent, rather than taking the model's defaults
+        Link link = new Link().templated(null);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case HREF -> link.setHref(parser.getValueAsString());
+                case HTTP_METHOD -> link.setHttpMethod(parser.getValueAsString());
+                case TEMPLATED -> link.setTemplated(parser.getBooleanValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return link;
+    }
+
+    private static void expect(CBORParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at " + parser.currentLocation());
+        }
+    }
+}
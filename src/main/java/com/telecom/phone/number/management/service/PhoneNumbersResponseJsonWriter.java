@@ -0,0 +1,317 @@
+package com.telecom.phone.number.management.service;
+
+import com.telecom.phone.number.management.model.Link;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumberResponseLinks;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.model.PhoneNumbersResponseLinks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Serializes a {@link PhoneNumbersResponse} to JSON without Jackson.
+ *
+ * <p>The output is byte for byte what the {@link com.fasterxml.jackson.databind.ObjectMapper} of
+ * {@link com.telecom.phone.number.management.config.JacksonConfig} writes: the same property order,
+ * {@code null} properties left out, and the same string escapes. Field names, the usual HTTP
+ * methods and the boolean literals are encoded once, up front, and copied into the output.</p>
+ *
+ * <p>JSON is built in a byte buffer taken from a small shared pool. Written to a stream, the buffer
+ * is drained whenever it fills, so responses of any size are serialized without allocating once the
+ * pool is warm. Buffers that grew beyond {@value #MAX_POOLED_CAPACITY} bytes, to build a large
+ * array, are left to the garbage collector rather than kept.</p>
+ */
+public final class PhoneNumbersResponseJsonWriter {
+
+    private static final int POOL_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final int MAX_POOLED_CAPACITY = 1024 * 1024;
+
+    private static final byte[] PHONE_NUMBERS = ascii("\"phoneNumbers\":");
+    private static final byte[] LINKS = ascii("\"_links\":");
+    private static final byte[] NUMBER = ascii("\"number\":");
+    private static final byte[] IS_ACTIVE = ascii("\"isActive\":");
+    private static final byte[] SELF = ascii("\"self\":");
+    private static final byte[] NEXT = ascii("\"next\":");
+    private static final byte[] PREV = ascii("\"prev\":");
+    private static final byte[] HREF = ascii("\"href\":");
+    private static final byte[] HTTP_METHOD = ascii("\"httpMethod\":");
+    private static final byte[] TEMPLATED = ascii("\"templated\":");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+
+    // The HTTP methods of the links, quoted
+    private static final Map<String, byte[]> HTTP_METHODS = Map.of(
+        "GET", ascii("\"GET\""),
+        "POST", ascii("\"POST\""),
+        "PATCH", ascii("\"PATCH\""));
+
+    private static final byte[] HEX_DIGITS = ascii("0123456789ABCDEF");
+
+    // For every ASCII character: 0 if written as is, 'u' if written as \\uXXXX, otherwise the short escape
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+    }
+
+    private static final BlockingQueue<Buffer> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private PhoneNumbersResponseJsonWriter() {
+    }
+
+    /**
+     * Serializes a response to a new array.
+     *
+     * @param response the response to serialize.
+     * @return the UTF-8 encoded JSON.
+     */
+    public static byte[] toBytes(PhoneNumbersResponse response) {
+        Buffer buffer = acquire();
+        try {
+            writeResponse(response, buffer);
+            return Arrays.copyOf(buffer.bytes, buffer.size);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * Serializes a response to a stream, one buffer at a time.
+     *
+     * @param response     the response to serialize.
+     * @param outputStream the stream to write the UTF-8 encoded JSON to; it is neither flushed nor closed.
+     * @throws IOException if writing to the stream fails.
+     */
+    public static void writeTo(PhoneNumbersResponse response, OutputStream outputStream) throws IOException {
+        Buffer buffer = acquire();
+        buffer.sink = outputStream;
+        try {
+            writeResponse(response, buffer);
+            buffer.drain();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            buffer.sink = null;
+            release(buffer);
+        }
+    }
+
+    private static void writeResponse(PhoneNumbersResponse response, Buffer out) {
+        out.write('{');
+        List<PhoneNumber> phoneNumbers = response.getPhoneNumbers();
+        if (phoneNumbers != null) {
+            out.fieldName(PHONE_NUMBERS);
+            out.write('[');
+            for (int i = 0; i < phoneNumbers.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writePhoneNumber(phoneNumbers.get(i), out);
+            }
+            out.write(']');
+        }
+        PhoneNumbersResponseLinks links = response.getLinks();
+        if (links != null) {
+            out.fieldName(LINKS);
+            out.write('{');
+            writeLink(SELF, links.getSelf(), out);
+            writeLink(NEXT, links.getNext(), out);
+            writeLink(PREV, links.getPrev(), out);
+            out.write('}');
+        }
+        out.write('}');
+    }
+
+    private static void writePhoneNumber(PhoneNumber phoneNumber, Buffer out) {
+        if (phoneNumber == null) {
+            out.write(NULL);
+            return;
+        }
+        out.write('{');
+        if (phoneNumber.getNumber() != null) {
+            out.fieldName(NUMBER);
+            out.writeString(phoneNumber.getNumber());
+        }
+        if (phoneNumber.getIsActive() != null) {
+            out.fieldName(IS_ACTIVE);
+            out.write(phoneNumber.getIsActive() ? TRUE : FALSE);
+        }
+        PhoneNumberResponseLinks links = phoneNumber.getLinks();
+        if (links != null) {
+            out.fieldName(LINKS);
+            out.write('{');
+            writeLink(SELF, links.getSelf(), out);
+            out.write('}');
+        }
+        out.write('}');
+    }
+
+    private static void writeLink(byte[] name, Link link, Buffer out) {
+        if (link == null) {
+            return;
+        }
+        out.fieldName(name);
+        out.write('{');
+        if (link.getHref() != null) {
+            out.fieldName(HREF);
+            out.writeString(link.getHref());
+        }
+        if (link.getHttpMethod() != null) {
+            out.fieldName(HTTP_METHOD);
+            byte[] httpMethod = HTTP_METHODS.get(link.getHttpMethod());
+            if (httpMethod != null) {
+                out.write(httpMethod);
+            } else {
+                out.writeString(link.getHttpMethod());
+            }
+        }
+        if (link.getTemplated() != null) {
+            out.fieldName(TEMPLATED);
+            out.write(link.getTemplated() ? TRUE : FALSE);
+        }
+        out.write('}');
+    }
+
+    private static Buffer acquire() {
+        Buffer buffer = POOL.poll();
+        return buffer != null ? buffer : new Buffer();
+    }
+
+    private static void release(Buffer buffer) {
+        if (buffer.bytes.length <= MAX_POOLED_CAPACITY) {
+            buffer.size = 0;
+            POOL.offer(buffer);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * A byte array holding the JSON written so far. It grows as needed, unless it has a sink to
+     * drain into.
+     */
+    private static final class Buffer {
+
+        private byte[] bytes = new byte[INITIAL_CAPACITY];
+        private int size;
+        private OutputStream sink;
+
+        void write(int b) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] fragment) {
+            ensureCapacity(fragment.length);
+            System.arraycopy(fragment, 0, bytes, size, fragment.length);
+            size += fragment.length;
+        }
+
+        /**
+         * Writes a field name, preceded by a comma unless it is the first field of its object.
+         * Never called first, so the last byte written is still in the buffer.
+         */
+        void fieldName(byte[] name) {
+            if (bytes[size - 1] != '{') {
+                write(',');
+            }
+            write(name);
+        }
+
+        /**
+         * Writes a quoted, escaped string, encoded in UTF-8. Unpaired surrogates are written as
+         * {@code ?}, as {@link String#getBytes} does.
+         */
+        void writeString(String value) {
+            int length = value.length();
+            // Every character takes at most six bytes, as an escape
+            ensureCapacity(length * 6 + 2);
+            byte[] out = bytes;
+            int position = size;
+            out[position++] = '"';
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    byte escape = ESCAPES[c];
+                    if (escape == 0) {
+                        out[position++] = (byte) c;
+                    } else if (escape == 'u') {
+                        out[position++] = '\\';
+                        out[position++] = 'u';
+                        out[position++] = '0';
+                        out[position++] = '0';
+                        out[position++] = HEX_DIGITS[c >> 4];
+                        out[position++] = HEX_DIGITS[c & 0xF];
+                    } else {
+                        out[position++] = '\\';
+                        out[position++] = escape;
+                    }
+                } else if (c < 0x800) {
+                    out[position++] = (byte) (0xC0 | (c >> 6));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    out[position++] = '?';
+                } else {
+                    out[position++] = (byte) (0xE0 | (c >> 12));
+                    out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            out[position++] = '"';
+            size = position;
+        }
+
+        /**
+         * Writes the buffered bytes to the sink and empties the buffer.
+         *
+         * @throws UncheckedIOException if writing to the sink fails.
+         */
+        void drain() {
+            try {
+                sink.write(bytes, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            size = 0;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                if (sink != null) {
+                    drain();
+                    if (extra <= bytes.length) {
+                        return;
+                    }
+                }
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.telecom.phone.number.management.service;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.noop.NoopTimer;
+
+/**
+ * Timers of the stages the services go through to build a response, published as
+ * {@code phone.numbers.response} tagged {@code endpoint} and {@code stage}.
+ *
+ * <p>Together with the {@code phone.numbers.repository} timers and the {@code http.server.requests}
+ * timers of the server, they tell whether a slow response spent its time reading the datastore,
+ * building links or serializing.</p>
+ */
+final class ResponseTimers {
+
+    static final String NAME = "phone.numbers.response";
+
+    /**
+     * Timer of services created outside Spring, until they are bound to a registry.
+     */
+    static final Timer UNBOUND = new NoopTimer(new Meter.Id(NAME, Tags.empty(), null, null, Meter.Type.TIMER));
+
+    private ResponseTimers() {
+    }
+
+    /**
+     * Registers the timer of a stage, with a percentile histogram.
+     *
+     * @param meterRegistry the registry publishing the timer.
+     * @param endpoint      the endpoint the response is built for.
+     * @param stage         the stage timed.
+     * @return the timer.
+     */
+    static Timer register(MeterRegistry meterRegistry, String endpoint, String stage) {
+        return Timer.builder(NAME)
+            .description("Stages of building phone number responses")
+            .tag("endpoint", endpoint)
+            .tag("stage", stage)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.telecom.phone.number.management.service;
+
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+
+/**
+ * A {@link PhoneNumbersResponse} that has already been serialized to JSON.
+ *
+ * <p>Only the serialized form is kept, so this is the body type of its own, not a DTO. The API
+ * specification declares customer responses as {@code CustomerPhoneNumbersResponse}, which the
+ * generated API interfaces map to this class. Instances are written to the response as-is by
+ * {@link com.telecom.phone.number.management.config.SerializedResponseHttpMessageConverter}, so a
+ * cached response costs no object mapping and no link building when it is served again.</p>
+ *
+ * <p>The body is also kept in the CBOR encoding of {@link PhoneNumbersResponseCbor}, so clients
+ * asking for CBOR are served from the cache as well, without reading the JSON back.</p>
+ *
+ * <p>When response compression is on, a large body is also kept gzip-compressed, and that form is
+ * served as-is to clients accepting gzip, so a cache hit is not compressed again.</p>
+ *
+ * <p>Links in the body are absolute, so each instance records the base URL they were built
+ * against and must not be served to requests arriving under a different one. It also records the
+ * datastore version it was built at, which tells whether it is still current.</p>
+ */
+public final class SerializedPhoneNumbersResponse {
+
+    private final String baseUrl;
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final byte[] cbor;
+
+    /**
+     * @param baseUrl the base URL the links in the body were built against.
+     * @param version the version of the phone numbers in the body.
+     * @param json    the UTF-8 encoded JSON body.
+     * @param gzip    the JSON body compressed with gzip, or {@code null} if it is not kept compressed.
+     * @param cbor    the body in the CBOR encoding of {@link PhoneNumbersResponseCbor}.
+     */
+    public SerializedPhoneNumbersResponse(String baseUrl, long version, byte[] json, byte[] gzip, byte[] cbor) {
+        this.baseUrl = baseUrl;
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+        this.cbor = cbor;
+    }
+
+    /**
+     * @return the base URL the links in the body were built against.
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * @return the version of the phone numbers in the body.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the UTF-8 encoded JSON body. The array is shared and must not be modified.
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * @return the JSON body compressed with gzip, or {@code null} if it is not kept compressed. The
+     *         array is shared and must not be modified.
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * @return the body in the CBOR encoding of {@link PhoneNumbersResponseCbor}. The array is shared
+     *         and must not be modified.
+     */
+    public byte[] getCbor() {
+        return cbor;
+    }
+}
@@ -1,8 +1,16 @@
 package com.telecom.phone.number.management.controller;
 
+import com.telecom.phone.number.management.datasource.ActivationOutcome;
+import com.telecom.phone.number.management.exception.NumberAlreadyActivatedException;
 import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.model.BulkActivationRequest;
+import com.telecom.phone.number.management.model.BulkActivationResponse;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.ActivationResult;
 import com.telecom.phone.number.management.service.CustomerService;
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +19,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,21 +45,30 @@ class CustomerControllerTest {
     private static final Long CUSTOMER_ID = 123L;
     private static final String PHONE_NUMBER = "555-5555";
     private PhoneNumbersResponse phoneNumbersResponse;
+    private SerializedPhoneNumbersResponse serializedResponse;
 
     @BeforeEach
     void setUp() {
         phoneNumbersResponse = new PhoneNumbersResponse();
+        serializedResponse = new SerializedPhoneNumbersResponse("http://localhost/api/v1", 1L,
+            "{\"phoneNumbers\":[]}".getBytes(StandardCharsets.UTF_8), null, new byte[0]);
+        customerController.executor = new RequestExecutor(1, 10, Duration.ofSeconds(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerController.executor.close();
     }
 
     @Test
     void testGetCustomerPhoneNumbers_Success() {
-        when(customerService.getCustomerPhoneNumbers(CUSTOMER_ID)).thenReturn(Optional.of(phoneNumbersResponse));
+        when(customerService.getCustomerPhoneNumbers(CUSTOMER_ID)).thenReturn(Optional.of(serializedResponse));
 
-        ResponseEntity<PhoneNumbersResponse> response = customerController.getCustomerPhoneNumbers(CUSTOMER_ID);
+        ResponseEntity<SerializedPhoneNumbersResponse> response = await(customerController.getCustomerPhoneNumbers(CUSTOMER_ID, null));
 
         assertNotNull(response);
         assertEquals(OK, response.getStatusCode());
-        assertEquals(phoneNumbersResponse, response.getBody());
+        assertSame(serializedResponse, response.getBody());
     }
 
     @Test
@@ -54,16 +76,47 @@ class CustomerControllerTest {
         when(customerService.getCustomerPhoneNumbers(CUSTOMER_ID)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
-            customerController.getCustomerPhoneNumbers(CUSTOMER_ID));
+            await(customerController.getCustomerPhoneNumbers(CUSTOMER_ID, null)));
+
+        assertSame(ResourceNotFoundException.CUSTOMER, exception);
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_NotModified() {
+        when(customerService.getCustomerPhoneNumbersVersion(CUSTOMER_ID)).thenReturn(42L);
+
+        ResponseEntity<SerializedPhoneNumbersResponse> response = await(customerController.getCustomerPhoneNumbers(CUSTOMER_ID, "\"41\", W/\"42\""));
+
+        assertEquals(NOT_MODIFIED, response.getStatusCode());
+        assertEquals("W/\"42\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(customerService, never()).getCustomerPhoneNumbers(CUSTOMER_ID);
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_ModifiedCarriesNewETag() {
+        when(customerService.getCustomerPhoneNumbersVersion(CUSTOMER_ID)).thenReturn(43L);
+        when(customerService.getCustomerPhoneNumbers(CUSTOMER_ID)).thenReturn(Optional.of(serializedResponse));
+
+        ResponseEntity<SerializedPhoneNumbersResponse> response = await(customerController.getCustomerPhoneNumbers(CUSTOMER_ID, "\"42\""));
 
-        assertEquals("Customer not found with ID: " + CUSTOMER_ID, exception.getMessage());
+        assertEquals(OK, response.getStatusCode());
+        assertEquals("W/\"43\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_UnknownCustomerIsNeverNotModified() {
+        when(customerService.getCustomerPhoneNumbersVersion(CUSTOMER_ID)).thenReturn(-1L);
+        when(customerService.getCustomerPhoneNumbers(CUSTOMER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> await(customerController.getCustomerPhoneNumbers(CUSTOMER_ID, "*")));
     }
 
     @Test
     void testActivatePhoneNumber_Success() {
-        when(customerService.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER)).thenReturn(Optional.of(phoneNumbersResponse));
+        when(customerService.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER)).thenReturn(ActivationResult.activated(phoneNumbersResponse));
 
-        ResponseEntity<PhoneNumbersResponse> response = customerController.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER);
+        ResponseEntity<PhoneNumbersResponse> response = await(customerController.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER));
 
         assertNotNull(response);
         assertEquals(OK, response.getStatusCode());
@@ -71,12 +124,68 @@ class CustomerControllerTest {
     }
 
     @Test
-    void testActivatePhoneNumber_CustomerOrPhoneNumberNotFound() {
-        when(customerService.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER)).thenReturn(Optional.empty());
+    void testActivatePhoneNumber_CustomerNotFound() {
+        when(customerService.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER))
+            .thenReturn(ActivationResult.failed(ActivationOutcome.CUSTOMER_NOT_FOUND));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
+            await(customerController.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER)));
+
+        assertSame(ResourceNotFoundException.CUSTOMER, exception);
+    }
+
+    @Test
+    void testActivatePhoneNumber_PhoneNumberNotFound() {
+        when(customerService.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER))
+            .thenReturn(ActivationResult.failed(ActivationOutcome.NOT_FOUND));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
+            await(customerController.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER)));
+
+        assertSame(ResourceNotFoundException.PHONE_NUMBER, exception);
+    }
+
+    @Test
+    void testActivatePhoneNumber_AlreadyActive() {
+        when(customerService.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER))
+            .thenReturn(ActivationResult.failed(ActivationOutcome.ALREADY_ACTIVE));
+
+        NumberAlreadyActivatedException exception = assertThrows(NumberAlreadyActivatedException.class, () ->
+            await(customerController.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER)));
+
+        assertSame(NumberAlreadyActivatedException.INSTANCE, exception);
+    }
+
+    @Test
+    void testActivatePhoneNumbers_Success() {
+        BulkActivationResponse bulkActivationResponse = new BulkActivationResponse();
+        when(customerService.activatePhoneNumbers(CUSTOMER_ID, List.of(PHONE_NUMBER))).thenReturn(Optional.of(bulkActivationResponse));
+
+        ResponseEntity<BulkActivationResponse> response = await(customerController.activatePhoneNumbers(CUSTOMER_ID,
+            new BulkActivationRequest().phoneNumbers(List.of(PHONE_NUMBER))));
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(bulkActivationResponse, response.getBody());
+    }
+
+    @Test
+    void testActivatePhoneNumbers_CustomerNotFound() {
+        when(customerService.activatePhoneNumbers(CUSTOMER_ID, List.of(PHONE_NUMBER))).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
-            customerController.activatePhoneNumber(CUSTOMER_ID, PHONE_NUMBER));
+            await(customerController.activatePhoneNumbers(CUSTOMER_ID, new BulkActivationRequest().phoneNumbers(List.of(PHONE_NUMBER)))));
+
+        assertSame(ResourceNotFoundException.CUSTOMER, exception);
+    }
 
-        assertEquals("Customer not found with ID: " + CUSTOMER_ID, exception.getMessage());
+    /**
+     * Waits for a controller response, rethrowing what the request failed with.
+     */
+    private static <T> T await(CompletableFuture<T> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
     }
 }
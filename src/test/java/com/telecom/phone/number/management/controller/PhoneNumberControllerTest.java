@@ -4,6 +4,8 @@ import com.telecom.phone.number.management.exception.ResourceNotFoundException;
 import com.telecom.phone.number.management.model.PhoneNumber;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
 import com.telecom.phone.number.management.service.PhoneNumberService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,11 +13,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -32,18 +41,26 @@ public class PhoneNumberControllerTest {
 
     private PhoneNumbersResponse phoneNumbersResponse;
 
+    private final RequestExecutor executor = new RequestExecutor(1, 10, Duration.ofSeconds(1), new SimpleMeterRegistry());
+
     @BeforeEach
     void setUp() {
         // Initialize a PhoneNumbersResponse with some mock data
         phoneNumbersResponse = new PhoneNumbersResponse();
+        ReflectionTestUtils.setField(phoneNumberController, "executor", executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
     }
 
     @Test
     void testGetAllPhoneNumbersSuccess() {
         phoneNumbersResponse.setPhoneNumbers(Arrays.asList(new PhoneNumber(), new PhoneNumber()));
-        when(phoneNumberService.getAllPhoneNumbers()).thenReturn(phoneNumbersResponse);
+        when(phoneNumberService.getAllPhoneNumbers(null, null)).thenReturn(phoneNumbersResponse);
 
-        ResponseEntity<PhoneNumbersResponse> response = phoneNumberController.getAllPhoneNumbers();
+        ResponseEntity<PhoneNumbersResponse> response = await(phoneNumberController.getAllPhoneNumbers(null, null, null, null, null));
 
         assertEquals(200, response.getStatusCode().value());
         assertEquals(2, Objects.requireNonNull(response.getBody()).getPhoneNumbers().size());
@@ -51,12 +68,70 @@ public class PhoneNumberControllerTest {
 
     @Test
     void testGetAllPhoneNumbersServiceException() {
-        when(phoneNumberService.getAllPhoneNumbers()).thenThrow(new ResourceNotFoundException("No numbers exist in the system"));
+        when(phoneNumberService.getAllPhoneNumbers(null, null)).thenThrow(new ResourceNotFoundException("No numbers exist in the system"));
 
         try {
-            phoneNumberController.getAllPhoneNumbers();
+            await(phoneNumberController.getAllPhoneNumbers(null, null, null, null, null));
         } catch (ResourceNotFoundException e) {
             assertEquals("No numbers exist in the system", e.getMessage());
         }
     }
+
+    @Test
+    void testGetAllPhoneNumbersPaged() {
+        phoneNumbersResponse.setPhoneNumbers(Arrays.asList(new PhoneNumber(), new PhoneNumber()));
+        when(phoneNumberService.getAllPhoneNumbers(2, "bzoy")).thenReturn(phoneNumbersResponse);
+
+        ResponseEntity<PhoneNumbersResponse> response = await(phoneNumberController.getAllPhoneNumbers(2, "bzoy", null, null, null));
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(2, Objects.requireNonNull(response.getBody()).getPhoneNumbers().size());
+    }
+
+    @Test
+    void testGetAllPhoneNumbersSearch() {
+        phoneNumbersResponse.setPhoneNumbers(Arrays.asList(new PhoneNumber(), new PhoneNumber()));
+        when(phoneNumberService.searchPhoneNumbers("555", false, null, null)).thenReturn(phoneNumbersResponse);
+
+        ResponseEntity<PhoneNumbersResponse> response = await(phoneNumberController.getAllPhoneNumbers(null, null, "555", false, null));
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(2, Objects.requireNonNull(response.getBody()).getPhoneNumbers().size());
+        verify(phoneNumberService, never()).getAllPhoneNumbers(null, null);
+    }
+
+    @Test
+    void testGetAllPhoneNumbersCarriesETag() {
+        phoneNumbersResponse.setPhoneNumbers(Arrays.asList(new PhoneNumber(), new PhoneNumber()));
+        when(phoneNumberService.getPhoneNumbersVersion()).thenReturn(7L);
+        when(phoneNumberService.getAllPhoneNumbers(null, null)).thenReturn(phoneNumbersResponse);
+
+        ResponseEntity<PhoneNumbersResponse> response = await(phoneNumberController.getAllPhoneNumbers(null, null, null, null, "\"6\""));
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("W/\"7\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetAllPhoneNumbersNotModified() {
+        when(phoneNumberService.getPhoneNumbersVersion()).thenReturn(7L);
+
+        ResponseEntity<PhoneNumbersResponse> response = await(phoneNumberController.getAllPhoneNumbers(null, null, null, null, "\"7\""));
+
+        assertEquals(304, response.getStatusCode().value());
+        assertEquals("W/\"7\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(phoneNumberService, never()).getAllPhoneNumbers(null, null);
+    }
+
+    /**
+     * Waits for a controller response, rethrowing what the request failed with.
+     */
+    private static <T> T await(CompletableFuture<T> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
 }
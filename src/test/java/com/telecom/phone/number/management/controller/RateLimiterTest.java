@@ -0,0 +1,217 @@
+package com.telecom.phone.number.management.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RateLimiter}, on a manual clock.
+ */
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    // 3 at once then 2 per second for the cheap endpoints, 1 at once then 1 every 10 seconds for the expensive ones,
+    // and customers limited only by those
+    private final RateLimiter rateLimiter = new RateLimiter(new RateLimiter.Budget(3, 2),
+        new RateLimiter.Budget(1, 0.1), new RateLimiter.Budget(100, 100), 1000, Set.of("key"), meterRegistry, now::get);
+
+    @Test
+    void testAcquire_AdmitsBurstThenRefillRate() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, customer(1));
+        }
+        assertEquals(SECOND / 2, customer(1));
+
+        now.addAndGet(SECOND / 2);
+        assertEquals(0, customer(1));
+        assertEquals(SECOND / 2, customer(1));
+        assertEquals(2.0, meterRegistry.get("rate.limit.rejected").tag("tier", "cheap").counter().count());
+    }
+
+    @Test
+    void testAcquire_RefillsUpToBurstOnly() {
+        customer(1);
+        now.addAndGet(60 * SECOND);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, customer(1));
+        }
+        assertNotEquals(0, customer(1));
+    }
+
+    @Test
+    void testAcquire_SeparateBucketsPerClientAndTier() {
+        for (int i = 0; i < 3; i++) {
+            customer(1);
+        }
+        assertNotEquals(0, customer(1));
+
+        // Every customer draws from the budget of the client
+        assertNotEquals(0, customer(2));
+        assertEquals(0, rateLimiter.acquire("GET", "/customers/1/phone-numbers", false, "other-key"));
+        assertEquals(0, rateLimiter.acquire("GET", "/phone-numbers", false, "key"));
+        assertEquals(10 * SECOND, rateLimiter.acquire("GET", "/phone-numbers/export", false, "key"));
+        assertEquals(1.0, meterRegistry.get("rate.limit.rejected").tag("tier", "expensive").counter().count());
+    }
+
+    @Test
+    void testAcquire_CustomerBudgetWithinClientBudget() {
+        RateLimiter limiter = new RateLimiter(new RateLimiter.Budget(10, 1), new RateLimiter.Budget(1, 1),
+            new RateLimiter.Budget(2, 1), 1000, Set.of(), meterRegistry, now::get);
+        assertEquals(0, limiter.acquire("GET", "/customers/1/phone-numbers", false, "key"));
+        assertEquals(0, limiter.acquire("GET", "/customers/1/phone-numbers", false, "key"));
+        assertEquals(SECOND, limiter.acquire("GET", "/customers/1/phone-numbers", false, "key"));
+
+        // The rejected request gave its client token back, so 8 are left for the other customers
+        int admitted = 0;
+        for (long customerId = 2; customerId < 20; customerId++) {
+            if (limiter.acquire("GET", "/customers/" + customerId + "/phone-numbers", false, "key") == 0) {
+                admitted++;
+            }
+        }
+        assertEquals(8, admitted);
+        assertEquals(1.0, meterRegistry.get("rate.limit.rejected").tag("scope", "customer").counter().count());
+        assertEquals(10.0, meterRegistry.get("rate.limit.rejected").tag("tier", "cheap").tag("scope", "client")
+            .counter().count());
+    }
+
+    @Test
+    void testAcquire_UnlimitedPathsAlwaysAdmitted() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.acquire("GET", "/actuator/health", false, "key"));
+        }
+        assertEquals(0.0, meterRegistry.get("rate.limit.buckets").gauge().value());
+    }
+
+    @Test
+    void testAcquire_IdleBucketsEvicted() {
+        customer(1);
+        customer(2);
+        // One of the client, one per customer
+        assertEquals(3.0, meterRegistry.get("rate.limit.buckets").gauge().value());
+
+        // Longest refill is the expensive one, 10 seconds
+        now.addAndGet(11 * SECOND);
+        customer(3);
+
+        assertEquals(2.0, meterRegistry.get("rate.limit.buckets").gauge().value());
+    }
+
+    @Test
+    void testAcquire_ConcurrentRequestsTakeExactlyTheBurst() throws Exception {
+        RateLimiter limiter = new RateLimiter(new RateLimiter.Budget(1000, 1e-3),
+            new RateLimiter.Budget(1, 1), new RateLimiter.Budget(2000, 1e-3), 1000, Set.of(), meterRegistry, now::get);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.acquire("PATCH", "/customers/1/phone-numbers/1234567890", false, "key") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1000, admitted.get());
+    }
+
+    @Test
+    void testTierOf() {
+        assertEquals(RateLimiter.Tier.EXPENSIVE, RateLimiter.tierOf("GET", "/phone-numbers", false));
+        assertEquals(RateLimiter.Tier.CHEAP, RateLimiter.tierOf("GET", "/phone-numbers", true));
+        assertEquals(RateLimiter.Tier.EXPENSIVE, RateLimiter.tierOf("GET", "/phone-numbers/export", false));
+        assertEquals(RateLimiter.Tier.CHEAP, RateLimiter.tierOf("GET", "/customers/1/phone-numbers", false));
+        assertEquals(RateLimiter.Tier.CHEAP, RateLimiter.tierOf("PATCH", "/customers/1/phone-numbers/1234567890", false));
+        assertEquals(RateLimiter.Tier.EXPENSIVE, RateLimiter.tierOf("POST", "/customers/1/phone-numbers:activate", false));
+        assertNull(RateLimiter.tierOf("GET", "/v3/api-docs", false));
+    }
+
+    @Test
+    void testTierOf_NoCheapSpellingOfExpensiveEndpoints() {
+        assertEquals(RateLimiter.Tier.EXPENSIVE, RateLimiter.tierOf("GET", "/phone-numbers/", false));
+        assertEquals(RateLimiter.Tier.EXPENSIVE, RateLimiter.tierOf("GET", "/phone-numbers/export/", false));
+        assertEquals(RateLimiter.Tier.EXPENSIVE, RateLimiter.tierOf("GET", "/phone-numbers/unknown", false));
+        assertEquals(RateLimiter.Tier.EXPENSIVE, RateLimiter.tierOf("POST", "/customers/1/phone-numbers:activate/", false));
+    }
+
+    @Test
+    void testIsPaged_OnlyParametersWithAValue() {
+        assertTrue(RateLimiter.isPaged(Map.of("limit", "2")::get));
+        assertTrue(RateLimiter.isPaged(Map.of("prefix", "555")::get));
+        assertFalse(RateLimiter.isPaged(Map.<String, String>of()::get));
+        assertFalse(RateLimiter.isPaged(Map.of("limit", "")::get));
+        assertFalse(RateLimiter.isPaged(Map.of("active", "", "cursor", " ")::get));
+    }
+
+    @Test
+    void testClientOf_TrustsKnownApiKeysOnly() {
+        assertEquals("key", rateLimiter.clientOf("key", "10.0.0.1"));
+        assertEquals("10.0.0.1", rateLimiter.clientOf("random-key", "10.0.0.1"));
+        assertEquals("10.0.0.1", rateLimiter.clientOf(null, "10.0.0.1"));
+    }
+
+    @Test
+    void testKeyOf() {
+        assertEquals("ckey", RateLimiter.keyOf(RateLimiter.Tier.CHEAP, "key"));
+        assertEquals("ekey", RateLimiter.keyOf(RateLimiter.Tier.EXPENSIVE, "key"));
+        assertTrue(RateLimiter.keyOf(RateLimiter.Tier.CHEAP, "k".repeat(1000)).length() <= 65);
+    }
+
+    @Test
+    void testCustomerKeyOf() {
+        assertEquals("ukey|42", RateLimiter.customerKeyOf("/customers/42/phone-numbers/1234567890", "key"));
+        assertEquals("ukey|42", RateLimiter.customerKeyOf("/customers/42/phone-numbers:activate", "key"));
+        assertEquals("ukey|42", RateLimiter.customerKeyOf("/customers/+042/phone-numbers", "key"));
+        assertNull(RateLimiter.customerKeyOf("/phone-numbers", "key"));
+        assertNull(RateLimiter.customerKeyOf("/customers/" + "x".repeat(1000) + "/phone-numbers", "key"));
+        assertNull(RateLimiter.customerKeyOf("/customers/99999999999999999999/phone-numbers", "key"));
+        assertTrue(RateLimiter.customerKeyOf("/customers/42/phone-numbers", "k".repeat(1000)).length() <= 68);
+    }
+
+    @Test
+    void testRetryAfterSeconds_RoundsUp() {
+        assertEquals(1, RateLimiter.retryAfterSeconds(1));
+        assertEquals(1, RateLimiter.retryAfterSeconds(SECOND));
+        assertEquals(2, RateLimiter.retryAfterSeconds(SECOND + 1));
+    }
+
+    @Test
+    void testBudget_RejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Budget(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Budget(1, 0));
+    }
+
+    private long customer(long customerId) {
+        return rateLimiter.acquire("GET", "/customers/" + customerId + "/phone-numbers", false, "key");
+    }
+}
@@ -0,0 +1,106 @@
+package com.telecom.phone.number.management.controller;
+
+import com.telecom.phone.number.management.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RequestExecutor}.
+ */
+class RequestExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestExecutor executor = new RequestExecutor(1, 1, Duration.ofSeconds(3), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        executor.close();
+    }
+
+    @Test
+    void testSupply_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.supply(() -> await(release));
+        CompletableFuture<Boolean> queued = executor.supply(() -> true);
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class, () -> executor.supply(() -> true));
+
+        assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("executor.rejected").counter().count());
+        release.countDown();
+        assertEquals(true, running.get());
+        assertEquals(true, queued.get());
+    }
+
+    @Test
+    void testSupply_CarriesRequestAttributes() throws Exception {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        assertSame(attributes, executor.supply(RequestContextHolder::getRequestAttributes).get());
+        // Not left behind on the pooled thread for the next request
+        RequestContextHolder.resetRequestAttributes();
+        assertNull(executor.supply(RequestContextHolder::getRequestAttributes).get());
+    }
+
+    @Test
+    void testSupply_PublishesExecutorMetrics() throws Exception {
+        executor.supply(() -> true).get();
+
+        assertEquals(1.0, meterRegistry.get("executor.pool.core").tag("name", RequestExecutor.NAME).gauge().value());
+        assertEquals(1.0, meterRegistry.get("executor.queue.remaining").tag("name", RequestExecutor.NAME).gauge().value());
+    }
+
+    @Test
+    void testVirtualThreads_RunsEachRequestOnAVirtualThread() throws Exception {
+        try (RequestExecutor virtual = RequestExecutor.virtualThreads(2, Duration.ofSeconds(3), new SimpleMeterRegistry())) {
+            assertTrue(virtual.supply(() -> Thread.currentThread().isVirtual()).get());
+        }
+    }
+
+    @Test
+    void testVirtualThreads_RejectsBeyondMaxInFlight() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (RequestExecutor virtual = RequestExecutor.virtualThreads(2, Duration.ofSeconds(3), registry)) {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Boolean> first = virtual.supply(() -> await(release));
+            CompletableFuture<Boolean> second = virtual.supply(() -> await(release));
+
+            assertThrows(ServiceOverloadedException.class, () -> virtual.supply(() -> true));
+            assertEquals(2.0, registry.get("executor.active").tag("name", RequestExecutor.NAME).gauge().value());
+            release.countDown();
+            assertEquals(true, first.get());
+            assertEquals(true, second.get());
+
+            // The permits are returned once the requests complete
+            assertEquals(true, virtual.supply(() -> true).get());
+            assertEquals(1.0, registry.get("executor.rejected").counter().count());
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            latch.await();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
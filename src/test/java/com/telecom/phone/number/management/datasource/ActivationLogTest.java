@@ -0,0 +1,154 @@
+package com.telecom.phone.number.management.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link ActivationLog}.
+ */
+class ActivationLogTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(Durability.class)
+    void testAppend_ReplaysInOrder(Durability durability) throws IOException {
+        Path file = directory.resolve("activations.log");
+        try (ActivationLog log = ActivationLog.open(file, durability, Duration.ofMillis(10))) {
+            log.append(1L, new long[] {1234567890L}, 1);
+            log.append(2L, new long[] {5555555555L, 9876543210L, 0L}, 2);
+        }
+
+        assertEquals(List.of("1:1234567890", "2:5555555555", "2:9876543210"), replay(file));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Durability.class, names = {"FSYNC_PER_OP", "GROUP_COMMIT"})
+    void testAppend_DurableOnReturn(Durability durability) throws IOException {
+        Path file = directory.resolve("activations.log");
+        try (ActivationLog log = ActivationLog.open(file, durability, Duration.ofMillis(10))) {
+            log.append(1L, new long[] {1234567890L}, 1);
+
+            // Read while the log is still open: the record must already be on disk
+            assertEquals(List.of("1:1234567890"), replay(file));
+        }
+    }
+
+    @Test
+    void testGroupCommit_ConcurrentAppends() throws Exception {
+        Path file = directory.resolve("activations.log");
+        int threads = 8;
+        int appendsPerThread = 200;
+        try (ActivationLog log = ActivationLog.open(file, Durability.GROUP_COMMIT, Duration.ZERO);
+             ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long customerId = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        log.append(customerId, new long[] {i}, 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(threads * appendsPerThread, replay(file).size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Durability.class)
+    void testRotate_SplitsRecordsBetweenFiles(Durability durability) throws IOException {
+        Path first = directory.resolve("activations-1.log");
+        Path second = directory.resolve("activations-2.log");
+        try (ActivationLog log = ActivationLog.open(first, durability, Duration.ofMillis(10))) {
+            log.append(1L, new long[] {1234567890L}, 1);
+            log.rotate(second);
+            log.append(2L, new long[] {5555555555L}, 1);
+        }
+
+        assertEquals(List.of("1:1234567890"), replay(first));
+        assertEquals(List.of("2:5555555555"), replay(second));
+    }
+
+    @Test
+    void testReplay_StopsAtTornRecord() throws IOException {
+        Path file = directory.resolve("activations.log");
+        try (ActivationLog log = ActivationLog.open(file, Durability.FSYNC_PER_OP, Duration.ZERO)) {
+            log.append(1L, new long[] {1234567890L, 9876543210L}, 2);
+        }
+        // Simulate a crash halfway through writing a third record
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(ActivationLog.RECORD_SIZE / 2));
+        }
+
+        assertEquals(List.of("1:1234567890", "1:9876543210"), replay(file));
+    }
+
+    @Test
+    void testReplay_StopsAtCorruptRecord() throws IOException {
+        Path file = directory.resolve("activations.log");
+        try (ActivationLog log = ActivationLog.open(file, Durability.FSYNC_PER_OP, Duration.ZERO)) {
+            log.append(1L, new long[] {1234567890L, 9876543210L}, 2);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[ActivationLog.RECORD_SIZE + 3] ^= 1;
+        Files.write(file, bytes);
+
+        assertEquals(List.of("1:1234567890"), replay(file));
+    }
+
+    @Test
+    void testAsync_ForcesOncePerFlushInterval() throws Exception {
+        Path file = directory.resolve("activations.log");
+        try (ActivationLog log = ActivationLog.open(file, Durability.ASYNC, Duration.ofSeconds(30))) {
+            log.append(1L, new long[] {1234567890L}, 1);
+            Thread.sleep(100);
+            log.append(2L, new long[] {5555555555L}, 1);
+            Thread.sleep(100);
+            log.append(3L, new long[] {9876543210L}, 1);
+            Thread.sleep(100);
+
+            // Later appends must not cut the interval short and write the batch early
+            assertEquals(0, Files.size(file));
+        }
+
+        assertEquals(List.of("1:1234567890", "2:5555555555", "3:9876543210"), replay(file));
+    }
+
+    @Test
+    void testAppend_AfterCloseFails() throws IOException {
+        ActivationLog log = ActivationLog.open(directory.resolve("activations.log"), Durability.GROUP_COMMIT, Duration.ZERO);
+        log.close();
+
+        assertThrows(UncheckedIOException.class, () -> log.append(1L, new long[] {1234567890L}, 1));
+    }
+
+    private static List<String> replay(Path file) throws IOException {
+        List<String> records = new ArrayList<>();
+        ActivationLog.replay(file, (customerId, number) -> records.add(customerId + ":" + number));
+        return records;
+    }
+}
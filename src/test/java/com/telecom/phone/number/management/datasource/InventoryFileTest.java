@@ -0,0 +1,138 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link InventoryFile} and the {@link MappedPhoneNumberInventory} it serves.
+ */
+class InventoryFileTest {
+
+    @TempDir
+    Path directory;
+
+    private final PhoneNumberDataSource dataSource = new PhoneNumberDataSource();
+
+    @Test
+    void testMap_MatchesWrittenInventory() throws IOException {
+        // Customers deliberately out of ID order, so lookups go through the sorted table
+        PhoneNumberInventory written = new PhoneNumberInventory.Builder()
+            .customer(7L).number(1234567890L, false).number(9876543210L, true)
+            .customer(3L)
+            .customer(5L).number(5555555555L, false)
+            .build(number -> { });
+
+        PhoneNumberInventory mapped = writeAndMap(written).inventory();
+
+        assertEquals(written.size(), mapped.size());
+        assertEquals(written.customerCount(), mapped.customerCount());
+        for (long customerId : new long[] {7L, 3L, 5L}) {
+            int ordinal = mapped.customerOrdinal(customerId);
+            assertEquals(written.customerOrdinal(customerId), ordinal);
+            assertEquals(customerId, mapped.customerId(ordinal));
+            assertEquals(written.start(ordinal), mapped.start(ordinal));
+            assertEquals(written.end(ordinal), mapped.end(ordinal));
+        }
+        for (int slot = 0; slot < written.size(); slot++) {
+            assertEquals(written.number(slot), mapped.number(slot));
+            assertEquals(written.isActive(slot), mapped.isActive(slot));
+        }
+        assertEquals(PhoneNumberInventory.NOT_FOUND, mapped.customerOrdinal(4L));
+    }
+
+    @Test
+    void testSlotOf_OnlyWithinOwningCustomer() throws IOException {
+        PhoneNumberInventory mapped = writeAndMap(new PhoneNumberInventory.Builder()
+            .customer(1L).number(1234567890L, false)
+            .customer(2L).number(5555555555L, false)
+            .build(number -> { })).inventory();
+
+        assertEquals(0, mapped.slotOf(mapped.customerOrdinal(1L), 1234567890L));
+        assertEquals(PhoneNumberInventory.NOT_FOUND, mapped.slotOf(mapped.customerOrdinal(1L), 5555555555L));
+        assertEquals(PhoneNumberInventory.NOT_FOUND, mapped.slotOf(mapped.customerOrdinal(1L), 1111111111L));
+        assertEquals(PhoneNumberInventory.NOT_FOUND, mapped.slotOf(mapped.customerOrdinal(1L), PhoneNumberCodec.INVALID));
+    }
+
+    @Test
+    void testActivate_OnlyOnceAndNeverWritesTheFile() throws IOException {
+        Path file = directory.resolve("inventory.bin");
+        InventoryFile.write(new PhoneNumberInventory.Builder()
+            .customer(1L).number(1234567890L, false)
+            .build(number -> { }), file);
+        byte[] before = Files.readAllBytes(file);
+
+        PhoneNumberInventory mapped = InventoryFile.map(file).inventory();
+        assertTrue(mapped.activate(0));
+        assertFalse(mapped.activate(0));
+        assertTrue(mapped.isActive(0));
+
+        assertArrayEquals(before, Files.readAllBytes(file));
+    }
+
+    @Test
+    void testCustomerVersions_OnlyChangedCustomersMove() throws IOException {
+        PhoneNumberInventory mapped = writeAndMap(new PhoneNumberInventory.Builder()
+            .customer(1L).number(1234567890L, false)
+            .customer(2L).number(5555555555L, false)
+            .build(number -> { })).inventory();
+
+        mapped.initializeVersions(10);
+        mapped.customerChanged(1, 12);
+        mapped.customerChanged(1, 11);
+
+        assertEquals(10, mapped.customerVersion(0));
+        assertEquals(12, mapped.customerVersion(1));
+    }
+
+    @Test
+    void testDataSource_ServesMappedFile() throws IOException {
+        dataSource.load(Map.of(1L, List.of(
+            new PhoneNumber().number("1234567890").isActive(false),
+            new PhoneNumber().number("9876543210").isActive(true))));
+        Path file = directory.resolve("inventory.bin");
+        InventoryFile.write(dataSource, file);
+
+        PhoneNumberDataSource mappedDataSource = new PhoneNumberDataSource();
+        mappedDataSource.load(InventoryFile.map(file));
+
+        assertEquals(ActivationOutcome.ACTIVATED, mappedDataSource.activatePhoneNumber(1L, "1234567890"));
+        assertEquals(List.of(true, true), mappedDataSource.getCustomerPhoneNumbers(1L).orElseThrow().stream()
+            .map(PhoneNumber::getIsActive)
+            .toList());
+    }
+
+    @Test
+    void testMap_RejectsInvalidFiles() throws IOException {
+        Path notInventory = directory.resolve("not-inventory.bin");
+        Files.write(notInventory, new byte[64]);
+        assertThrows(IOException.class, () -> InventoryFile.map(notInventory));
+
+        Path truncated = directory.resolve("truncated.bin");
+        InventoryFile.write(new PhoneNumberInventory.Builder()
+            .customer(1L).number(1234567890L, false)
+            .build(number -> { }), truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IOException.class, () -> InventoryFile.map(truncated));
+    }
+
+    private InventoryFile writeAndMap(PhoneNumberInventory inventory) throws IOException {
+        Path file = directory.resolve("inventory.bin");
+        InventoryFile.write(inventory, file);
+        return InventoryFile.map(file);
+    }
+}
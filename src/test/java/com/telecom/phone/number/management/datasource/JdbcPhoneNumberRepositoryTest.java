@@ -0,0 +1,173 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link JdbcPhoneNumberRepository} on an embedded H2 file database, the
+ * {@code jdbc} engine.
+ */
+class JdbcPhoneNumberRepositoryTest extends PhoneNumberRepositoryConformanceTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Override
+    PhoneNumberRepository createRepository() {
+        return open();
+    }
+
+    @Override
+    void load(Map<Long, List<PhoneNumber>> data) {
+        ((JdbcPhoneNumberRepository) repository).load(data);
+    }
+
+    @Test
+    void testActivation_SurvivesRestart() {
+        repository.activatePhoneNumber(1L, "9876543210");
+        long version = repository.getVersion();
+        long customerVersion = repository.getCustomerVersion(1L);
+        closePools();
+
+        JdbcPhoneNumberRepository reopened = open();
+
+        assertEquals(3, reopened.countPhoneNumbers());
+        assertEquals(1, reopened.countActivePhoneNumbers());
+        assertEquals(List.of(false, true), reopened.getCustomerPhoneNumbers(1L).orElseThrow().stream()
+            .map(PhoneNumber::getIsActive)
+            .toList());
+        assertEquals(customerVersion, reopened.getCustomerVersion(1L));
+        assertEquals(version, reopened.getVersion());
+        reopened.activatePhoneNumber(1L, "1234567890");
+        assertTrue(reopened.getVersion() > version, "Expected versions to keep increasing across restarts");
+    }
+
+    @Test
+    void testScans_CrossBatchBoundaries() throws Exception {
+        Map<Long, List<PhoneNumber>> data = new LinkedHashMap<>();
+        int size = JdbcPhoneNumberRepository.SCAN_BATCH_SIZE * 2 + 7;
+        for (int i = 0; i < size; i++) {
+            data.computeIfAbsent((long) (i / 1_000), customerId -> new ArrayList<>())
+                .add(new PhoneNumber().number(String.format("%010d", 2_000_000_000L + i)).isActive(false));
+        }
+        load(data);
+
+        List<PhoneNumber> all = repository.getAllPhoneNumbers();
+        assertEquals(size, all.size());
+        assertEquals(String.format("%010d", 2_000_000_000L + size - 1), all.getLast().getNumber());
+        assertEquals(size, repository.forEachPhoneNumber((number, isActive) -> { }));
+        assertEquals(String.format("%010d", 2_000_000_000L + JdbcPhoneNumberRepository.SCAN_BATCH_SIZE),
+            repository.getPhoneNumbersPage(JdbcPhoneNumberRepository.SCAN_BATCH_SIZE, 5).phoneNumbers().getFirst().getNumber());
+    }
+
+    @Test
+    void testVersion_PublishedOnlyAfterCommit() {
+        AtomicReference<JdbcPhoneNumberRepository> observed = new AtomicReference<>();
+        List<Long> versionsAtCommit = new ArrayList<>();
+        observed.set(new JdbcPhoneNumberRepository(onCommit(pool(), () -> {
+            if (observed.get() != null) {
+                versionsAtCommit.add(observed.get().getVersion());
+            }
+        })));
+        long version = observed.get().getVersion();
+
+        observed.get().activatePhoneNumber(1L, "1234567890");
+
+        assertEquals(version, versionsAtCommit.getFirst(), "Expected the version to move only once the change is committed");
+        assertTrue(observed.get().getVersion() > version);
+    }
+
+    @Test
+    void testVersion_RepublishedWhenCommittedOutOfOrder() {
+        AtomicReference<JdbcPhoneNumberRepository> observed = new AtomicReference<>();
+        AtomicBoolean interleaved = new AtomicBoolean();
+        long[] laterVersion = new long[1];
+        // The first activation commits only after a second one has committed and been published
+        observed.set(new JdbcPhoneNumberRepository(onCommit(pool(), () -> {
+            if (observed.get() != null && interleaved.compareAndSet(false, true)) {
+                observed.get().activatePhoneNumber(2L, "5555555555");
+                laterVersion[0] = observed.get().getVersion();
+            }
+        })));
+
+        observed.get().activatePhoneNumber(1L, "1234567890");
+
+        assertTrue(observed.get().getVersion() > laterVersion[0],
+            "Expected the earlier change to move the version past the one published while it was uncommitted");
+        assertTrue(observed.get().getCustomerVersion(1L) > laterVersion[0],
+            "Expected the fresh version to be stored, so it is not issued again after a restart");
+    }
+
+    private JdbcPhoneNumberRepository open() {
+        return new JdbcPhoneNumberRepository(pool());
+    }
+
+    private HikariDataSource pool() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + directory.resolve("phone-numbers").toAbsolutePath());
+        config.setMaximumPoolSize(8);
+        HikariDataSource pool = new HikariDataSource(config);
+        pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Wraps a data source so that a hook runs just before each of its connections commits.
+     */
+    private static DataSource onCommit(DataSource target, Runnable hook) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] {DataSource.class},
+            (proxy, method, args) -> {
+                Object result = invoke(method, target, args);
+                if (!(result instanceof Connection connection)) {
+                    return result;
+                }
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                    (connectionProxy, connectionMethod, connectionArgs) -> {
+                        if (connectionMethod.getName().equals("commit")) {
+                            hook.run();
+                        }
+                        return invoke(connectionMethod, connection, connectionArgs);
+                    });
+            });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void closePools() {
+        pools.forEach(HikariDataSource::close);
+        pools.clear();
+    }
+}
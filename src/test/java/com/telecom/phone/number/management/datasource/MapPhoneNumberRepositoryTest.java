@@ -0,0 +1,22 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link MapPhoneNumberRepository}, the {@code map} engine.
+ */
+class MapPhoneNumberRepositoryTest extends PhoneNumberRepositoryConformanceTest {
+
+    @Override
+    PhoneNumberRepository createRepository() {
+        return new MapPhoneNumberRepository();
+    }
+
+    @Override
+    void load(Map<Long, List<PhoneNumber>> data) {
+        ((MapPhoneNumberRepository) repository).load(data);
+    }
+}
@@ -0,0 +1,41 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link PhoneNumberDataSource} over a memory-mapped {@link InventoryFile}, the
+ * {@code mapped} engine.
+ */
+class MappedPhoneNumberDataSourceTest extends PhoneNumberRepositoryConformanceTest {
+
+    @TempDir
+    Path directory;
+
+    private int loads;
+
+    @Override
+    PhoneNumberRepository createRepository() {
+        return new PhoneNumberDataSource();
+    }
+
+    @Override
+    void load(Map<Long, List<PhoneNumber>> data) {
+        // Provisioned as in production: written to a file once, then mapped
+        PhoneNumberDataSource provisioning = new PhoneNumberDataSource();
+        provisioning.load(data);
+        Path file = directory.resolve("inventory-" + loads++ + ".bin");
+        try {
+            InventoryFile.write(provisioning, file);
+            ((PhoneNumberDataSource) repository).load(InventoryFile.map(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link MeteredPhoneNumberRepository}, run against the heap inventory engine.
+ */
+class MeteredPhoneNumberRepositoryTest extends PhoneNumberRepositoryConformanceTest {
+
+    private MeterRegistry meterRegistry;
+
+    @Override
+    PhoneNumberRepository createRepository() {
+        meterRegistry = new SimpleMeterRegistry();
+        return new MeteredPhoneNumberRepository(new PhoneNumberDataSource(), "inventory", meterRegistry);
+    }
+
+    @Override
+    void load(Map<Long, List<PhoneNumber>> data) {
+        ((PhoneNumberDataSource) ((MeteredPhoneNumberRepository) repository).getDelegate()).load(data);
+    }
+
+    @Test
+    void testOperationsAreTimedByOperationAndEngine() {
+        repository.getCustomerPhoneNumbers(1L);
+        repository.getCustomerPhoneNumbers(2L);
+        repository.getPhoneNumbersPage(0, 2);
+
+        assertEquals(2, timerCount("getCustomerPhoneNumbers"));
+        assertEquals(1, timerCount("getPhoneNumbersPage"));
+        assertEquals(0, timerCount("activatePhoneNumber"));
+    }
+
+    @Test
+    void testFailedOperationsAreTimed() {
+        MeteredPhoneNumberRepository failing = new MeteredPhoneNumberRepository(
+            new PhoneNumberDataSource() {
+                @Override
+                public long getVersion() {
+                    throw new IllegalStateException("Unavailable");
+                }
+            }, "failing", meterRegistry);
+
+        assertThrows(IllegalStateException.class, failing::getVersion);
+        assertEquals(1, meterRegistry.get("phone.numbers.repository")
+            .tags("operation", "getVersion", "engine", "failing").timer().count());
+    }
+
+    @Test
+    void testActivationOutcomesAreCounted() {
+        repository.activatePhoneNumber(1L, "1234567890");
+        repository.activatePhoneNumber(1L, "1234567890");
+        repository.activatePhoneNumber(1L, "5555555555");
+        repository.activatePhoneNumber(99L, "1234567890");
+        repository.activatePhoneNumbers(1L, List.of("9876543210", "0000000000"));
+
+        assertEquals(2, activations("activated"));
+        assertEquals(1, activations("already_active"));
+        assertEquals(2, activations("not_found"));
+        assertEquals(1, activations("customer_not_found"));
+    }
+
+    @Test
+    void testInventoryGaugesFollowActivations() {
+        PhoneNumberRepository engine = ((MeteredPhoneNumberRepository) repository).getDelegate();
+        engine.activatePhoneNumber(2L, "5555555555");
+        repository.activatePhoneNumber(1L, "1234567890");
+        repository.activatePhoneNumber(1L, "1234567890");
+
+        // Read from the engine, so activations made around the decorator are counted too
+        assertEquals(3, gauge("phone.numbers.inventory.size"));
+        assertEquals(2, gauge("phone.numbers.inventory.active"));
+        assertEquals(2 / 3.0, gauge("phone.numbers.inventory.active.ratio"), 1e-9);
+    }
+
+    @Test
+    void testCustomerListSizesAreRecorded() {
+        repository.getCustomerPhoneNumbers(1L);
+        repository.getCustomerPhoneNumbers(2L);
+        repository.getCustomerPhoneNumbers(99L);
+
+        var summary = meterRegistry.get("phone.numbers.customer.size").summary();
+        assertEquals(2, summary.count());
+        assertEquals(3, summary.totalAmount());
+        assertEquals(2, summary.max());
+    }
+
+    private long timerCount(String operation) {
+        return meterRegistry.get("phone.numbers.repository")
+            .tags("operation", operation, "engine", "inventory").timer().count();
+    }
+
+    private double activations(String outcome) {
+        return meterRegistry.get("phone.numbers.activations").tag("outcome", outcome).counter().count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
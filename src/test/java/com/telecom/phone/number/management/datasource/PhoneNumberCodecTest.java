@@ -0,0 +1,64 @@
+package com.telecom.phone.number.management.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PhoneNumberCodec}.
+ */
+class PhoneNumberCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1234567890", "0000000000", "0012345678", "9999999999"})
+    void testEncodeDecode_RoundTrip(String phoneNumber) {
+        assertEquals(phoneNumber, PhoneNumberCodec.decode(PhoneNumberCodec.encode(phoneNumber)));
+    }
+
+    @Test
+    void testEncode_ValidNumber() {
+        assertEquals(1234567890L, PhoneNumberCodec.encode("1234567890"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "123456789", "12345678901", "123-456-7890", "1234567890 ", "12345abcde"})
+    void testEncode_InvalidNumber(String phoneNumber) {
+        assertEquals(PhoneNumberCodec.INVALID, PhoneNumberCodec.encode(phoneNumber));
+    }
+
+    @Test
+    void testEncode_NullNumber() {
+        assertEquals(PhoneNumberCodec.INVALID, PhoneNumberCodec.encode(null));
+    }
+
+    @Test
+    void testPrefixRange() {
+        assertEquals(5_550_000_000L, PhoneNumberCodec.prefixStart("555"));
+        assertEquals(5_560_000_000L, PhoneNumberCodec.prefixEnd("555"));
+        assertEquals(12_345_678L, PhoneNumberCodec.prefixStart("0012345678"));
+        assertEquals(12_345_679L, PhoneNumberCodec.prefixEnd("0012345678"));
+        assertEquals(0L, PhoneNumberCodec.prefixStart(""));
+        assertEquals(10_000_000_000L, PhoneNumberCodec.prefixEnd(""));
+        assertEquals(10_000_000_000L, PhoneNumberCodec.prefixEnd("9"));
+    }
+
+    @Test
+    void testIsValid() {
+        assertTrue(PhoneNumberCodec.isValid(0L));
+        assertTrue(PhoneNumberCodec.isValid(9_999_999_999L));
+        assertFalse(PhoneNumberCodec.isValid(PhoneNumberCodec.INVALID));
+        assertFalse(PhoneNumberCodec.isValid(10_000_000_000L));
+        assertFalse(PhoneNumberCodec.isValid(Long.MAX_VALUE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"12345678901", "55a", "-1"})
+    void testPrefixRange_InvalidPrefix(String prefix) {
+        assertEquals(PhoneNumberCodec.INVALID, PhoneNumberCodec.prefixStart(prefix));
+        assertEquals(PhoneNumberCodec.INVALID, PhoneNumberCodec.prefixEnd(prefix));
+    }
+}
@@ -0,0 +1,66 @@
+package com.telecom.phone.number.management.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PhoneNumberIndex}.
+ */
+class PhoneNumberIndexTest {
+
+    @Test
+    void testSlotOf_IndexedNumbers() {
+        long[] numbers = {1234567890L, 9876543210L, 5555555555L};
+        PhoneNumberIndex index = buildIndex(numbers);
+
+        assertEquals(0, index.slotOf(1234567890L));
+        assertEquals(1, index.slotOf(9876543210L));
+        assertEquals(2, index.slotOf(5555555555L));
+    }
+
+    @Test
+    void testSlotOf_UnknownOrInvalidNumber() {
+        PhoneNumberIndex index = buildIndex(new long[] {1234567890L});
+
+        assertEquals(PhoneNumberIndex.NOT_FOUND, index.slotOf(1111111111L));
+        assertEquals(PhoneNumberIndex.NOT_FOUND, index.slotOf(PhoneNumberCodec.INVALID));
+    }
+
+    @Test
+    void testPutIfAbsent_FirstOccurrenceWins() {
+        long[] numbers = {1234567890L, 1234567890L};
+        PhoneNumberIndex.Builder builder = new PhoneNumberIndex.Builder(numbers, numbers.length);
+        assertTrue(builder.putIfAbsent(0));
+        assertFalse(builder.putIfAbsent(1));
+        PhoneNumberIndex index = builder.build();
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.slotOf(1234567890L));
+    }
+
+    @Test
+    void testSlotOf_LargeSequentialRange() {
+        long[] numbers = new long[100_000];
+        for (int slot = 0; slot < numbers.length; slot++) {
+            numbers[slot] = 5_000_000_000L + slot;
+        }
+        PhoneNumberIndex index = buildIndex(numbers);
+
+        assertEquals(numbers.length, index.size());
+        for (int slot = 0; slot < numbers.length; slot++) {
+            assertEquals(slot, index.slotOf(numbers[slot]));
+        }
+        assertEquals(PhoneNumberIndex.NOT_FOUND, index.slotOf(4_999_999_999L));
+    }
+
+    private static PhoneNumberIndex buildIndex(long[] numbers) {
+        PhoneNumberIndex.Builder builder = new PhoneNumberIndex.Builder(numbers, numbers.length);
+        for (int slot = 0; slot < numbers.length; slot++) {
+            builder.putIfAbsent(slot);
+        }
+        return builder.build();
+    }
+}
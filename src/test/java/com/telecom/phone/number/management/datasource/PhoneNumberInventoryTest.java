@@ -0,0 +1,105 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PhoneNumberInventory}.
+ */
+class PhoneNumberInventoryTest {
+
+    @Test
+    void testBuild_CustomerRanges() {
+        PhoneNumberInventory inventory = new PhoneNumberInventory.Builder()
+            .customer(1L).number(1234567890L, false).number(9876543210L, true)
+            .customer(2L).number(5555555555L, false)
+            .customer(3L)
+            .build(number -> { });
+
+        assertEquals(3, inventory.size());
+        assertEquals(3, inventory.customerCount());
+        int first = inventory.customerOrdinal(1L);
+        assertEquals(0, inventory.start(first));
+        assertEquals(2, inventory.end(first));
+        int third = inventory.customerOrdinal(3L);
+        assertEquals(inventory.start(third), inventory.end(third));
+        assertEquals(PhoneNumberInventory.NOT_FOUND, inventory.customerOrdinal(999L));
+        assertTrue(inventory.isActive(1));
+        assertFalse(inventory.isActive(0));
+    }
+
+    @Test
+    void testSlotOf_OnlyWithinOwningCustomer() {
+        PhoneNumberInventory inventory = new PhoneNumberInventory.Builder()
+            .customer(1L).number(1234567890L, false)
+            .customer(2L).number(5555555555L, false)
+            .build(number -> { });
+
+        assertEquals(0, inventory.slotOf(inventory.customerOrdinal(1L), 1234567890L));
+        assertEquals(PhoneNumberInventory.NOT_FOUND, inventory.slotOf(inventory.customerOrdinal(1L), 5555555555L));
+    }
+
+    @Test
+    void testActivate_OnlyOnce() {
+        PhoneNumberInventory inventory = new PhoneNumberInventory.Builder()
+            .customer(1L).number(1234567890L, false)
+            .build(number -> { });
+
+        assertTrue(inventory.activate(0));
+        assertFalse(inventory.activate(0));
+        assertTrue(inventory.isActive(0));
+    }
+
+    @Test
+    void testBuild_ReportsDuplicates() {
+        List<Long> duplicates = new ArrayList<>();
+        new PhoneNumberInventory.Builder()
+            .customer(1L).number(1234567890L, false).number(1234567890L, false)
+            .build(duplicates::add);
+
+        assertEquals(List.of(1234567890L), duplicates);
+    }
+
+    /**
+     * Compares the retained heap of the primitive inventory with the DTO-per-number representation
+     * it replaced ({@code Map<Long, List<PhoneNumber>>}), for the same 100,000 numbers.
+     */
+    @Test
+    void testHeapFootprint_ComparedWithDtoRepresentation() {
+        int customers = 1_000;
+        int numbersPerCustomer = 100;
+
+        Map<Long, List<PhoneNumber>> dtoRepresentation = new HashMap<>();
+        PhoneNumberInventory.Builder builder = new PhoneNumberInventory.Builder();
+        long number = 2_000_000_000L;
+        for (long customerId = 1; customerId <= customers; customerId++) {
+            List<PhoneNumber> phoneNumbers = new ArrayList<>(numbersPerCustomer);
+            builder.customer(customerId);
+            for (int i = 0; i < numbersPerCustomer; i++, number++) {
+                phoneNumbers.add(new PhoneNumber().number(PhoneNumberCodec.decode(number)).isActive(i % 2 == 0));
+                builder.number(number, i % 2 == 0);
+            }
+            dtoRepresentation.put(customerId, phoneNumbers);
+        }
+        PhoneNumberInventory inventory = builder.build(duplicate -> { });
+
+        long dtoBytes = GraphLayout.parseInstance(dtoRepresentation).totalSize();
+        long inventoryBytes = GraphLayout.parseInstance(inventory).totalSize();
+        int total = customers * numbersPerCustomer;
+        System.out.printf("Heap per number: DTO map %.1f bytes, primitive inventory %.1f bytes%n",
+            (double) dtoBytes / total, (double) inventoryBytes / total);
+
+        assertTrue(inventoryBytes * 4 < dtoBytes,
+            "Expected the primitive inventory to use less than a quarter of the DTO representation's heap");
+    }
+}
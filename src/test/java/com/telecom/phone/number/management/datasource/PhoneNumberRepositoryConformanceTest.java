@@ -0,0 +1,528 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conformance tests for the {@link PhoneNumberRepository} contract, run against every engine by
+ * its own subclass.
+ */
+abstract class PhoneNumberRepositoryConformanceTest {
+
+    protected PhoneNumberRepository repository;
+
+    private Map<Long, List<PhoneNumber>> seedData;
+
+    /**
+     * @return A new, empty repository of the engine under test.
+     */
+    abstract PhoneNumberRepository createRepository();
+
+    /**
+     * Replaces the contents of the repository under test, as its engine is loaded in production.
+     *
+     * @param data The phone numbers to store, keyed by customer ID.
+     */
+    abstract void load(Map<Long, List<PhoneNumber>> data);
+
+    @BeforeEach
+    void setUp() {
+        repository = createRepository();
+        seedData = new LinkedHashMap<>();
+        seedData.put(1L, Arrays.asList(
+            new PhoneNumber().number("1234567890").isActive(false),
+            new PhoneNumber().number("9876543210").isActive(false)
+        ));
+        seedData.put(2L, Collections.singletonList(
+            new PhoneNumber().number("5555555555").isActive(false)
+        ));
+        seedData.put(3L, Collections.emptyList());
+        load(seedData);
+    }
+
+    @Test
+    void testGetAllPhoneNumbers() {
+        List<PhoneNumber> allNumbers = repository.getAllPhoneNumbers();
+        assertEquals(3, allNumbers.size(), "Expected 3 phone numbers across all customers");
+    }
+
+    @Test
+    void testForEachPhoneNumber() throws Exception {
+        List<String> visited = new ArrayList<>();
+        int count = repository.forEachPhoneNumber((number, isActive) ->
+            visited.add(PhoneNumberCodec.decode(number) + ":" + isActive));
+
+        assertEquals(3, count);
+        assertEquals(3, repository.countPhoneNumbers());
+        assertEquals(List.of("1234567890:false", "9876543210:false", "5555555555:false"), visited);
+    }
+
+    @Test
+    void testCountActivePhoneNumbers() {
+        assertEquals(0, repository.countActivePhoneNumbers());
+
+        repository.activatePhoneNumber(1L, "1234567890");
+        repository.activatePhoneNumber(1L, "1234567890");
+        repository.activatePhoneNumbers(2L, List.of("5555555555", "0000000000"));
+        assertEquals(2, repository.countActivePhoneNumbers());
+
+        load(Map.of(4L, List.of(
+            new PhoneNumber().number("1111111111").isActive(true),
+            new PhoneNumber().number("2222222222").isActive(false))));
+        assertEquals(1, repository.countActivePhoneNumbers());
+    }
+
+    @Test
+    void testGetPhoneNumbersPage() {
+        PhoneNumberPage firstPage = repository.getPhoneNumbersPage(0, 2);
+        assertEquals(List.of("1234567890", "9876543210"),
+            firstPage.phoneNumbers().stream().map(PhoneNumber::getNumber).toList());
+        assertTrue(firstPage.hasNext());
+        assertFalse(firstPage.hasPrevious());
+
+        PhoneNumberPage lastPage = repository.getPhoneNumbersPage(firstPage.nextOffset(), 2);
+        assertEquals(List.of("5555555555"), lastPage.phoneNumbers().stream().map(PhoneNumber::getNumber).toList());
+        assertFalse(lastPage.hasNext());
+        assertTrue(lastPage.hasPrevious());
+    }
+
+    @Test
+    void testGetPhoneNumbersPage_PastTheEnd() {
+        PhoneNumberPage page = repository.getPhoneNumbersPage(100, 2);
+        assertTrue(page.phoneNumbers().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_ValidCustomer() {
+        List<PhoneNumber> numbers = repository.getCustomerPhoneNumbers(1L).orElseThrow();
+        assertEquals(2, numbers.size(), "Expected 2 phone numbers for customer ID 1");
+    }
+
+    @Test
+    void testGetPhoneNumbersPage_SpansCustomers() {
+        PhoneNumberPage page = repository.getPhoneNumbersPage(1, 2);
+        assertEquals(List.of("9876543210", "5555555555"),
+            page.phoneNumbers().stream().map(PhoneNumber::getNumber).toList());
+        assertEquals(3, page.total());
+    }
+
+    @Test
+    void testEmptyRepository_NotFound() {
+        load(Collections.emptyMap());
+
+        assertThrows(ResourceNotFoundException.class, () -> repository.getAllPhoneNumbers());
+        assertThrows(ResourceNotFoundException.class, () -> repository.getPhoneNumbersPage(0, 10));
+        assertEquals(0, repository.countPhoneNumbers());
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_ReturnsUnsharedCopies() {
+        repository.getCustomerPhoneNumbers(1L).orElseThrow().getFirst().setIsActive(true);
+        repository.getAllPhoneNumbers().get(1).setIsActive(true);
+
+        assertFalse(repository.getCustomerPhoneNumbers(1L).orElseThrow().stream().anyMatch(PhoneNumber::getIsActive),
+            "Expected changes to returned phone numbers not to reach the repository");
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_InvalidCustomer() {
+        assertEquals(Optional.empty(), repository.getCustomerPhoneNumbers(999L),
+            "Expected no phone numbers for non-existent customer ID");
+    }
+
+    @Test
+    void testActivatePhoneNumber_ValidNumber() {
+        assertEquals(ActivationOutcome.ACTIVATED, repository.activatePhoneNumber(1L, "1234567890"));
+        assertTrue(repository.getCustomerPhoneNumbers(1L).orElseThrow().getFirst().getIsActive(),
+            "Expected phone number to be activated");
+    }
+
+    @Test
+    void testActivatePhoneNumber_AlreadyActive() {
+        repository.activatePhoneNumber(1L, "1234567890");
+        assertEquals(ActivationOutcome.ALREADY_ACTIVE, repository.activatePhoneNumber(1L, "1234567890"),
+            "Expected ALREADY_ACTIVE when activating an already active number");
+    }
+
+    @Test
+    void testActivatePhoneNumber_InvalidNumber() {
+        assertEquals(ActivationOutcome.NOT_FOUND, repository.activatePhoneNumber(1L, "0000000000"),
+            "Expected NOT_FOUND for invalid phone number");
+    }
+
+    @Test
+    void testActivatePhoneNumber_InvalidCustomer() {
+        assertEquals(ActivationOutcome.CUSTOMER_NOT_FOUND, repository.activatePhoneNumber(999L, "1234567890"),
+            "Expected CUSTOMER_NOT_FOUND for invalid customer ID");
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_NoPhoneNumbers() {
+        assertEquals(Optional.empty(), repository.getCustomerPhoneNumbers(3L),
+            "Expected no phone numbers for customer with no phone numbers");
+    }
+
+    @Test
+    void testActivatePhoneNumber_DuplicateNumbers() {
+        injectData(Arrays.asList(
+            new PhoneNumber().number("1234567890").isActive(false),
+            new PhoneNumber().number("1234567890").isActive(false)
+        ));
+
+        assertEquals(ActivationOutcome.ACTIVATED, repository.activatePhoneNumber(1L, "1234567890"));
+        assertTrue(repository.getCustomerPhoneNumbers(1L).orElseThrow().getFirst().getIsActive(),
+            "Expected the first occurrence of the duplicate number to be activated");
+        assertEquals(ActivationOutcome.ALREADY_ACTIVE, repository.activatePhoneNumber(1L, "1234567890"));
+        assertFalse(repository.getCustomerPhoneNumbers(1L).orElseThrow().get(1).getIsActive(),
+            "Expected later occurrences never to be activated");
+    }
+
+    @Test
+    void testActivatePhoneNumber_DuplicateNumbersAcrossCustomers() {
+        Map<Long, List<PhoneNumber>> data = new LinkedHashMap<>();
+        data.put(1L, List.of(new PhoneNumber().number("1234567890").isActive(false)));
+        data.put(2L, List.of(new PhoneNumber().number("1234567890").isActive(false)));
+        load(data);
+
+        // Every engine resolves a number to its first occurrence in listing order, whoever asks
+        assertEquals(ActivationOutcome.NOT_FOUND, repository.activatePhoneNumber(2L, "1234567890"));
+        assertEquals(List.of(ActivationOutcome.NOT_FOUND), repository.activatePhoneNumbers(2L, List.of("1234567890")).orElseThrow());
+        assertEquals(ActivationOutcome.ACTIVATED, repository.activatePhoneNumber(1L, "1234567890"));
+        assertTrue(repository.getCustomerPhoneNumbers(1L).orElseThrow().getFirst().getIsActive());
+        assertFalse(repository.getCustomerPhoneNumbers(2L).orElseThrow().getFirst().getIsActive());
+    }
+
+    @Test
+    void testActivatePhoneNumber_CaseSensitivity() {
+        injectData(Collections.singletonList(
+            new PhoneNumber().number("1234567890").isActive(false)
+        ));
+
+        assertEquals(ActivationOutcome.NOT_FOUND, repository.activatePhoneNumber(1L, "1234567890 "),
+            "Expected NOT_FOUND for case or formatting differences");
+    }
+
+    @Test
+    void testActivatePhoneNumber_SpecialCharacters() {
+        injectData(Collections.singletonList(
+            new PhoneNumber().number("123-456-7890").isActive(false)
+        ));
+
+        // The malformed number is not stored, leaving the customer without phone numbers
+        assertEquals(ActivationOutcome.CUSTOMER_NOT_FOUND, repository.activatePhoneNumber(1L, "1234567890"),
+            "Expected CUSTOMER_NOT_FOUND for mismatched formatting");
+    }
+
+    @Test
+    void testActivatePhoneNumber_ConcurrentActivationsHaveExactlyOneWinner() throws Exception {
+        int numberCount = 200;
+        int threadCount = 16;
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        for (int i = 0; i < numberCount; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.format("%010d", 7000000000L + i)).isActive(false));
+        }
+        injectData(phoneNumbers);
+
+        AtomicInteger[] winners = new AtomicInteger[numberCount];
+        AtomicInteger[] conflicts = new AtomicInteger[numberCount];
+        for (int i = 0; i < numberCount; i++) {
+            winners[i] = new AtomicInteger();
+            conflicts[i] = new AtomicInteger();
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int i = 0; i < numberCount; i++) {
+                        ActivationOutcome outcome =
+                            repository.activatePhoneNumber(1L, phoneNumbers.get(i).getNumber());
+                        if (outcome == ActivationOutcome.ACTIVATED) {
+                            winners[i].incrementAndGet();
+                        } else if (outcome == ActivationOutcome.ALREADY_ACTIVE) {
+                            conflicts[i].incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            // A concurrent reader must never hit a ConcurrentModificationException
+            AtomicReference<ConcurrentModificationException> readerFailure = new AtomicReference<>();
+            futures.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    try {
+                        repository.getAllPhoneNumbers();
+                    } catch (ConcurrentModificationException e) {
+                        readerFailure.set(e);
+                    }
+                }
+                return null;
+            }));
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            assertNull(readerFailure.get(), "Readers must not observe a ConcurrentModificationException");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < numberCount; i++) {
+            assertEquals(1, winners[i].get(), "Expected exactly one successful activation per number");
+            assertEquals(threadCount - 1, conflicts[i].get(), "Expected every other attempt to be rejected");
+        }
+        assertTrue(repository.getCustomerPhoneNumbers(1L).orElseThrow().stream().allMatch(PhoneNumber::getIsActive),
+            "Expected every number to end up active");
+    }
+
+    @Test
+    void testActivatePhoneNumbers_PartialSuccess() {
+        repository.activatePhoneNumber(1L, "9876543210");
+
+        List<ActivationOutcome> outcomes = repository.activatePhoneNumbers(1L,
+            List.of("1234567890", "9876543210", "5555555555", "123", "1234567890")).orElseThrow();
+
+        assertEquals(List.of(
+            ActivationOutcome.ACTIVATED,
+            ActivationOutcome.ALREADY_ACTIVE,
+            ActivationOutcome.NOT_FOUND,
+            ActivationOutcome.NOT_FOUND,
+            ActivationOutcome.ALREADY_ACTIVE
+        ), outcomes);
+        assertTrue(repository.getCustomerPhoneNumbers(1L).orElseThrow().stream().allMatch(PhoneNumber::getIsActive),
+            "Expected both numbers of the customer to be active");
+    }
+
+    @Test
+    void testActivatePhoneNumbers_InvalidCustomer() {
+        assertEquals(Optional.empty(), repository.activatePhoneNumbers(999L, List.of("1234567890")),
+            "Expected no outcomes for invalid customer ID");
+    }
+
+    @Test
+    void testActivatePhoneNumber_NumberOwnedByAnotherCustomer() {
+        assertEquals(ActivationOutcome.NOT_FOUND, repository.activatePhoneNumber(1L, "5555555555"),
+            "Expected NOT_FOUND when activating another customer's number");
+        assertEquals(false, repository.getCustomerPhoneNumbers(2L).orElseThrow().getFirst().getIsActive(),
+            "Expected the owning customer's number to remain inactive");
+    }
+
+    @Test
+    void testActivatePhoneNumber_LeadingZeros() {
+        injectData(Arrays.asList(
+            new PhoneNumber().number("0000000001").isActive(false),
+            new PhoneNumber().number("0012345678").isActive(false)
+        ));
+
+        assertEquals(ActivationOutcome.ACTIVATED, repository.activatePhoneNumber(1L, "0012345678"));
+        List<PhoneNumber> numbers = repository.getCustomerPhoneNumbers(1L).orElseThrow();
+        assertEquals("0012345678", numbers.get(1).getNumber());
+        assertTrue(numbers.get(1).getIsActive(),
+            "Expected the number in the indexed slot to be activated");
+    }
+
+    @Test
+    void testVersions_BumpedOnlyForTheChangedCustomer() {
+        long version = repository.getVersion();
+        long customerVersion = repository.getCustomerVersion(1L);
+        long otherCustomerVersion = repository.getCustomerVersion(2L);
+
+        repository.activatePhoneNumber(1L, "1234567890");
+
+        assertTrue(repository.getVersion() > version);
+        assertTrue(repository.getCustomerVersion(1L) > customerVersion);
+        assertEquals(otherCustomerVersion, repository.getCustomerVersion(2L));
+    }
+
+    @Test
+    void testVersions_UnchangedByFailedActivations() {
+        repository.activatePhoneNumber(1L, "1234567890");
+        long version = repository.getVersion();
+        long customerVersion = repository.getCustomerVersion(1L);
+
+        repository.activatePhoneNumber(1L, "1234567890");
+        repository.activatePhoneNumber(1L, "0000000000");
+        repository.activatePhoneNumbers(1L, List.of("1234567890", "5555555555"));
+
+        assertEquals(version, repository.getVersion());
+        assertEquals(customerVersion, repository.getCustomerVersion(1L));
+    }
+
+    @Test
+    void testVersions_BumpedByBulkActivation() {
+        long customerVersion = repository.getCustomerVersion(1L);
+
+        repository.activatePhoneNumbers(1L, List.of("1234567890", "9876543210"));
+
+        assertTrue(repository.getCustomerVersion(1L) > customerVersion);
+    }
+
+    @Test
+    void testVersions_KeepIncreasingAcrossReloads() {
+        long version = repository.getVersion();
+        long customerVersion = repository.getCustomerVersion(1L);
+
+        load(seedData);
+
+        assertTrue(repository.getVersion() > version);
+        assertTrue(repository.getCustomerVersion(1L) > customerVersion);
+    }
+
+    @Test
+    void testVersions_UnknownCustomers() {
+        assertEquals(PhoneNumberRepository.UNKNOWN_VERSION, repository.getCustomerVersion(999L));
+        assertEquals(PhoneNumberRepository.UNKNOWN_VERSION, repository.getCustomerVersion(3L));
+
+        load(Collections.emptyMap());
+        assertEquals(PhoneNumberRepository.UNKNOWN_VERSION, repository.getVersion());
+    }
+
+    @Test
+    void testSearchPhoneNumbers_ByPrefix() {
+        PhoneNumberSearchPage page = repository.searchPhoneNumbers("555", null, PhoneNumberCodec.INVALID, 10);
+
+        assertEquals(List.of("5555555555"), numbers(page.phoneNumbers()));
+        assertFalse(page.hasNext());
+        assertEquals(List.of("9876543210"), searchAll("9876543210", null, 10));
+    }
+
+    @Test
+    void testSearchPhoneNumbers_AnyPrefixInNumberOrder() {
+        assertEquals(List.of("1234567890", "5555555555", "9876543210"), searchAll("", null, 10));
+    }
+
+    @Test
+    void testSearchPhoneNumbers_Paged() {
+        PhoneNumberSearchPage first = repository.searchPhoneNumbers("", null, PhoneNumberCodec.INVALID, 2);
+        assertEquals(List.of("1234567890", "5555555555"), numbers(first.phoneNumbers()));
+        assertTrue(first.hasNext());
+
+        PhoneNumberSearchPage second = repository.searchPhoneNumbers("", null, first.after(), 2);
+        assertEquals(List.of("9876543210"), numbers(second.phoneNumbers()));
+        assertFalse(second.hasNext());
+        assertEquals(List.of("1234567890", "5555555555", "9876543210"), searchAll("", null, 1));
+    }
+
+    @Test
+    void testSearchPhoneNumbers_ByActivationState() {
+        repository.activatePhoneNumber(2L, "5555555555");
+
+        assertEquals(List.of("5555555555"), searchAll("", true, 10));
+        assertEquals(List.of("1234567890", "9876543210"), searchAll("", false, 10));
+        assertEquals(List.of(), searchAll("9", true, 10));
+        assertTrue(repository.searchPhoneNumbers("5", true, PhoneNumberCodec.INVALID, 10)
+            .phoneNumbers().getFirst().getIsActive());
+    }
+
+    @Test
+    void testSearchPhoneNumbers_NoMatch() {
+        PhoneNumberSearchPage page = repository.searchPhoneNumbers("000", null, PhoneNumberCodec.INVALID, 10);
+
+        assertTrue(page.phoneNumbers().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testSearchPhoneNumbers_AfterThePrefix() {
+        PhoneNumberSearchPage page = repository.searchPhoneNumbers("555", null, 5565000000L, 10);
+
+        assertTrue(page.phoneNumbers().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testSearchPhoneNumbers_AfterTheLargestValue() {
+        PhoneNumberSearchPage page = repository.searchPhoneNumbers("", null, Long.MAX_VALUE, 10);
+
+        assertTrue(page.phoneNumbers().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testSearchPhoneNumbers_DuplicatesFoundOnceWithFirstState() {
+        injectData(Arrays.asList(
+            new PhoneNumber().number("1234567890").isActive(true),
+            new PhoneNumber().number("1234567890").isActive(false)
+        ));
+
+        PhoneNumberSearchPage page = repository.searchPhoneNumbers("1234", null, PhoneNumberCodec.INVALID, 10);
+        assertEquals(List.of("1234567890"), numbers(page.phoneNumbers()));
+        assertTrue(page.phoneNumbers().getFirst().getIsActive());
+    }
+
+    @Test
+    void testSearchPhoneNumbers_LeadingZeros() {
+        injectData(Arrays.asList(
+            new PhoneNumber().number("0012345678").isActive(false),
+            new PhoneNumber().number("0100000000").isActive(false)
+        ));
+
+        assertEquals(List.of("0012345678"), searchAll("00", null, 10));
+        assertEquals(List.of("0012345678", "0100000000"), searchAll("0", null, 10));
+    }
+
+    @Test
+    void testSearchPhoneNumbers_InvalidPrefix() {
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.searchPhoneNumbers("55a", null, PhoneNumberCodec.INVALID, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.searchPhoneNumbers("12345678901", null, PhoneNumberCodec.INVALID, 10));
+    }
+
+    /**
+     * Follows a search through all of its pages.
+     */
+    private List<String> searchAll(String prefix, Boolean active, int limit) {
+        List<String> found = new ArrayList<>();
+        long after = PhoneNumberCodec.INVALID;
+        PhoneNumberSearchPage page;
+        do {
+            page = repository.searchPhoneNumbers(prefix, active, after, limit);
+            found.addAll(numbers(page.phoneNumbers()));
+            after = page.after();
+        } while (page.hasNext());
+        return found;
+    }
+
+    private static List<String> numbers(List<PhoneNumber> phoneNumbers) {
+        return phoneNumbers.stream().map(PhoneNumber::getNumber).toList();
+    }
+
+    private void injectData(List<PhoneNumber> phoneNumbers) {
+        seedData.put(1L, phoneNumbers);
+        load(seedData);
+    }
+}
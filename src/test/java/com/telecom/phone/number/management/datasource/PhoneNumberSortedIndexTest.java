@@ -0,0 +1,79 @@
+package com.telecom.phone.number.management.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link PhoneNumberSortedIndex}.
+ */
+class PhoneNumberSortedIndexTest {
+
+    @Test
+    void testBuild_SortsAcrossTheWholeNumberRange() {
+        // Numbers from 2^33 up set the top bit once packed with their slot
+        long[] numbers = {9_999_999_999L, 1_234_567_890L, 8_600_000_000L, 0L, 5_555_555_555L};
+        PhoneNumberSortedIndex index = PhoneNumberSortedIndex.build(inventory(numbers));
+
+        assertEquals(5, index.size());
+        assertIndexed(new long[] {0L, 1_234_567_890L, 5_555_555_555L, 8_600_000_000L, 9_999_999_999L}, index);
+    }
+
+    @Test
+    void testBuild_DuplicatesIndexedAtFirstSlot() {
+        PhoneNumberSortedIndex index = PhoneNumberSortedIndex.build(
+            inventory(new long[] {5_555_555_555L, 1_234_567_890L, 5_555_555_555L}));
+
+        assertEquals(2, index.size());
+        assertEquals(1, index.slot(0));
+        assertEquals(0, index.slot(1));
+    }
+
+    @Test
+    void testLowerBound() {
+        PhoneNumberSortedIndex index = PhoneNumberSortedIndex.build(
+            inventory(new long[] {3_000_000_000L, 1_000_000_000L, 2_000_000_000L}));
+
+        assertEquals(0, index.lowerBound(0L));
+        assertEquals(0, index.lowerBound(1_000_000_000L));
+        assertEquals(1, index.lowerBound(1_000_000_001L));
+        assertEquals(2, index.lowerBound(3_000_000_000L));
+        assertEquals(3, index.lowerBound(3_000_000_001L));
+    }
+
+    @Test
+    void testBuild_EmptyInventory() {
+        PhoneNumberSortedIndex index = PhoneNumberSortedIndex.build(inventory(new long[0]));
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.lowerBound(5_555_555_555L));
+    }
+
+    @Test
+    void testBuild_MatchesSortedNumbers() {
+        long[] numbers = new Random(42).longs(100_000, 0, 10_000_000_000L).toArray();
+        PhoneNumberSortedIndex index = PhoneNumberSortedIndex.build(inventory(numbers));
+
+        assertIndexed(Arrays.stream(numbers).sorted().distinct().toArray(), index);
+    }
+
+    private static void assertIndexed(long[] expected, PhoneNumberSortedIndex index) {
+        long[] indexed = new long[index.size()];
+        for (int position = 0; position < indexed.length; position++) {
+            indexed[position] = index.inventory().number(index.slot(position));
+        }
+        assertArrayEquals(expected, indexed);
+    }
+
+    private static PhoneNumberInventory inventory(long[] numbers) {
+        PhoneNumberInventory.Builder builder = new PhoneNumberInventory.Builder().customer(1L);
+        for (long number : numbers) {
+            builder.number(number, false);
+        }
+        return builder.build(number -> { });
+    }
+}
@@ -0,0 +1,213 @@
+package com.telecom.phone.number.management.datasource;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PhoneNumberStore}.
+ */
+class PhoneNumberStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private Map<Long, List<PhoneNumber>> seedData;
+
+    private PhoneNumberDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        seedData = new LinkedHashMap<>();
+        seedData.put(1L, List.of(
+            new PhoneNumber().number("1234567890").isActive(false),
+            new PhoneNumber().number("9876543210").isActive(false)
+        ));
+        seedData.put(2L, List.of(
+            new PhoneNumber().number("5555555555").isActive(false)
+        ));
+        dataSource = new PhoneNumberDataSource();
+        dataSource.load(seedData);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Durability.class)
+    void testActivation_SurvivesRestart(Durability durability) throws IOException {
+        try (PhoneNumberStore store = open(durability)) {
+            assertEquals(ActivationOutcome.ACTIVATED, dataSource.activatePhoneNumber(1L, "9876543210"));
+        }
+
+        restart();
+        try (PhoneNumberStore store = open(durability)) {
+            assertEquals(List.of(false, true), activeFlags(1L));
+            assertEquals(ActivationOutcome.ALREADY_ACTIVE, dataSource.activatePhoneNumber(1L, "9876543210"));
+        }
+    }
+
+    @Test
+    void testRecovery_ReplaysLogTailOnTopOfSnapshot() throws IOException {
+        PhoneNumberStore store = open(Durability.GROUP_COMMIT);
+        dataSource.activatePhoneNumber(1L, "1234567890");
+        store.snapshot();
+        dataSource.activatePhoneNumbers(2L, List.of("5555555555"));
+        // Simulate a crash: no final snapshot, the last activation is only in the log
+        dataSource.detach(store);
+
+        restart();
+        try (PhoneNumberStore recovered = open(Durability.GROUP_COMMIT)) {
+            assertEquals(List.of(true, false), activeFlags(1L));
+            assertEquals(List.of(true), activeFlags(2L));
+        }
+    }
+
+    @Test
+    void testSnapshot_DeletesCoveredLogSegments() throws IOException {
+        try (PhoneNumberStore store = open(Durability.FSYNC_PER_OP)) {
+            dataSource.activatePhoneNumber(1L, "1234567890");
+            store.snapshot();
+            dataSource.activatePhoneNumber(1L, "9876543210");
+            store.snapshot();
+
+            assertTrue(Files.exists(directory.resolve(PhoneNumberStore.SNAPSHOT_FILE)));
+            assertEquals(List.of("activations-3.log"), logSegments());
+        }
+    }
+
+    @Test
+    void testRecovery_SnapshotReplacesSeedData() throws IOException {
+        try (PhoneNumberStore store = open(Durability.FSYNC_PER_OP)) {
+            dataSource.activatePhoneNumber(2L, "5555555555");
+        }
+
+        // The snapshot, not whatever the datastore was seeded with, is the source of truth
+        dataSource = new PhoneNumberDataSource();
+        try (PhoneNumberStore store = open(Durability.FSYNC_PER_OP)) {
+            assertEquals(3, dataSource.countPhoneNumbers());
+            assertEquals(List.of(true), activeFlags(2L));
+        }
+    }
+
+    @Test
+    void testRecovery_KeepsServingTheMappedInventoryFile() throws IOException {
+        Path inventoryFile = directory.resolve("inventory.bin");
+        InventoryFile.write(dataSource.currentInventory(), inventoryFile);
+        dataSource.load(InventoryFile.map(inventoryFile));
+        PhoneNumberStore store = open(Durability.GROUP_COMMIT);
+        dataSource.activatePhoneNumber(1L, "9876543210");
+        store.snapshot();
+        dataSource.activatePhoneNumber(2L, "5555555555");
+        dataSource.detach(store);
+
+        dataSource = new PhoneNumberDataSource();
+        dataSource.load(InventoryFile.map(inventoryFile));
+        try (PhoneNumberStore recovered = open(Durability.GROUP_COMMIT)) {
+            assertInstanceOf(MappedPhoneNumberInventory.class, dataSource.currentInventory());
+            assertEquals(List.of(false, true), activeFlags(1L));
+            assertEquals(List.of(true), activeFlags(2L));
+        }
+    }
+
+    @Test
+    void testRecovery_RejectsSnapshotOfAnotherEngine() throws IOException {
+        try (PhoneNumberStore store = open(Durability.FSYNC_PER_OP)) {
+            dataSource.activatePhoneNumber(1L, "1234567890");
+        }
+        Path inventoryFile = directory.resolve("inventory.bin");
+        InventoryFile.write(dataSource.currentInventory(), inventoryFile);
+
+        dataSource = new PhoneNumberDataSource();
+        dataSource.load(InventoryFile.map(inventoryFile));
+        assertThrows(IOException.class, () -> open(Durability.FSYNC_PER_OP));
+    }
+
+    @Test
+    void testRecovery_RejectsCorruptSnapshot() throws IOException {
+        try (PhoneNumberStore store = open(Durability.FSYNC_PER_OP)) {
+            dataSource.activatePhoneNumber(1L, "1234567890");
+        }
+        Path snapshot = directory.resolve(PhoneNumberStore.SNAPSHOT_FILE);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[20] ^= 1;
+        Files.write(snapshot, bytes);
+
+        assertThrows(IOException.class, () -> open(Durability.FSYNC_PER_OP));
+    }
+
+    @Test
+    void testClose_StopsLogging() throws IOException {
+        open(Durability.FSYNC_PER_OP).close();
+
+        // Activations after the store is closed are in memory only, and must not fail
+        assertEquals(ActivationOutcome.ACTIVATED, dataSource.activatePhoneNumber(1L, "1234567890"));
+        restart();
+        try (PhoneNumberStore store = open(Durability.FSYNC_PER_OP)) {
+            assertFalse(activeFlags(1L).get(0));
+        }
+    }
+
+    @Test
+    void testActivation_RolledBackWhenTheLogFails() throws IOException {
+        PhoneNumberStore store = open(Durability.FSYNC_PER_OP);
+        store.close();
+        // Left attached to a log that can no longer record anything, as after a write failure
+        dataSource.attach(store);
+        long customerVersion = dataSource.getCustomerVersion(1L);
+
+        assertThrows(UncheckedIOException.class, () -> dataSource.activatePhoneNumber(1L, "1234567890"));
+        assertThrows(UncheckedIOException.class,
+            () -> dataSource.activatePhoneNumbers(1L, List.of("1234567890", "9876543210")));
+
+        assertEquals(List.of(false, false), activeFlags(1L), "Expected unrecorded activations to be rolled back");
+        assertEquals(0, dataSource.countActivePhoneNumbers());
+        assertTrue(dataSource.getCustomerVersion(1L) > customerVersion,
+            "Expected the version to move past any state readers may have seen");
+        dataSource.detach(store);
+        assertEquals(ActivationOutcome.ACTIVATED, dataSource.activatePhoneNumber(1L, "1234567890"));
+        assertEquals(1, dataSource.countActivePhoneNumbers());
+    }
+
+    private PhoneNumberStore open(Durability durability) throws IOException {
+        return PhoneNumberStore.open(dataSource, directory, durability, Duration.ofMillis(10), Duration.ZERO);
+    }
+
+    /**
+     * Reseeds the datastore with every number inactive, as a fresh process would.
+     */
+    private void restart() {
+        dataSource = new PhoneNumberDataSource();
+        dataSource.load(seedData);
+    }
+
+    private List<Boolean> activeFlags(Long customerId) {
+        return dataSource.getCustomerPhoneNumbers(customerId).orElseThrow().stream()
+            .map(PhoneNumber::getIsActive)
+            .toList();
+    }
+
+    private List<String> logSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(".log"))
+                .toList();
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.telecom.phone.number.management.exception;
 
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import java.time.Duration;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -35,6 +43,36 @@ class GlobalExceptionHandlerTest {
                 HttpStatus.CONFLICT,
                 "Number already activated"
             ),
+            new TestCaseData(
+                new InvalidCursorException("Invalid cursor: abc"),
+                HttpStatus.BAD_REQUEST,
+                "Invalid cursor: abc"
+            ),
+            new TestCaseData(
+                new ConstraintViolationException("getAllPhoneNumbers.limit: must be greater than or equal to 1", null),
+                HttpStatus.BAD_REQUEST,
+                "getAllPhoneNumbers.limit: must be greater than or equal to 1"
+            ),
+            new TestCaseData(
+                methodArgumentNotValidException("phoneNumbers", "size must be between 1 and 1000"),
+                HttpStatus.BAD_REQUEST,
+                "Invalid request body: phoneNumbers: size must be between 1 and 1000"
+            ),
+            new TestCaseData(
+                new WebExchangeBindException(null, bindingResult("phoneNumbers", "size must be between 1 and 1000")),
+                HttpStatus.BAD_REQUEST,
+                "Invalid request body: phoneNumbers: size must be between 1 and 1000"
+            ),
+            new TestCaseData(
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "No matching handler"),
+                HttpStatus.NOT_FOUND,
+                "No matching handler"
+            ),
+            new TestCaseData(
+                new ServiceOverloadedException("The service is overloaded, retry later.", Duration.ofSeconds(2)),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "The service is overloaded, retry later."
+            ),
             new TestCaseData(
                 new Exception("Internal error"),
                 HttpStatus.INTERNAL_SERVER_ERROR,
@@ -62,6 +100,18 @@ class GlobalExceptionHandlerTest {
                 globalExceptionHandler.handleResourceNotFoundException(resourceNotFoundException);
             case NumberAlreadyActivatedException numberAlreadyActivatedException ->
                 globalExceptionHandler.handleNumberAlreadyActivatedException(numberAlreadyActivatedException);
+            case InvalidCursorException invalidCursorException ->
+                globalExceptionHandler.handleInvalidCursorException(invalidCursorException);
+            case ConstraintViolationException constraintViolationException ->
+                globalExceptionHandler.handleConstraintViolationException(constraintViolationException);
+            case MethodArgumentNotValidException methodArgumentNotValidException ->
+                globalExceptionHandler.handleMethodArgumentNotValidException(methodArgumentNotValidException);
+            case WebExchangeBindException webExchangeBindException ->
+                globalExceptionHandler.handleWebExchangeBindException(webExchangeBindException);
+            case ResponseStatusException responseStatusException ->
+                globalExceptionHandler.handleResponseStatusException(responseStatusException);
+            case ServiceOverloadedException serviceOverloadedException ->
+                globalExceptionHandler.handleServiceOverloadedException(serviceOverloadedException);
             case null, default -> {
                 assert ex != null;
                 yield globalExceptionHandler.handleGenericException(ex);
@@ -69,6 +119,25 @@ class GlobalExceptionHandlerTest {
         };
     }
 
+    @Test
+    void testServiceOverloaded_CarriesRetryAfter() {
+        ResponseEntity<String> response = globalExceptionHandler.handleServiceOverloadedException(
+            new ServiceOverloadedException("The service is overloaded, retry later.", Duration.ofMillis(1500)));
+
+        // Rounded up to whole seconds, so clients never retry early
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    private static MethodArgumentNotValidException methodArgumentNotValidException(String field, String message) {
+        return new MethodArgumentNotValidException(null, bindingResult(field, message));
+    }
+
+    private static BeanPropertyBindingResult bindingResult(String field, String message) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "request");
+        bindingResult.addError(new FieldError("request", field, message));
+        return bindingResult;
+    }
+
     record TestCaseData(Exception exception, HttpStatus expectedStatus, String expectedMessage) {
     }
 }
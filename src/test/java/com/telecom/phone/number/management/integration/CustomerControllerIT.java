@@ -1,10 +1,18 @@
 package com.telecom.phone.number.management.integration;
 
 
+import com.telecom.phone.number.management.datasource.ActivationOutcome;
+import com.telecom.phone.number.management.exception.NumberAlreadyActivatedException;
 import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.telecom.phone.number.management.model.BulkActivationResponse;
+import com.telecom.phone.number.management.model.BulkActivationResult;
 import com.telecom.phone.number.management.model.PhoneNumber;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.ActivationResult;
 import com.telecom.phone.number.management.service.CustomerService;
+import com.telecom.phone.number.management.service.PhoneNumbersResponseCbor;
+import com.telecom.phone.number.management.service.PhoneNumbersResponseJsonWriter;
+import com.telecom.phone.number.management.service.SerializedPhoneNumbersResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -12,15 +20,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -42,16 +64,92 @@ public class CustomerControllerIT {
     void testGetCustomerPhoneNumbers_Success() throws Exception {
         PhoneNumbersResponse phoneNumbersResponse = new PhoneNumbersResponse();
         phoneNumbersResponse.setPhoneNumbers(Collections.singletonList(new PhoneNumber().number("1234567890").isActive(false)));
-        when(customerService.getCustomerPhoneNumbers(1L)).thenReturn(Optional.of(phoneNumbersResponse));
-        mockMvc.perform(get("/customers/{customerId}/phone-numbers", 1L))
+        when(customerService.getCustomerPhoneNumbers(1L)).thenReturn(Optional.of(new SerializedPhoneNumbersResponse(
+            "http://localhost/api/v1", 1L, PhoneNumbersResponseJsonWriter.toBytes(phoneNumbersResponse), null,
+            PhoneNumbersResponseCbor.toBytes(phoneNumbersResponse))));
+        dispatch(get("/customers/{customerId}/phone-numbers", 1L))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.phoneNumbers[0].number").value("1234567890"));
             //.andExpect(jsonPath("$.phoneNumbers[1].number").value("9876543210"));
     }
 
+    @Test
+    void testGetCustomerPhoneNumbers_SerializedResponseWrittenAsIs() throws Exception {
+        String json = "{\"phoneNumbers\":[{\"number\":\"1234567890\",\"isActive\":false}]}";
+        when(customerService.getCustomerPhoneNumbers(1L)).thenReturn(Optional.of(
+            new SerializedPhoneNumbersResponse("http://localhost/api/v1", 1L, json.getBytes(StandardCharsets.UTF_8), null,
+                new byte[0])));
+
+        dispatch(get("/customers/{customerId}/phone-numbers", 1L))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().string(json));
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_CompressedResponseWrittenAsIs() throws Exception {
+        byte[] json = "{\"phoneNumbers\":[{\"number\":\"1234567890\",\"isActive\":false}]}".getBytes(StandardCharsets.UTF_8);
+        byte[] gzip = {0x1f, (byte) 0x8b, 1, 2, 3};
+        when(customerService.getCustomerPhoneNumbers(1L)).thenReturn(Optional.of(
+            new SerializedPhoneNumbersResponse("http://localhost/api/v1", 1L, json, gzip, new byte[0])));
+
+        dispatch(get("/customers/{customerId}/phone-numbers", 1L).header("Accept-Encoding", "deflate, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().string("Vary", "Accept-Encoding"))
+            .andExpect(header().longValue("Content-Length", gzip.length))
+            .andExpect(content().bytes(gzip));
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_CompressedResponseNotAccepted() throws Exception {
+        byte[] json = "{\"phoneNumbers\":[{\"number\":\"1234567890\",\"isActive\":false}]}".getBytes(StandardCharsets.UTF_8);
+        when(customerService.getCustomerPhoneNumbers(1L)).thenReturn(Optional.of(
+            new SerializedPhoneNumbersResponse("http://localhost/api/v1", 1L, json, new byte[] {0x1f, (byte) 0x8b}, new byte[0])));
+
+        for (String acceptEncoding : new String[] {null, "gzip;q=0, *", "br"}) {
+            MockHttpServletRequestBuilder request = get("/customers/{customerId}/phone-numbers", 1L);
+            if (acceptEncoding != null) {
+                request.header("Accept-Encoding", acceptEncoding);
+            }
+            dispatch(request)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(content().bytes(json));
+        }
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_SerializedResponseAsCbor() throws Exception {
+        String json = "{\"phoneNumbers\":[{\"number\":\"1234567890\",\"isActive\":true}]}";
+        byte[] cbor = PhoneNumbersResponseCbor.toBytes(
+            new PhoneNumbersResponse().phoneNumbers(List.of(new PhoneNumber().number("1234567890").isActive(true))));
+        when(customerService.getCustomerPhoneNumbers(1L)).thenReturn(Optional.of(
+            new SerializedPhoneNumbersResponse("http://localhost/api/v1", 1L, json.getBytes(StandardCharsets.UTF_8), null, cbor)));
+
+        byte[] body = dispatch(get("/customers/{customerId}/phone-numbers", 1L).accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Written as it was kept, without reading the JSON back
+        assertArrayEquals(cbor, body);
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_NotModified() throws Exception {
+        when(customerService.getCustomerPhoneNumbersVersion(1L)).thenReturn(5L);
+
+        dispatch(get("/customers/{customerId}/phone-numbers", 1L).header("If-None-Match", "\"5\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "W/\"5\""))
+            .andExpect(content().string(""));
+    }
+
     @Test
     void testGetCustomerPhoneNumbers_CustomerNotFound() throws Exception {
-        mockMvc.perform(get("/customers/{customerId}/phone-numbers", 999L))
+        dispatch(get("/customers/{customerId}/phone-numbers", 999L))
             .andExpect(status().isNotFound())
             .andExpect(result -> assertInstanceOf(ResourceNotFoundException.class, result.getResolvedException()));
     }
@@ -61,9 +159,9 @@ public class CustomerControllerIT {
 
         PhoneNumbersResponse phoneNumbersResponse = new PhoneNumbersResponse();
         phoneNumbersResponse.setPhoneNumbers(Collections.singletonList(new PhoneNumber().number("1234567890").isActive(true)));
-        when(customerService.activatePhoneNumber(1L, "1234567890")).thenReturn(Optional.of(phoneNumbersResponse));
+        when(customerService.activatePhoneNumber(1L, "1234567890")).thenReturn(ActivationResult.activated(phoneNumbersResponse));
 
-        mockMvc.perform(patch("/customers/{customerId}/phone-numbers/{phoneNumber}", 1L, "1234567890"))
+        dispatch(patch("/customers/{customerId}/phone-numbers/{phoneNumber}", 1L, "1234567890"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.phoneNumbers[0].number").value("1234567890"))
             .andExpect(jsonPath("$.phoneNumbers[0].isActive").value("true"));
@@ -71,8 +169,64 @@ public class CustomerControllerIT {
 
     @Test
     void testActivatePhoneNumber_Failure() throws Exception {
-        mockMvc.perform(patch("/customers/{customerId}/phone-numbers/{phoneNumber}", 1L, "9876543213"))
+        when(customerService.activatePhoneNumber(1L, "9876543213"))
+            .thenReturn(ActivationResult.failed(ActivationOutcome.NOT_FOUND));
+
+        dispatch(patch("/customers/{customerId}/phone-numbers/{phoneNumber}", 1L, "9876543213"))
+            .andExpect(status().isNotFound())
+            .andExpect(result -> assertInstanceOf(ResourceNotFoundException.class, result.getResolvedException()));
+    }
+
+    @Test
+    void testActivatePhoneNumber_AlreadyActive() throws Exception {
+        when(customerService.activatePhoneNumber(1L, "1234567890"))
+            .thenReturn(ActivationResult.failed(ActivationOutcome.ALREADY_ACTIVE));
+
+        dispatch(patch("/customers/{customerId}/phone-numbers/{phoneNumber}", 1L, "1234567890"))
+            .andExpect(status().isConflict())
+            .andExpect(result -> assertInstanceOf(NumberAlreadyActivatedException.class, result.getResolvedException()));
+    }
+
+    @Test
+    void testActivatePhoneNumbers_Success() throws Exception {
+        BulkActivationResponse bulkActivationResponse = new BulkActivationResponse().results(List.of(
+            new BulkActivationResult().number("1234567890").status(BulkActivationResult.StatusEnum.ACTIVATED),
+            new BulkActivationResult().number("9876543210").status(BulkActivationResult.StatusEnum.ALREADY_ACTIVE)));
+        when(customerService.activatePhoneNumbers(1L, List.of("1234567890", "9876543210")))
+            .thenReturn(Optional.of(bulkActivationResponse));
+
+        dispatch(post("/customers/{customerId}/phone-numbers:activate", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"phoneNumbers\":[\"1234567890\",\"9876543210\"]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].status").value("ACTIVATED"))
+            .andExpect(jsonPath("$.results[1].status").value("ALREADY_ACTIVE"));
+    }
+
+    @Test
+    void testActivatePhoneNumbers_EmptyBatch() throws Exception {
+        mockMvc.perform(post("/customers/{customerId}/phone-numbers:activate", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"phoneNumbers\":[]}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testActivatePhoneNumbers_CustomerNotFound() throws Exception {
+        dispatch(post("/customers/{customerId}/phone-numbers:activate", 999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"phoneNumbers\":[\"1234567890\"]}"))
             .andExpect(status().isNotFound())
             .andExpect(result -> assertInstanceOf(ResourceNotFoundException.class, result.getResolvedException()));
     }
+
+    /**
+     * Performs a request the controller answers asynchronously, and dispatches its result.
+     */
+    private ResultActions dispatch(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
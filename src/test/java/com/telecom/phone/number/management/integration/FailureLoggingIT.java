@@ -0,0 +1,106 @@
+package com.telecom.phone.number.management.integration;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.telecom.phone.number.management.controller.RateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests checking that failed and rejected requests are logged once, at the levels the
+ * application logs at by default, through the whole stack and the logging configuration, which
+ * samples the routine events of successful requests only.
+ */
+@SpringBootTest(properties = {
+    "phone-numbers.rate-limit.api-keys=logged",
+    "phone-numbers.rate-limit.expensive.burst=1",
+    "phone-numbers.rate-limit.expensive.per-second=0.1"})
+@AutoConfigureMockMvc
+@DirtiesContext
+public class FailureLoggingIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        root.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        root.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    void testCustomerNotFound_LoggedOnceAtWarn() throws Exception {
+        dispatch(get("/customers/{customerId}/phone-numbers", 999L))
+            .andExpect(status().isNotFound());
+
+        assertLogged("Customer not found with ID: 999");
+    }
+
+    @Test
+    void testAlreadyActive_LoggedOnceAtWarn() throws Exception {
+        dispatch(patch("/customers/{customerId}/phone-numbers/{phoneNumber}", 2L, "5555555555"))
+            .andExpect(status().isOk());
+        dispatch(patch("/customers/{customerId}/phone-numbers/{phoneNumber}", 2L, "5555555555"))
+            .andExpect(status().isConflict());
+
+        assertLogged("Phone number 5555555555 is already active for customer ID: 2");
+    }
+
+    @Test
+    void testRateLimited_SummarizedAtWarn() throws Exception {
+        dispatch(get("/phone-numbers").header(RateLimiter.API_KEY_HEADER, "logged"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/phone-numbers").header(RateLimiter.API_KEY_HEADER, "logged"))
+            .andExpect(status().isTooManyRequests());
+
+        assertLogged("Rate limited GET /phone-numbers, 1 requests rejected in the last 10s");
+    }
+
+    private void assertLogged(String message) {
+        List<String> warnings = appender.list.stream()
+            .filter(event -> event.getLevel().isGreaterOrEqual(Level.WARN))
+            .map(ILoggingEvent::getFormattedMessage)
+            .toList();
+        assertEquals(List.of(message), warnings, "Expected a single warning, logged at the controller");
+    }
+
+    /**
+     * Performs a request the controller answers asynchronously, and dispatches its result.
+     */
+    private ResultActions dispatch(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
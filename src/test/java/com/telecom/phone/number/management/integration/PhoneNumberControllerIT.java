@@ -1,22 +1,38 @@
 package com.telecom.phone.number.management.integration;
 
+import com.telecom.phone.number.management.config.AsyncConfig;
 import com.telecom.phone.number.management.controller.PhoneNumberController;
 import com.telecom.phone.number.management.model.PhoneNumber;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.exception.InvalidCursorException;
 import com.telecom.phone.number.management.exception.ResourceNotFoundException;
 import com.telecom.phone.number.management.service.PhoneNumberService;
+import com.telecom.phone.number.management.service.PhoneNumbersResponseCbor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -24,6 +40,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @ExtendWith(MockitoExtension.class)
 @WebMvcTest(PhoneNumberController.class)
+@Import({AsyncConfig.class, SimpleMeterRegistry.class})
 public class PhoneNumberControllerIT {
 
     @Autowired
@@ -35,9 +52,9 @@ public class PhoneNumberControllerIT {
     @Test
     void testGetAllPhoneNumbers_NoPhoneNumbers() throws Exception {
 
-        when(phoneNumberService.getAllPhoneNumbers()).thenThrow(new ResourceNotFoundException("No phone numbers found"));
+        when(phoneNumberService.getAllPhoneNumbers(null, null)).thenThrow(new ResourceNotFoundException("No phone numbers found"));
 
-        mockMvc.perform(get("/phone-numbers"))
+        dispatch(get("/phone-numbers"))
             .andExpect(status().isNotFound())
             .andExpect(result -> {
                 assert (result.getResolvedException() instanceof ResourceNotFoundException);
@@ -49,13 +66,121 @@ public class PhoneNumberControllerIT {
         // Assuming we want to return a list of phone numbers
         PhoneNumbersResponse phoneNumbersResponse = new PhoneNumbersResponse();
         phoneNumbersResponse.setPhoneNumbers(Collections.singletonList(new PhoneNumber().number("1234567890").isActive(false)));
-        when(phoneNumberService.getAllPhoneNumbers()).thenReturn(phoneNumbersResponse);
+        when(phoneNumberService.getAllPhoneNumbers(null, null)).thenReturn(phoneNumbersResponse);
 
         // Perform a GET request to the controller's endpoint
-        mockMvc.perform(get("/phone-numbers"))
+        dispatch(get("/phone-numbers"))
             .andExpect(status().isOk())
             .andExpect(result -> {
                 assert (result.getResponse().getContentAsString().contains("1234567890"));
             });
     }
+
+    @Test
+    void testGetAllPhoneNumbers_Paged() throws Exception {
+        PhoneNumbersResponse phoneNumbersResponse = new PhoneNumbersResponse();
+        phoneNumbersResponse.setPhoneNumbers(Collections.singletonList(new PhoneNumber().number("1234567890").isActive(false)));
+        when(phoneNumberService.getAllPhoneNumbers(1, "bzox")).thenReturn(phoneNumbersResponse);
+
+        dispatch(get("/phone-numbers").param("limit", "1").param("cursor", "bzox"))
+            .andExpect(status().isOk())
+            .andExpect(result -> {
+                assert (result.getResponse().getContentAsString().contains("1234567890"));
+            });
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_Cbor() throws Exception {
+        PhoneNumbersResponse phoneNumbersResponse = new PhoneNumbersResponse();
+        phoneNumbersResponse.setPhoneNumbers(List.of(
+            new PhoneNumber().number("1234567890").isActive(false),
+            new PhoneNumber().number("0987654321").isActive(true)));
+        when(phoneNumberService.getAllPhoneNumbers(null, null)).thenReturn(phoneNumbersResponse);
+
+        byte[] body = dispatch(get("/phone-numbers").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(phoneNumbersResponse, PhoneNumbersResponseCbor.read(new ByteArrayInputStream(body)));
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_JsonByDefault() throws Exception {
+        PhoneNumbersResponse phoneNumbersResponse = new PhoneNumbersResponse();
+        phoneNumbersResponse.setPhoneNumbers(Collections.singletonList(new PhoneNumber().number("1234567890").isActive(false)));
+        when(phoneNumberService.getAllPhoneNumbers(null, null)).thenReturn(phoneNumbersResponse);
+
+        dispatch(get("/phone-numbers").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_InvalidCursor() throws Exception {
+        when(phoneNumberService.getAllPhoneNumbers(null, "not-a-cursor"))
+            .thenThrow(new InvalidCursorException("Invalid cursor: not-a-cursor"));
+
+        dispatch(get("/phone-numbers").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_LimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/phone-numbers").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_Search() throws Exception {
+        PhoneNumbersResponse phoneNumbersResponse = new PhoneNumbersResponse();
+        phoneNumbersResponse.setPhoneNumbers(Collections.singletonList(new PhoneNumber().number("5551234567").isActive(false)));
+        when(phoneNumberService.searchPhoneNumbers("555", false, null, null)).thenReturn(phoneNumbersResponse);
+
+        dispatch(get("/phone-numbers").param("prefix", "555").param("active", "false"))
+            .andExpect(status().isOk())
+            .andExpect(result -> {
+                assert (result.getResponse().getContentAsString().contains("5551234567"));
+            });
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_InvalidPrefix() throws Exception {
+        mockMvc.perform(get("/phone-numbers").param("prefix", "55a"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportPhoneNumbers_Success() throws Exception {
+        when(phoneNumberService.exportPhoneNumbers()).thenReturn(outputStream ->
+            outputStream.write("{\"number\":\"1234567890\",\"isActive\":false}\n".getBytes(StandardCharsets.UTF_8)));
+
+        // Prepared on the request executor, then written by the servlet async support
+        MvcResult result = dispatch(get("/phone-numbers/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string("{\"number\":\"1234567890\",\"isActive\":false}\n"));
+    }
+
+    @Test
+    void testExportPhoneNumbers_NoPhoneNumbers() throws Exception {
+        when(phoneNumberService.exportPhoneNumbers()).thenThrow(new ResourceNotFoundException("No numbers exist in the system"));
+
+        dispatch(get("/phone-numbers/export"))
+            .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Performs a request the controller answers asynchronously, and dispatches its result.
+     */
+    private ResultActions dispatch(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -0,0 +1,99 @@
+package com.telecom.phone.number.management.integration;
+
+import com.telecom.phone.number.management.controller.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the rate limiting of the Spring MVC edition, with budgets small enough to
+ * exhaust. Each test uses its own API key, so its buckets are its own.
+ */
+@SpringBootTest(properties = {
+    "phone-numbers.rate-limit.api-keys=expensive,bypass,empty,customers,actuator",
+    "phone-numbers.rate-limit.cheap.burst=3",
+    "phone-numbers.rate-limit.cheap.per-second=0.1",
+    "phone-numbers.rate-limit.customer.burst=2",
+    "phone-numbers.rate-limit.customer.per-second=0.1",
+    "phone-numbers.rate-limit.expensive.burst=2",
+    "phone-numbers.rate-limit.expensive.per-second=0.1"})
+@AutoConfigureMockMvc
+public class RateLimitIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testExpensiveEndpoint_RejectedOverBudget() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/phone-numbers").header(RateLimiter.API_KEY_HEADER, "expensive"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/phone-numbers").header(RateLimiter.API_KEY_HEADER, "expensive"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "10"))
+            .andExpect(content().string("Rate limit exceeded, retry later."));
+        // Pages are cheap, and drawn from another bucket
+        mockMvc.perform(get("/phone-numbers").param("limit", "2").header(RateLimiter.API_KEY_HEADER, "expensive"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void testExpensiveEndpoint_PathParametersDoNotBypassTheBudget() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/phone-numbers;x=1").header(RateLimiter.API_KEY_HEADER, "bypass"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/phone-numbers;x=1").header(RateLimiter.API_KEY_HEADER, "bypass"))
+            .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/phone-numbers/").header(RateLimiter.API_KEY_HEADER, "bypass"))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testExpensiveEndpoint_EmptyPagingParametersDoNotBypassTheBudget() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/phone-numbers").param("limit", "").header(RateLimiter.API_KEY_HEADER, "empty"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/phone-numbers").param("limit", "").header(RateLimiter.API_KEY_HEADER, "empty"))
+            .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/phone-numbers").param("active", "").header(RateLimiter.API_KEY_HEADER, "empty"))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testCustomerEndpoint_BudgetPerCustomerWithinClientBudget() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/customers/{customerId}/phone-numbers", 1L).header(RateLimiter.API_KEY_HEADER, "customers"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/customers/{customerId}/phone-numbers", 1L).header(RateLimiter.API_KEY_HEADER, "customers"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(get("/customers/{customerId}/phone-numbers", 2L).header(RateLimiter.API_KEY_HEADER, "customers"))
+            .andExpect(status().isOk());
+        // The client has spent its own budget, whatever customer it asks for next
+        mockMvc.perform(get("/customers/{customerId}/phone-numbers", 3L).header(RateLimiter.API_KEY_HEADER, "customers"))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testActuator_NotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/actuator/health").header(RateLimiter.API_KEY_HEADER, "actuator"))
+                .andExpect(status().isOk());
+        }
+    }
+}
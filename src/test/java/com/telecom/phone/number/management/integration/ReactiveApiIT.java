@@ -0,0 +1,194 @@
+package com.telecom.phone.number.management.integration;
+
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.service.PhoneNumbersResponseCbor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@code reactive} profile, the WebFlux edition of the API, on the
+ * sample data. Its responses are small, so any size is compressed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"server.compression.min-response-size=1B", "phone-numbers.rate-limit.api-keys=reactive-rate-limit"})
+@ActiveProfiles("reactive")
+public class ReactiveApiIT {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testGetCustomerPhoneNumbers_Success() {
+        webTestClient.get().uri("/customers/{customerId}/phone-numbers", 2L)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_JSON)
+            .expectHeader().exists("ETag")
+            .expectBody()
+            .jsonPath("$.phoneNumbers[0].number").isEqualTo("5555555555")
+            .jsonPath("$._links.self.href").value(href -> assertTrue(((String) href).endsWith("/api/v1/customers/2/phone-numbers")));
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_Compressed() throws Exception {
+        // The test client decompresses bodies on its own, so the raw response is read with another
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/customers/2/phone-numbers"))
+            .header("Accept-Encoding", "gzip")
+            .build();
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("Accept-Encoding", response.headers().firstValue("Vary").orElse(null));
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertTrue(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).contains("\"number\":\"5555555555\""));
+        }
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_Cbor() throws Exception {
+        byte[] body = webTestClient.get().uri("/customers/{customerId}/phone-numbers", 2L)
+            .accept(MediaType.APPLICATION_CBOR)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+            .expectBody(byte[].class)
+            .returnResult().getResponseBody();
+
+        PhoneNumbersResponse response = PhoneNumbersResponseCbor.read(new ByteArrayInputStream(body));
+        assertEquals("5555555555", response.getPhoneNumbers().get(0).getNumber());
+        assertTrue(response.getLinks().getSelf().getHref().endsWith("/api/v1/customers/2/phone-numbers"));
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_NotModified() {
+        String etag = webTestClient.get().uri("/customers/{customerId}/phone-numbers", 2L)
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(String.class)
+            .getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/customers/{customerId}/phone-numbers", 2L)
+            .header("If-None-Match", etag)
+            .exchange()
+            .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_CustomerNotFound() {
+        webTestClient.get().uri("/customers/{customerId}/phone-numbers", 999L)
+            .exchange()
+            .expectStatus().isNotFound()
+            .expectBody(String.class).isEqualTo("Customer not found.");
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_Paged() {
+        webTestClient.get().uri("/phone-numbers?limit=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.phoneNumbers.length()").isEqualTo(1)
+            .jsonPath("$._links.next.href").exists();
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_LimitOutOfRange() {
+        webTestClient.get().uri("/phone-numbers?limit=0")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_RateLimited() {
+        // The default budget of the expensive endpoints allows bursts of 10
+        for (int i = 0; i < 10; i++) {
+            webTestClient.get().uri("/phone-numbers")
+                .header("X-API-Key", "reactive-rate-limit")
+                .exchange()
+                .expectStatus().isOk();
+        }
+
+        webTestClient.get().uri("/phone-numbers")
+            .header("X-API-Key", "reactive-rate-limit")
+            .exchange()
+            .expectStatus().isEqualTo(429)
+            .expectHeader().exists("Retry-After")
+            .expectBody(String.class).isEqualTo("Rate limit exceeded, retry later.");
+        // Path parameters and trailing slashes reach the same listing, and draw from the same bucket
+        webTestClient.get().uri("/phone-numbers;x=1")
+            .header("X-API-Key", "reactive-rate-limit")
+            .exchange()
+            .expectStatus().isEqualTo(429);
+        webTestClient.get().uri("/phone-numbers/")
+            .header("X-API-Key", "reactive-rate-limit")
+            .exchange()
+            .expectStatus().isEqualTo(429);
+        // Paging parameters without a value bind to nothing, and draw from the same bucket
+        webTestClient.get().uri("/phone-numbers?limit=&active=")
+            .header("X-API-Key", "reactive-rate-limit")
+            .exchange()
+            .expectStatus().isEqualTo(429);
+    }
+
+    @Test
+    void testExportPhoneNumbers_StreamsNdjson() {
+        List<PhoneNumber> exported = webTestClient.get().uri("/phone-numbers/export")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(PhoneNumber.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertEquals(List.of("1234567890", "9876543210", "5555555555"),
+            exported.stream().map(PhoneNumber::getNumber).toList());
+    }
+
+    @Test
+    void testActivatePhoneNumbers_EmptyBatch() {
+        webTestClient.post().uri("/customers/{customerId}/phone-numbers:activate", 1L)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"phoneNumbers\":[]}")
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody(String.class).isEqualTo("Invalid request body: phoneNumbers: size must be between 1 and 1000");
+    }
+
+    @Test
+    void testActivatePhoneNumber_UnknownNumber() {
+        webTestClient.patch().uri("/customers/{customerId}/phone-numbers/{phoneNumber}", 1L, "1111111111")
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testUnknownUrl_NotFound() {
+        webTestClient.get().uri("/nonexistent")
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+}
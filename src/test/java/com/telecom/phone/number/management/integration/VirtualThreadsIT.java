@@ -0,0 +1,53 @@
+package com.telecom.phone.number.management.integration;
+
+import com.telecom.phone.number.management.controller.RequestExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@code virtual-threads} profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+public class VirtualThreadsIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private RequestExecutor requestExecutor;
+
+    @Test
+    void testAsyncPathsRunOnVirtualThreads() throws Exception {
+        // The MVC async support, which writes streaming responses, uses this executor
+        assertTrue(applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get());
+    }
+
+    @Test
+    void testControllerWorkRunsOnVirtualThreads() throws Exception {
+        // Not capped by the platform thread pool used without virtual threads
+        assertTrue(requestExecutor.supply(() -> Thread.currentThread().isVirtual()).get());
+    }
+
+    @Test
+    void testRequestsAreServed() {
+        // Independent of the datastore contents, which other tests replace
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/health", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+}
@@ -0,0 +1,44 @@
+package com.telecom.phone.number.management.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link LogThrottle}, on a manual clock.
+ */
+class LogThrottleTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(-5 * SECOND);
+
+    private final LogThrottle throttle = new LogThrottle(Duration.ofSeconds(10), now::get);
+
+    @Test
+    void testRecord_LogsFirstOccurrenceThenOncePerInterval() {
+        assertEquals(1, throttle.record());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, throttle.record());
+        }
+
+        now.addAndGet(10 * SECOND - 1);
+        assertEquals(0, throttle.record());
+        now.addAndGet(1);
+        assertEquals(7, throttle.record());
+        assertEquals(0, throttle.record());
+    }
+
+    @Test
+    void testRecord_CountsFromTheLastOccurrenceLogged() {
+        throttle.record();
+        now.addAndGet(60 * SECOND);
+
+        assertEquals(1, throttle.record());
+        assertEquals(10, throttle.intervalSeconds());
+    }
+}
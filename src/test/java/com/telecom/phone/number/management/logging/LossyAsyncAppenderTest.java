@@ -0,0 +1,109 @@
+package com.telecom.phone.number.management.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link LossyAsyncAppender}.
+ */
+class LossyAsyncAppenderTest {
+
+    private static final int QUEUE_SIZE = 10;
+
+    private LoggerContext context;
+    private LossyAsyncAppender appender;
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final List<ILoggingEvent> written = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        // A console that does not write until released
+        AppenderBase<ILoggingEvent> console = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event);
+            }
+        };
+        console.setContext(context);
+        console.start();
+
+        appender = new LossyAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(QUEUE_SIZE);
+        appender.setNeverBlock(true);
+        appender.addAppender(console);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void testRoutineEventsAreDroppedAndCountedWhenTheQueueBacksUp() {
+        long droppedBefore = LossyAsyncAppender.droppedEvents();
+
+        for (int i = 0; i < 100; i++) {
+            appender.doAppend(event(Level.INFO));
+        }
+
+        // The queue holds at most all but a fifth of its slots of routine events, and the console
+        // holds at most one drained queue
+        long dropped = LossyAsyncAppender.droppedEvents() - droppedBefore;
+        assertTrue(dropped >= 100 - 2 * QUEUE_SIZE, "dropped " + dropped);
+        released.countDown();
+        appender.stop();
+        assertEquals(100 - dropped, written.size());
+    }
+
+    @Test
+    void testWarningsAndErrorsWaitForRoomInsteadOfBeingDropped() throws Exception {
+        long droppedBefore = LossyAsyncAppender.droppedEvents();
+        CountDownLatch appended = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                appender.doAppend(event(i % 2 == 0 ? Level.WARN : Level.ERROR));
+            }
+            appended.countDown();
+        });
+        producer.start();
+
+        // The producer blocks on the full queue until the console is released
+        assertFalse(appended.await(200, TimeUnit.MILLISECONDS));
+        released.countDown();
+        assertTrue(appended.await(5, TimeUnit.SECONDS));
+        appender.stop();
+
+        assertEquals(100, written.size());
+        assertEquals(droppedBefore, LossyAsyncAppender.droppedEvents());
+    }
+
+    private LoggingEvent event(Level level) {
+        return new LoggingEvent(LossyAsyncAppenderTest.class.getName(), context.getLogger("test"), level, "event", null, null);
+    }
+}
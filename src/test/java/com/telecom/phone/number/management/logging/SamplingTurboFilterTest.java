@@ -0,0 +1,83 @@
+package com.telecom.phone.number.management.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link SamplingTurboFilter}.
+ */
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setRates("com.example=10, com.example.quiet=1000000,com.example.loud=1");
+        filter.start();
+    }
+
+    @Test
+    void testUnmarkedEventsAreNeverSampled() {
+        Logger logger = context.getLogger("com.example.Service");
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "failed", null, null));
+            assertEquals(FilterReply.NEUTRAL,
+                filter.decide(MarkerFactory.getMarker("OTHER"), logger, Level.ERROR, "failed", null, null));
+        }
+    }
+
+    @Test
+    void testMarkedEventsAreSampledAtTheRateOfTheirCategory() {
+        Logger logger = context.getLogger("com.example.Service");
+
+        int kept = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.decide(LogMarkers.SUCCESS, logger, Level.INFO, "served", null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        // One in ten, give or take
+        assertTrue(kept > 9_000 && kept < 11_000, "kept " + kept);
+    }
+
+    @Test
+    void testLongestCategoryApplies() {
+        assertEquals(10, filter.rateOf("com.example.Service"));
+        assertEquals(1_000_000, filter.rateOf("com.example.quiet.Service"));
+        assertEquals(1, filter.rateOf("com.example.loud.Service"));
+        assertEquals(1, filter.rateOf("com.examples.Service"));
+        assertEquals(1, filter.rateOf("org.other.Service"));
+        assertEquals(10, filter.rateOf("com.example"));
+    }
+
+    @Test
+    void testMarkedEventsOfUncategorizedLoggersAreKept() {
+        Logger logger = context.getLogger("org.other.Service");
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(LogMarkers.SUCCESS, logger, Level.INFO, "served", null, null));
+        }
+    }
+
+    @Test
+    void testInvalidRatesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> filter.setRates("com.example"));
+        assertThrows(IllegalArgumentException.class, () -> filter.setRates("com.example=0"));
+        assertThrows(IllegalArgumentException.class, () -> filter.setRates("com.example=ten"));
+    }
+}
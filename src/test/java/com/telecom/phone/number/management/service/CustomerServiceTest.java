@@ -1,34 +1,61 @@
 package com.telecom.phone.number.management.service;
 
-import com.telecom.phone.number.management.datasource.PhoneNumberDataSource;
-import com.telecom.phone.number.management.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.telecom.phone.number.management.config.JacksonConfig;
+import com.telecom.phone.number.management.datasource.ActivationOutcome;
+import com.telecom.phone.number.management.datasource.PhoneNumberRepository;
+import com.telecom.phone.number.management.model.BulkActivationResponse;
+import com.telecom.phone.number.management.model.BulkActivationResult;
 import com.telecom.phone.number.management.model.PhoneNumber;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
+import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.mockStatic;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for {@link CustomerService}.
  */
 class CustomerServiceTest {
 
+    @Mock
+    private PhoneNumberRepository repository;
+
     private CustomerService customerService;
 
+    private ObjectMapper objectMapper;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        objectMapper = new JacksonConfig().objectMapper();
         customerService = new CustomerService();
+        customerService.repository = repository;
+        customerService.customerResponseCache = Caffeine.newBuilder().build();
     }
 
     @Test
@@ -39,53 +66,262 @@ class CustomerServiceTest {
             new PhoneNumber().number("9876543210").isActive(false)
         );
 
-        // Mock static method for PhoneNumberDataSource.getCustomerPhoneNumbers()
-        try (MockedStatic<PhoneNumberDataSource> mockedDataSource = mockStatic(PhoneNumberDataSource.class)) {
-            mockedDataSource.when(() -> PhoneNumberDataSource.getCustomerPhoneNumbers(1L))
-                .thenReturn(mockPhoneNumbers);
-
-            // Set the request context for ServletUriComponentsBuilder
-            MockHttpServletRequest mockRequest = new MockHttpServletRequest();
-            mockRequest.setContextPath("/api/v1");
-            mockRequest.setMethod("GET");
-            mockRequest.setRequestURI("/customers/1/phone-numbers");
-            mockRequest.setServerName("localhost");
-            mockRequest.setServerPort(8080);
-
-            ServletRequestAttributes attributes = new ServletRequestAttributes(mockRequest);
-            RequestContextHolder.setRequestAttributes(attributes);
-
-            // Act
-            PhoneNumbersResponse response = customerService.getCustomerPhoneNumbers(1L).get();
-
-            // Assert
-            assertNotNull(response);
-            assertEquals(2, response.getPhoneNumbers().size());
-            assertEquals(mockPhoneNumbers.getFirst().getNumber(), response.getPhoneNumbers().getFirst().getNumber());
-            assertEquals(mockPhoneNumbers.getFirst().getIsActive(), response.getPhoneNumbers().getFirst().getIsActive());
-
-            // Verify the generated URL in the links section
-            assertEquals("http://localhost:8080/api/v1/customers/1/phone-numbers", response.getLinks().getSelf().getHref());
+        // Mock the repository's getCustomerPhoneNumbers()
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(mockPhoneNumbers));
+
+        // Set the request context the links are built against
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContextPath("/api/v1");
+        mockRequest.setMethod("GET");
+        mockRequest.setRequestURI("/customers/1/phone-numbers");
+        mockRequest.setServerName("localhost");
+        mockRequest.setServerPort(8080);
+
+        ServletRequestAttributes attributes = new ServletRequestAttributes(mockRequest);
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        // Act
+        PhoneNumbersResponse response = deserialize(customerService.getCustomerPhoneNumbers(1L).get());
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(2, response.getPhoneNumbers().size());
+        assertEquals(mockPhoneNumbers.getFirst().getNumber(), response.getPhoneNumbers().getFirst().getNumber());
+        assertEquals(mockPhoneNumbers.getFirst().getIsActive(), response.getPhoneNumbers().getFirst().getIsActive());
+
+        // Verify the generated URL in the links section
+        assertEquals("http://localhost:8080/api/v1/customers/1/phone-numbers", response.getLinks().getSelf().getHref());
+    }
+
+
+    @Test
+    void testGetCustomerPhoneNumbers_ServedFromCache() {
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(false))));
+        bindRequest("localhost");
+
+        SerializedPhoneNumbersResponse first = customerService.getCustomerPhoneNumbers(1L).get();
+        SerializedPhoneNumbersResponse second = customerService.getCustomerPhoneNumbers(1L).get();
+
+        assertSame(first, second);
+        verify(repository, times(1)).getCustomerPhoneNumbers(1L);
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_KeepsTheCborForm() throws IOException {
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(true))));
+        bindRequest("localhost");
+
+        SerializedPhoneNumbersResponse response = customerService.getCustomerPhoneNumbers(1L).get();
+
+        assertEquals(deserialize(response), PhoneNumbersResponseCbor.read(new ByteArrayInputStream(response.getCbor())));
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_PerNumberLinks() {
+        customerService.perNumberLinks = true;
+        PhoneNumber stored = new PhoneNumber().number("1234567890").isActive(false);
+        when(repository.getCustomerPhoneNumbers(1L)).thenReturn(Optional.of(List.of(stored)));
+        bindRequest("localhost");
+
+        PhoneNumber phoneNumber = deserialize(customerService.getCustomerPhoneNumbers(1L).get()).getPhoneNumbers().getFirst();
+
+        assertEquals("1234567890", phoneNumber.getNumber());
+        assertEquals("http://localhost:8080/api/v1/customers/1/phone-numbers/1234567890", phoneNumber.getLinks().getSelf().getHref());
+        assertEquals("PATCH", phoneNumber.getLinks().getSelf().getHttpMethod());
+        // The number read from the repository is left as it is
+        assertNull(stored.getLinks());
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_NoPerNumberLinksByDefault() {
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(false))));
+        bindRequest("localhost");
+
+        assertNull(deserialize(customerService.getCustomerPhoneNumbers(1L).get()).getPhoneNumbers().getFirst().getLinks());
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_StagesTimedOnCacheMiss() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        customerService.registerMeters(meterRegistry);
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(false))));
+        bindRequest("localhost");
+
+        customerService.getCustomerPhoneNumbers(1L);
+        customerService.getCustomerPhoneNumbers(1L);
+
+        for (String stage : List.of("links", "serialization")) {
+            assertEquals(1, meterRegistry.get("phone.numbers.response")
+                .tags("endpoint", "customer", "stage", stage).timer().count());
         }
     }
 
+    @Test
+    void testGetCustomerPhoneNumbers_RebuiltAfterActivation() {
+        // Activating moves the customer version on
+        when(repository.getCustomerVersion(1L)).thenReturn(1L, 2L);
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(false))))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(true))));
+        when(repository.activatePhoneNumber(1L, "1234567890"))
+            .thenReturn(ActivationOutcome.ACTIVATED);
+        bindRequest("localhost");
+
+        assertFalse(deserialize(customerService.getCustomerPhoneNumbers(1L).get()).getPhoneNumbers().getFirst().getIsActive());
+        customerService.activatePhoneNumber(1L, "1234567890");
+
+        assertTrue(deserialize(customerService.getCustomerPhoneNumbers(1L).get()).getPhoneNumbers().getFirst().getIsActive());
+    }
 
     @Test
-    void testGetCustomerPhoneNumbers_ResourceNotFoundException() {
-        // Simulate throwing exception when the phone numbers list is empty for customerId 5L
-        try (MockedStatic<PhoneNumberDataSource> mockedDataSource = mockStatic(PhoneNumberDataSource.class)) {
+    void testGetCustomerPhoneNumbers_RebuiltForAnotherBaseUrl() {
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(false))));
 
-            // Mocking the static method call to simulate the exception when no phone numbers are found
-            mockedDataSource.when(() -> PhoneNumberDataSource.getCustomerPhoneNumbers(5L))
-                .thenThrow(new ResourceNotFoundException("No numbers found"));
+        bindRequest("localhost");
+        customerService.getCustomerPhoneNumbers(1L);
+        bindRequest("phone-numbers.example.com");
+        PhoneNumbersResponse response = deserialize(customerService.getCustomerPhoneNumbers(1L).get());
 
-            // Act & Assert: Call the method that invokes the static method
-            ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-                () -> customerService.getCustomerPhoneNumbers(5L));  // You need to invoke the correct method.
+        assertEquals("http://phone-numbers.example.com:8080/api/v1/customers/1/phone-numbers",
+            response.getLinks().getSelf().getHref());
+    }
 
-            // Assert: Check if the exception message matches the expected message
-            assertEquals("No numbers found", exception.getMessage());
+    @Test
+    void testGetCustomerPhoneNumbers_CachedPerBaseUrl() {
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(false))));
+
+        // Alternating hosts do not evict each other's responses
+        for (String serverName : List.of("localhost", "phone-numbers.example.com", "localhost", "phone-numbers.example.com")) {
+            bindRequest(serverName);
+            customerService.getCustomerPhoneNumbers(1L);
         }
+
+        verify(repository, times(2)).getCustomerPhoneNumbers(1L);
     }
 
+    @Test
+    void testGetCustomerPhoneNumbers_CachedCompressed() throws IOException {
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.valueOf(2_000_000_000L + i)).isActive(false));
+        }
+        when(repository.getCustomerPhoneNumbers(1L)).thenReturn(Optional.of(phoneNumbers));
+        customerService.compressionEnabled = true;
+
+        bindRequest("localhost");
+        SerializedPhoneNumbersResponse response =
+            customerService.getCustomerPhoneNumbers(1L).get();
+
+        assertNotNull(response.getGzip());
+        assertTrue(response.getGzip().length < response.getJson().length / 4);
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(response.getGzip()))) {
+            assertArrayEquals(response.getJson(), inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_SmallOrCompressionOffNotCompressed() {
+        when(repository.getCustomerPhoneNumbers(1L))
+            .thenReturn(Optional.of(List.of(new PhoneNumber().number("1234567890").isActive(false))));
+
+        bindRequest("localhost");
+        SerializedPhoneNumbersResponse uncompressed =
+            customerService.getCustomerPhoneNumbers(1L).get();
+        customerService.customerResponseCache.invalidateAll();
+        customerService.compressionEnabled = true;
+        SerializedPhoneNumbersResponse small =
+            customerService.getCustomerPhoneNumbers(1L).get();
+
+        assertNull(uncompressed.getGzip());
+        assertNull(small.getGzip());
+    }
+
+    @Test
+    void testGetCustomerPhoneNumbers_CustomerNotFound() {
+        // The repository reports a missing customer as an empty result
+        when(repository.getCustomerPhoneNumbers(5L))
+            .thenReturn(Optional.empty());
+
+        bindRequest("localhost");
+
+        assertTrue(customerService.getCustomerPhoneNumbers(5L).isEmpty());
+        assertTrue(customerService.customerResponseCache.asMap().isEmpty());
+    }
+
+    @Test
+    void testActivatePhoneNumber_Success() {
+        when(repository.activatePhoneNumber(1L, "1234567890"))
+            .thenReturn(ActivationOutcome.ACTIVATED);
+
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContextPath("/api/v1");
+        mockRequest.setServerName("localhost");
+        mockRequest.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockRequest));
+
+        ActivationResult result = customerService.activatePhoneNumber(1L, "1234567890");
+
+        assertEquals(ActivationOutcome.ACTIVATED, result.outcome());
+        assertEquals("1234567890", result.response().getPhoneNumbers().getFirst().getNumber());
+        assertTrue(result.response().getPhoneNumbers().getFirst().getIsActive());
+    }
+
+    @Test
+    void testActivatePhoneNumber_FailureCarriesNoResponse() {
+        when(repository.activatePhoneNumber(1L, "1234567890"))
+            .thenReturn(ActivationOutcome.ALREADY_ACTIVE);
+
+        ActivationResult result = customerService.activatePhoneNumber(1L, "1234567890");
+
+        assertEquals(ActivationOutcome.ALREADY_ACTIVE, result.outcome());
+        assertNull(result.response());
+    }
+
+    @Test
+    void testActivatePhoneNumbers_PerNumberResults() {
+        List<String> phoneNumbers = List.of("1234567890", "9876543210", "0000000000");
+
+        when(repository.activatePhoneNumbers(1L, phoneNumbers))
+            .thenReturn(Optional.of(List.of(ActivationOutcome.ACTIVATED, ActivationOutcome.ALREADY_ACTIVE, ActivationOutcome.NOT_FOUND)));
+
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContextPath("/api/v1");
+        mockRequest.setServerName("localhost");
+        mockRequest.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockRequest));
+
+        BulkActivationResponse response = customerService.activatePhoneNumbers(1L, phoneNumbers).get();
+
+        assertEquals(3, response.getResults().size());
+        assertEquals("1234567890", response.getResults().get(0).getNumber());
+        assertEquals(BulkActivationResult.StatusEnum.ACTIVATED, response.getResults().get(0).getStatus());
+        assertEquals(BulkActivationResult.StatusEnum.ALREADY_ACTIVE, response.getResults().get(1).getStatus());
+        assertEquals(BulkActivationResult.StatusEnum.NOT_FOUND, response.getResults().get(2).getStatus());
+        assertEquals("http://localhost:8080/api/v1/customers/1/phone-numbers:activate", response.getLinks().getSelf().getHref());
+        assertEquals("POST", response.getLinks().getSelf().getHttpMethod());
+    }
+
+    private static void bindRequest(String serverName) {
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContextPath("/api/v1");
+        mockRequest.setServerName(serverName);
+        mockRequest.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockRequest));
+    }
+
+    private PhoneNumbersResponse deserialize(SerializedPhoneNumbersResponse response) {
+        // Customer responses are cached, and returned, in serialized form
+        try {
+            return objectMapper.readValue(response.getJson(), PhoneNumbersResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
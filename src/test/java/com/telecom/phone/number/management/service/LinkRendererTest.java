@@ -0,0 +1,96 @@
+package com.telecom.phone.number.management.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link LinkRenderer}.
+ */
+class LinkRendererTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testCurrentBaseUrlMatchesServletUriComponentsBuilder() {
+        for (String[] origin : new String[][] {
+            {"http", "localhost", "8080", "/api/v1"},
+            {"http", "example.com", "80", "/api/v1"},
+            {"https", "example.com", "443", ""},
+            {"https", "example.com", "8443", "/api/v1"}}) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setScheme(origin[0]);
+            request.setServerName(origin[1]);
+            request.setServerPort(Integer.parseInt(origin[2]));
+            request.setContextPath(origin[3]);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+            assertEquals(ServletUriComponentsBuilder.fromCurrentContextPath().toUriString(), LinkRenderer.currentBaseUrl());
+        }
+    }
+
+    @Test
+    void testBaseUrlIsCached() {
+        String first = LinkRenderer.baseUrl("http", "cached.example.com", 8080, "/api/v1");
+        String second = LinkRenderer.baseUrl("http", "cached.example.com", 8080, "/api/v1");
+
+        assertEquals("http://cached.example.com:8080/api/v1", first);
+        assertSame(first, second);
+        assertEquals("http://cached.example.com/api/v1", LinkRenderer.baseUrl("http", "cached.example.com", -1, "/api/v1"));
+    }
+
+    @Test
+    void testCurrentBaseUrlWithoutRequest() {
+        assertThrows(IllegalStateException.class, LinkRenderer::currentBaseUrl);
+    }
+
+    @Test
+    void testExpand() {
+        LinkRenderer.Template template = LinkRenderer.template("/customers/{customerId}/phone-numbers/{phoneNumber}");
+
+        assertEquals("http://localhost/api/v1/customers/42/phone-numbers/1234567890",
+            template.expand("http://localhost/api/v1", 42L, "1234567890"));
+        assertEquals("http://localhost/api/v1/phone-numbers?limit=10&cursor=bzox",
+            LinkRenderer.template("/phone-numbers?limit={limit}&cursor={cursor}").expand("http://localhost/api/v1", 10, "bzox"));
+        assertEquals("http://localhost/api/v1/phone-numbers", LinkRenderer.template("/phone-numbers").expand("http://localhost/api/v1"));
+    }
+
+    @Test
+    void testExpandEncodesReservedCharacters() {
+        LinkRenderer.Template template = LinkRenderer.template("/customers/{customerId}/phone-numbers/{phoneNumber}");
+
+        assertEquals("http://localhost/customers/1/phone-numbers/12%2F34%3F%20x",
+            template.expand("http://localhost", 1L, "12/34? x"));
+    }
+
+    @Test
+    void testAppendToReusesBuilder() {
+        LinkRenderer.Template template = LinkRenderer.template("/customers/{customerId}");
+        StringBuilder builder = new StringBuilder();
+
+        template.appendTo(builder, "http://a", 1L);
+        builder.setLength(0);
+        template.appendTo(builder, "http://b", 2L);
+
+        assertEquals("http://b/customers/2", builder.toString());
+    }
+
+    @Test
+    void testExpandRejectsWrongNumberOfValues() {
+        LinkRenderer.Template template = LinkRenderer.template("/customers/{customerId}");
+
+        assertThrows(IllegalArgumentException.class, () -> template.expand("http://localhost"));
+        assertThrows(IllegalArgumentException.class, () -> template.expand("http://localhost", 1L, 2L));
+        assertThrows(IllegalArgumentException.class, () -> LinkRenderer.template("/customers/{customerId"));
+    }
+}
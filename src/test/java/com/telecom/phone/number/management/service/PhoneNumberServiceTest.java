@@ -1,39 +1,63 @@
 package com.telecom.phone.number.management.service;
 
-import com.telecom.phone.number.management.datasource.PhoneNumberDataSource;
+import com.telecom.phone.number.management.datasource.PhoneNumberCodec;
+import com.telecom.phone.number.management.datasource.PhoneNumberPage;
+import com.telecom.phone.number.management.datasource.PhoneNumberRepository;
+import com.telecom.phone.number.management.datasource.PhoneNumberSearchPage;
+import com.telecom.phone.number.management.datasource.PhoneNumberVisitor;
+import com.telecom.phone.number.management.exception.InvalidCursorException;
 import com.telecom.phone.number.management.exception.ResourceNotFoundException;
 import com.telecom.phone.number.management.model.PhoneNumber;
 import com.telecom.phone.number.management.model.PhoneNumbersResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
+import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 // Mockito specific imports
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
 
 // Assertions imports
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 
 /**
  * Unit tests for {@link PhoneNumberService}.
  */
 class PhoneNumberServiceTest {
 
+    @Mock
+    private PhoneNumberRepository repository;
+
     private PhoneNumberService phoneNumberService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         phoneNumberService = new PhoneNumberService();
+        phoneNumberService.repository = repository;
+
+        // Set the request context the links are built against
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContextPath("/api/v1");
+        mockRequest.setServerName("localhost");
+        mockRequest.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockRequest));
     }
 
     @Test
@@ -44,43 +68,195 @@ class PhoneNumberServiceTest {
             new PhoneNumber().number("9876543210").isActive(false)
         );
 
-        // Mock static method for PhoneNumberDataSource.getAllPhoneNumbers()
-        try (MockedStatic<PhoneNumberDataSource> mockedDataSource = mockStatic(PhoneNumberDataSource.class)) {
-            mockedDataSource.when(PhoneNumberDataSource::getAllPhoneNumbers)
-                .thenReturn(mockPhoneNumbers);
-
-            // Mock ServletUriComponentsBuilder
-            try (MockedStatic<ServletUriComponentsBuilder> mockedUriBuilder = mockStatic(ServletUriComponentsBuilder.class)) {
-                ServletUriComponentsBuilder mockUriBuilder = mock(ServletUriComponentsBuilder.class);
-                mockedUriBuilder.when(ServletUriComponentsBuilder::fromCurrentContextPath)
-                    .thenReturn(mockUriBuilder);
-                when(mockUriBuilder.path(anyString())).thenReturn(mockUriBuilder);
-                when(mockUriBuilder.toUriString()).thenReturn("http://localhost/phone-numbers");
-
-                // Act
-                PhoneNumbersResponse response = phoneNumberService.getAllPhoneNumbers();
-
-                // Assert
-                assertNotNull(response);
-                assertEquals(2, response.getPhoneNumbers().size());
-                assertEquals("1234567890", response.getPhoneNumbers().get(0).getNumber());
-                assertEquals("9876543210", response.getPhoneNumbers().get(1).getNumber());
-            }
-        }
+        // Mock the repository's getAllPhoneNumbers()
+        when(repository.getAllPhoneNumbers())
+            .thenReturn(mockPhoneNumbers);
+
+        // Act
+        PhoneNumbersResponse response = phoneNumberService.getAllPhoneNumbers();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(2, response.getPhoneNumbers().size());
+        assertEquals("1234567890", response.getPhoneNumbers().get(0).getNumber());
+        assertEquals("9876543210", response.getPhoneNumbers().get(1).getNumber());
+        assertEquals("http://localhost:8080/api/v1/phone-numbers", response.getLinks().getSelf().getHref());
     }
 
     @Test
     void testGetAllPhoneNumbers_ResourceNotFoundException() {
         // Simulate throwing exception when the phone numbers list is empty
-        try (MockedStatic<PhoneNumberDataSource> mockedDataSource = mockStatic(PhoneNumberDataSource.class)) {
-            mockedDataSource.when(PhoneNumberDataSource::getAllPhoneNumbers)
-                .thenThrow(new ResourceNotFoundException("No numbers found"));
+        when(repository.getAllPhoneNumbers())
+            .thenThrow(new ResourceNotFoundException("No numbers found"));
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+            () -> phoneNumberService.getAllPhoneNumbers());
+
+        assertEquals("No numbers found", exception.getMessage());
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_FirstPage() {
+        List<PhoneNumber> mockPhoneNumbers = List.of(
+            new PhoneNumber().number("1234567890").isActive(true),
+            new PhoneNumber().number("9876543210").isActive(false)
+        );
+
+        when(repository.getPhoneNumbersPage(0, 2))
+            .thenReturn(new PhoneNumberPage(mockPhoneNumbers, 0, 5));
+
+        PhoneNumbersResponse response = phoneNumberService.getAllPhoneNumbers(2, null);
+
+        assertEquals(2, response.getPhoneNumbers().size());
+        assertEquals("http://localhost:8080/api/v1/phone-numbers?limit=2&cursor=" + PhoneNumberService.encodeCursor(0),
+            response.getLinks().getSelf().getHref());
+        assertEquals("http://localhost:8080/api/v1/phone-numbers?limit=2&cursor=" + PhoneNumberService.encodeCursor(2),
+            response.getLinks().getNext().getHref());
+        assertNull(response.getLinks().getPrev());
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_LastPageFromCursor() {
+        List<PhoneNumber> mockPhoneNumbers = List.of(new PhoneNumber().number("5555555555").isActive(false));
+
+        when(repository.getPhoneNumbersPage(4, PhoneNumberService.DEFAULT_PAGE_SIZE))
+            .thenReturn(new PhoneNumberPage(mockPhoneNumbers, 4, 5));
+
+        PhoneNumbersResponse response = phoneNumberService.getAllPhoneNumbers(null, PhoneNumberService.encodeCursor(4));
+
+        assertEquals(1, response.getPhoneNumbers().size());
+        assertNull(response.getLinks().getNext());
+        assertEquals("http://localhost:8080/api/v1/phone-numbers?limit=100&cursor=" + PhoneNumberService.encodeCursor(0),
+            response.getLinks().getPrev().getHref());
+    }
+
+    @Test
+    void testGetAllPhoneNumbers_InvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> phoneNumberService.getAllPhoneNumbers(10, "not-a-cursor"));
+        assertThrows(InvalidCursorException.class,
+            () -> phoneNumberService.getAllPhoneNumbers(10, PhoneNumberService.encodeCursor(-1)));
+    }
+
+    @Test
+    void testCursor_RoundTrip() {
+        assertEquals(12345, PhoneNumberService.decodeCursor(PhoneNumberService.encodeCursor(12345)));
+    }
+
+    @Test
+    void testSearchPhoneNumbers_FirstPage() {
+        List<PhoneNumber> mockPhoneNumbers = List.of(
+            new PhoneNumber().number("5550000001").isActive(false),
+            new PhoneNumber().number("5550000002").isActive(false)
+        );
+        when(repository.searchPhoneNumbers("555", false, PhoneNumberCodec.INVALID, 2))
+            .thenReturn(new PhoneNumberSearchPage(mockPhoneNumbers, 5550000002L));
 
-            // Act & Assert
-            ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-                () -> phoneNumberService.getAllPhoneNumbers());
+        PhoneNumbersResponse response = phoneNumberService.searchPhoneNumbers("555", false, 2, null);
+
+        assertEquals(2, response.getPhoneNumbers().size());
+        assertEquals("http://localhost:8080/api/v1/phone-numbers?limit=2&prefix=555&active=false",
+            response.getLinks().getSelf().getHref());
+        assertEquals("http://localhost:8080/api/v1/phone-numbers?limit=2&prefix=555&active=false&cursor="
+            + PhoneNumberService.encodeSearchCursor(5550000002L), response.getLinks().getNext().getHref());
+        assertNull(response.getLinks().getPrev());
+    }
+
+    @Test
+    void testSearchPhoneNumbers_LastPageFromCursor() {
+        String cursor = PhoneNumberService.encodeSearchCursor(5550000002L);
+        when(repository.searchPhoneNumbers("", true, 5550000002L, PhoneNumberService.DEFAULT_PAGE_SIZE))
+            .thenReturn(new PhoneNumberSearchPage(List.of(new PhoneNumber().number("5550000003").isActive(true)),
+                PhoneNumberCodec.INVALID));
+
+        PhoneNumbersResponse response = phoneNumberService.searchPhoneNumbers(null, true, null, cursor);
+
+        assertEquals(1, response.getPhoneNumbers().size());
+        assertEquals("http://localhost:8080/api/v1/phone-numbers?limit=100&active=true&cursor=" + cursor,
+            response.getLinks().getSelf().getHref());
+        assertNull(response.getLinks().getNext());
+    }
+
+    @Test
+    void testSearchPhoneNumbers_InvalidCursor() {
+        // Cursors of the inventory pages do not apply to searches
+        assertThrows(InvalidCursorException.class,
+            () -> phoneNumberService.searchPhoneNumbers("555", null, 10, PhoneNumberService.encodeCursor(2)));
+        assertThrows(InvalidCursorException.class,
+            () -> phoneNumberService.searchPhoneNumbers("555", null, 10, "not-a-cursor"));
+        // Cursors past the valid numbers would otherwise overflow or scan nothing
+        assertThrows(InvalidCursorException.class,
+            () -> phoneNumberService.searchPhoneNumbers("555", null, 10,
+                PhoneNumberService.encodeSearchCursor(10_000_000_000L)));
+        assertThrows(InvalidCursorException.class,
+            () -> phoneNumberService.searchPhoneNumbers("555", null, 10,
+                PhoneNumberService.encodeSearchCursor(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testSearchCursor_RoundTrip() {
+        assertEquals(9999999999L, PhoneNumberService.decodeSearchCursor(PhoneNumberService.encodeSearchCursor(9999999999L)));
+    }
+
+    @Test
+    void testExportPhoneNumbers_WritesOneObjectPerLine() throws Exception {
+        when(repository.countPhoneNumbers()).thenReturn(2);
+        when(repository.forEachPhoneNumber(any())).thenAnswer(invocation -> {
+            PhoneNumberVisitor visitor = invocation.getArgument(0);
+            visitor.visit(1234567890L, true);
+            visitor.visit(12345678L, false);
+            return 2;
+        });
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        phoneNumberService.exportPhoneNumbers().writeTo(outputStream);
+
+        assertEquals("""
+            {"number":"1234567890","isActive":true}
+            {"number":"0012345678","isActive":false}
+            """, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportPhoneNumbers_ResourceNotFoundException() {
+        when(repository.countPhoneNumbers()).thenReturn(0);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+            () -> phoneNumberService.exportPhoneNumbers());
+
+        assertEquals("No numbers exist in the system", exception.getMessage());
+    }
+
+    @Test
+    void testStreamPhoneNumbers_ReadsPagesOnDemand() {
+        int total = PhoneNumberService.STREAM_PAGE_SIZE * 3;
+        when(repository.countPhoneNumbers()).thenReturn(total);
+        when(repository.getPhoneNumbersPage(anyInt(), eq(PhoneNumberService.STREAM_PAGE_SIZE))).thenAnswer(invocation -> {
+            int offset = invocation.getArgument(0);
+            List<PhoneNumber> page = new ArrayList<>();
+            for (int i = offset; i < offset + PhoneNumberService.STREAM_PAGE_SIZE; i++) {
+                page.add(new PhoneNumber().number(String.format("%010d", i)).isActive(false));
+            }
+            return new PhoneNumberPage(page, offset, total);
+        });
+
+        List<PhoneNumber> first = phoneNumberService.streamPhoneNumbers().take(10).collectList().block();
+
+        assertEquals(10, first.size());
+        assertEquals("0000000009", first.get(9).getNumber());
+        // Taking a few numbers reads no further than the page after the one holding them
+        verify(repository, atMost(2)).getPhoneNumbersPage(anyInt(), anyInt());
+
+        List<PhoneNumber> all = phoneNumberService.streamPhoneNumbers().collectList().block();
+
+        assertEquals(total, all.size());
+        assertEquals(String.format("%010d", total - 1), all.get(total - 1).getNumber());
+    }
+
+    @Test
+    void testStreamPhoneNumbers_ResourceNotFoundException() {
+        when(repository.countPhoneNumbers()).thenReturn(0);
 
-            assertEquals("No numbers found", exception.getMessage());
-        }
+        assertThrows(ResourceNotFoundException.class, () -> phoneNumberService.streamPhoneNumbers());
     }
 }
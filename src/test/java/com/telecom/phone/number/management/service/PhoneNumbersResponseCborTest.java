@@ -0,0 +1,104 @@
+package com.telecom.phone.number.management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.telecom.phone.number.management.model.Link;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.model.PhoneNumbersResponseLinks;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhoneNumbersResponseCborTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.format("%010d", 1000L * i)).isActive(i % 3 == 0));
+        }
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(phoneNumbers)
+            .links(new PhoneNumbersResponseLinks()
+                .self(link("http://localhost:8080/api/v1/phone-numbers?limit=20", "GET"))
+                .next(link("http://localhost:8080/api/v1/phone-numbers?limit=20&cursor=bzox", "GET")));
+
+        PhoneNumbersResponse decoded = read(PhoneNumbersResponseCbor.toBytes(response));
+
+        assertEquals(response, decoded);
+        assertEquals("0000000000", decoded.getPhoneNumbers().get(0).getNumber());
+    }
+
+    @Test
+    void testToBytes_CompactForm() throws Exception {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(List.of(
+                new PhoneNumber().number("1234567890").isActive(true),
+                new PhoneNumber().number("0123456789").isActive(false),
+                new PhoneNumber().number("5555555555")));
+
+        JsonNode encoded = new ObjectMapper(new CBORFactory()).readTree(PhoneNumbersResponseCbor.toBytes(response));
+
+        assertEquals(1234567890L, encoded.get("numbers").get(0).longValue());
+        assertEquals(123456789L, encoded.get("numbers").get(1).longValue());
+        assertArrayEquals(new byte[] {0b001}, encoded.get("active").binaryValue());
+        assertFalse(encoded.has("_links"));
+    }
+
+    @Test
+    void testToBytes_SmallerThanJson() {
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.valueOf(2_000_000_000L + i)).isActive(i % 2 == 0));
+        }
+        PhoneNumbersResponse response = new PhoneNumbersResponse().phoneNumbers(phoneNumbers);
+
+        int cbor = PhoneNumbersResponseCbor.toBytes(response).length;
+        int json = PhoneNumbersResponseJsonWriter.toBytes(response).length;
+
+        // Five bytes and one bit a number, against some forty bytes of JSON
+        assertTrue(cbor * 6 < json, () -> cbor + " bytes of CBOR against " + json + " of JSON");
+    }
+
+    @Test
+    void testToBytes_EmptyResponse() throws Exception {
+        PhoneNumbersResponse decoded = read(PhoneNumbersResponseCbor.toBytes(new PhoneNumbersResponse().phoneNumbers(null)));
+
+        assertEquals(List.of(), decoded.getPhoneNumbers());
+    }
+
+    @Test
+    void testToBytes_InvalidNumber() {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(List.of(new PhoneNumber().number("12345").isActive(true)));
+
+        assertThrows(IllegalArgumentException.class, () -> PhoneNumbersResponseCbor.toBytes(response));
+    }
+
+    @Test
+    void testRead_NotCbor() {
+        byte[] json = "{\"phoneNumbers\":[]}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> read(json));
+    }
+
+    private static PhoneNumbersResponse read(byte[] bytes) throws IOException {
+        return PhoneNumbersResponseCbor.read(new ByteArrayInputStream(bytes));
+    }
+
+    private static Link link(String href, String httpMethod) {
+        return new Link().href(href).httpMethod(httpMethod).templated(false);
+    }
+}
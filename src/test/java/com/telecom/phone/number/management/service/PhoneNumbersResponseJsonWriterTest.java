@@ -0,0 +1,164 @@
+package com.telecom.phone.number.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.phone.number.management.config.JacksonConfig;
+import com.telecom.phone.number.management.model.Link;
+import com.telecom.phone.number.management.model.PhoneNumber;
+import com.telecom.phone.number.management.model.PhoneNumberResponseLinks;
+import com.telecom.phone.number.management.model.PhoneNumbersResponse;
+import com.telecom.phone.number.management.model.PhoneNumbersResponseLinks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PhoneNumbersResponseJsonWriterTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+    }
+
+    @Test
+    void testToBytes_CustomerResponse() throws Exception {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(List.of(
+                new PhoneNumber().number("1234567890").isActive(true),
+                new PhoneNumber().number("9876543210").isActive(false)))
+            .links(new PhoneNumbersResponseLinks()
+                .self(link("http://localhost:8080/api/v1/customers/1/phone-numbers", "GET")));
+
+        assertMatchesJackson(response);
+    }
+
+    @Test
+    void testToBytes_PagedResponse() throws Exception {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(List.of(new PhoneNumber().number("5555555555").isActive(false)))
+            .links(new PhoneNumbersResponseLinks()
+                .self(link("http://localhost:8080/api/v1/phone-numbers?limit=1&cursor=bzox", "GET"))
+                .next(link("http://localhost:8080/api/v1/phone-numbers?limit=1&cursor=bzoy", "GET"))
+                .prev(link("http://localhost:8080/api/v1/phone-numbers?limit=1&cursor=bzow", "GET")));
+
+        assertMatchesJackson(response);
+    }
+
+    @Test
+    void testToBytes_NullPropertiesLeftOut() throws Exception {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(Arrays.asList(
+                new PhoneNumber(),
+                new PhoneNumber().number("1234567890"),
+                new PhoneNumber().isActive(true),
+                null))
+            .links(new PhoneNumbersResponseLinks().next(new Link().templated(null)));
+
+        assertMatchesJackson(response);
+        assertMatchesJackson(new PhoneNumbersResponse().phoneNumbers(null));
+        assertMatchesJackson(new PhoneNumbersResponse());
+    }
+
+    @Test
+    void testToBytes_NumberLinksAndOtherMethods() throws Exception {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(List.of(new PhoneNumber().number("1234567890").isActive(true)
+                .links(new PhoneNumberResponseLinks()
+                    .self(link("http://localhost:8080/api/v1/customers/1/phone-numbers/1234567890", "PATCH").templated(true)))))
+            .links(new PhoneNumbersResponseLinks()
+                .self(link("http://localhost:8080/api/v1/customers/1/phone-numbers:activate", "POST"))
+                .next(link("/customers", "DELETE")));
+
+        assertMatchesJackson(response);
+    }
+
+    @Test
+    void testToBytes_EscapesStrings() throws Exception {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(List.of(
+                new PhoneNumber().number("quote \" backslash \\ slash / tab \t newline \n return \r"),
+                new PhoneNumber().number("backspace \b form feed \f control \u0001\u001f delete \u007f"),
+                new PhoneNumber().number("latin é, euro €, emoji 📞")));
+
+        assertMatchesJackson(response);
+    }
+
+    @Test
+    void testToBytes_LargeResponse() throws Exception {
+        // Far beyond the initial buffer, so the buffer grows and is not returned to the pool
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.valueOf(2_000_000_000L + i)).isActive(i % 3 == 0));
+        }
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(phoneNumbers)
+            .links(new PhoneNumbersResponseLinks().self(link("http://localhost:8080/api/v1/phone-numbers", "GET")));
+
+        assertMatchesJackson(response);
+        assertMatchesJackson(new PhoneNumbersResponse().phoneNumbers(List.of(new PhoneNumber().number("1"))));
+    }
+
+    @Test
+    void testWriteTo() throws Exception {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(List.of(new PhoneNumber().number("1234567890").isActive(true)))
+            .links(new PhoneNumbersResponseLinks().self(link("http://localhost:8080/api/v1/phone-numbers", "GET")));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        PhoneNumbersResponseJsonWriter.writeTo(response, outputStream);
+
+        assertEquals(objectMapper.writeValueAsString(response), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteTo_LargeResponse() throws Exception {
+        // Far beyond the buffer, so it is drained into the stream many times
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            phoneNumbers.add(new PhoneNumber().number(String.valueOf(2_000_000_000L + i)).isActive(i % 3 == 0));
+        }
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(phoneNumbers)
+            .links(new PhoneNumbersResponseLinks().self(link("http://localhost:8080/api/v1/phone-numbers", "GET")));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        PhoneNumbersResponseJsonWriter.writeTo(response, outputStream);
+
+        assertEquals(objectMapper.writeValueAsString(response), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteTo_StreamFailure() {
+        PhoneNumbersResponse response = new PhoneNumbersResponse()
+            .phoneNumbers(List.of(new PhoneNumber().number("1234567890").isActive(true)));
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        IOException exception = assertThrows(IOException.class, () -> PhoneNumbersResponseJsonWriter.writeTo(response, failing));
+
+        assertEquals("Connection reset", exception.getMessage());
+    }
+
+    private void assertMatchesJackson(PhoneNumbersResponse response) throws Exception {
+        assertEquals(objectMapper.writeValueAsString(response),
+            new String(PhoneNumbersResponseJsonWriter.toBytes(response), StandardCharsets.UTF_8));
+    }
+
+    private static Link link(String href, String httpMethod) {
+        return new Link().href(href).httpMethod(httpMethod).templated(false);
+    }
+}